@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Compara dois resumos de jornadas.js por endpoint: vazão (req/s), p99 e taxa de falhas. Marca como
+# regressão a vazão que caiu mais que LIMITE por cento, o p99 que subiu mais que LIMITE_P99 por cento
+# ou a taxa de falhas que subiu mais de 1 ponto percentual e, nesse caso, termina com código 1.
+# Endpoints que só existem em um dos arquivos são ignorados.
+#
+# Pré-requisitos: jq no PATH.
+#
+# Uso (a partir de backend/):
+#   benchmarks/carga/comparar-jornadas.sh benchmarks/carga/linha-de-base.json benchmarks/carga/resultados/jornadas-<commit>.json
+#
+# Variáveis opcionais: LIMITE (10), LIMITE_P99 (50)
+set -euo pipefail
+
+BASE=$1
+NOVO=$2
+LIMITE="${LIMITE:-10}"
+LIMITE_P99="${LIMITE_P99:-50}"
+
+if [ "$(jq '.endpoints | length' "$BASE")" -eq 0 ]; then
+  echo "$BASE ainda não tem medições. Gere uma na máquina que roda a verificação com:"
+  echo "  ATUALIZAR_BASE=1 benchmarks/carga/jornadas.sh"
+  exit 0
+fi
+if ! jq -e --slurpfile novo "$NOVO" '.configuracao == $novo[0].configuracao' "$BASE" > /dev/null; then
+  echo "Aviso: taxas, duração ou usuários diferentes da linha de base; a comparação pode não valer" >&2
+fi
+printf 'Iterações descartadas: %s na base, %s agora\n\n' \
+  "$(jq .iteracoes_descartadas "$BASE")" "$(jq .iteracoes_descartadas "$NOVO")"
+
+# Uma linha por endpoint: tag, rota, req/s, p99, % de falhas
+extrair() {
+  jq -r '.endpoints | to_entries[] | [.key, .value.rota, .value.req_s, .value.p99, .value.falhas] | @tsv' "$1" \
+    | LC_ALL=C sort
+}
+
+LC_ALL=C join -t $'\t' <(extrair "$BASE") <(extrair "$NOVO") | awk -F'\t' -v limite="$LIMITE" -v limite_p99="$LIMITE_P99" '
+  function variacao(antes, depois) {
+    return antes == 0 ? 0 : (depois - antes) / antes * 100
+  }
+  BEGIN {
+    printf "%-26s %9s %9s %8s %9s %9s %8s %8s %8s\n", "Rota", "req/s", "req/s", "Var.", "p99 ms", "p99 ms", "Var.", "falhas", "falhas"
+    printf "%-26s %9s %9s %8s %9s %9s %8s %8s %8s\n", "", "base", "novo", "", "base", "novo", "", "base", "novo"
+  }
+  {
+    vazao = variacao($3, $7)
+    p99 = variacao($4, $8)
+    marca = ""
+    if (-vazao > limite || p99 > limite_p99 || $9 > $5 + 1) {
+      marca = "  <- regressão"
+      regressoes++
+    }
+    printf "%-26s %9.2f %9.2f %+7.1f%% %9.1f %9.1f %+7.1f%% %7.2f%% %7.2f%%%s\n", \
+      $2, $3, $7, vazao, $4, $8, p99, $5, $9, marca
+  }
+  END {
+    if (regressoes > 0) {
+      printf "\n%d endpoint(s) pioraram além dos limites (vazão %s%%, p99 %s%%, falhas 1 p.p.)\n", regressoes, limite, limite_p99
+      exit 1
+    }
+  }'
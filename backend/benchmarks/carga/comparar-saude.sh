@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Compara os endpoints /saude bloqueantes (Spring MVC + JDBC), bloqueantes com gravação em lote
+# (saude.ingestao.em-lote) e reativos (perfil reativo, R2DBC) sob a mesma carga, com o mesmo
+# número de threads do Tomcat.
+#
+# Pré-requisitos: k6 e jq no PATH, e o PostgreSQL do docker-compose rodando
+# (docker compose -f docker/docker-compose.yml up -d db) com DB_URL, DB_USERNAME,
+# DB_PASSWORD e JWT_SECRET exportados.
+#
+# Uso (a partir de backend/):
+#   benchmarks/carga/comparar-saude.sh
+#
+# Variáveis opcionais: VUS (2000), DURACAO (60s), TOMCAT_THREADS (50), DB_POOL_MAX (20),
+# R2DBC_POOL_MAX (igual a DB_POOL_MAX)
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+DIR_RESULTADOS=benchmarks/carga/resultados
+PORTA=18080
+BASE_URL="http://localhost:${PORTA}/api/v1"
+export VUS="${VUS:-2000}" DURACAO="${DURACAO:-60s}" DB_POOL_MAX="${DB_POOL_MAX:-20}"
+export R2DBC_POOL_MAX="${R2DBC_POOL_MAX:-$DB_POOL_MAX}"
+# Poucas threads de propósito: o modo bloqueante fica limitado por elas, o reativo não
+TOMCAT_THREADS="${TOMCAT_THREADS:-50}"
+
+mkdir -p "$DIR_RESULTADOS"
+mvn -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v original | head -1)
+
+source benchmarks/carga/comum.sh
+
+# Amostra memória residente (KB) e threads da JVM a cada segundo enquanto a carga roda
+amostrar() {
+  local arquivo=$1
+  : > "$arquivo"
+  while kill -0 "$PID_API" 2>/dev/null; do
+    ps -o rss=,nlwp= -p "$PID_API" >> "$arquivo" || true
+    sleep 1
+  done
+}
+
+medir() {
+  local modo=$1 perfis=$2
+  shift 2
+  echo "== $modo (perfis: $perfis $*, VUS=$VUS, DURACAO=$DURACAO, TOMCAT_THREADS=$TOMCAT_THREADS)"
+  iniciar_api "$perfis" "$@"
+  autenticar carga-saude@example.com
+  amostrar "$DIR_RESULTADOS/$modo-processo.txt" &
+  local pid_amostra=$!
+  k6 run --quiet -e BASE_URL="$BASE_URL" --summary-export "$DIR_RESULTADOS/$modo.json" \
+     benchmarks/carga/saude.js
+  parar_api
+  wait "$pid_amostra" 2>/dev/null || true
+}
+
+medir bloqueante prod
+medir lote prod --saude.ingestao.em-lote=true
+medir reativo prod,reativo
+
+printf '\n%-12s %8s %8s %8s %8s %8s %12s %10s\n' modo 'req/s' 'p50 ms' 'p95 ms' 'p99 ms' 'falhas' 'RSS máx MB' 'threads máx'
+for modo in bloqueante lote reativo; do
+  processo=$(awk '{ if ($1 > rss) rss = $1; if ($2 > thr) thr = $2 } END { printf "%d\t%d", rss / 1024, thr }' \
+             "$DIR_RESULTADOS/$modo-processo.txt")
+  jq -r --arg modo "$modo" --arg processo "$processo" '[$modo,
+      (.metrics.http_reqs.rate | floor),
+      (.metrics.http_req_duration["p(50)"] | floor),
+      (.metrics.http_req_duration["p(95)"] | floor),
+      (.metrics.http_req_duration["p(99)"] | floor),
+      ((.metrics.http_req_failed.value // 0) * 100 | tostring + "%"),
+      ($processo | split("\t")[0]),
+      ($processo | split("\t")[1])] | @tsv' \
+     "$DIR_RESULTADOS/$modo.json" | awk -F'\t' '{printf "%-12s %8s %8s %8s %8s %8s %12s %10s\n", $1, $2, $3, $4, $5, $6, $7, $8}'
+done
@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Compara threads de plataforma e threads virtuais sob a mesma carga.
+#
+# Pré-requisitos: Java 21, k6 e jq no PATH, e o PostgreSQL do docker-compose rodando
+# (docker compose -f docker/docker-compose.yml up -d db) com DB_URL, DB_USERNAME,
+# DB_PASSWORD e JWT_SECRET exportados.
+#
+# Uso (a partir de backend/):
+#   benchmarks/carga/comparar-threads.sh
+#
+# Variáveis opcionais: VUS (1000), DURACAO (60s), TOMCAT_THREADS (200), DB_POOL_MAX (20)
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+DIR_RESULTADOS=benchmarks/carga/resultados
+PORTA=18080
+BASE_URL="http://localhost:${PORTA}/api/v1"
+export VUS="${VUS:-1000}" DURACAO="${DURACAO:-60s}" DB_POOL_MAX="${DB_POOL_MAX:-20}"
+TOMCAT_THREADS="${TOMCAT_THREADS:-200}"
+
+mkdir -p "$DIR_RESULTADOS"
+mvn -q -DskipTests package
+JAR=$(ls target/*.jar | grep -v original | head -1)
+
+source benchmarks/carga/comum.sh
+
+# Usuário fixo com dados do tamanho de um usuário real: 20 medicamentos com estoque e
+# lembrete diário, e 5 receitas ativas. O cadastro é ignorado se o usuário já existir.
+popular() {
+  autenticar carga@example.com
+
+  local total
+  total=$(curl -sf "$BASE_URL/medicamentos?size=1" -H "Authorization: Bearer $TOKEN" | jq .totalElements)
+  [ "$total" -ge 20 ] && return 0
+
+  for i in $(seq 1 20); do
+    local id
+    id=$(curl -sf -X POST "$BASE_URL/medicamentos" -H "Authorization: Bearer $TOKEN" \
+         -H 'Content-Type: application/json' \
+         -d "{\"nomeCompleto\":\"Medicamento Carga $i 50mg\",\"dosagem\":\"50mg\",\"tipo\":\"Comprimido\"}" | jq -r .id)
+    curl -sf -o /dev/null -X POST "$BASE_URL/estoque" -H "Authorization: Bearer $TOKEN" \
+         -H 'Content-Type: application/json' \
+         -d "{\"medicamentoId\":\"$id\",\"quantidadeAtual\":$((i % 8)),\"quantidadeAlerta\":5}"
+    curl -sf -o /dev/null -X POST "$BASE_URL/lembretes" -H "Authorization: Bearer $TOKEN" \
+         -H 'Content-Type: application/json' \
+         -d "{\"medicamentoId\":\"$id\",\"horarios\":[\"08:00:00\",\"20:00:00\"],\"quantidadeDose\":1}"
+  done
+  for i in $(seq 1 5); do
+    curl -sf -o /dev/null -X POST "$BASE_URL/receitas" -H "Authorization: Bearer $TOKEN" \
+         -H 'Content-Type: application/json' \
+         -d "{\"medicoNome\":\"Dra. Carga $i\",\"dataEmissao\":\"$(date +%F)\",\"dataValidade\":\"$(date -d '+90 days' +%F)\",\"itens\":[{\"descricao\":\"Medicamento Carga $i 50mg\",\"posologia\":\"1 comprimido ao dia\"}]}"
+  done
+}
+
+medir() {
+  local modo=$1 perfis=$2
+  echo "== $modo (perfis: $perfis, VUS=$VUS, DURACAO=$DURACAO)"
+  iniciar_api "$perfis"
+  popular
+  k6 run --quiet -e BASE_URL="$BASE_URL" --summary-export "$DIR_RESULTADOS/$modo.json" \
+     benchmarks/carga/endpoints.js
+  parar_api
+}
+
+medir plataforma prod
+medir virtual prod,virtual
+
+printf '\n%-12s %10s %10s %10s %10s %8s\n' modo 'req/s' 'p50 ms' 'p95 ms' 'p99 ms' 'falhas'
+for modo in plataforma virtual; do
+  jq -r --arg modo "$modo" '[$modo,
+      (.metrics.http_reqs.rate | floor),
+      (.metrics.http_req_duration["p(50)"] | floor),
+      (.metrics.http_req_duration["p(95)"] | floor),
+      (.metrics.http_req_duration["p(99)"] | floor),
+      ((.metrics.http_req_failed.value // 0) * 100 | tostring + "%")] | @tsv' \
+     "$DIR_RESULTADOS/$modo.json" | awk -F'\t' '{printf "%-12s %10s %10s %10s %10s %8s\n", $1, $2, $3, $4, $5, $6}'
+done
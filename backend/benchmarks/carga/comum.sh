@@ -0,0 +1,33 @@
+# Funções compartilhadas pelos scripts de comparação (use com "source").
+# Espera DIR_RESULTADOS, PORTA, BASE_URL, JAR e TOMCAT_THREADS definidos.
+
+# Uso: iniciar_api <perfis> [--propriedade=valor ...]
+iniciar_api() {
+  local perfis=$1
+  shift
+  java -jar "$JAR" --spring.profiles.active="$perfis" --server.port="$PORTA" \
+       --server.tomcat.threads.max="$TOMCAT_THREADS" --management.server.port=$((PORTA + 1)) \
+       --logging.level.root=WARN "$@" \
+       > "$DIR_RESULTADOS/api-${perfis//,/-}.log" 2>&1 &
+  PID_API=$!
+  for _ in $(seq 1 60); do
+    curl -sf "$BASE_URL/v3/api-docs" > /dev/null && return 0
+    sleep 1
+  done
+  echo "A API não subiu; veja $DIR_RESULTADOS/api-${perfis//,/-}.log" >&2
+  exit 1
+}
+
+parar_api() {
+  kill "$PID_API" && wait "$PID_API" 2>/dev/null || true
+}
+
+# Cadastra (se preciso) e autentica um usuário fixo; exporta TOKEN
+autenticar() {
+  local email=$1 senha=carga123
+  curl -s -o /dev/null -X POST "$BASE_URL/auth/register" -H 'Content-Type: application/json' \
+       -d "{\"nome\":\"Usuario Carga\",\"email\":\"$email\",\"senha\":\"$senha\"}"
+  TOKEN=$(curl -sf -X POST "$BASE_URL/auth/login" -H 'Content-Type: application/json' \
+       -d "{\"email\":\"$email\",\"senha\":\"$senha\"}" | jq -r .accessToken)
+  export TOKEN
+}
@@ -0,0 +1,54 @@
+// Carga nos endpoints de leitura mais usados pelo app (k6: https://k6.io)
+//
+// Variáveis de ambiente:
+//   BASE_URL  URL base da API (padrão http://localhost:8080/api/v1)
+//   TOKEN     access token de um usuário já populado (ver comparar-threads.sh)
+//   VUS       usuários virtuais simultâneos (padrão 1000)
+//   DURACAO   duração da medição (padrão 60s)
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const VUS = parseInt(__ENV.VUS || '1000', 10);
+
+export const options = {
+  scenarios: {
+    leitura: {
+      executor: 'ramping-vus',
+      stages: [
+        { duration: '15s', target: VUS }, // aquecimento (JIT, pool de conexões, caches)
+        { duration: __ENV.DURACAO || '60s', target: VUS },
+      ],
+      gracefulRampDown: '5s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    // Só para registrar por endpoint no resumo; não interrompe a execução
+    'http_req_duration{endpoint:medicamentos}': ['p(95)>=0'],
+    'http_req_duration{endpoint:estoque}': ['p(95)>=0'],
+    'http_req_duration{endpoint:lembretes_hoje}': ['p(95)>=0'],
+    'http_req_duration{endpoint:receitas_ativas}': ['p(95)>=0'],
+    'http_req_duration{endpoint:dashboard}': ['p(95)>=0'],
+  },
+};
+
+const ENDPOINTS = [
+  ['medicamentos', '/medicamentos?size=20'],
+  ['estoque', '/estoque?size=20'],
+  ['lembretes_hoje', '/lembretes/hoje'],
+  ['receitas_ativas', '/receitas/ativas'],
+  ['dashboard', '/dashboard'],
+];
+
+const params = (endpoint) => ({
+  headers: { Authorization: `Bearer ${__ENV.TOKEN}` },
+  tags: { endpoint },
+});
+
+export default function () {
+  // Sem If-None-Match: mede o custo completo de cada resposta
+  const [endpoint, caminho] = ENDPOINTS[__ITER % ENDPOINTS.length];
+  const resposta = http.get(`${BASE_URL}${caminho}`, params(endpoint));
+  check(resposta, { 'status 200': (r) => r.status === 200 });
+}
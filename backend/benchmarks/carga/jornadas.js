@@ -0,0 +1,260 @@
+// Jornadas de uso do app com taxas de chegada fixas (k6: https://k6.io)
+//
+// Usa os usuários criados por benchmarks/dados/gerar.sh (paciente<n>.s<semente>@exemplo.com.br, senha carga123).
+// Cada cenário chega a uma taxa fixa de iterações por segundo, independente da latência. Quando a API
+// não acompanha, o k6 conta iterações descartadas em vez de reduzir a carga.
+//
+// Variáveis de ambiente:
+//   BASE_URL        URL base da API (padrão http://localhost:8080/api/v1)
+//   USUARIOS        usuários gerados disponíveis (padrão 1000)
+//   SEMENTE         semente usada na geração (padrão 1)
+//   REFERENCIA      data de referência da geração, AAAA-MM-DD (padrão hoje)
+//   DURACAO         duração da medição, depois de 15s de aquecimento (padrão 60s)
+//   TAXA_JORNADA    jornadas login → dashboard → lembretes de hoje → dose → leitura por segundo (padrão 10)
+//   TAXA_REFRESH    pico de renovações de token por segundo na tempestade (padrão 200)
+//   TAXA_RECEITAS   lotes de receitas por segundo (padrão 1)
+//   LOTE_RECEITAS   receitas criadas por lote (padrão 10)
+//   TAXA_HISTORICO  consultas ao histórico de saúde por segundo (padrão 10)
+//   RESUMO          arquivo JSON com o resumo por endpoint (padrão resumo-jornadas.json)
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const USUARIOS = parseInt(__ENV.USUARIOS || '1000', 10);
+const SEMENTE = parseInt(__ENV.SEMENTE || '1', 10);
+const REFERENCIA = __ENV.REFERENCIA ? new Date(`${__ENV.REFERENCIA}T00:00:00`) : new Date();
+const DURACAO = __ENV.DURACAO || '60s';
+const LOTE_RECEITAS = parseInt(__ENV.LOTE_RECEITAS || '10', 10);
+const TAMANHO_PAGINA = 50;
+
+const TAXAS = {
+  jornada: parseInt(__ENV.TAXA_JORNADA || '10', 10),
+  refresh: parseInt(__ENV.TAXA_REFRESH || '200', 10),
+  receitas: parseInt(__ENV.TAXA_RECEITAS || '1', 10),
+  historico: parseInt(__ENV.TAXA_HISTORICO || '10', 10),
+};
+
+// Tag "endpoint" de cada requisição e a rota correspondente nos controllers
+const ENDPOINTS = {
+  login: 'POST /auth/login',
+  refresh_token: 'POST /auth/refresh-token',
+  dashboard: 'GET /dashboard',
+  lembretes_hoje: 'GET /lembretes/hoje',
+  registrar_dose: 'POST /doses',
+  enviar_leitura: 'POST /saude',
+  criar_receita: 'POST /receitas',
+  historico_pagina: 'GET /saude',
+  historico_periodo: 'GET /saude/periodo',
+};
+
+// Aquecimento de 15s (JIT, pools de conexões, caches) seguido da taxa fixa
+const taxaFixa = (funcao, taxa, vus) => ({
+  executor: 'ramping-arrival-rate',
+  exec: funcao,
+  startRate: 0,
+  timeUnit: '1s',
+  preAllocatedVUs: vus,
+  maxVUs: vus * 10,
+  stages: [
+    { duration: '15s', target: taxa },
+    { duration: DURACAO, target: taxa },
+  ],
+});
+
+const limiares = {};
+for (const endpoint of Object.keys(ENDPOINTS)) {
+  // Só para registrar por endpoint no resumo; não interrompe a execução
+  limiares[`http_reqs{endpoint:${endpoint}}`] = ['count>=0'];
+  limiares[`http_req_duration{endpoint:${endpoint}}`] = ['p(99)>=0'];
+  limiares[`http_req_failed{endpoint:${endpoint}}`] = ['rate>=0'];
+}
+
+export const options = {
+  scenarios: {
+    jornada_diaria: taxaFixa('jornadaDiaria', TAXAS.jornada, 50),
+    // Muitos apps renovando o token ao mesmo tempo, como depois de uma queda ou de um push
+    tempestade_refresh: {
+      executor: 'ramping-arrival-rate',
+      exec: 'tempestadeRefresh',
+      startTime: '15s',
+      startRate: 0,
+      timeUnit: '1s',
+      preAllocatedVUs: 100,
+      maxVUs: 2000,
+      stages: [
+        { duration: '5s', target: TAXAS.refresh },
+        { duration: '15s', target: TAXAS.refresh },
+        { duration: '5s', target: 0 },
+      ],
+    },
+    receitas_em_massa: taxaFixa('receitasEmMassa', TAXAS.receitas, 10),
+    historico_profundo: taxaFixa('historicoProfundo', TAXAS.historico, 20),
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'p(99.9)', 'max'],
+  thresholds: limiares,
+};
+
+const email = (n) => `paciente${n}.s${SEMENTE}@exemplo.com.br`;
+const usuarioAleatorio = () => Math.floor(Math.random() * USUARIOS);
+
+const params = (endpoint, token) => ({
+  headers: Object.assign({ 'Content-Type': 'application/json' }, token ? { Authorization: `Bearer ${token}` } : {}),
+  tags: { endpoint },
+});
+
+// Data e hora locais no formato de LocalDateTime (sem fuso)
+const dataHoraLocal = (data) => {
+  const local = new Date(data.getTime() - data.getTimezoneOffset() * 60000);
+  return local.toISOString().slice(0, 19);
+};
+const dataLocal = (data) => dataHoraLocal(data).slice(0, 10);
+
+function login(n) {
+  const resposta = http.post(`${BASE_URL}/auth/login`, JSON.stringify({ email: email(n), senha: 'carga123' }),
+    params('login'));
+  check(resposta, { 'login 200': (r) => r.status === 200 });
+  return resposta.status === 200 ? resposta.json() : null;
+}
+
+// Sessão de cada VU, renovada só pelo cenário de refresh; o access token dura mais que a execução
+let sessao = null;
+function sessaoDoVu() {
+  if (sessao === null) {
+    sessao = login((__VU - 1) % USUARIOS);
+  }
+  return sessao;
+}
+
+const leitura = () => (Math.random() < 0.6
+  ? { tipo: 'PRESSAO', valorSistolica: 110 + Math.floor(Math.random() * 40), valorDiastolica: 70 + Math.floor(Math.random() * 20), pulsacao: 72 }
+  : { tipo: 'GLICEMIA', valorGlicemia: 80 + Math.floor(Math.random() * 60), jejum: Math.random() < 0.5 });
+
+// Abrir o app, ver o resumo e os lembretes do dia, marcar uma dose e enviar uma leitura
+export function jornadaDiaria() {
+  const autenticacao = login(usuarioAleatorio());
+  if (autenticacao === null) {
+    return;
+  }
+  const token = autenticacao.accessToken;
+
+  let resposta = http.get(`${BASE_URL}/dashboard`, params('dashboard', token));
+  check(resposta, { 'dashboard 200': (r) => r.status === 200 });
+
+  resposta = http.get(`${BASE_URL}/lembretes/hoje`, params('lembretes_hoje', token));
+  check(resposta, { 'lembretes de hoje 200': (r) => r.status === 200 });
+  const lembretes = resposta.status === 200 ? resposta.json() : [];
+  if (lembretes.length > 0) {
+    const lembrete = lembretes[Math.floor(Math.random() * lembretes.length)];
+    const horario = lembrete.horarios[Math.floor(Math.random() * lembrete.horarios.length)];
+    const dose = { lembreteId: lembrete.id, status: 'TOMADA', horarioPrevisto: `${dataLocal(new Date())}T${horario}` };
+    resposta = http.post(`${BASE_URL}/doses`, JSON.stringify(dose), params('registrar_dose', token));
+    // 200 quando a dose daquele horário já tinha sido registrada
+    check(resposta, { 'dose 201 ou 200': (r) => r.status === 201 || r.status === 200 });
+  }
+
+  resposta = http.post(`${BASE_URL}/saude`, JSON.stringify(leitura()), params('enviar_leitura', token));
+  check(resposta, { 'leitura 201': (r) => r.status === 201 });
+}
+
+// Cada VU mantém uma cadeia de refresh tokens: cada renovação revoga o token anterior
+export function tempestadeRefresh() {
+  const atual = sessaoDoVu();
+  if (atual === null) {
+    return;
+  }
+  const resposta = http.post(`${BASE_URL}/auth/refresh-token`, JSON.stringify({ refreshToken: atual.refreshToken }),
+    params('refresh_token'));
+  check(resposta, { 'refresh 200': (r) => r.status === 200 });
+  sessao = resposta.status === 200 ? resposta.json() : null;
+}
+
+// Digitação de várias receitas de uma vez, como ao trazer o histórico de outra unidade de saúde
+export function receitasEmMassa() {
+  const atual = sessaoDoVu();
+  if (atual === null) {
+    return;
+  }
+  for (let i = 0; i < LOTE_RECEITAS; i++) {
+    const emissao = new Date(REFERENCIA.getTime() - Math.floor(Math.random() * 365) * 86400000);
+    const itens = [];
+    for (let j = 0; j < 3 + Math.floor(Math.random() * 3); j++) {
+      itens.push({ descricao: `Medicamento de carga ${j + 1} 50 mg`, posologia: '1 comprimido de 12 em 12 horas', quantidade: 60 });
+    }
+    const receita = {
+      medicoNome: 'Dr. Carlos Carga',
+      medicoCrm: 'CRM-SP 654321',
+      dataEmissao: dataLocal(emissao),
+      dataValidade: dataLocal(new Date(emissao.getTime() + 180 * 86400000)),
+      observacoes: 'Uso contínuo',
+      itens,
+    };
+    const resposta = http.post(`${BASE_URL}/receitas`, JSON.stringify(receita), params('criar_receita', atual.accessToken));
+    check(resposta, { 'receita 201': (r) => r.status === 201 });
+  }
+}
+
+// Páginas do fim do histórico (OFFSET alto) e um mês qualquer do último ano
+let paginas = null;
+export function historicoProfundo() {
+  const atual = sessaoDoVu();
+  if (atual === null) {
+    return;
+  }
+  const token = atual.accessToken;
+  if (paginas === null) {
+    const primeira = http.get(`${BASE_URL}/saude?size=${TAMANHO_PAGINA}&page=0`, params('historico_pagina', token));
+    check(primeira, { 'histórico 200': (r) => r.status === 200 });
+    if (primeira.status !== 200) {
+      return;
+    }
+    paginas = Math.max(primeira.json().totalPages, 1);
+  }
+  const pagina = Math.floor(paginas / 2 + Math.random() * Math.ceil(paginas / 2));
+  let resposta = http.get(`${BASE_URL}/saude?size=${TAMANHO_PAGINA}&page=${pagina}`, params('historico_pagina', token));
+  check(resposta, { 'histórico 200': (r) => r.status === 200 });
+
+  const fim = new Date(REFERENCIA.getTime() - Math.floor(Math.random() * 335) * 86400000);
+  const inicio = new Date(fim.getTime() - 30 * 86400000);
+  resposta = http.get(`${BASE_URL}/saude/periodo?inicio=${dataHoraLocal(inicio)}&fim=${dataHoraLocal(fim)}&size=${TAMANHO_PAGINA}`,
+    params('historico_periodo', token));
+  check(resposta, { 'período 200': (r) => r.status === 200 });
+}
+
+const numero = (valor) => (valor === undefined ? null : Math.round(valor * 100) / 100);
+
+export function handleSummary(data) {
+  const resumo = {
+    configuracao: {
+      duracao: DURACAO, usuarios: USUARIOS, semente: SEMENTE, lote_receitas: LOTE_RECEITAS, taxas: TAXAS,
+    },
+    iteracoes_descartadas: data.metrics.dropped_iterations ? data.metrics.dropped_iterations.values.count : 0,
+    endpoints: {},
+  };
+  const linhas = [`${'endpoint'.padEnd(20)} ${'rota'.padEnd(26)} ${'req/s'.padStart(8)} ${'p50 ms'.padStart(8)} ${'p95 ms'.padStart(8)} ${'p99 ms'.padStart(8)} ${'p99.9 ms'.padStart(9)} ${'falhas'.padStart(8)}`];
+  for (const [endpoint, rota] of Object.entries(ENDPOINTS)) {
+    const requisicoes = data.metrics[`http_reqs{endpoint:${endpoint}}`];
+    if (!requisicoes || requisicoes.values.count === 0) {
+      continue;
+    }
+    const duracao = data.metrics[`http_req_duration{endpoint:${endpoint}}`].values;
+    const falhas = data.metrics[`http_req_failed{endpoint:${endpoint}}`].values.rate;
+    const e = {
+      rota,
+      requisicoes: requisicoes.values.count,
+      req_s: numero(requisicoes.values.rate),
+      p50: numero(duracao['p(50)']),
+      p95: numero(duracao['p(95)']),
+      p99: numero(duracao['p(99)']),
+      p999: numero(duracao['p(99.9)']),
+      falhas: numero(falhas * 100),
+    };
+    resumo.endpoints[endpoint] = e;
+    linhas.push(`${endpoint.padEnd(20)} ${rota.padEnd(26)} ${String(e.req_s).padStart(8)} ${String(e.p50).padStart(8)} ${String(e.p95).padStart(8)} ${String(e.p99).padStart(8)} ${String(e.p999).padStart(9)} ${(`${e.falhas}%`).padStart(8)}`);
+  }
+  linhas.push(`Iterações descartadas (a API não acompanhou a taxa): ${resumo.iteracoes_descartadas}`);
+
+  return {
+    stdout: `\n${linhas.join('\n')}\n`,
+    [__ENV.RESUMO || 'resumo-jornadas.json']: JSON.stringify(resumo, null, 2),
+  };
+}
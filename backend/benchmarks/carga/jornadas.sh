@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Roda as jornadas de uso (jornadas.js) contra uma API já no ar e compara o resultado com a linha de
+# base (linha-de-base.json). Termina com código 1 se algum endpoint perdeu vazão, ficou mais lento no
+# p99 ou passou a falhar mais (ver comparar-jornadas.sh), então serve como verificação em CI.
+#
+# Pré-requisitos: k6 e jq no PATH e a API rodando em BASE_URL sobre um banco populado por
+# benchmarks/dados/gerar.sh com os mesmos USUARIOS e SEMENTE.
+#
+# Uso (a partir de backend/):
+#   benchmarks/carga/jornadas.sh
+#   ATUALIZAR_BASE=1 benchmarks/carga/jornadas.sh   # grava o resultado como nova linha de base
+#
+# Variáveis opcionais: BASE_URL, DURACAO, USUARIOS, SEMENTE, REFERENCIA, TAXA_*, LOTE_RECEITAS
+# (ver jornadas.js), LIMITE e LIMITE_P99 (ver comparar-jornadas.sh)
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+DIR_RESULTADOS=benchmarks/carga/resultados
+LINHA_DE_BASE=benchmarks/carga/linha-de-base.json
+
+COMMIT=$(git rev-parse --short HEAD)
+if [ -n "$(git status --porcelain -- src pom.xml)" ]; then
+  COMMIT="${COMMIT}-modificado"
+fi
+ARQUIVO="$DIR_RESULTADOS/jornadas-$COMMIT.json"
+
+mkdir -p "$DIR_RESULTADOS"
+k6 run --quiet -e RESUMO="$ARQUIVO" benchmarks/carga/jornadas.js
+echo "Resultado em $ARQUIVO"
+
+if [ "${ATUALIZAR_BASE:-0}" = 1 ]; then
+  cp "$ARQUIVO" "$LINHA_DE_BASE"
+  echo "Linha de base atualizada: $LINHA_DE_BASE"
+  exit 0
+fi
+benchmarks/carga/comparar-jornadas.sh "$LINHA_DE_BASE" "$ARQUIVO"
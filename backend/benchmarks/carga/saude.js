@@ -0,0 +1,57 @@
+// Carga nos endpoints de monitoramento de saúde: envio de leituras e consulta das últimas (k6: https://k6.io)
+//
+// Variáveis de ambiente:
+//   BASE_URL  URL base da API (padrão http://localhost:8080/api/v1)
+//   TOKEN     access token de um usuário (ver comparar-saude.sh)
+//   VUS       usuários virtuais simultâneos (padrão 2000)
+//   DURACAO   duração da medição (padrão 60s)
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api/v1';
+const VUS = parseInt(__ENV.VUS || '2000', 10);
+
+export const options = {
+  scenarios: {
+    saude: {
+      executor: 'ramping-vus',
+      stages: [
+        { duration: '15s', target: VUS }, // aquecimento (JIT, pools de conexões)
+        { duration: __ENV.DURACAO || '60s', target: VUS },
+      ],
+      gracefulRampDown: '5s',
+    },
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    // Só para registrar por endpoint no resumo; não interrompe a execução
+    'http_req_duration{endpoint:enviar_leitura}': ['p(95)>=0'],
+    'http_req_duration{endpoint:ultimos_registros}': ['p(95)>=0'],
+    'http_req_duration{endpoint:listar}': ['p(95)>=0'],
+  },
+};
+
+const params = (endpoint) => ({
+  headers: { Authorization: `Bearer ${__ENV.TOKEN}`, 'Content-Type': 'application/json' },
+  tags: { endpoint },
+});
+
+const leitura = () => (Math.random() < 0.5
+  ? { tipo: 'PRESSAO', valorSistolica: 110 + Math.floor(Math.random() * 40), valorDiastolica: 70 + Math.floor(Math.random() * 20), pulsacao: 72 }
+  : { tipo: 'GLICEMIA', valorGlicemia: 80 + Math.floor(Math.random() * 60), jejum: Math.random() < 0.5 });
+
+export default function () {
+  // Perfil do app: a maior parte do tráfego é envio de leituras dos aparelhos
+  const sorteio = __ITER % 10;
+  let resposta;
+  if (sorteio < 7) {
+    resposta = http.post(`${BASE_URL}/saude`, JSON.stringify(leitura()), params('enviar_leitura'));
+    check(resposta, { 'status 201': (r) => r.status === 201 });
+  } else if (sorteio < 9) {
+    resposta = http.get(`${BASE_URL}/saude/ultimos-registros?limit=10`, params('ultimos_registros'));
+    check(resposta, { 'status 200': (r) => r.status === 200 });
+  } else {
+    resposta = http.get(`${BASE_URL}/saude?size=20`, params('listar'));
+    check(resposta, { 'status 200': (r) => r.status === 200 });
+  }
+}
@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+# Popula o banco com usuários sintéticos (medicamentos, receitas, lembretes, estoque e anos de
+# leituras de saúde) via COPY em paralelo. Os mesmos parâmetros geram sempre os mesmos dados.
+#
+# Pré-requisitos: Java 17+ e Maven no PATH, banco já migrado pelo Flyway e DB_URL, DB_USERNAME e
+# DB_PASSWORD definidos como para a API. Com um superusuário a carga roda sem gatilhos, bem mais rápida.
+#
+# Uso (a partir de backend/):
+#   benchmarks/dados/gerar.sh --usuarios=100000 --leituras-por-usuario=1000 --semente=1
+#   benchmarks/dados/gerar.sh --usuarios=1000 --saida=/tmp/dados   # só grava os arquivos COPY
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+
+mvn -q -B -Pbenchmarks -DskipTests install
+mvn -q -B -f benchmarks/pom.xml package
+
+java -cp benchmarks/target/benchmarks.jar com.suscompanion.dados.GeradorDados "$@"
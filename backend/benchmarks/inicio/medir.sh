@@ -0,0 +1,125 @@
+#!/usr/bin/env bash
+# Mede o tempo de inicialização da API em cada modo: do lançamento do java até a primeira requisição
+# atendida (login de um usuário gerado por benchmarks/dados/gerar.sh), o "Started App" do Spring e a
+# latência do primeiro GET /dashboard logo depois. Monta as mesmas camadas da imagem Docker
+# (app.jar + lib/, java.args e o arquivo CDS treinado sem banco) para o build normal e o build AOT.
+#
+# Modos:
+#   padrao                 build normal, sem CDS
+#   preguicosa             build normal com INICIALIZACAO_PREGUICOSA=true
+#   cds                    build normal com o arquivo CDS (app.jsa)
+#   aot                    build AOT (perfil Maven aot), sem CDS
+#   aot-cds                build AOT com o arquivo CDS, como a imagem com AOT=true
+#   aot-cds-preguicosa     idem, com INICIALIZACAO_PREGUICOSA=true
+#
+# Pré-requisitos: Java 21 (a imagem usa 21; 17 também serve), Maven, jq e curl no PATH, o PostgreSQL
+# migrado e populado por gerar.sh, e DB_URL, DB_USERNAME, DB_PASSWORD, JWT_SECRET, JWT_EXPIRATION e
+# JWT_REFRESH_EXPIRATION exportados.
+#
+# Uso (a partir de backend/):
+#   benchmarks/inicio/medir.sh
+#   RODADAS=10 MODOS="padrao aot-cds" benchmarks/inicio/medir.sh
+#
+# Variáveis opcionais: RODADAS (5), MODOS (todos), PERFIS (prod; também os perfis fixados no build
+# AOT), SEMENTE (1, a do gerar.sh). Resultado: medianas por modo em resultados/inicio-<commit>.json
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+DIR_RESULTADOS=benchmarks/inicio/resultados
+PORTA=18080
+BASE_URL="http://localhost:${PORTA}/api/v1"
+RODADAS="${RODADAS:-5}"
+MODOS="${MODOS:-padrao preguicosa cds aot aot-cds aot-cds-preguicosa}"
+PERFIS="${PERFIS:-prod}"
+EMAIL="paciente0.s${SEMENTE:-1}@exemplo.com.br"
+
+COMMIT=$(git rev-parse --short HEAD)
+if [ -n "$(git status --porcelain -- src pom.xml)" ]; then
+  COMMIT="${COMMIT}-modificado"
+fi
+
+# Uso: montar <diretório> <aot: true|false>; mesmos passos de docker/Dockerfile
+montar() {
+  local dir=$1 aot=$2
+  if [ "$aot" = true ]; then
+    mvn -q -B -DskipTests -Paot -Daot.perfis="$PERFIS" clean package
+  else
+    mvn -q -B -DskipTests clean package
+  fi
+  local jar
+  jar=$(ls "$PWD"/target/sus-companion-api-*.jar | grep -v -e original -e classes)
+  rm -rf "$dir" && mkdir -p "$dir/jar"
+  (cd "$dir/jar" && jar -xf "$jar")
+  jar cf "$dir/app.jar" -C "$dir/jar/BOOT-INF/classes" .
+  cp -r "$dir/jar/BOOT-INF/lib" "$dir/lib"
+  (
+    cd "$dir"
+    echo "-cp app.jar:$(ls lib/*.jar | sort | paste -sd: -)" > java.args
+    if [ "$aot" = true ]; then echo "-Dspring.aot.enabled=true" >> java.args; fi
+    java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=error @java.args -Dspring.aot.enabled=false \
+         -Dspring.context.exit=onRefresh com.suscompanion.App \
+         --spring.flyway.enabled=false --spring.jpa.hibernate.ddl-auto=none \
+         --spring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false > treino.log 2>&1
+  )
+}
+
+entrar() {
+  curl -sf -X POST "$BASE_URL/auth/login" -H 'Content-Type: application/json' \
+       -d "{\"email\":\"$EMAIL\",\"senha\":\"carga123\"}" | jq -er .accessToken
+}
+
+# Uso: medir <modo> <rodada>; imprime "primeira_requisicao_ms iniciada_ms primeiro_dashboard_ms"
+medir() {
+  local modo=$1 rodada=$2 dir=$DIR_RESULTADOS/padrao cds="" preguicosa=false
+  local log="$DIR_RESULTADOS/$modo-$rodada.log"
+  case $modo in aot*) dir=$DIR_RESULTADOS/aot ;; esac
+  case $modo in *cds*) cds="-XX:SharedArchiveFile=app.jsa" ;; esac
+  case $modo in *preguicosa) preguicosa=true ;; esac
+
+  local inicio token
+  inicio=$(date +%s%N)
+  (cd "$dir" && INICIALIZACAO_PREGUICOSA=$preguicosa exec java $cds @java.args com.suscompanion.App \
+       --spring.profiles.active="$PERFIS" --server.port="$PORTA" --management.server.port=$((PORTA + 1))) \
+       > "$log" 2>&1 &
+  local pid=$!
+  until token=$(entrar 2> /dev/null); do
+    if ! kill -0 "$pid" 2> /dev/null || [ $(( ($(date +%s%N) - inicio) / 1000000000 )) -ge 120 ]; then
+      echo "A API não atendeu no modo $modo; veja $log" >&2
+      kill "$pid" 2> /dev/null || true
+      exit 1
+    fi
+    sleep 0.05
+  done
+  local primeira=$(( ($(date +%s%N) - inicio) / 1000000 ))
+
+  local dashboard
+  dashboard=$(curl -sf -o /dev/null -w '%{time_total}' "$BASE_URL/dashboard" -H "Authorization: Bearer $token")
+  local iniciada
+  iniciada=$(sed -n 's/.*Started App in .* (process running for \([0-9.]*\)).*/\1/p' "$log")
+
+  kill "$pid" && wait "$pid" 2> /dev/null || true
+  echo "$primeira $(jq -n "$iniciada * 1000 | round") $(jq -n "$dashboard * 1000 | round")"
+}
+
+mediana() {
+  sort -n | awk '{ v[NR] = $1 } END { print (NR % 2 ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+mkdir -p "$DIR_RESULTADOS"
+montar "$DIR_RESULTADOS/padrao" false
+montar "$DIR_RESULTADOS/aot" true
+
+ARQUIVO="$DIR_RESULTADOS/inicio-$COMMIT.json"
+echo '{}' > "$ARQUIVO"
+printf '%-20s %22s %14s %22s\n' modo primeira_requisicao_ms iniciada_ms primeiro_dashboard_ms
+for modo in $MODOS; do
+  medidas=$(for rodada in $(seq 1 "$RODADAS"); do medir "$modo" "$rodada" || exit 1; done)
+  primeira=$(cut -d' ' -f1 <<< "$medidas" | mediana)
+  iniciada=$(cut -d' ' -f2 <<< "$medidas" | mediana)
+  dashboard=$(cut -d' ' -f3 <<< "$medidas" | mediana)
+  printf '%-20s %22s %14s %22s\n' "$modo" "$primeira" "$iniciada" "$dashboard"
+  jq --arg modo "$modo" --argjson p "$primeira" --argjson i "$iniciada" --argjson d "$dashboard" \
+     '.[$modo] = {primeira_requisicao_ms: $p, iniciada_ms: $i, primeiro_dashboard_ms: $d}' \
+     "$ARQUIVO" > "$ARQUIVO.tmp" && mv "$ARQUIVO.tmp" "$ARQUIVO"
+done
+echo "Resultado em $ARQUIVO (medianas de $RODADAS rodadas)"
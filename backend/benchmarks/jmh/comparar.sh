@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Compara dois resultados do executar.sh: tempo médio por operação e bytes alocados por operação
+# (gc.alloc.rate.norm). Marca como regressão o que piorou mais que LIMITE por cento e, nesse caso,
+# termina com código 1. Benchmarks que só existem em um dos arquivos são ignorados.
+#
+# Pré-requisitos: jq no PATH.
+#
+# Uso (a partir de backend/):
+#   benchmarks/jmh/comparar.sh benchmarks/jmh/resultados/<base>.json benchmarks/jmh/resultados/<novo>.json
+#
+# Variáveis opcionais: LIMITE (10)
+set -euo pipefail
+
+BASE=$1
+NOVO=$2
+LIMITE="${LIMITE:-10}"
+
+# Uma linha por benchmark: nome[parâmetros], tempo, unidade, bytes por operação
+extrair() {
+  jq -r '.[] | [
+      (.benchmark | split(".") | .[-2:] | join("."))
+        + ((.params // {}) | to_entries | map("[" + .key + "=" + .value + "]") | join("")),
+      .primaryMetric.score,
+      .primaryMetric.scoreUnit,
+      (.secondaryMetrics["gc.alloc.rate.norm"].score // "NaN")
+    ] | @tsv' "$1" | LC_ALL=C sort
+}
+
+LC_ALL=C join -t $'\t' <(extrair "$BASE") <(extrair "$NOVO") | awk -F'\t' -v limite="$LIMITE" '
+  function variacao(antes, depois) {
+    return (antes == "NaN" || depois == "NaN" || antes == 0) ? 0 : (depois - antes) / antes * 100
+  }
+  BEGIN {
+    printf "%-62s %12s %12s %8s %10s %10s %8s\n", "Benchmark", "Base", "Novo", "Var.", "B/op base", "B/op novo", "Var."
+  }
+  {
+    tempo = variacao($2, $5)
+    alocacao = variacao($4, $7)
+    marca = ""
+    if (tempo > limite || alocacao > limite) {
+      marca = "  <- regressão"
+      regressoes++
+    }
+    printf "%-62s %9.3f %-2s %9.3f %-2s %+7.1f%% %10.0f %10.0f %+7.1f%%%s\n", \
+      $1, $2, substr($3, 1, 2), $5, substr($6, 1, 2), tempo, $4, $7, alocacao, marca
+  }
+  END {
+    if (regressoes > 0) {
+      printf "\n%d benchmark(s) pioraram mais que %s%%\n", regressoes, limite
+      exit 1
+    }
+  }'
@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Roda os benchmarks JMH com o profiler de GC e grava o resultado em JSON, com o nome do commit.
+#
+# Pré-requisitos: Java 17+ e Maven no PATH. Não precisa de banco.
+#
+# Uso (a partir de backend/):
+#   benchmarks/jmh/executar.sh                         # todos os benchmarks
+#   benchmarks/jmh/executar.sh Jwt                     # só os que casam com a expressão
+#   benchmarks/jmh/executar.sh Jwt -f 1 -wi 1 -i 2     # opções do JMH depois do filtro
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+DIR_RESULTADOS=benchmarks/jmh/resultados
+
+COMMIT=$(git rev-parse --short HEAD)
+if [ -n "$(git status --porcelain -- src pom.xml benchmarks/src benchmarks/pom.xml)" ]; then
+  COMMIT="${COMMIT}-modificado"
+fi
+ARQUIVO="$DIR_RESULTADOS/$COMMIT.json"
+
+mkdir -p "$DIR_RESULTADOS"
+mvn -q -B -Pbenchmarks -DskipTests install
+mvn -q -B -f benchmarks/pom.xml package
+
+java -jar benchmarks/target/benchmarks.jar -prof gc -rf json -rff "$ARQUIVO" "$@"
+echo "Resultado em $ARQUIVO"
@@ -0,0 +1,62 @@
+-- Benchmark: findLembretesHoje com 1 milhão de lembretes
+--
+-- Uso (contra um banco de desenvolvimento já migrado pelo Flyway):
+--   psql "$DB_URL_PSQL" -f benchmarks/sql/lembretes_hoje.sql
+--
+-- Tudo roda dentro de uma transação que é desfeita no final, então o banco
+-- volta ao estado original. Compare o plano e o "Execution Time" das duas
+-- consultas abaixo.
+
+\timing on
+BEGIN;
+
+-- 10 mil usuários com 100 lembretes cada (1.000.000 de lembretes)
+CREATE TEMP TABLE bench_usuarios AS
+SELECT uuid_generate_v4() AS id, g AS n FROM generate_series(1, 10000) g;
+
+INSERT INTO usuarios (id, nome, email, senha)
+SELECT id, 'Usuario ' || n, 'bench' || n || '@example.com', 'x' FROM bench_usuarios;
+
+INSERT INTO medicamentos (id, nome_completo, usuario_id)
+SELECT uuid_generate_v4(), 'Medicamento ' || n, id FROM bench_usuarios;
+
+INSERT INTO lembretes_medicacao (usuario_id, medicamento_id, horarios, dias_semana, quantidade_dose, ativo)
+SELECT m.usuario_id,
+       m.id,
+       ARRAY['08:00'::time, '20:00'::time],
+       CASE WHEN g % 5 = 0 THEN NULL
+            ELSE ARRAY(SELECT d FROM generate_series(0, 6) d WHERE (d + g) % 3 <> 0) END,
+       1,
+       g % 4 <> 0
+FROM medicamentos m
+JOIN bench_usuarios u ON u.id = m.usuario_id
+CROSS JOIN generate_series(1, 100) g;
+
+ANALYZE lembretes_medicacao;
+
+-- Usuário alvo e dia da semana fixos para as duas execuções
+SELECT id AS usuario_alvo FROM bench_usuarios WHERE n = 5000 \gset
+
+-- Antes: forma gerada pelo JPQL com SIZE/JOIN na coleção
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.* FROM lembretes_medicacao l
+WHERE l.usuario_id = :'usuario_alvo'
+AND l.ativo = true
+AND ((SELECT count(*) FROM unnest(l.dias_semana)) = 0
+     OR 3 IN (SELECT d FROM lembretes_medicacao lm, unnest(lm.dias_semana) d WHERE lm.id = l.id));
+
+-- Depois: operadores de array com índice parcial e GIN
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT l.* FROM lembretes_medicacao l
+WHERE l.usuario_id = :'usuario_alvo'
+AND l.ativo = true
+AND (l.dias_semana IS NULL
+     OR cardinality(l.dias_semana) = 0
+     OR l.dias_semana @> ARRAY[3]);
+
+-- Varredura entre todos os usuários (usa o índice GIN em dias_semana)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM lembretes_medicacao l
+WHERE l.ativo = true AND l.dias_semana @> ARRAY[3];
+
+ROLLBACK;
@@ -0,0 +1,61 @@
+-- Benchmark: listagem de lembretes com o medicamento embutido (40 lembretes)
+--
+-- Uso (contra um banco de desenvolvimento já migrado pelo Flyway):
+--   psql "$DB_URL_PSQL" -f benchmarks/sql/lembretes_listagem.sql
+--
+-- "Antes" reproduz o que o Hibernate executava ao mapear o MedicamentoDTO de cada
+-- lembrete: 1 consulta da listagem + 1 consulta por medicamento (41 comandos).
+-- "Depois" é a consulta única com o medicamento no JOIN (1 comando).
+-- Cada forma roda 1000 vezes; o tempo aparece nas mensagens NOTICE. O custo de ida
+-- e volta na rede não entra aqui e só aumenta a diferença (41 x 1 viagens).
+
+\timing on
+BEGIN;
+
+CREATE TEMP TABLE bench_usuario AS SELECT uuid_generate_v4() AS id;
+
+INSERT INTO usuarios (id, nome, email, senha)
+SELECT id, 'Usuario Listagem', 'bench-listagem@example.com', 'x' FROM bench_usuario;
+
+INSERT INTO medicamentos (id, nome_completo, usuario_id)
+SELECT uuid_generate_v4(), 'Medicamento ' || g, u.id
+FROM bench_usuario u CROSS JOIN generate_series(1, 40) g;
+
+INSERT INTO lembretes_medicacao (usuario_id, medicamento_id, horarios, dias_semana, quantidade_dose, ativo)
+SELECT m.usuario_id, m.id, ARRAY['08:00'::time, '20:00'::time], ARRAY[1, 3, 5], 1, true
+FROM medicamentos m JOIN bench_usuario u ON u.id = m.usuario_id;
+
+ANALYZE lembretes_medicacao;
+ANALYZE medicamentos;
+
+DO $$
+DECLARE
+    alvo UUID := (SELECT id FROM bench_usuario);
+    inicio TIMESTAMPTZ;
+    lembrete RECORD;
+    medicamento RECORD;
+BEGIN
+    -- Antes: listagem + carga preguiçosa de cada medicamento
+    inicio := clock_timestamp();
+    FOR i IN 1..1000 LOOP
+        FOR lembrete IN SELECT l.* FROM lembretes_medicacao l WHERE l.usuario_id = alvo AND l.ativo = true LOOP
+            SELECT m.* INTO medicamento FROM medicamentos m WHERE m.id = lembrete.medicamento_id;
+        END LOOP;
+    END LOOP;
+    RAISE NOTICE 'antes (1 + 40 consultas): % ms por listagem',
+        round(extract(epoch FROM clock_timestamp() - inicio) * 1000 / 1000, 3);
+
+    -- Depois: medicamento buscado junto com os lembretes
+    inicio := clock_timestamp();
+    FOR i IN 1..1000 LOOP
+        FOR lembrete IN SELECT l.*, m.nome_completo FROM lembretes_medicacao l
+                        JOIN medicamentos m ON m.id = l.medicamento_id
+                        WHERE l.usuario_id = alvo AND l.ativo = true LOOP
+            NULL;
+        END LOOP;
+    END LOOP;
+    RAISE NOTICE 'depois (1 consulta): % ms por listagem',
+        round(extract(epoch FROM clock_timestamp() - inicio) * 1000 / 1000, 3);
+END $$;
+
+ROLLBACK;
@@ -0,0 +1,77 @@
+-- Benchmark: searchByNome com 10 milhões de medicamentos
+--
+-- Uso (contra um banco de desenvolvimento já migrado pelo Flyway):
+--   psql "$DB_URL_PSQL" -f benchmarks/sql/medicamentos_busca.sql
+--
+-- A carga leva alguns minutos. Tudo roda dentro de uma transação desfeita no final.
+-- O usuário alvo tem 50 mil medicamentos, para que o filtro por usuario_id sozinho
+-- não resolva a busca. Meta: "Execution Time" abaixo de 10 ms na consulta nova.
+
+\timing on
+BEGIN;
+
+SET LOCAL maintenance_work_mem = '1GB';
+
+-- 100 mil usuários com 100 medicamentos cada, mais um usuário com 50 mil
+CREATE TEMP TABLE bench_usuarios AS
+SELECT uuid_generate_v4() AS id, g AS n, CASE WHEN g = 1 THEN 50000 ELSE 100 END AS qtd
+FROM generate_series(1, 100000) g;
+
+INSERT INTO usuarios (id, nome, email, senha)
+SELECT id, 'Usuario ' || n, 'bench-busca' || n || '@example.com', 'x' FROM bench_usuarios;
+
+CREATE TEMP TABLE bench_nomes (nome TEXT, simplificado TEXT);
+INSERT INTO bench_nomes VALUES
+    ('Dipirona Sódica 500mg', 'Dipirona'),
+    ('Losartana Potássica 50mg', 'Losartana'),
+    ('Cloridrato de Metformina 850mg', 'Metformina'),
+    ('Hidroclorotiazida 25mg', NULL),
+    ('Ácido Acetilsalicílico 100mg', 'AAS'),
+    ('Omeprazol 20mg', NULL),
+    ('Sinvastatina 20mg', 'Sinvastatina'),
+    ('Paracetamol 750mg', 'Paracetamol');
+
+INSERT INTO medicamentos (usuario_id, nome_completo, nome_simplificado)
+SELECT u.id,
+       n.nome || ' lote ' || g,
+       n.simplificado
+FROM bench_usuarios u
+CROSS JOIN LATERAL generate_series(1, u.qtd) g
+CROSS JOIN LATERAL (SELECT * FROM bench_nomes OFFSET (g % 8) LIMIT 1) n;
+
+ANALYZE medicamentos;
+
+SELECT id AS usuario_alvo FROM bench_usuarios WHERE n = 1 \gset
+
+-- Antes: LOWER(...) LIKE '%x%' (não acha "Sódica" digitando "sodica")
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT m.* FROM medicamentos m
+WHERE m.usuario_id = :'usuario_alvo'
+AND (LOWER(m.nome_completo) LIKE '%sodica%' OR LOWER(m.nome_simplificado) LIKE '%sodica%')
+LIMIT 20;
+
+-- Depois: índice GIN de trigramas, sem acentos, ordenado por similaridade
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT m.* FROM medicamentos m
+WHERE m.usuario_id = :'usuario_alvo'
+AND normalizar_busca(m.nome_completo || ' ' || COALESCE(m.nome_simplificado, ''))
+    LIKE '%' || normalizar_busca('sodica') || '%'
+ORDER BY word_similarity(normalizar_busca('sodica'),
+                         normalizar_busca(m.nome_completo || ' ' || COALESCE(m.nome_simplificado, ''))) DESC,
+         m.nome_completo
+LIMIT 20;
+
+-- Usuário típico (100 medicamentos)
+SELECT id AS usuario_tipico FROM bench_usuarios WHERE n = 50000 \gset
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT m.* FROM medicamentos m
+WHERE m.usuario_id = :'usuario_tipico'
+AND normalizar_busca(m.nome_completo || ' ' || COALESCE(m.nome_simplificado, ''))
+    LIKE '%' || normalizar_busca('metformina') || '%'
+ORDER BY word_similarity(normalizar_busca('metformina'),
+                         normalizar_busca(m.nome_completo || ' ' || COALESCE(m.nome_simplificado, ''))) DESC,
+         m.nome_completo
+LIMIT 20;
+
+ROLLBACK;
@@ -0,0 +1,60 @@
+-- Benchmark: busca textual em receitas (observações, descrição e posologia dos itens)
+--
+-- Uso (contra um banco de desenvolvimento já migrado pelo Flyway):
+--   psql "$DB_URL_PSQL" -f benchmarks/sql/receitas_busca_texto.sql
+--
+-- Popula 1 milhão de receitas com 3 itens cada (os gatilhos da V11 montam o documento
+-- de busca) e compara a varredura com ILIKE contra o índice GIN. Tudo é desfeito no final.
+
+\timing on
+BEGIN;
+
+CREATE TEMP TABLE bench_usuarios AS
+SELECT uuid_generate_v4() AS id, g AS n FROM generate_series(1, 10000) g;
+
+INSERT INTO usuarios (id, nome, email, senha)
+SELECT id, 'Usuario ' || n, 'bench-receitas' || n || '@example.com', 'x' FROM bench_usuarios;
+
+-- O usuário 1 concentra 100 mil receitas; os demais têm 90 cada
+INSERT INTO receitas (id, usuario_id, medico_nome, data_emissao, observacoes)
+SELECT uuid_generate_v4(), u.id, 'Dr. Bench', CURRENT_DATE - (g % 365),
+       CASE WHEN g % 50 = 0 THEN 'Retorno em 30 dias, controlar glicemia' ELSE 'Uso contínuo' END
+FROM bench_usuarios u
+CROSS JOIN LATERAL generate_series(1, CASE WHEN u.n = 1 THEN 100000 ELSE 90 END) g;
+
+INSERT INTO receita_itens (receita_id, descricao, posologia)
+SELECT r.id,
+       (ARRAY['Insulina NPH', 'Losartana Potássica 50mg', 'Metformina 850mg', 'Dipirona Sódica'])[1 + (k + abs(hashtext(r.id::text))) % 4],
+       (ARRAY['Aplicar 10 UI antes do café', '1 comprimido pela manhã', '1 comprimido após o almoço'])[1 + k % 3]
+FROM receitas r
+JOIN bench_usuarios u ON u.id = r.usuario_id
+CROSS JOIN generate_series(1, 3) k;
+
+ANALYZE receitas;
+ANALYZE receita_itens;
+
+SELECT id AS usuario_alvo FROM bench_usuarios WHERE n = 1 \gset
+
+-- Antes: ILIKE nas três colunas (sem índice, e "insulina" não casa "INSULINA" acentuada de forma diferente)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT DISTINCT r.id FROM receitas r
+LEFT JOIN receita_itens i ON i.receita_id = r.id
+WHERE r.usuario_id = :'usuario_alvo'
+AND (r.observacoes ILIKE '%insulina%' OR i.descricao ILIKE '%insulina%' OR i.posologia ILIKE '%insulina%')
+LIMIT 20;
+
+-- Depois: tsvector com índice GIN, ordenado por relevância (primeira página)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.id, t.relevancia
+FROM (
+    SELECT r.id, ts_rank_cd(r.busca, q) AS relevancia
+    FROM receitas r, websearch_to_tsquery('portugues_sem_acento', 'insulina glicemia') q
+    WHERE r.usuario_id = :'usuario_alvo'
+    AND r.busca @@ q
+) t
+WHERE t.relevancia < CAST(3.4e38 AS real)
+OR (t.relevancia = CAST(3.4e38 AS real) AND t.id > '00000000-0000-0000-0000-000000000000')
+ORDER BY t.relevancia DESC, t.id
+LIMIT 21;
+
+ROLLBACK;
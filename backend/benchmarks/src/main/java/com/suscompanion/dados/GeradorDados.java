@@ -0,0 +1,423 @@
+package com.suscompanion.dados;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Populates the database with synthetic users for load tests and query plans at production scale.
+ * Users are split into contiguous ranges, one per worker, and each worker streams its rows through
+ * its own COPY connection. See benchmarks/README.md.
+ * <p>
+ * Run with {@code java -cp benchmarks/target/benchmarks.jar com.suscompanion.dados.GeradorDados
+ * --usuarios=100000 --leituras-por-usuario=1000}, with DB_URL, DB_USERNAME and DB_PASSWORD set as for
+ * the API, or with {@code --saida=<dir>} to write the COPY files instead.
+ */
+public final class GeradorDados {
+
+    private static final String USO = """
+            Uso: GeradorDados [--opção=valor ...]
+              --usuarios=N               usuários gerados (padrão 1000, máximo 10000000)
+              --leituras-por-usuario=N   média de leituras de saúde por usuário (padrão 1000)
+              --anos=N                   anos de histórico até a data de referência (padrão 3)
+              --semente=N                de 0 a 99; a mesma semente e referência geram os mesmos dados (padrão 1)
+              --referencia=AAAA-MM-DD    fim do histórico (padrão hoje)
+              --workers=N                conexões em paralelo (padrão: número de processadores)
+              --manter-indices           não remove os índices secundários durante a carga
+              --saida=DIR                grava os arquivos COPY em DIR em vez de carregar no banco
+            Conexão: variáveis DB_URL, DB_USERNAME e DB_PASSWORD.""";
+
+    /**
+     * Characters buffered per worker before a round of COPYs.
+     */
+    private static final int LIMITE_BUFFER = 8 << 20;
+
+    private static final String MEMORIA_INDICES = "512MB";
+
+    private final long usuarios;
+    private final int leiturasPorUsuario;
+    private final int anos;
+    private final int semente;
+    private final LocalDate referencia;
+    private final int workers;
+    private final boolean manterIndices;
+    private final Path saida;
+
+    private final String[] tabelas = GeradorUsuario.nomesTabelas();
+    private final AtomicLongArray totais = new AtomicLongArray(tabelas.length);
+    private final AtomicLong usuariosGerados = new AtomicLong();
+    private final AtomicBoolean gatilhosDesligados = new AtomicBoolean(true);
+
+    private GeradorDados(Map<String, String> opcoes) {
+        usuarios = Long.parseLong(opcoes.getOrDefault("usuarios", "1000"));
+        leiturasPorUsuario = Integer.parseInt(opcoes.getOrDefault("leituras-por-usuario", "1000"));
+        anos = Integer.parseInt(opcoes.getOrDefault("anos", "3"));
+        semente = Integer.parseInt(opcoes.getOrDefault("semente", "1"));
+        referencia = opcoes.containsKey("referencia") ? LocalDate.parse(opcoes.get("referencia")) : LocalDate.now();
+        workers = Integer.parseInt(opcoes.getOrDefault("workers",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        manterIndices = opcoes.containsKey("manter-indices");
+        saida = opcoes.containsKey("saida") ? Path.of(opcoes.get("saida")) : null;
+
+        if (usuarios < 1 || usuarios > GeradorUsuario.MAXIMO_USUARIOS) {
+            throw new IllegalArgumentException("--usuarios deve estar entre 1 e " + GeradorUsuario.MAXIMO_USUARIOS);
+        }
+        if (semente < 0 || semente > 99) {
+            throw new IllegalArgumentException("--semente deve estar entre 0 e 99");
+        }
+        if (anos < 1 || leiturasPorUsuario < 0 || workers < 1) {
+            throw new IllegalArgumentException("--anos e --workers devem ser positivos e --leituras-por-usuario não negativo");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        GeradorDados gerador;
+        try {
+            gerador = new GeradorDados(opcoes(args));
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USO);
+            System.exit(2);
+            return;
+        }
+        gerador.executar();
+    }
+
+    private static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Opção inválida: " + arg);
+            }
+            int igual = arg.indexOf('=');
+            opcoes.put(igual < 0 ? arg.substring(2) : arg.substring(2, igual), igual < 0 ? "" : arg.substring(igual + 1));
+        }
+        return opcoes;
+    }
+
+    private void executar() throws Exception {
+        System.out.printf("Gerando %d usuários com %d leituras em média (semente %d, referência %s, %d workers)%n",
+                usuarios, leiturasPorUsuario, semente, referencia, workers);
+        long inicio = System.nanoTime();
+
+        if (saida != null) {
+            Files.createDirectories(saida);
+            carregar();
+        } else {
+            Map<String, String> indices = manterIndices ? Map.of() : removerIndices();
+            try {
+                carregar();
+            } finally {
+                recriarIndices(indices);
+            }
+            finalizar();
+        }
+
+        Duration duracao = Duration.ofNanos(System.nanoTime() - inicio);
+        for (int t = 0; t < tabelas.length; t++) {
+            System.out.printf("  %-22s %,15d linhas%n", tabelas[t], totais.get(t));
+        }
+        System.out.printf("Concluído em %d min %d s (%,d leituras/s)%n", duracao.toMinutes(), duracao.toSecondsPart(),
+                totais.get(GeradorUsuario.LEITURAS) * 1000 / Math.max(duracao.toMillis(), 1));
+        System.out.printf("Para repetir: --usuarios=%d --leituras-por-usuario=%d --anos=%d --semente=%d --referencia=%s%n",
+                usuarios, leiturasPorUsuario, anos, semente, referencia);
+    }
+
+    /**
+     * Generate and send every user, one contiguous range per worker, reporting progress every 10 seconds.
+     */
+    private void carregar() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        ScheduledExecutorService progresso = Executors.newSingleThreadScheduledExecutor();
+        long inicio = System.nanoTime();
+        progresso.scheduleAtFixedRate(() -> {
+            long segundos = Math.max(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio), 1);
+            long leituras = totais.get(GeradorUsuario.LEITURAS);
+            System.out.printf("  %,d de %,d usuários, %,d leituras (%,d/s)%n",
+                    usuariosGerados.get(), usuarios, leituras, leituras / segundos);
+        }, 10, 10, TimeUnit.SECONDS);
+
+        try {
+            List<Future<Void>> tarefas = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                int worker = w;
+                tarefas.add(pool.submit(() -> carregarFaixa(worker, usuarios * worker / workers,
+                        usuarios * (worker + 1) / workers)));
+            }
+            aguardar(tarefas);
+        } finally {
+            progresso.shutdownNow();
+            pool.shutdownNow();
+        }
+    }
+
+    private Void carregarFaixa(int worker, long de, long ate) throws Exception {
+        if (de == ate) {
+            return null;
+        }
+        GeradorUsuario gerador = new GeradorUsuario(semente, leiturasPorUsuario, referencia, anos);
+        try (Connection conexao = saida == null ? conectarCarga() : null;
+             DestinoArquivos arquivos = saida == null ? null : new DestinoArquivos(saida, worker)) {
+            TabelaCopy.Destino destino = conexao != null ? copy(conexao) : arquivos;
+            for (long i = de; i < ate; i++) {
+                gerador.gerar(i);
+                if (gerador.pendente() > LIMITE_BUFFER) {
+                    gerador.descarregar(destino, totais);
+                }
+                usuariosGerados.incrementAndGet();
+            }
+            gerador.descarregar(destino, totais);
+        }
+        return null;
+    }
+
+    /**
+     * A COPY connection with asynchronous commit and, when allowed (superuser), without triggers or
+     * foreign key checks: the rows are consistent by construction and {@link #finalizar} fills in what
+     * the triggers would have written.
+     */
+    private Connection conectarCarga() throws SQLException {
+        Connection conexao = conectar();
+        try (Statement st = conexao.createStatement()) {
+            st.execute("SET synchronous_commit = off");
+            try {
+                st.execute("SET session_replication_role = replica");
+            } catch (SQLException e) {
+                if (gatilhosDesligados.getAndSet(false)) {
+                    System.out.println("Aviso: sem permissão para desligar os gatilhos (" + e.getMessage().strip()
+                            + "); a carga roda com gatilhos e será mais lenta");
+                }
+            }
+        }
+        return conexao;
+    }
+
+    private static TabelaCopy.Destino copy(Connection conexao) throws SQLException {
+        CopyManager copy = conexao.unwrap(PGConnection.class).getCopyAPI();
+        return (tabela, dados) -> {
+            try {
+                copy.copyIn(tabela.comandoCopy(), new ByteArrayInputStream(dados));
+            } catch (SQLException e) {
+                throw new IOException("COPY em " + tabela.getNome() + " falhou", e);
+            }
+        };
+    }
+
+    /**
+     * Drop the secondary indexes of the loaded tables (not those backing a primary key or unique
+     * constraint), so COPY does not update them row by row.
+     * @return the definition of each dropped index, by name
+     */
+    private Map<String, String> removerIndices() throws SQLException {
+        Map<String, String> indices = new LinkedHashMap<>();
+        try (Connection conexao = conectar();
+             PreparedStatement ps = conexao.prepareStatement("""
+                     SELECT ci.relname, pg_get_indexdef(ci.oid)
+                     FROM pg_index x
+                     JOIN pg_class ci ON ci.oid = x.indexrelid
+                     JOIN pg_class ct ON ct.oid = x.indrelid
+                     WHERE ct.relnamespace = current_schema()::regnamespace
+                       AND ct.relname = ANY (?)
+                       AND NOT x.indisunique
+                       AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid)
+                     ORDER BY ct.relname, ci.relname""")) {
+            ps.setArray(1, conexao.createArrayOf("text", tabelas));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    indices.put(rs.getString(1), rs.getString(2));
+                }
+            }
+            if (indices.isEmpty()) {
+                return indices;
+            }
+            System.out.println("Índices removidos durante a carga (recriados no final):");
+            indices.values().forEach(definicao -> System.out.println("  " + definicao + ";"));
+            try (Statement st = conexao.createStatement()) {
+                for (String nome : indices.keySet()) {
+                    st.execute("DROP INDEX " + nome);
+                }
+            }
+        }
+        return indices;
+    }
+
+    private void recriarIndices(Map<String, String> indices) throws Exception {
+        if (indices.isEmpty()) {
+            return;
+        }
+        System.out.printf("Recriando %d índices%n", indices.size());
+        emParalelo(indices.values().stream().map(definicao -> (Callable<Void>) () -> {
+            try (Connection conexao = conectar(); Statement st = conexao.createStatement()) {
+                st.execute("SET maintenance_work_mem = '" + MEMORIA_INDICES + "'");
+                st.execute(definicao);
+            }
+            return null;
+        }).toList());
+    }
+
+    /**
+     * Write what the disabled triggers would have: each prescription's search document and each
+     * user's data version. Then fill in the doctors of each user, which the API maintains on save,
+     * and vacuum so the visibility map and statistics match a settled database.
+     */
+    private void finalizar() throws Exception {
+        System.out.println("Atualizando dados derivados");
+        List<Callable<Void>> faixas = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            long de = usuarios * w / workers;
+            long ate = usuarios * (w + 1) / workers;
+            if (de == ate) {
+                continue;
+            }
+            UUID primeiro = GeradorUsuario.id(semente, GeradorUsuario.USUARIOS, de, 0);
+            UUID ultimo = GeradorUsuario.id(semente, GeradorUsuario.USUARIOS, ate - 1, 0);
+            faixas.add(() -> {
+                try (Connection conexao = conectarCarga()) {
+                    if (gatilhosDesligados.get()) {
+                        executar(conexao, """
+                                UPDATE receitas SET busca = documento_busca_receita(id, observacoes)
+                                WHERE usuario_id BETWEEN ? AND ?""", primeiro, ultimo);
+                        executar(conexao, """
+                                INSERT INTO versoes_dados_usuario (usuario_id, versao)
+                                SELECT id, 1 FROM usuarios WHERE id BETWEEN ? AND ?
+                                ON CONFLICT (usuario_id) DO NOTHING""", primeiro, ultimo);
+                    }
+                    executar(conexao, """
+                            INSERT INTO medicos_usuario (usuario_id, chave, medico_nome, medico_crm, total_receitas)
+                            SELECT DISTINCT ON (r.usuario_id, chave_medico(r.medico_nome, r.medico_crm))
+                                   r.usuario_id,
+                                   chave_medico(r.medico_nome, r.medico_crm),
+                                   r.medico_nome,
+                                   r.medico_crm,
+                                   count(*) OVER (PARTITION BY r.usuario_id, chave_medico(r.medico_nome, r.medico_crm))
+                            FROM receitas r
+                            WHERE r.usuario_id BETWEEN ? AND ?
+                              AND chave_medico(r.medico_nome, r.medico_crm) IS NOT NULL
+                            ORDER BY r.usuario_id, chave_medico(r.medico_nome, r.medico_crm), r.data_emissao DESC, r.criado_em DESC
+                            ON CONFLICT (usuario_id, chave) DO NOTHING""", primeiro, ultimo);
+                }
+                return null;
+            });
+        }
+        emParalelo(faixas);
+
+        System.out.println("VACUUM ANALYZE");
+        List<Callable<Void>> vacuums = new ArrayList<>();
+        for (String tabela : tabelas) {
+            vacuums.add(() -> {
+                try (Connection conexao = conectar(); Statement st = conexao.createStatement()) {
+                    st.execute("VACUUM (ANALYZE) " + tabela);
+                }
+                return null;
+            });
+        }
+        emParalelo(vacuums);
+    }
+
+    private static void executar(Connection conexao, String sql, UUID de, UUID ate) throws SQLException {
+        try (PreparedStatement ps = conexao.prepareStatement(sql)) {
+            ps.setObject(1, de);
+            ps.setObject(2, ate);
+            ps.executeUpdate();
+        }
+    }
+
+    private void emParalelo(List<Callable<Void>> tarefas) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(workers, Math.max(tarefas.size(), 1)));
+        try {
+            List<Future<Void>> futuros = new ArrayList<>();
+            for (Callable<Void> tarefa : tarefas) {
+                futuros.add(pool.submit(tarefa));
+            }
+            aguardar(futuros);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Wait for every task, failing with the first error.
+     */
+    private static void aguardar(List<Future<Void>> tarefas) throws Exception {
+        for (Future<Void> tarefa : tarefas) {
+            try {
+                tarefa.get();
+            } catch (ExecutionException e) {
+                tarefas.forEach(t -> t.cancel(true));
+                throw e.getCause() instanceof Exception causa ? causa : e;
+            }
+        }
+    }
+
+    private static Connection conectar() throws SQLException {
+        String url = System.getenv("DB_URL");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Defina DB_URL, DB_USERNAME e DB_PASSWORD (ou use --saida)");
+        }
+        return DriverManager.getConnection(url, System.getenv("DB_USERNAME"), System.getenv("DB_PASSWORD"));
+    }
+
+    /**
+     * One file per table and worker ({@code <tabela>.<worker>.tsv}), loadable with psql's \copy.
+     */
+    private static final class DestinoArquivos implements TabelaCopy.Destino, Closeable {
+
+        private final Path diretorio;
+        private final int worker;
+        private final Map<String, OutputStream> arquivos = new HashMap<>();
+
+        DestinoArquivos(Path diretorio, int worker) {
+            this.diretorio = diretorio;
+            this.worker = worker;
+        }
+
+        @Override
+        public void copiar(TabelaCopy tabela, byte[] dados) throws IOException {
+            OutputStream arquivo = arquivos.get(tabela.getNome());
+            if (arquivo == null) {
+                arquivo = new BufferedOutputStream(
+                        Files.newOutputStream(diretorio.resolve(tabela.getNome() + "." + worker + ".tsv")), 1 << 16);
+                arquivos.put(tabela.getNome(), arquivo);
+            }
+            arquivo.write(dados);
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (OutputStream arquivo : arquivos.values()) {
+                arquivo.close();
+            }
+        }
+    }
+}
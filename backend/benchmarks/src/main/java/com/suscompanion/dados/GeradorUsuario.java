@@ -0,0 +1,476 @@
+package com.suscompanion.dados;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Generates one synthetic user at a time, with their medications, prescriptions, reminders, stock
+ * and health readings, into COPY buffers. Every user draws from its own random stream, seeded by
+ * (seed, user index), and every id is derived from the same pair, so the output depends only on the
+ * parameters, not on how users are split among workers.
+ */
+final class GeradorUsuario {
+
+    /**
+     * BCrypt of "carga123", the password of the load test users.
+     */
+    static final String SENHA = "$2a$10$HzlbcXD9YdaAxHOVPYEvHevYSpX5OlKlmu1/NNEyWUVcWX035mPeW";
+
+    /**
+     * Users per seed: the seed prefixes the 9 base digits of the CPF.
+     */
+    static final long MAXIMO_USUARIOS = 10_000_000L;
+
+    static final int USUARIOS = 0;
+    static final int MEDICAMENTOS = 1;
+    static final int RECEITAS = 2;
+    static final int RECEITA_ITENS = 3;
+    static final int LEMBRETES = 4;
+    static final int ESTOQUE = 5;
+    static final int LEITURAS = 6;
+
+    private record Remedio(String nomeCompleto, String nomeSimplificado, String dosagem, String tipo) {
+    }
+
+    private record Medico(String nome, String crm) {
+    }
+
+    private static final Remedio[] ANTI_HIPERTENSIVOS = {
+            new Remedio("Losartana Potássica", "Losartana", "50 mg", "Comprimido"),
+            new Remedio("Hidroclorotiazida", "Hidroclorotiazida", "25 mg", "Comprimido"),
+            new Remedio("Besilato de Anlodipino", "Anlodipino", "5 mg", "Comprimido"),
+            new Remedio("Maleato de Enalapril", "Enalapril", "10 mg", "Comprimido"),
+            new Remedio("Atenolol", "Atenolol", "25 mg", "Comprimido"),
+            new Remedio("Captopril", "Captopril", "25 mg", "Comprimido"),
+            new Remedio("Cloridrato de Propranolol", "Propranolol", "40 mg", "Comprimido"),
+            new Remedio("Espironolactona", "Espironolactona", "25 mg", "Comprimido"),
+            new Remedio("Furosemida", "Furosemida", "40 mg", "Comprimido")
+    };
+
+    private static final Remedio[] ANTIDIABETICOS = {
+            new Remedio("Cloridrato de Metformina", "Metformina", "850 mg", "Comprimido"),
+            new Remedio("Glibenclamida", "Glibenclamida", "5 mg", "Comprimido"),
+            new Remedio("Gliclazida", "Gliclazida", "30 mg", "Comprimido"),
+            new Remedio("Insulina Humana NPH", "Insulina NPH", "100 UI/mL", "Injetável"),
+            new Remedio("Insulina Humana Regular", "Insulina Regular", "100 UI/mL", "Injetável"),
+            new Remedio("Dapagliflozina", "Dapagliflozina", "10 mg", "Comprimido")
+    };
+
+    private static final Remedio[] OUTROS = {
+            new Remedio("Sinvastatina", "Sinvastatina", "20 mg", "Comprimido"),
+            new Remedio("Ácido Acetilsalicílico", "AAS", "100 mg", "Comprimido"),
+            new Remedio("Omeprazol", "Omeprazol", "20 mg", "Cápsula"),
+            new Remedio("Levotiroxina Sódica", "Levotiroxina", "50 mcg", "Comprimido"),
+            new Remedio("Cloridrato de Fluoxetina", "Fluoxetina", "20 mg", "Cápsula"),
+            new Remedio("Cloridrato de Sertralina", "Sertralina", "50 mg", "Comprimido"),
+            new Remedio("Cloridrato de Amitriptilina", "Amitriptilina", "25 mg", "Comprimido"),
+            new Remedio("Dipirona Sódica", "Dipirona", "500 mg", "Comprimido"),
+            new Remedio("Paracetamol", "Paracetamol", "500 mg", "Comprimido"),
+            new Remedio("Alendronato de Sódio", "Alendronato", "70 mg", "Comprimido"),
+            new Remedio("Carbonato de Cálcio", "Cálcio", "500 mg", "Comprimido"),
+            new Remedio("Sulfato de Salbutamol", "Salbutamol", "100 mcg", "Aerossol"),
+            new Remedio("Dipropionato de Beclometasona", "Beclometasona", "250 mcg", "Aerossol"),
+            new Remedio("Prednisona", "Prednisona", "20 mg", "Comprimido"),
+            new Remedio("Clonazepam", "Clonazepam", "2,5 mg/mL", "Solução oral"),
+            new Remedio("Sulfato Ferroso", "Sulfato Ferroso", "40 mg", "Comprimido")
+    };
+
+    private static final String[] NOMES = {
+            "Maria", "José", "Ana", "João", "Antônio", "Francisca", "Francisco", "Antônia", "Carlos", "Adriana",
+            "Paulo", "Juliana", "Pedro", "Márcia", "Lucas", "Fernanda", "Luiz", "Patrícia", "Marcos", "Luana",
+            "Luís", "Sandra", "Gabriel", "Camila", "Rafael", "Amanda", "Daniel", "Bruna", "Marcelo", "Larissa"
+    };
+
+    private static final String[] SOBRENOMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira", "Lima", "Gomes",
+            "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes", "Soares", "Fernandes", "Vieira", "Barbosa"
+    };
+
+    private static final String[] DDDS = {"11", "21", "31", "41", "51", "61", "71", "81", "85", "91"};
+
+    private static final String[] UFS = {"SP", "RJ", "MG", "PR", "RS", "DF", "BA", "PE", "CE", "PA"};
+
+    /**
+     * Shared pool, so users of the same region repeat doctors as real patients do.
+     */
+    private static final Medico[] MEDICOS = new Medico[60];
+
+    static {
+        for (int i = 0; i < MEDICOS.length; i++) {
+            String nome = NOMES[(i * 7) % NOMES.length];
+            nome = (nome.endsWith("a") ? "Dra. " : "Dr. ") + nome + " " + SOBRENOMES[(i * 3) % SOBRENOMES.length];
+            MEDICOS[i] = new Medico(nome, "CRM-" + UFS[i % UFS.length] + " " + (100000 + (i * 7919) % 900000));
+        }
+    }
+
+    private static final String[] POSOLOGIAS = {
+            "1 comprimido ao dia", "1 comprimido de 12 em 12 horas", "1 comprimido de 8 em 8 horas",
+            "1 comprimido em jejum", "1 comprimido à noite", "Se necessário, até 4 vezes ao dia"
+    };
+
+    private static final String[] OBSERVACOES_RECEITA = {
+            "Uso contínuo", "Retorno em 3 meses", "Trazer exames na próxima consulta", "Receita de controle especial"
+    };
+
+    private static final String[] INSTRUCOES = {
+            "Tomar em jejum", "Após o café da manhã", "Antes de dormir", "Com bastante água", "Junto com o almoço"
+    };
+
+    private static final String[] OBSERVACOES_LEITURA = {
+            "Medido em casa", "Após caminhada", "Esqueci de tomar o remédio", "Sentindo tontura", "Medido na UBS"
+    };
+
+    private static final int[][] DIAS_SEMANA = {{1, 2, 3, 4, 5}, {1, 3, 5}, {0, 6}, {2, 4}};
+
+    private static final BigDecimal[] DOSES = {
+            BigDecimal.ONE.setScale(2), new BigDecimal("0.50"), new BigDecimal("2.00")
+    };
+
+    private final int semente;
+    private final int leiturasPorUsuario;
+    private final LocalDate inicio;
+    private final int dias;
+
+    private final TabelaCopy usuarios = new TabelaCopy("usuarios",
+            "id, nome, email, cpf, data_nascimento, senha, telefone, criado_em, atualizado_em");
+    private final TabelaCopy medicamentos = new TabelaCopy("medicamentos",
+            "id, nome_completo, nome_simplificado, dosagem, tipo, usuario_id, criado_em, atualizado_em");
+    private final TabelaCopy receitas = new TabelaCopy("receitas",
+            "id, usuario_id, medico_nome, medico_crm, data_emissao, data_validade, observacoes, criado_em");
+    private final TabelaCopy receitaItens = new TabelaCopy("receita_itens",
+            "id, receita_id, medicamento_id, descricao, posologia, quantidade, criado_em");
+    private final TabelaCopy lembretes = new TabelaCopy("lembretes_medicacao",
+            "id, usuario_id, medicamento_id, horarios, dias_semana, quantidade_dose, instrucoes, ativo, criado_em");
+    private final TabelaCopy estoque = new TabelaCopy("estoque_pessoal",
+            "id, usuario_id, medicamento_id, quantidade_atual, quantidade_alerta, versao, criado_em, atualizado_em");
+    private final TabelaCopy leituras = new TabelaCopy("monitoramento_saude",
+            "id, usuario_id, tipo, valor_sistolica, valor_diastolica, valor_glicemia, jejum, pulsacao, "
+                    + "observacoes, data_registro, criado_em");
+
+    /**
+     * In foreign key order, indexed by the table constants above.
+     */
+    private final List<TabelaCopy> tabelas = List.of(usuarios, medicamentos, receitas, receitaItens, lembretes,
+            estoque, leituras);
+
+    /**
+     * @param leiturasPorUsuario mean number of health readings per user
+     * @param referencia         last day of the generated history (exclusive)
+     * @param anos               years of history before {@code referencia}
+     */
+    GeradorUsuario(int semente, int leiturasPorUsuario, LocalDate referencia, int anos) {
+        this.semente = semente;
+        this.leiturasPorUsuario = leiturasPorUsuario;
+        this.inicio = referencia.minusYears(anos);
+        this.dias = (int) ChronoUnit.DAYS.between(inicio, referencia);
+    }
+
+    /**
+     * Id of the n-th row of a table belonging to a user. Rows of one user sort together and after
+     * the previous user's, so each worker appends to the primary key indexes instead of writing at
+     * random pages, as version 4 UUIDs would.
+     */
+    static UUID id(int semente, int tabela, long usuario, long sequencia) {
+        return new UUID(((long) semente << 56) | ((long) (tabela + 1) << 48) | usuario, sequencia);
+    }
+
+    static String[] nomesTabelas() {
+        return new GeradorUsuario(0, 0, LocalDate.EPOCH, 0).tabelas.stream()
+                .map(TabelaCopy::getNome)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Characters buffered in all tables.
+     */
+    int pendente() {
+        int total = 0;
+        for (TabelaCopy tabela : tabelas) {
+            total += tabela.tamanhoPendente();
+        }
+        return total;
+    }
+
+    /**
+     * Send every table's buffer, parents before children, adding the rows sent to {@code totais}.
+     */
+    void descarregar(TabelaCopy.Destino destino, AtomicLongArray totais) throws IOException {
+        for (int t = 0; t < tabelas.size(); t++) {
+            totais.addAndGet(t, tabelas.get(t).descarregar(destino));
+        }
+    }
+
+    void gerar(long indice) {
+        SplittableRandom r = new SplittableRandom(semente * 0x9E3779B97F4A7C15L ^ indice);
+        UUID usuarioId = id(semente, USUARIOS, indice, 0);
+
+        boolean hipertenso = r.nextDouble() < 0.55;
+        boolean diabetico = r.nextDouble() < 0.30;
+        LocalDateTime cadastro = momento(r, inicio.minusDays(r.nextInt(180)), 8, 22);
+
+        usuario(r, indice, usuarioId, cadastro);
+
+        Remedio[] remedios = remedios(r, hipertenso, diabetico);
+        UUID[] medicamentoIds = new UUID[remedios.length];
+        for (int j = 0; j < remedios.length; j++) {
+            medicamentoIds[j] = id(semente, MEDICAMENTOS, indice, j);
+            LocalDateTime criado = momento(r, cadastro.toLocalDate().plusDays(r.nextInt(dias / 2 + 1)), 8, 22);
+            medicamento(medicamentoIds[j], usuarioId, remedios[j], criado);
+            if (r.nextDouble() < 0.85) {
+                estoque(r, id(semente, ESTOQUE, indice, j), usuarioId, medicamentoIds[j], criado);
+            }
+            if (r.nextDouble() < 0.90) {
+                lembrete(r, id(semente, LEMBRETES, indice, j), usuarioId, medicamentoIds[j], remedios[j], criado);
+            }
+        }
+
+        receitas(r, indice, usuarioId, remedios, medicamentoIds);
+        leituras(r, indice, usuarioId, hipertenso, diabetico);
+    }
+
+    private void usuario(SplittableRandom r, long indice, UUID id, LocalDateTime cadastro) {
+        int idade = r.nextDouble() < 0.7 ? 45 + r.nextInt(41) : 18 + r.nextInt(27);
+        String nome = NOMES[r.nextInt(NOMES.length)] + " " + SOBRENOMES[r.nextInt(SOBRENOMES.length)]
+                + " " + SOBRENOMES[r.nextInt(SOBRENOMES.length)];
+        String telefone = r.nextDouble() < 0.7
+                ? "(" + DDDS[r.nextInt(DDDS.length)] + ") 9" + (1000 + r.nextInt(9000)) + "-" + (1000 + r.nextInt(9000))
+                : null;
+
+        usuarios.uuid(id)
+                .texto(nome)
+                .texto("paciente" + indice + ".s" + semente + "@exemplo.com.br")
+                .texto(cpf(semente * MAXIMO_USUARIOS + indice))
+                .data(inicio.plusDays(dias).minusYears(idade).minusDays(r.nextInt(365)))
+                .texto(SENHA)
+                .texto(telefone)
+                .dataHora(cadastro)
+                .dataHora(cadastro.plusDays(r.nextInt(dias + 1)))
+                .fimLinha();
+    }
+
+    /**
+     * Condition-specific drugs first, then a Poisson number of others: 0 to about 15 per user.
+     */
+    private static Remedio[] remedios(SplittableRandom r, boolean hipertenso, boolean diabetico) {
+        int h = hipertenso ? 1 + r.nextInt(3) : 0;
+        int d = diabetico ? 1 + r.nextInt(2) : 0;
+        int o = Math.min(poisson(r, 1.5), OUTROS.length);
+        Remedio[] remedios = new Remedio[h + d + o];
+        escolher(r, ANTI_HIPERTENSIVOS, remedios, 0, h);
+        escolher(r, ANTIDIABETICOS, remedios, h, d);
+        escolher(r, OUTROS, remedios, h + d, o);
+        return remedios;
+    }
+
+    private void medicamento(UUID id, UUID usuarioId, Remedio remedio, LocalDateTime criado) {
+        medicamentos.uuid(id)
+                .texto(remedio.nomeCompleto())
+                .texto(remedio.nomeSimplificado())
+                .texto(remedio.dosagem())
+                .texto(remedio.tipo())
+                .uuid(usuarioId)
+                .dataHora(criado)
+                .dataHora(criado)
+                .fimLinha();
+    }
+
+    private void estoque(SplittableRandom r, UUID id, UUID usuarioId, UUID medicamentoId, LocalDateTime criado) {
+        int restantes = (int) ChronoUnit.DAYS.between(criado.toLocalDate(), inicio.plusDays(dias));
+        estoque.uuid(id)
+                .uuid(usuarioId)
+                .uuid(medicamentoId)
+                .inteiro(r.nextInt(91))
+                .inteiro(r.nextBoolean() ? 5 : 10)
+                .inteiro(r.nextInt(40))
+                .dataHora(criado)
+                .dataHora(criado.plusDays(r.nextInt(Math.max(restantes, 1))))
+                .fimLinha();
+    }
+
+    private void lembrete(SplittableRandom r, UUID id, UUID usuarioId, UUID medicamentoId, Remedio remedio,
+                          LocalDateTime criado) {
+        double vezes = r.nextDouble();
+        int atraso = 15 * r.nextInt(4);
+        LocalTime[] horarios;
+        if (vezes < 0.55) {
+            horarios = new LocalTime[]{LocalTime.of(7 + r.nextInt(3), atraso)};
+        } else if (vezes < 0.90) {
+            horarios = new LocalTime[]{LocalTime.of(8, atraso), LocalTime.of(20, atraso)};
+        } else {
+            horarios = new LocalTime[]{LocalTime.of(7, atraso), LocalTime.of(15, atraso), LocalTime.of(23, atraso)};
+        }
+        int[] diasSemana = r.nextDouble() < 0.85 ? null : DIAS_SEMANA[r.nextInt(DIAS_SEMANA.length)];
+        BigDecimal dose = remedio.tipo().equals("Injetável")
+                ? BigDecimal.valueOf(10 + 2 * r.nextInt(10)).setScale(2)
+                : DOSES[r.nextDouble() < 0.8 ? 0 : 1 + r.nextInt(2)];
+
+        lembretes.uuid(id)
+                .uuid(usuarioId)
+                .uuid(medicamentoId)
+                .horarios(horarios)
+                .inteiros(diasSemana)
+                .decimal(dose)
+                .texto(r.nextDouble() < 0.3 ? INSTRUCOES[r.nextInt(INSTRUCOES.length)] : null)
+                .logico(r.nextDouble() < 0.95)
+                .dataHora(criado)
+                .fimLinha();
+    }
+
+    /**
+     * About 1.2 prescriptions a year, mostly from the user's main doctor, with 1 to 4 items each.
+     */
+    private void receitas(SplittableRandom r, long indice, UUID usuarioId, Remedio[] remedios, UUID[] medicamentoIds) {
+        int quantidade = Math.min(poisson(r, 1.2 * dias / 365.0), 40);
+        Medico[] medicos = new Medico[1 + r.nextInt(3)];
+        for (int m = 0; m < medicos.length; m++) {
+            medicos[m] = MEDICOS[r.nextInt(MEDICOS.length)];
+        }
+
+        long item = 0;
+        for (int k = 0; k < quantidade; k++) {
+            UUID receitaId = id(semente, RECEITAS, indice, k);
+            Medico medico = r.nextDouble() < 0.7 ? medicos[0] : medicos[r.nextInt(medicos.length)];
+            LocalDate emissao = inicio.plusDays(r.nextInt(dias));
+            LocalDateTime criado = momento(r, emissao, 8, 20);
+
+            receitas.uuid(receitaId)
+                    .uuid(usuarioId)
+                    .texto(medico.nome())
+                    .texto(r.nextDouble() < 0.8 ? medico.crm() : null)
+                    .data(emissao)
+                    .data(r.nextDouble() < 0.85 ? emissao.plusDays(180) : null)
+                    .texto(r.nextDouble() < 0.3 ? OBSERVACOES_RECEITA[r.nextInt(OBSERVACOES_RECEITA.length)] : null)
+                    .dataHora(criado)
+                    .fimLinha();
+
+            int itens = 1 + r.nextInt(4);
+            int primeiro = remedios.length == 0 ? 0 : r.nextInt(remedios.length);
+            for (int i = 0; i < itens; i++) {
+                boolean vinculado = i < remedios.length && r.nextDouble() < 0.85;
+                Remedio remedio = remedios.length == 0
+                        ? OUTROS[r.nextInt(OUTROS.length)]
+                        : remedios[(primeiro + i) % remedios.length];
+                receitaItens.uuid(id(semente, RECEITA_ITENS, indice, item++))
+                        .uuid(receitaId)
+                        .uuid(vinculado ? medicamentoIds[(primeiro + i) % remedios.length] : null)
+                        .texto(remedio.nomeCompleto() + " " + remedio.dosagem())
+                        .texto(posologia(r, remedio))
+                        .inteiro(r.nextDouble() < 0.9 ? Integer.valueOf(30 * (1 + r.nextInt(3))) : null)
+                        .dataHora(criado)
+                        .fimLinha();
+            }
+        }
+    }
+
+    /**
+     * Readings spread evenly over the history, in the morning or the evening. The count per user is
+     * exponential around the mean (most users measure rarely, a few several times a day) and the
+     * values scatter around a per-user baseline that depends on the user's conditions.
+     */
+    private void leituras(SplittableRandom r, long indice, UUID usuarioId, boolean hipertenso, boolean diabetico) {
+        int quantidade = (int) Math.min(Math.round(-leiturasPorUsuario * Math.log(1 - r.nextDouble())), 4L * dias);
+        double sistolica = hipertenso ? 138 + 12 * r.nextGaussian() : 118 + 8 * r.nextGaussian();
+        double diastolica = hipertenso ? 88 + 6 * r.nextGaussian() : 76 + 5 * r.nextGaussian();
+        double pulsacao = 72 + 7 * r.nextGaussian();
+        double glicemia = diabetico ? 150 + 30 * r.nextGaussian() : 92 + 7 * r.nextGaussian();
+
+        for (int k = 0; k < quantidade; k++) {
+            boolean manha = r.nextBoolean();
+            LocalDate dia = inicio.plusDays((long) ((k + r.nextDouble()) * dias / quantidade));
+            LocalDateTime registro = manha ? momento(r, dia, 6, 10) : momento(r, dia, 18, 23);
+            boolean pressao = hipertenso == diabetico ? (!hipertenso || r.nextBoolean()) : hipertenso;
+
+            leituras.uuid(id(semente, LEITURAS, indice, k)).uuid(usuarioId);
+            if (pressao) {
+                int s = limitar(sistolica + 10 * r.nextGaussian(), 80, 230);
+                leituras.texto("PRESSAO")
+                        .inteiro(s)
+                        .inteiro(limitar(diastolica + 7 * r.nextGaussian(), 45, Math.min(s - 15, 140)))
+                        .nulo()
+                        .nulo()
+                        .inteiro(limitar(pulsacao + 6 * r.nextGaussian(), 40, 150));
+            } else {
+                boolean jejum = manha && r.nextDouble() < 0.8;
+                double valor = glicemia + 20 * r.nextGaussian() + (jejum ? 0 : 35 + 15 * r.nextGaussian());
+                leituras.texto("GLICEMIA")
+                        .nulo()
+                        .nulo()
+                        .decimal(BigDecimal.valueOf(limitar(valor * 10, 400, 4500), 1))
+                        .logico(jejum)
+                        .nulo();
+            }
+            leituras.texto(r.nextDouble() < 0.08 ? OBSERVACOES_LEITURA[r.nextInt(OBSERVACOES_LEITURA.length)] : null)
+                    .dataHora(registro)
+                    .dataHora(registro.plusSeconds(r.nextInt(600)))
+                    .fimLinha();
+        }
+    }
+
+    private static String posologia(SplittableRandom r, Remedio remedio) {
+        return switch (remedio.tipo()) {
+            case "Injetável" -> (10 + 2 * r.nextInt(10)) + " UI antes do café da manhã";
+            case "Aerossol" -> "2 jatos de 12 em 12 horas";
+            case "Solução oral" -> (5 + r.nextInt(16)) + " gotas à noite";
+            default -> POSOLOGIAS[r.nextInt(POSOLOGIAS.length)];
+        };
+    }
+
+    /**
+     * A CPF with valid check digits from its 9 base digits, or null if all digits would be equal.
+     */
+    static String cpf(long base) {
+        char[] digitos = new char[11];
+        String texto = String.format("%09d", base);
+        texto.getChars(0, 9, digitos, 0);
+        for (int n = 9; n <= 10; n++) {
+            int soma = 0;
+            for (int i = 0; i < n; i++) {
+                soma += (digitos[i] - '0') * (n + 1 - i);
+            }
+            int resto = soma % 11;
+            digitos[n] = (char) ('0' + (resto < 2 ? 0 : 11 - resto));
+        }
+        String cpf = new String(digitos);
+        return cpf.chars().distinct().count() == 1 ? null : cpf;
+    }
+
+    private static LocalDateTime momento(SplittableRandom r, LocalDate dia, int deHora, int ateHora) {
+        return dia.atTime(deHora + r.nextInt(ateHora - deHora), r.nextInt(60), r.nextInt(60));
+    }
+
+    /**
+     * Partial Fisher-Yates: {@code quantidade} distinct entries of {@code origem} into {@code destino}.
+     */
+    private static void escolher(SplittableRandom r, Remedio[] origem, Remedio[] destino, int posicao, int quantidade) {
+        Remedio[] copia = origem.clone();
+        for (int i = 0; i < quantidade; i++) {
+            int j = i + r.nextInt(copia.length - i);
+            Remedio escolhido = copia[j];
+            copia[j] = copia[i];
+            destino[posicao + i] = escolhido;
+        }
+    }
+
+    private static int poisson(SplittableRandom r, double media) {
+        double limite = Math.exp(-media);
+        double produto = r.nextDouble();
+        int n = 0;
+        while (produto > limite) {
+            produto *= r.nextDouble();
+            n++;
+        }
+        return n;
+    }
+
+    private static int limitar(double valor, int minimo, int maximo) {
+        return (int) Math.max(minimo, Math.min(maximo, Math.round(valor)));
+    }
+}
@@ -0,0 +1,209 @@
+package com.suscompanion.dados;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Rows of one table in PostgreSQL's COPY text format (tab-separated, {@code \N} for null),
+ * buffered until {@link #descarregar} sends them.
+ */
+final class TabelaCopy {
+
+    /**
+     * Receives each buffered chunk of a table: a COPY on a connection, or a file.
+     */
+    interface Destino {
+        void copiar(TabelaCopy tabela, byte[] dados) throws IOException;
+    }
+
+    private final String nome;
+    private final String colunas;
+    private final StringBuilder buffer = new StringBuilder(1 << 20);
+    private boolean inicioLinha = true;
+    private long linhas;
+    private long linhasPendentes;
+
+    TabelaCopy(String nome, String colunas) {
+        this.nome = nome;
+        this.colunas = colunas;
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    String comandoCopy() {
+        return "COPY " + nome + " (" + colunas + ") FROM STDIN";
+    }
+
+    long getLinhas() {
+        return linhas;
+    }
+
+    int tamanhoPendente() {
+        return buffer.length();
+    }
+
+    TabelaCopy uuid(UUID valor) {
+        if (valor == null) {
+            return nulo();
+        }
+        campo().append(valor);
+        return this;
+    }
+
+    TabelaCopy texto(String valor) {
+        if (valor == null) {
+            return nulo();
+        }
+        StringBuilder b = campo();
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '\\' -> b.append("\\\\");
+                case '\t' -> b.append("\\t");
+                case '\n' -> b.append("\\n");
+                case '\r' -> b.append("\\r");
+                default -> b.append(c);
+            }
+        }
+        return this;
+    }
+
+    TabelaCopy inteiro(long valor) {
+        campo().append(valor);
+        return this;
+    }
+
+    TabelaCopy inteiro(Integer valor) {
+        return valor == null ? nulo() : inteiro(valor.longValue());
+    }
+
+    TabelaCopy decimal(BigDecimal valor) {
+        if (valor == null) {
+            return nulo();
+        }
+        campo().append(valor.toPlainString());
+        return this;
+    }
+
+    TabelaCopy logico(Boolean valor) {
+        if (valor == null) {
+            return nulo();
+        }
+        campo().append(valor ? 't' : 'f');
+        return this;
+    }
+
+    TabelaCopy data(LocalDate valor) {
+        if (valor == null) {
+            return nulo();
+        }
+        StringBuilder b = campo();
+        data(b, valor);
+        return this;
+    }
+
+    TabelaCopy dataHora(LocalDateTime valor) {
+        if (valor == null) {
+            return nulo();
+        }
+        StringBuilder b = campo();
+        data(b, valor.toLocalDate());
+        b.append(' ');
+        hora(b, valor.toLocalTime());
+        return this;
+    }
+
+    /**
+     * {@code TIME[]} literal, e.g. {@code {08:00:00,20:00:00}}.
+     */
+    TabelaCopy horarios(LocalTime[] valores) {
+        StringBuilder b = campo().append('{');
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                b.append(',');
+            }
+            hora(b, valores[i]);
+        }
+        b.append('}');
+        return this;
+    }
+
+    /**
+     * {@code INTEGER[]} literal, or null.
+     */
+    TabelaCopy inteiros(int[] valores) {
+        if (valores == null) {
+            return nulo();
+        }
+        StringBuilder b = campo().append('{');
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                b.append(',');
+            }
+            b.append(valores[i]);
+        }
+        b.append('}');
+        return this;
+    }
+
+    TabelaCopy nulo() {
+        campo().append("\\N");
+        return this;
+    }
+
+    void fimLinha() {
+        buffer.append('\n');
+        inicioLinha = true;
+        linhasPendentes++;
+    }
+
+    /**
+     * Send the buffered rows, if any, and empty the buffer.
+     * @return the number of rows sent
+     */
+    long descarregar(Destino destino) throws IOException {
+        if (linhasPendentes == 0) {
+            return 0;
+        }
+        destino.copiar(this, buffer.toString().getBytes(StandardCharsets.UTF_8));
+        long enviadas = linhasPendentes;
+        linhas += enviadas;
+        linhasPendentes = 0;
+        buffer.setLength(0);
+        return enviadas;
+    }
+
+    private StringBuilder campo() {
+        if (!inicioLinha) {
+            buffer.append('\t');
+        }
+        inicioLinha = false;
+        return buffer;
+    }
+
+    private static void data(StringBuilder b, LocalDate data) {
+        b.append(data.getYear()).append('-');
+        doisDigitos(b, data.getMonthValue()).append('-');
+        doisDigitos(b, data.getDayOfMonth());
+    }
+
+    private static void hora(StringBuilder b, LocalTime hora) {
+        doisDigitos(b, hora.getHour()).append(':');
+        doisDigitos(b, hora.getMinute()).append(':');
+        doisDigitos(b, hora.getSecond());
+    }
+
+    private static StringBuilder doisDigitos(StringBuilder b, int valor) {
+        if (valor < 10) {
+            b.append('0');
+        }
+        return b.append(valor);
+    }
+}
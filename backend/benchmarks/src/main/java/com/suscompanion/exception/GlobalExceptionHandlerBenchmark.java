@@ -0,0 +1,74 @@
+package com.suscompanion.exception;
+
+import com.suscompanion.dto.medicamento.MedicamentoRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error response construction for the most common client errors. The exceptions are built
+ * once, so only the handler's own work is measured; {@link #naoEncontradoComExcecao()} also
+ * creates the exception, stack trace included, as a request that hits it does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class GlobalExceptionHandlerBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private UUID id;
+    private ResourceNotFoundException naoEncontrado;
+    private IllegalArgumentException argumentoInvalido;
+    private MethodArgumentNotValidException validacao;
+
+    @Setup
+    public void setUp() {
+        id = UUID.randomUUID();
+        naoEncontrado = ResourceNotFoundException.forResource("Medicamento", id);
+        argumentoInvalido = new IllegalArgumentException("Já existe um item de estoque para este medicamento");
+
+        BeanPropertyBindingResult erros = new BeanPropertyBindingResult(new MedicamentoRequest(), "medicamentoRequest");
+        erros.rejectValue("nomeCompleto", "NotBlank", "Nome completo é obrigatório");
+        erros.rejectValue("dosagem", "Size", "Dosagem deve ter no máximo 50 caracteres");
+        MethodParameter parametro = new MethodParameter(
+                ReflectionUtils.findMethod(GlobalExceptionHandlerBenchmark.class, "receber", MedicamentoRequest.class), 0);
+        validacao = new MethodArgumentNotValidException(parametro, erros);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> naoEncontrado() {
+        return handler.handleResourceNotFoundException(naoEncontrado);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> naoEncontradoComExcecao() {
+        return handler.handleResourceNotFoundException(ResourceNotFoundException.forResource("Medicamento", id));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> argumentoInvalido() {
+        return handler.handleIllegalArgumentException(argumentoInvalido);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validacao() {
+        return handler.handleValidationExceptions(validacao);
+    }
+
+    /**
+     * Stand-in for a controller method with a validated body, for the exception's MethodParameter.
+     */
+    @SuppressWarnings("unused")
+    private void receber(MedicamentoRequest request) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.suscompanion.model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LembreteMedicacao#isParaHoje()}, called for every reminder mapped to a DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class LembreteMedicacaoBenchmark {
+
+    /**
+     * Days of the week (0 = Sunday); empty means every day.
+     */
+    @Param({"", "1,2,3,4,5", "0,6"})
+    private String diasSemana;
+
+    private LembreteMedicacao lembrete;
+
+    @Setup
+    public void setUp() {
+        lembrete = new LembreteMedicacao();
+        lembrete.setDiasSemana(diasSemana.isEmpty() ? List.of()
+                : Arrays.stream(diasSemana.split(",")).map(Integer::valueOf).toList());
+    }
+
+    @Benchmark
+    public boolean isParaHoje() {
+        return lembrete.isParaHoje();
+    }
+}
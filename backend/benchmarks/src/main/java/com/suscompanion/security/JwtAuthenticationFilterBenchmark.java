@@ -0,0 +1,64 @@
+package com.suscompanion.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JWT filter end to end: header parsing, token validation, user lookup (served from memory,
+ * as the natural ID cache does for a warm user), security context and the seguranca.jwt timer.
+ * Each operation builds a fresh mock request, which is included in the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain FIM = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private String autorizacao;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = JwtServiceBenchmark.jwtService();
+        UserDetails usuario = JwtServiceBenchmark.usuario();
+        filter = new JwtAuthenticationFilter(jwtService, email -> usuario, new SimpleMeterRegistry());
+        autorizacao = "Bearer " + jwtService.generateToken(usuario);
+    }
+
+    @Benchmark
+    public Object comToken() throws Exception {
+        return filtrar(autorizacao);
+    }
+
+    /**
+     * Public endpoints and requests without a token only pay for the header check.
+     */
+    @Benchmark
+    public Object semToken() throws Exception {
+        return filtrar(null);
+    }
+
+    private Object filtrar(String cabecalho) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/medicamentos");
+        if (cabecalho != null) {
+            request.addHeader("Authorization", cabecalho);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), FIM);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.suscompanion.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation (login and refresh) and validation (every authenticated request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private UserDetails usuario;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = jwtService();
+        usuario = usuario();
+        token = jwtService.generateToken(usuario);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtService.generateToken(usuario);
+    }
+
+    @Benchmark
+    public boolean validarToken() {
+        return jwtService.isTokenValid(token, usuario);
+    }
+
+    @Benchmark
+    public String extrairUsuario() {
+        return jwtService.extractUsername(token);
+    }
+
+    /**
+     * JwtService with the same key size and expirations as the default configuration.
+     */
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey",
+                "c3VzLWNvbXBhbmlvbi1iZW5jaG1hcmtzLWNoYXZlLWRlLTI1Ni1iaXRzLTAxMjM0NTY3ODk=");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 604_800_000L);
+        return jwtService;
+    }
+
+    static UserDetails usuario() {
+        return User.withUsername("maria.silva@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z9Yk0sC1f9tPp3hG8dN1qJ6W")
+                .authorities(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.suscompanion.service;
+
+import com.suscompanion.model.*;
+import com.suscompanion.model.MonitoramentoSaude.TipoMonitoramento;
+import com.suscompanion.model.RegistroDose.StatusDose;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fully populated entities, shaped like the rows the services map in production.
+ */
+final class Amostras {
+
+    static final LocalDateTime AGORA = LocalDateTime.of(2024, 3, 15, 10, 30);
+
+    private Amostras() {
+    }
+
+    static Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setId(UUID.randomUUID());
+        usuario.setNome("Maria da Silva");
+        usuario.setEmail("maria.silva@example.com");
+        usuario.setCpf("52998224725");
+        usuario.setDataNascimento(LocalDate.of(1958, 7, 21));
+        usuario.setSenha("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z9Yk0sC1f9tPp3hG8dN1qJ6W");
+        usuario.setTelefone("(11) 98765-4321");
+        usuario.setCriadoEm(AGORA.minusYears(1));
+        usuario.setAtualizadoEm(AGORA.minusDays(3));
+        return usuario;
+    }
+
+    static Medicamento medicamento(Usuario usuario, int i) {
+        Medicamento medicamento = new Medicamento();
+        medicamento.setId(UUID.randomUUID());
+        medicamento.setNomeCompleto("Losartana Potássica " + i);
+        medicamento.setNomeSimplificado("Losartana");
+        medicamento.setDosagem("50 mg");
+        medicamento.setTipo("Comprimido");
+        medicamento.setUsuario(usuario);
+        medicamento.setCatalogoId(UUID.randomUUID());
+        medicamento.setCriadoEm(AGORA.minusMonths(2));
+        medicamento.setAtualizadoEm(AGORA.minusDays(1));
+        return medicamento;
+    }
+
+    static EstoquePessoal estoque(Usuario usuario, Medicamento medicamento) {
+        EstoquePessoal estoque = new EstoquePessoal();
+        estoque.setId(UUID.randomUUID());
+        estoque.setUsuario(usuario);
+        estoque.setMedicamento(medicamento);
+        estoque.setQuantidadeAtual(12);
+        estoque.setQuantidadeAlerta(5);
+        estoque.setVersao(4L);
+        estoque.setCriadoEm(AGORA.minusMonths(2));
+        estoque.setAtualizadoEm(AGORA.minusHours(6));
+        return estoque;
+    }
+
+    static LembreteMedicacao lembrete(Usuario usuario, Medicamento medicamento) {
+        LembreteMedicacao lembrete = new LembreteMedicacao();
+        lembrete.setId(UUID.randomUUID());
+        lembrete.setUsuario(usuario);
+        lembrete.setMedicamento(medicamento);
+        lembrete.setHorarios(List.of(LocalTime.of(8, 0), LocalTime.of(20, 0)));
+        lembrete.setDiasSemana(List.of(1, 2, 3, 4, 5));
+        lembrete.setQuantidadeDose(BigDecimal.ONE);
+        lembrete.setInstrucoes("Tomar após as refeições");
+        lembrete.setAtivo(true);
+        lembrete.setCriadoEm(AGORA.minusMonths(2));
+        return lembrete;
+    }
+
+    static MonitoramentoSaude leitura(Usuario usuario, int i) {
+        MonitoramentoSaude leitura = new MonitoramentoSaude();
+        leitura.setId(UUID.randomUUID());
+        leitura.setUsuario(usuario);
+        leitura.setTipo(TipoMonitoramento.PRESSAO);
+        leitura.setValorSistolica(120 + i % 20);
+        leitura.setValorDiastolica(80);
+        leitura.setPulsacao(72);
+        leitura.setObservacoes("Medida em repouso");
+        leitura.setDataRegistro(AGORA.minusHours(i));
+        leitura.setCriadoEm(AGORA.minusHours(i));
+        return leitura;
+    }
+
+    static PrevisaoEstoque previsao(EstoquePessoal estoque) {
+        return new PrevisaoEstoque(estoque.getId(), estoque, estoque.getUsuario().getId(),
+                estoque.getQuantidadeAtual(), new BigDecimal("2.000"), AGORA.toLocalDate().plusDays(6), AGORA);
+    }
+
+    static Receita receita(Usuario usuario, List<Medicamento> medicamentos) {
+        Receita receita = new Receita();
+        receita.setId(UUID.randomUUID());
+        receita.setUsuario(usuario);
+        receita.setMedicoNome("Dr. João Pereira");
+        receita.setMedicoCrm("CRM-SP 123456");
+        receita.setDataEmissao(AGORA.toLocalDate().minusDays(10));
+        receita.setDataValidade(AGORA.toLocalDate().plusMonths(6));
+        receita.setObservacoes("Uso contínuo");
+        receita.setCriadoEm(AGORA.minusDays(10));
+        List<ReceitaItem> itens = new ArrayList<>();
+        for (Medicamento medicamento : medicamentos) {
+            itens.add(new ReceitaItem(UUID.randomUUID(), receita, medicamento, medicamento.getNomeCompleto(),
+                    "1 comprimido de 12 em 12 horas", 60, AGORA.minusDays(10)));
+        }
+        receita.setItens(itens);
+        return receita;
+    }
+
+    static RegistroDose registroDose(Usuario usuario, LembreteMedicacao lembrete, int i) {
+        return new RegistroDose(UUID.randomUUID(), usuario, lembrete, lembrete.getMedicamento(), StatusDose.TOMADA,
+                AGORA.minusHours(12L * i), AGORA.minusHours(12L * i).plusMinutes(7), null, AGORA.minusHours(12L * i));
+    }
+
+    static AdesaoMedicacao adesao(Usuario usuario, Medicamento medicamento) {
+        return new AdesaoMedicacao(UUID.randomUUID(), usuario, medicamento, AGORA.toLocalDate(),
+                14, 13, 60, 55, 180, 162, AGORA);
+    }
+}
@@ -0,0 +1,158 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.dose.AdesaoMedicacaoDTO;
+import com.suscompanion.dto.dose.RegistroDoseDTO;
+import com.suscompanion.dto.estoque.EstoquePessoalDTO;
+import com.suscompanion.dto.estoque.PrevisaoEstoqueDTO;
+import com.suscompanion.dto.lembrete.LembreteMedicacaoDTO;
+import com.suscompanion.dto.medicamento.MedicamentoDTO;
+import com.suscompanion.dto.receita.ReceitaDTO;
+import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
+import com.suscompanion.dto.usuario.UsuarioDTO;
+import com.suscompanion.model.*;
+import io.r2dbc.spi.Readable;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of each service, as run once per row of every listing.
+ * Services get a real ModelMapper (as in App) and no repositories, which toDTO does not use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class MapeamentoDTOBenchmark {
+
+    private UsuarioService usuarioService;
+    private MedicamentoService medicamentoService;
+    private EstoquePessoalService estoquePessoalService;
+    private LembreteMedicacaoService lembreteMedicacaoService;
+    private MonitoramentoSaudeService monitoramentoSaudeService;
+    private PrevisaoEstoqueService previsaoEstoqueService;
+    private ReceitaService receitaService;
+    private RegistroDoseService registroDoseService;
+
+    private Usuario usuario;
+    private Medicamento medicamento;
+    private EstoquePessoal estoque;
+    private LembreteMedicacao lembrete;
+    private MonitoramentoSaude leitura;
+    private Readable linhaLeitura;
+    private PrevisaoEstoque previsao;
+    private Receita receita;
+    private RegistroDose registroDose;
+    private AdesaoMedicacao adesao;
+
+    @Setup
+    public void setUp() {
+        ModelMapper modelMapper = new ModelMapper();
+        usuarioService = new UsuarioService(null, modelMapper, null);
+        medicamentoService = new MedicamentoService(null, null, modelMapper, null, null, null);
+        estoquePessoalService = new EstoquePessoalService(null, null, null, modelMapper, null);
+        lembreteMedicacaoService = new LembreteMedicacaoService(null, null, null, modelMapper, null, null);
+        monitoramentoSaudeService = new MonitoramentoSaudeService(null, null, modelMapper, null, null);
+        previsaoEstoqueService = new PrevisaoEstoqueService(null, null, null, null, null, modelMapper);
+        receitaService = new ReceitaService(null, null, null, null, modelMapper);
+        registroDoseService = new RegistroDoseService(null, null, null, null);
+
+        usuario = Amostras.usuario();
+        medicamento = Amostras.medicamento(usuario, 1);
+        estoque = Amostras.estoque(usuario, medicamento);
+        lembrete = Amostras.lembrete(usuario, medicamento);
+        leitura = Amostras.leitura(usuario, 1);
+        linhaLeitura = linha(leitura);
+        previsao = Amostras.previsao(estoque);
+        receita = Amostras.receita(usuario, List.of(medicamento,
+                Amostras.medicamento(usuario, 2), Amostras.medicamento(usuario, 3)));
+        registroDose = Amostras.registroDose(usuario, lembrete, 1);
+        adesao = Amostras.adesao(usuario, medicamento);
+    }
+
+    @Benchmark
+    public UsuarioDTO usuario() {
+        return usuarioService.toDTO(usuario);
+    }
+
+    @Benchmark
+    public MedicamentoDTO medicamento() {
+        return medicamentoService.toDTO(medicamento);
+    }
+
+    @Benchmark
+    public EstoquePessoalDTO estoquePessoal() {
+        return estoquePessoalService.toDTO(estoque);
+    }
+
+    @Benchmark
+    public LembreteMedicacaoDTO lembreteMedicacao() {
+        return lembreteMedicacaoService.toDTO(lembrete);
+    }
+
+    @Benchmark
+    public MonitoramentoSaudeDTO monitoramentoSaude() {
+        return monitoramentoSaudeService.toDTO(leitura);
+    }
+
+    @Benchmark
+    public MonitoramentoSaudeDTO monitoramentoSaudeReativo() {
+        return MonitoramentoSaudeReativoService.toDTO(linhaLeitura);
+    }
+
+    @Benchmark
+    public PrevisaoEstoqueDTO previsaoEstoque() {
+        return previsaoEstoqueService.toDTO(previsao, Amostras.AGORA.toLocalDate());
+    }
+
+    /**
+     * Prescription with three items, each mapped separately.
+     */
+    @Benchmark
+    public ReceitaDTO receita() {
+        return receitaService.toDTO(receita);
+    }
+
+    @Benchmark
+    public RegistroDoseDTO registroDose() {
+        return registroDoseService.toDTO(registroDose);
+    }
+
+    @Benchmark
+    public AdesaoMedicacaoDTO adesaoMedicacao() {
+        return registroDoseService.toDTO(adesao);
+    }
+
+    /**
+     * R2DBC row with the columns the reactive service reads, backed by a map.
+     */
+    private static Readable linha(MonitoramentoSaude leitura) {
+        Map<String, Object> colunas = new HashMap<>();
+        colunas.put("id", leitura.getId());
+        colunas.put("usuario_id", leitura.getUsuario().getId());
+        colunas.put("tipo", leitura.getTipo().name());
+        colunas.put("valor_sistolica", leitura.getValorSistolica());
+        colunas.put("valor_diastolica", leitura.getValorDiastolica());
+        colunas.put("pulsacao", leitura.getPulsacao());
+        colunas.put("observacoes", leitura.getObservacoes());
+        colunas.put("data_registro", leitura.getDataRegistro());
+        colunas.put("criado_em", leitura.getCriadoEm());
+        return new Readable() {
+            @Override
+            public <T> T get(int index, Class<T> type) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <T> T get(String name, Class<T> type) {
+                return type.cast(colunas.get(name));
+            }
+        };
+    }
+}
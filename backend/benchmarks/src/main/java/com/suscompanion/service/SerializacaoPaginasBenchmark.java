@@ -0,0 +1,107 @@
+package com.suscompanion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suscompanion.model.LembreteMedicacao;
+import com.suscompanion.model.Medicamento;
+import com.suscompanion.model.Usuario;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * JSON serialization of a full page of each paged listing, with an ObjectMapper built
+ * like Spring Boot's (Java time module, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SerializacaoPaginasBenchmark {
+
+    @Param({"20"})
+    private int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+
+    private Page<?> medicamentos;
+    private Page<?> estoques;
+    private Page<?> lembretes;
+    private Page<?> leituras;
+    private Page<?> receitas;
+    private Page<?> doses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        ModelMapper modelMapper = new ModelMapper();
+        MedicamentoService medicamentoService = new MedicamentoService(null, null, modelMapper, null, null, null);
+        EstoquePessoalService estoquePessoalService = new EstoquePessoalService(null, null, null, modelMapper, null);
+        LembreteMedicacaoService lembreteMedicacaoService = new LembreteMedicacaoService(null, null, null, modelMapper, null, null);
+        MonitoramentoSaudeService monitoramentoSaudeService = new MonitoramentoSaudeService(null, null, modelMapper, null, null);
+        ReceitaService receitaService = new ReceitaService(null, null, null, null, modelMapper);
+        RegistroDoseService registroDoseService = new RegistroDoseService(null, null, null, null);
+
+        Usuario usuario = Amostras.usuario();
+        List<Medicamento> lista = new ArrayList<>();
+        for (int i = 0; i < tamanhoPagina; i++) {
+            lista.add(Amostras.medicamento(usuario, i));
+        }
+        LembreteMedicacao lembrete = Amostras.lembrete(usuario, lista.get(0));
+
+        medicamentos = pagina(i -> medicamentoService.toDTO(lista.get(i)));
+        estoques = pagina(i -> estoquePessoalService.toDTO(Amostras.estoque(usuario, lista.get(i))));
+        lembretes = pagina(i -> lembreteMedicacaoService.toDTO(Amostras.lembrete(usuario, lista.get(i))));
+        leituras = pagina(i -> monitoramentoSaudeService.toDTO(Amostras.leitura(usuario, i)));
+        receitas = pagina(i -> receitaService.toDTO(Amostras.receita(usuario, lista.subList(0, 3))));
+        doses = pagina(i -> registroDoseService.toDTO(Amostras.registroDose(usuario, lembrete, i)));
+    }
+
+    @Benchmark
+    public byte[] medicamentos() throws Exception {
+        return objectMapper.writeValueAsBytes(medicamentos);
+    }
+
+    @Benchmark
+    public byte[] estoquePessoal() throws Exception {
+        return objectMapper.writeValueAsBytes(estoques);
+    }
+
+    @Benchmark
+    public byte[] lembretesMedicacao() throws Exception {
+        return objectMapper.writeValueAsBytes(lembretes);
+    }
+
+    @Benchmark
+    public byte[] monitoramentoSaude() throws Exception {
+        return objectMapper.writeValueAsBytes(leituras);
+    }
+
+    @Benchmark
+    public byte[] receitas() throws Exception {
+        return objectMapper.writeValueAsBytes(receitas);
+    }
+
+    @Benchmark
+    public byte[] registrosDose() throws Exception {
+        return objectMapper.writeValueAsBytes(doses);
+    }
+
+    private Page<?> pagina(IntFunction<?> dto) {
+        List<Object> conteudo = new ArrayList<>(tamanhoPagina);
+        for (int i = 0; i < tamanhoPagina; i++) {
+            conteudo.add(dto.apply(i));
+        }
+        return new PageImpl<>(conteudo, PageRequest.of(0, tamanhoPagina), 5L * tamanhoPagina);
+    }
+}
@@ -0,0 +1,28 @@
+package com.suscompanion.validation;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPF check run on every user registration and update: formatted and unformatted valid
+ * numbers, a repeated-digit number and a number with a wrong check digit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class CPFValidatorBenchmark {
+
+    @Param({"52998224725", "529.982.247-25", "11111111111", "52998224726"})
+    private String cpf;
+
+    private final CPFValidator validator = new CPFValidator();
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(cpf, null);
+    }
+}
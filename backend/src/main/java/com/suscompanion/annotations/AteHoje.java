@@ -0,0 +1,20 @@
+package com.suscompanion.annotations;
+
+import com.suscompanion.validation.AteHojeValidator;
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.*;
+
+/**
+ * The date-time must not fall on a day after today. Unlike {@code @PastOrPresent}, a later time
+ * today is accepted, e.g. the scheduled time of a dose taken a little early.
+ */
+@Documented
+@Constraint(validatedBy = AteHojeValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AteHoje {
+    String message() default "Data não pode ser posterior a hoje";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
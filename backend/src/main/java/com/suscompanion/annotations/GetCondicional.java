@@ -0,0 +1,14 @@
+package com.suscompanion.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks GET endpoints (or every GET endpoint of a controller) whose response depends only on the
+ * authenticated user's data and the current date. They get a weak ETag built from the user's data
+ * version and answer If-None-Match with 304 before the controller runs.
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface GetCondicional {
+}
@@ -0,0 +1,19 @@
+package com.suscompanion.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Maximum number of SQL statements an endpoint (or every endpoint of a controller) may run per
+ * request. Checked when {@code consultas.orcamento.modo} is {@code aviso} or {@code falha};
+ * endpoints without it get {@code consultas.orcamento.padrao}.
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrcamentoConsultas {
+
+    /**
+     * @return the maximum number of statements per request
+     */
+    int value();
+}
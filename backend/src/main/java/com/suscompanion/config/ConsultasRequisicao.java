@@ -0,0 +1,80 @@
+package com.suscompanion.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements run by the current request's thread: count, rows read, JDBC time and how
+ * many times each SELECT shape ran. Only requests started by {@link OrcamentoConsultasFilter}
+ * are tracked; work handed to other threads (e.g. dashboard parts) is not counted.
+ */
+public class ConsultasRequisicao {
+
+    private static final ThreadLocal<ConsultasRequisicao> ATUAL = new ThreadLocal<>();
+
+    private static final Pattern LITERAIS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTAS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private int comandos;
+    private long linhas;
+    private long tempoMs;
+    private final Map<String, Integer> selects = new LinkedHashMap<>();
+
+    static ConsultasRequisicao iniciar() {
+        ConsultasRequisicao consultas = new ConsultasRequisicao();
+        ATUAL.set(consultas);
+        return consultas;
+    }
+
+    static ConsultasRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    void registrarComando(String sql, long tempoMs) {
+        comandos++;
+        this.tempoMs += tempoMs;
+        String formato = formato(sql);
+        if (formato.regionMatches(true, 0, "select", 0, 6) || formato.regionMatches(true, 0, "with", 0, 4)) {
+            selects.merge(formato, 1, Integer::sum);
+        }
+    }
+
+    void registrarLinha() {
+        linhas++;
+    }
+
+    public int getComandos() {
+        return comandos;
+    }
+
+    public long getLinhas() {
+        return linhas;
+    }
+
+    public long getTempoMs() {
+        return tempoMs;
+    }
+
+    /**
+     * @return how many times each SELECT shape ran, in first-run order
+     */
+    public Map<String, Integer> getSelects() {
+        return selects;
+    }
+
+    /**
+     * Reduce a statement to its shape: literals and IN lists become placeholders, whitespace is collapsed.
+     * @param sql the statement
+     * @return the statement shape
+     */
+    static String formato(String sql) {
+        String semLiterais = LITERAIS.matcher(sql).replaceAll("?");
+        return ESPACOS.matcher(LISTAS.matcher(semLiterais).replaceAll("(?)")).replaceAll(" ").trim();
+    }
+}
@@ -27,6 +27,7 @@ public class CorsConfig {
         config.addAllowedMethod("OPTIONS");
         
         config.addAllowedHeader("*");
+        config.addExposedHeader("ETag"); // Lets browser clients send If-None-Match
         
         config.setAllowCredentials(false); // Must be false when allowedOrigin is "*"
         source.registerCorsConfiguration("/**", config);
@@ -0,0 +1,52 @@
+package com.suscompanion.config;
+
+import com.suscompanion.repository.UsuarioRepository;
+import com.suscompanion.repository.UsuarioRepository.UltimaEscrita;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Read-your-writes window, kept per user in the database rather than by the client, so it holds
+ * on every device and instance. Every write to a user's data stamps its time in
+ * versoes_dados_usuario (see V15); while the authenticated user's last write is within the window,
+ * the request's read-only transactions go to the primary instead of a replica. The window must
+ * cover the lag a replica can have while still considered healthy: {@code replicas.atraso-maximo-ms}
+ * plus the check interval.
+ * <p>
+ * The lookup reads the primary and also yields the user's data version, kept in the request's
+ * {@link LeituraRequisicao} for conditional GETs and caches. Outside the window every healthy
+ * replica already has that version, so a body read from a replica is never older than it.
+ */
+@Component
+public class EscritasRecentes {
+
+    private final UsuarioRepository usuarioRepository;
+    private final long janelaMs;
+
+    public EscritasRecentes(UsuarioRepository usuarioRepository,
+                            @Value("${replicas.janela-leitura-propria-ms:10000}") long janelaMs) {
+        this.usuarioRepository = usuarioRepository;
+        this.janelaMs = janelaMs;
+    }
+
+    /**
+     * Start the reads of a request that does not write: on the primary if its user wrote within
+     * the window, otherwise spread over the replicas. Anonymous requests need no lookup.
+     * @param authentication the request's authentication, or null
+     * @return the request's reads
+     */
+    public LeituraRequisicao iniciarLeitura(Authentication authentication) {
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return LeituraRequisicao.iniciar(false);
+        }
+        Optional<UltimaEscrita> ultimaEscrita = usuarioRepository.findUltimaEscritaByEmail(authentication.getName(), janelaMs);
+        LeituraRequisicao leitura = LeituraRequisicao.iniciar(
+                ultimaEscrita.map(UltimaEscrita::getRecente).orElse(false));
+        ultimaEscrita.ifPresent(escrita -> leitura.registrarVersaoDados(escrita.getUsuarioId(), escrita.getVersao()));
+        return leitura;
+    }
+}
@@ -0,0 +1,85 @@
+package com.suscompanion.config;
+
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.repository.UsuarioRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+
+/**
+ * Answers conditional GETs on {@link GetCondicional} endpoints before the controller runs.
+ * The weak ETag combines the user's data version (see V13) with the current date, since
+ * listings such as today's reminders also change at midnight. The version is usually the one
+ * {@link EscritasRecentes} read from the primary for the request; the user itself comes from
+ * the natural ID cache.
+ * <p>
+ * Runs before the open-session-in-view interceptor, so its lookups share a read-only
+ * transaction of their own. The body is never older than the version in the ETag: right after
+ * a write the request reads from the primary, and later every healthy replica has the version.
+ */
+@Component
+public class GetCondicionalInterceptor implements HandlerInterceptor {
+
+    private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public GetCondicionalInterceptor(UsuarioRepository usuarioRepository, PlatformTransactionManager transactionManager) {
+        this.usuarioRepository = usuarioRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod metodo)
+                || !condicional(metodo)) {
+            return true;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return true;
+        }
+        Long versao = transactionTemplate.execute(status -> usuarioRepository.findByEmail(authentication.getName())
+                .map(usuario -> {
+                    LeituraRequisicao leitura = LeituraRequisicao.atual();
+                    Long lida = leitura != null ? leitura.getVersaoDados(usuario.getId()) : null;
+                    if (lida != null) {
+                        return lida;
+                    }
+                    long versaoDados = usuarioRepository.findVersaoDados(usuario.getId()).orElse(0L);
+                    if (leitura != null) {
+                        leitura.registrarVersaoDados(usuario.getId(), versaoDados);
+                    }
+                    return versaoDados;
+                })
+                .orElse(null));
+        if (versao == null) {
+            return true;
+        }
+
+        String etag = "W/\"" + versao + "-" + LocalDate.now().toEpochDay() + "\"";
+
+        // Let clients keep the response but always revalidate it
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private boolean condicional(HandlerMethod metodo) {
+        return metodo.hasMethodAnnotation(GetCondicional.class)
+                || AnnotatedElementUtils.hasAnnotation(metodo.getBeanType(), GetCondicional.class);
+    }
+}
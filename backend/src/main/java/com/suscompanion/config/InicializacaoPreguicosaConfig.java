@@ -0,0 +1,67 @@
+package com.suscompanion.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+/**
+ * With {@code inicializacao.preguicosa}, beans that no request path needs at startup (springdoc's
+ * OpenAPI/Swagger UI machinery and our {@code OpenAPI} definition) are created on first use instead
+ * of during startup. Unlike {@code spring.main.lazy-initialization}, everything else stays eager,
+ * so configuration errors still fail the start and the first API request pays nothing extra.
+ */
+@Configuration
+public class InicializacaoPreguicosaConfig {
+
+    /**
+     * Packages of the beans made lazy, matched against the bean class, the {@code @Bean} method's
+     * declaring class and its return type (the latter two are all an AOT-generated definition has).
+     */
+    static final List<String> PACOTES_NAO_CRITICOS = List.of("org.springdoc.", "io.swagger.");
+
+    /**
+     * Static and reading the property itself, so it also applies to AOT builds, where the
+     * bean definitions were fixed at build time but post-processors still run at startup.
+     */
+    @Bean
+    static BeanFactoryPostProcessor inicializacaoPreguicosa(Environment environment) {
+        boolean ativa = environment.getProperty("inicializacao.preguicosa", Boolean.class, false);
+        return beanFactory -> {
+            if (!ativa) {
+                return;
+            }
+            for (String nome : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definicao = beanFactory.getBeanDefinition(nome);
+                if (naoCritico(definicao)) {
+                    definicao.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    static boolean naoCritico(BeanDefinition definicao) {
+        if (emPacoteNaoCritico(definicao.getBeanClassName())) {
+            return true;
+        }
+        Class<?> tipo = definicao.getResolvableType().resolve();
+        if (tipo != null && emPacoteNaoCritico(tipo.getName())) {
+            return true;
+        }
+        if (definicao instanceof AnnotatedBeanDefinition anotada) {
+            MethodMetadata metodo = anotada.getFactoryMethodMetadata();
+            return metodo != null
+                    && (emPacoteNaoCritico(metodo.getDeclaringClassName()) || emPacoteNaoCritico(metodo.getReturnTypeName()));
+        }
+        return false;
+    }
+
+    private static boolean emPacoteNaoCritico(String classe) {
+        return classe != null && PACOTES_NAO_CRITICOS.stream().anyMatch(classe::startsWith);
+    }
+}
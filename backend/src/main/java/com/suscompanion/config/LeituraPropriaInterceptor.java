@@ -0,0 +1,47 @@
+package com.suscompanion.config;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Starts the {@link LeituraRequisicao} of every request: write requests and requests from users
+ * that wrote within the window (see {@link EscritasRecentes}) read from the primary. The async
+ * dispatch that renders a result also stays on the primary, rather than repeating the lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeituraPropriaInterceptor implements AsyncHandlerInterceptor {
+
+    private final EscritasRecentes escritasRecentes;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (escrita(request) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            LeituraRequisicao.iniciar(true);
+        } else {
+            escritasRecentes.iniciarLeitura(SecurityContextHolder.getContext().getAuthentication());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        LeituraRequisicao.encerrar();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        LeituraRequisicao.encerrar();
+    }
+
+    private boolean escrita(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        return !(HttpMethod.GET.matches(metodo) || HttpMethod.HEAD.matches(metodo) || HttpMethod.OPTIONS.matches(metodo));
+    }
+}
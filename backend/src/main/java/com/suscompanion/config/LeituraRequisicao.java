@@ -0,0 +1,120 @@
+package com.suscompanion.config;
+
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * How the current request's read-only transactions pick their database, read by
+ * {@link ReplicaRoteadorDataSource}. The first read fixes the request's source (a replica or the
+ * primary) and later reads stay on it, moving only to the primary if the replica fails. So
+ * nothing the request reads is older than what it read before, e.g. the response body than the
+ * data version in its ETag. Started by {@link LeituraPropriaInterceptor}; work handed
+ * to other threads for the request (e.g. dashboard parts) runs with {@link #executar}.
+ * Without one (scheduled jobs, startup), reads are spread over the replicas.
+ */
+public class LeituraRequisicao {
+
+    private static final ThreadLocal<LeituraRequisicao> ATUAL = new ThreadLocal<>();
+
+    private final boolean escritaRecente;
+    /** Guards the source; a lock rather than synchronized, as it is held while a pool connects */
+    private final Lock trava = new ReentrantLock();
+    private boolean origemDefinida;
+    private ReplicaRoteadorDataSource.Replica replica;
+    private volatile VersaoDados versaoDados;
+
+    private LeituraRequisicao(boolean escritaRecente) {
+        this.escritaRecente = escritaRecente;
+    }
+
+    static LeituraRequisicao iniciar(boolean escritaRecente) {
+        LeituraRequisicao leitura = new LeituraRequisicao(escritaRecente);
+        ATUAL.set(leitura);
+        return leitura;
+    }
+
+    /**
+     * @return the reads of the request on the current thread, or null outside a request
+     */
+    public static LeituraRequisicao atual() {
+        return ATUAL.get();
+    }
+
+    static void encerrar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Run part of a request on another thread with the request's reads.
+     * @param leitura the request's reads, taken with {@link #atual()} on the request thread; may be null
+     * @param tarefa the work
+     * @return the work's result
+     */
+    public static <T> T executar(LeituraRequisicao leitura, Supplier<T> tarefa) {
+        LeituraRequisicao anterior = ATUAL.get();
+        ATUAL.set(leitura);
+        try {
+            return tarefa.get();
+        } finally {
+            ATUAL.set(anterior);
+        }
+    }
+
+    /**
+     * @return true if the request writes, or its user wrote within the read-your-writes window
+     */
+    public boolean isEscritaRecente() {
+        return escritaRecente;
+    }
+
+    Lock getTrava() {
+        return trava;
+    }
+
+    /**
+     * @return true once a read chose the request's source
+     */
+    boolean isOrigemDefinida() {
+        return origemDefinida;
+    }
+
+    /**
+     * @return the replica the request reads from, or null if it reads from the primary (or has not read yet)
+     */
+    ReplicaRoteadorDataSource.Replica getReplica() {
+        return replica;
+    }
+
+    /**
+     * Fix the request's source.
+     * @param replica the replica, or null for the primary
+     */
+    void fixar(ReplicaRoteadorDataSource.Replica replica) {
+        this.origemDefinida = true;
+        this.replica = replica;
+    }
+
+    /**
+     * Keep the user's data version read by the request (see {@link EscritasRecentes}),
+     * so conditional GETs and caches can use it without another query.
+     * @param usuarioId the user ID
+     * @param versao the data version
+     */
+    void registrarVersaoDados(UUID usuarioId, long versao) {
+        this.versaoDados = new VersaoDados(usuarioId, versao);
+    }
+
+    /**
+     * @param usuarioId the user ID
+     * @return the user's data version read by the request, or null if it did not read it
+     */
+    public Long getVersaoDados(UUID usuarioId) {
+        VersaoDados lida = versaoDados;
+        return lida != null && lida.usuarioId().equals(usuarioId) ? lida.versao() : null;
+    }
+
+    private record VersaoDados(UUID usuarioId, long versao) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.suscompanion.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Times every public method of the {@code @Service} classes as {@code servico.metodo},
+ * tagged by class, method and exception. Runs outside the transaction advice, so the
+ * time includes the commit. Methods returning Mono are timed until the Mono terminates.
+ */
+@Aspect
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class MetricasServicoAspect {
+
+    static final String METRICA = "servico.metodo";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(com.suscompanion.service..*) && @within(org.springframework.stereotype.Service) "
+            + "&& execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        Object resultado;
+        try {
+            resultado = joinPoint.proceed();
+        } catch (Throwable e) {
+            parar(amostra, joinPoint, e);
+            throw e;
+        }
+
+        if (resultado instanceof Mono<?> mono) {
+            AtomicReference<Throwable> erro = new AtomicReference<>();
+            return mono.doOnError(erro::set).doFinally(sinal -> parar(amostra, joinPoint, erro.get()));
+        }
+        parar(amostra, joinPoint, null);
+        return resultado;
+    }
+
+    private void parar(Timer.Sample amostra, ProceedingJoinPoint joinPoint, Throwable erro) {
+        amostra.stop(Timer.builder(METRICA)
+                .description("Service method execution time")
+                .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("exception", erro != null ? erro.getClass().getSimpleName() : "none")
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,92 @@
+package com.suscompanion.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Per-request SQL statement budget, enabled by {@code consultas.orcamento.modo} ({@code aviso}
+ * logs, {@code falha} throws). Wraps the application's {@code dataSource} bean with
+ * datasource-proxy so every statement and every row read on the request thread is counted.
+ */
+@Configuration
+@ConditionalOnExpression("!'${consultas.orcamento.modo:desligado}'.equalsIgnoreCase('desligado')")
+public class OrcamentoConsultasConfig {
+
+    /**
+     * Static so the data source is wrapped before anything else asks for it.
+     */
+    @Bean
+    static BeanPostProcessor contadorConsultasDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    ContadorConsultasListener listener = new ContadorConsultasListener();
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener)
+                            .proxyResultSet()
+                            .methodListener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public OrcamentoConsultasFilter orcamentoConsultasFilter(
+            @Value("${consultas.orcamento.modo}") String modo,
+            @Value("${consultas.orcamento.padrao:10}") int padrao,
+            @Value("${consultas.orcamento.repeticoes-maximas:3}") int repeticoesMaximas) {
+        return new OrcamentoConsultasFilter("falha".equalsIgnoreCase(modo), padrao, repeticoesMaximas);
+    }
+
+    /**
+     * Records statements and rows read into the current request's {@link ConsultasRequisicao}.
+     * A batch counts as one statement.
+     */
+    static class ContadorConsultasListener implements QueryExecutionListener, MethodExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            ConsultasRequisicao consultas = ConsultasRequisicao.atual();
+            if (consultas == null || queryInfoList.isEmpty()) {
+                return;
+            }
+            consultas.registrarComando(queryInfoList.get(0).getQuery(), execInfo.getElapsedTime());
+        }
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+            if (executionContext.getTarget() instanceof ResultSet
+                    && executionContext.getMethod().getName().equals("next")
+                    && Boolean.TRUE.equals(executionContext.getResult())) {
+                ConsultasRequisicao consultas = ConsultasRequisicao.atual();
+                if (consultas != null) {
+                    consultas.registrarLinha();
+                }
+            }
+        }
+    }
+}
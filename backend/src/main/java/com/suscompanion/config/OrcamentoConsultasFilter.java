@@ -0,0 +1,154 @@
+package com.suscompanion.config;
+
+import com.suscompanion.annotations.OrcamentoConsultas;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements of each request and checks them against the endpoint's
+ * {@link OrcamentoConsultas} budget and against repeated SELECT shapes (the usual sign of a
+ * per-row lazy load). Violations are logged, or thrown as {@link IllegalStateException} when
+ * {@code falhar} is set so tests fail. The count is also sent in the {@value #CABECALHO} header.
+ * Runs first, so authentication and conditional GET lookups are part of the count.
+ */
+@Slf4j
+public class OrcamentoConsultasFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final String CABECALHO = "X-Query-Count";
+
+    private final boolean falhar;
+    private final int padrao;
+    private final int repeticoesMaximas;
+
+    public OrcamentoConsultasFilter(boolean falhar, int padrao, int repeticoesMaximas) {
+        this.falhar = falhar;
+        this.padrao = padrao;
+        this.repeticoesMaximas = repeticoesMaximas;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ConsultasRequisicao consultas = ConsultasRequisicao.iniciar();
+        ComContagem resposta = new ComContagem(response, consultas);
+        try {
+            filterChain.doFilter(request, resposta);
+        } finally {
+            ConsultasRequisicao.encerrar();
+        }
+
+        resposta.escreverContagem();
+        if (request.isAsyncStarted()) {
+            // The rest of the request runs on another thread and is not counted
+            return;
+        }
+        verificar(request.getMethod() + " " + request.getRequestURI(),
+                orcamento(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)), consultas);
+    }
+
+    /**
+     * Check a finished request against its budget and the repeated statement limit.
+     * @param requisicao the request description used in messages
+     * @param orcamento the maximum number of statements
+     * @param consultas the statements run by the request
+     * @throws IllegalStateException if the request exceeded a limit and {@code falhar} is set
+     */
+    void verificar(String requisicao, int orcamento, ConsultasRequisicao consultas) {
+        List<String> problemas = new ArrayList<>();
+        if (consultas.getComandos() > orcamento) {
+            problemas.add(consultas.getComandos() + " comandos SQL, orçamento de " + orcamento);
+        }
+        for (Map.Entry<String, Integer> select : consultas.getSelects().entrySet()) {
+            if (select.getValue() > repeticoesMaximas) {
+                problemas.add("mesma consulta executada " + select.getValue() + " vezes: " + select.getKey());
+            }
+        }
+        if (problemas.isEmpty()) {
+            log.debug("{}: {} comandos SQL, {} linhas, {} ms", requisicao,
+                    consultas.getComandos(), consultas.getLinhas(), consultas.getTempoMs());
+            return;
+        }
+
+        String mensagem = requisicao + " excedeu o orçamento de consultas: " + String.join("; ", problemas);
+        if (falhar) {
+            throw new IllegalStateException(mensagem);
+        }
+        log.warn(mensagem);
+    }
+
+    /**
+     * Budget of the handler: the method's annotation, else the controller's, else the default.
+     */
+    int orcamento(Object handler) {
+        if (handler instanceof HandlerMethod metodo) {
+            OrcamentoConsultas anotacao = metodo.getMethodAnnotation(OrcamentoConsultas.class);
+            if (anotacao == null) {
+                anotacao = AnnotatedElementUtils.findMergedAnnotation(metodo.getBeanType(), OrcamentoConsultas.class);
+            }
+            if (anotacao != null) {
+                return anotacao.value();
+            }
+        }
+        return padrao;
+    }
+
+    /**
+     * Adds the statement count header right before the body starts, while headers can still be set.
+     */
+    private static class ComContagem extends HttpServletResponseWrapper {
+
+        private final ConsultasRequisicao consultas;
+        private boolean escrito;
+
+        ComContagem(HttpServletResponse response, ConsultasRequisicao consultas) {
+            super(response);
+            this.consultas = consultas;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            escreverContagem();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            escreverContagem();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            escreverContagem();
+            super.flushBuffer();
+        }
+
+        void escreverContagem() {
+            if (!escrito && !isCommitted()) {
+                setHeader(CABECALHO, String.valueOf(consultas.getComandos()));
+                escrito = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.suscompanion.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read replica routing, enabled when {@code replicas.urls} lists at least one JDBC URL.
+ * The application DataSource becomes a lazy proxy over the primary pool: read-only
+ * transactions ({@code @Transactional(readOnly = true)}) take their connection from
+ * {@link ReplicaRoteadorDataSource}, everything else from the primary.
+ */
+@Configuration
+@ConditionalOnExpression("!'${replicas.urls:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoteadorDataSource replicaRoteadorDataSource(
+            @Qualifier("primarioDataSource") DataSource primario,
+            DataSourceProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${replicas.urls}") String urls,
+            @Value("${replicas.atraso-maximo-ms:5000}") long atrasoMaximoMs,
+            @Value("${replicas.pool-max:${spring.datasource.hikari.maximum-pool-size:10}}") int poolMax,
+            @Value("${replicas.espera-conexao-ms:1000}") long esperaConexaoMs) {
+        List<ReplicaRoteadorDataSource.Replica> replicas = new ArrayList<>();
+        List<String> listaUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < listaUrls.size(); i++) {
+            // Pools start lazily, so a replica that is down doesn't stop the application
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setJdbcUrl(listaUrls.get(i));
+            pool.setUsername(properties.determineUsername());
+            pool.setPassword(properties.determinePassword());
+            pool.setMaximumPoolSize(poolMax);
+            pool.setConnectionTimeout(esperaConexaoMs); // Short: on timeout the read falls back to the primary
+            pool.setReadOnly(true);
+            // Not beans, so the actuator doesn't bind their pool gauges by itself
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(new ReplicaRoteadorDataSource.Replica(listaUrls.get(i), pool));
+        }
+        return new ReplicaRoteadorDataSource(primario, replicas, Duration.ofMillis(atrasoMaximoMs));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primarioDataSource") DataSource primario,
+                                 ReplicaRoteadorDataSource replicaRoteadorDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primario);
+        dataSource.setReadOnlyDataSource(replicaRoteadorDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,216 @@
+package com.suscompanion.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-only DataSource that spreads connections round-robin over the healthy replicas.
+ * A replica is healthy while it answers the periodic check and its replay lag is within
+ * the threshold. Connections come from the primary when no replica is healthy, when the
+ * chosen replica refuses the connection, or when the current request's client wrote recently
+ * (read-your-writes). Within a request, every read uses the source of its first read
+ * (see {@link LeituraRequisicao}), since replicas lag by different amounts.
+ */
+@Slf4j
+public class ReplicaRoteadorDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    /**
+     * Replay lag in seconds; zero when the server is not a standby or has replayed everything it received.
+     */
+    private static final String CONSULTA_ATRASO = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final Duration atrasoMaximo;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public ReplicaRoteadorDataSource(DataSource primario, List<Replica> replicas, Duration atrasoMaximo) {
+        this.primario = primario;
+        this.replicas = List.copyOf(replicas);
+        this.atrasoMaximo = atrasoMaximo;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        LeituraRequisicao leitura = LeituraRequisicao.atual();
+        if (leitura == null) {
+            return conexaoDeQualquerReplica();
+        }
+        if (leitura.isEscritaRecente()) {
+            return primario.getConnection();
+        }
+        leitura.getTrava().lock();
+        try {
+            if (!leitura.isOrigemDefinida()) {
+                return conexaoFixando(leitura);
+            }
+            Replica replica = leitura.getReplica();
+            if (replica != null && replica.saudavel) {
+                try {
+                    return replica.dataSource().getConnection();
+                } catch (SQLException e) {
+                    recusou(replica, e);
+                }
+            }
+            // The primary is never behind the replica, so the request's reads don't go back in time
+            leitura.fixar(null);
+            return primario.getConnection();
+        } finally {
+            leitura.getTrava().unlock();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Réplicas usam as credenciais configuradas no pool");
+    }
+
+    /**
+     * Measure each replica's lag and mark it healthy or not.
+     * Also runs once at startup, so no replica is used before its first check.
+     */
+    @Scheduled(fixedDelayString = "${replicas.verificacao.intervalo-ms:5000}",
+            initialDelayString = "${replicas.verificacao.intervalo-ms:5000}")
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            boolean saudavel;
+            try {
+                double atraso = medirAtraso(replica.dataSource());
+                saudavel = atraso <= atrasoMaximo.toMillis() / 1000.0;
+                if (!saudavel && replica.saudavel) {
+                    log.warn("Réplica {} com atraso de {}s, leituras redirecionadas", replica.url(), atraso);
+                }
+            } catch (DataAccessException e) {
+                saudavel = false;
+                if (replica.saudavel) {
+                    log.warn("Réplica {} indisponível, leituras redirecionadas: {}", replica.url(), e.getMessage());
+                }
+            }
+            if (saudavel && !replica.saudavel) {
+                log.info("Réplica {} disponível para leituras", replica.url());
+            }
+            replica.saudavel = saudavel;
+        }
+    }
+
+    /**
+     * Query a replica's replay lag.
+     * @param dataSource the replica pool
+     * @return the lag in seconds
+     */
+    double medirAtraso(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setQueryTimeout(2);
+        Double atraso = jdbcTemplate.queryForObject(CONSULTA_ATRASO, Double.class);
+        return atraso != null ? atraso : 0;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        verificarReplicas();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * Connection from the next healthy replica that accepts it, else from the primary.
+     */
+    private Connection conexaoDeQualquerReplica() throws SQLException {
+        Replica replica;
+        while ((replica = proximaSaudavel()) != null) {
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                recusou(replica, e);
+            }
+        }
+        return primario.getConnection();
+    }
+
+    /**
+     * Same as {@link #conexaoDeQualquerReplica()}, fixing the source used as the request's source.
+     */
+    private Connection conexaoFixando(LeituraRequisicao leitura) throws SQLException {
+        Replica replica;
+        while ((replica = proximaSaudavel()) != null) {
+            try {
+                Connection conexao = replica.dataSource().getConnection();
+                leitura.fixar(replica);
+                return conexao;
+            } catch (SQLException e) {
+                recusou(replica, e);
+            }
+        }
+        leitura.fixar(null);
+        return primario.getConnection();
+    }
+
+    private void recusou(Replica replica, SQLException e) {
+        log.warn("Réplica {} recusou a conexão, usando outra: {}", replica.url(), e.getMessage());
+        replica.saudavel = false;
+    }
+
+    private Replica proximaSaudavel() {
+        int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.saudavel) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A replica connection pool and its last known health.
+     */
+    public static class Replica {
+
+        private final String url;
+        private final DataSource dataSource;
+        private volatile boolean saudavel;
+
+        public Replica(String url, DataSource dataSource) {
+            this.url = url;
+            this.dataSource = dataSource;
+        }
+
+        public String url() {
+            return url;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean saudavel() {
+            return saudavel;
+        }
+    }
+}
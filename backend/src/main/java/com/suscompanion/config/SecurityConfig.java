@@ -1,7 +1,11 @@
 package com.suscompanion.config;
 
 import com.suscompanion.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -33,6 +37,11 @@ public class SecurityConfig {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
+                // Async results (reactive /saude) are written in a second dispatch without the JWT filter;
+                // the request itself was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // Only served on the management port
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                 .requestMatchers(
                     "/auth/**",
                     "/api-docs/**",
@@ -0,0 +1,33 @@
+package com.suscompanion.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+
+/**
+ * Reports the request execution mode at start-up.
+ * The "virtual" profile sets spring.threads.virtual.enabled, which Spring Boot only honours on
+ * Java 21+; on older runtimes it is silently ignored, so say so instead.
+ */
+@Slf4j
+@Configuration
+public class ThreadsConfig {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registrarModo(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        boolean solicitado = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Requisições, @Async e @Scheduled rodam em threads virtuais; o pool de conexões "
+                    + "(maximum-pool-size={}) limita o trabalho simultâneo no banco",
+                    environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+        } else if (solicitado) {
+            log.warn("Threads virtuais solicitadas, mas o runtime é Java {}; usando threads de plataforma",
+                    Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.suscompanion.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final GetCondicionalInterceptor getCondicionalInterceptor;
+    private final LeituraPropriaInterceptor leituraPropriaInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(leituraPropriaInterceptor);
+        registry.addInterceptor(getCondicionalInterceptor);
+    }
+}
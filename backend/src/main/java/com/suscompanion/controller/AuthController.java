@@ -1,5 +1,6 @@
 package com.suscompanion.controller;
 
+import com.suscompanion.annotations.OrcamentoConsultas;
 import com.suscompanion.dto.auth.AuthResponse;
 import com.suscompanion.dto.auth.LoginRequest;
 import com.suscompanion.dto.auth.RefreshTokenRequest;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.UUID;
 
 @RestController
+@OrcamentoConsultas(8)
 @RequestMapping("/auth")
 @RequiredArgsConstructor
 @Tag(name = "Autenticação", description = "Endpoints para autenticação de usuários")
@@ -0,0 +1,43 @@
+package com.suscompanion.controller;
+
+import com.suscompanion.annotations.OrcamentoConsultas;
+import com.suscompanion.dto.catalogo.CatalogoMedicamentoDTO;
+import com.suscompanion.service.CatalogoMedicamentoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controller for the shared drug catalog.
+ */
+@RestController
+@OrcamentoConsultas(4)
+@RequestMapping("/catalogo")
+@RequiredArgsConstructor
+@Tag(name = "Catálogo de Medicamentos", description = "Endpoints para consulta ao catálogo nacional de medicamentos")
+@SecurityRequirement(name = "JWT")
+public class CatalogoMedicamentoController {
+
+    private final CatalogoMedicamentoService catalogoMedicamentoService;
+
+    @GetMapping
+    @Operation(summary = "Buscar no catálogo", description = "Busca medicamentos do catálogo pelo início do nome do produto ou do princípio ativo")
+    public ResponseEntity<List<CatalogoMedicamentoDTO>> buscar(
+            @RequestParam String prefixo,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(catalogoMedicamentoService.buscar(prefixo, limite));
+    }
+
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obter entrada do catálogo por ID", description = "Retorna uma entrada específica do catálogo de medicamentos")
+    public ResponseEntity<CatalogoMedicamentoDTO> getById(@PathVariable UUID id) {
+        return ResponseEntity.ok(catalogoMedicamentoService.getById(id));
+    }
+}
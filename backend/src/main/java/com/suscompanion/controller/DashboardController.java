@@ -0,0 +1,56 @@
+package com.suscompanion.controller;
+
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.annotations.OrcamentoConsultas;
+import com.suscompanion.dto.dashboard.DashboardDTO;
+import com.suscompanion.dto.usuario.UsuarioDTO;
+import com.suscompanion.service.DashboardService;
+import com.suscompanion.service.UsuarioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+
+@RestController
+@GetCondicional
+@OrcamentoConsultas(6)
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
+@Tag(name = "Dashboard", description = "Endpoint com os dados da tela inicial em uma única resposta")
+@SecurityRequirement(name = "JWT")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final UsuarioService usuarioService;
+
+
+    @GetMapping
+    @Operation(summary = "Obter dashboard", description = "Retorna os lembretes de hoje, o estoque baixo, as receitas ativas e os últimos registros de saúde do usuário autenticado. Partes que demorarem demais vêm nulas e listadas em partesIndisponiveis")
+    public ResponseEntity<DashboardDTO> getDashboard(@RequestParam(defaultValue = "5") int registros,
+                                                     HttpServletResponse response) {
+        UUID usuarioId = getCurrentUserId();
+        DashboardDTO dashboard = dashboardService.getDashboard(usuarioId, registros);
+        if (!dashboard.getPartesIndisponiveis().isEmpty()) {
+            // Incomplete answer: must not be revalidated against the ETag later
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        }
+        return ResponseEntity.ok(dashboard);
+    }
+
+
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        UsuarioDTO usuario = usuarioService.getByEmail(email);
+        return usuario.getId();
+    }
+}
@@ -1,14 +1,19 @@
 package com.suscompanion.controller;
 
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.annotations.OrcamentoConsultas;
 import com.suscompanion.dto.estoque.EstoquePessoalDTO;
 import com.suscompanion.dto.estoque.EstoquePessoalRequest;
+import com.suscompanion.dto.estoque.PrevisaoEstoqueDTO;
 import com.suscompanion.dto.usuario.UsuarioDTO;
 import com.suscompanion.service.EstoquePessoalService;
+import com.suscompanion.service.PrevisaoEstoqueService;
 import com.suscompanion.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +21,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -24,6 +30,8 @@ import java.util.List;
 import java.util.UUID;
 
 @RestController
+@GetCondicional
+@OrcamentoConsultas(8)
 @RequestMapping("/estoque")
 @RequiredArgsConstructor
 @Tag(name = "Estoque Pessoal", description = "Endpoints para gerenciamento de estoque pessoal de medicamentos")
@@ -31,6 +39,7 @@ import java.util.UUID;
 public class EstoquePessoalController {
 
     private final EstoquePessoalService estoquePessoalService;
+    private final PrevisaoEstoqueService previsaoEstoqueService;
     private final UsuarioService usuarioService;
 
 
@@ -69,7 +78,8 @@ public class EstoquePessoalController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar item do estoque", description = "Atualiza um item específico do estoque pessoal do usuário autenticado")
-    public ResponseEntity<EstoquePessoalDTO> update(@PathVariable UUID id, @Valid @RequestBody EstoquePessoalRequest request) {
+    public ResponseEntity<EstoquePessoalDTO> update(@PathVariable UUID id,
+            @Validated({Default.class, EstoquePessoalRequest.Atualizacao.class}) @RequestBody EstoquePessoalRequest request) {
         UUID usuarioId = getCurrentUserId();
         return ResponseEntity.ok(estoquePessoalService.update(id, usuarioId, request));
     }
@@ -91,6 +101,14 @@ public class EstoquePessoalController {
         return ResponseEntity.ok(estoquePessoalService.getEstoqueBaixo(usuarioId));
     }
 
+
+    @GetMapping("/previsao")
+    @Operation(summary = "Listar medicamentos que vão acabar", description = "Retorna os itens do estoque com término previsto nos próximos dias, de acordo com os lembretes ativos")
+    public ResponseEntity<List<PrevisaoEstoqueDTO>> getPrevisao(@RequestParam(defaultValue = "7") int dias) {
+        UUID usuarioId = getCurrentUserId();
+        return ResponseEntity.ok(previsaoEstoqueService.getTerminandoEm(usuarioId, dias));
+    }
+
      private UUID getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
@@ -1,5 +1,7 @@
 package com.suscompanion.controller;
 
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.annotations.OrcamentoConsultas;
 import com.suscompanion.dto.lembrete.LembreteMedicacaoDTO;
 import com.suscompanion.dto.lembrete.LembreteMedicacaoRequest;
 import com.suscompanion.dto.usuario.UsuarioDTO;
@@ -25,6 +27,8 @@ import java.util.UUID;
 
 
 @RestController
+@GetCondicional
+@OrcamentoConsultas(8)
 @RequestMapping("/lembretes")
 @RequiredArgsConstructor
 @Tag(name = "Lembretes de Medicação", description = "Endpoints para gerenciamento de lembretes de medicação")
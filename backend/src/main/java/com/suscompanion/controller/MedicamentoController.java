@@ -1,5 +1,8 @@
 package com.suscompanion.controller;
 
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.annotations.OrcamentoConsultas;
+import com.suscompanion.dto.medicamento.MedicamentoAutocompleteDTO;
 import com.suscompanion.dto.medicamento.MedicamentoDTO;
 import com.suscompanion.dto.medicamento.MedicamentoRequest;
 import com.suscompanion.dto.usuario.UsuarioDTO;
@@ -20,12 +23,15 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Controller for medication operations.
  */
 @RestController
+@GetCondicional
+@OrcamentoConsultas(8)
 @RequestMapping("/medicamentos")
 @RequiredArgsConstructor
 @Tag(name = "Medicamentos", description = "Endpoints para gerenciamento de medicamentos")
@@ -94,6 +100,16 @@ public class MedicamentoController {
     }
 
 
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocompletar medicamentos", description = "Sugere medicamentos do usuário autenticado cujo nome começa com o prefixo digitado")
+    public ResponseEntity<List<MedicamentoAutocompleteDTO>> autocomplete(
+            @RequestParam String prefixo,
+            @RequestParam(defaultValue = "10") int limite) {
+        UUID usuarioId = getCurrentUserId();
+        return ResponseEntity.ok(medicamentoService.autocompletar(usuarioId, prefixo, limite));
+    }
+
+
     private UUID getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
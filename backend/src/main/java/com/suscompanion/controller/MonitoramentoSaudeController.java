@@ -1,5 +1,7 @@
 package com.suscompanion.controller;
 
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.annotations.OrcamentoConsultas;
 import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
 import com.suscompanion.dto.saude.MonitoramentoSaudeRequest;
 import com.suscompanion.dto.usuario.UsuarioDTO;
@@ -13,6 +15,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +31,9 @@ import java.util.UUID;
 
 
 @RestController
+@GetCondicional
+@Profile("!reativo")
+@OrcamentoConsultas(8)
 @RequestMapping("/saude")
 @RequiredArgsConstructor
 @Tag(name = "Monitoramento de Saúde", description = "Endpoints para gerenciamento de monitoramento de saúde")
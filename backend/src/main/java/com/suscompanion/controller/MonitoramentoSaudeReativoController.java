@@ -0,0 +1,134 @@
+package com.suscompanion.controller;
+
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.annotations.OrcamentoConsultas;
+import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
+import com.suscompanion.dto.saude.MonitoramentoSaudeRequest;
+import com.suscompanion.model.MonitoramentoSaude.TipoMonitoramento;
+import com.suscompanion.service.MonitoramentoSaudeReativoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reactive variant of {@link MonitoramentoSaudeController}, active with the "reativo" profile.
+ * Same routes and payloads; the handlers return Mono, so the servlet thread is released
+ * while the database works and the response is written when the result arrives.
+ */
+@RestController
+@GetCondicional
+@Profile("reativo")
+@OrcamentoConsultas(4) // Only the JDBC lookups of authentication and the ETag; R2DBC is not counted
+@RequestMapping("/saude")
+@RequiredArgsConstructor
+@Tag(name = "Monitoramento de Saúde", description = "Endpoints para gerenciamento de monitoramento de saúde")
+@SecurityRequirement(name = "JWT")
+public class MonitoramentoSaudeReativoController {
+
+    private final MonitoramentoSaudeReativoService monitoramentoSaudeReativoService;
+
+
+    @GetMapping
+    @Operation(summary = "Listar registros de saúde", description = "Retorna todos os registros de saúde do usuário autenticado")
+    public Mono<ResponseEntity<Page<MonitoramentoSaudeDTO>>> getAll(@PageableDefault(size = 20) Pageable pageable) {
+        return getCurrentUserId()
+                .flatMap(usuarioId -> monitoramentoSaudeReativoService.getPage(usuarioId, null, null, null, pageable))
+                .map(ResponseEntity::ok);
+    }
+
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obter registro de saúde por ID", description = "Retorna um registro de saúde específico do usuário autenticado")
+    public Mono<ResponseEntity<MonitoramentoSaudeDTO>> getById(@PathVariable UUID id) {
+        return getCurrentUserId()
+                .flatMap(usuarioId -> monitoramentoSaudeReativoService.getByIdAndUsuario(id, usuarioId))
+                .map(ResponseEntity::ok);
+    }
+
+
+    @PostMapping
+    @Operation(summary = "Adicionar registro de saúde", description = "Adiciona um novo registro de saúde para o usuário autenticado")
+    public Mono<ResponseEntity<MonitoramentoSaudeDTO>> create(@Valid @RequestBody MonitoramentoSaudeRequest request) {
+        // Built on the request thread; the current request is not available once the result arrives
+        UriComponentsBuilder location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}");
+        return getCurrentUserId()
+                .flatMap(usuarioId -> monitoramentoSaudeReativoService.create(usuarioId, request))
+                .map(monitoramento -> ResponseEntity
+                        .created(location.buildAndExpand(monitoramento.getId()).toUri())
+                        .body(monitoramento));
+    }
+
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Atualizar registro de saúde", description = "Atualiza um registro de saúde específico do usuário autenticado")
+    public Mono<ResponseEntity<MonitoramentoSaudeDTO>> update(@PathVariable UUID id, @Valid @RequestBody MonitoramentoSaudeRequest request) {
+        return getCurrentUserId()
+                .flatMap(usuarioId -> monitoramentoSaudeReativoService.update(id, usuarioId, request))
+                .map(ResponseEntity::ok);
+    }
+
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Excluir registro de saúde", description = "Exclui um registro de saúde específico do usuário autenticado")
+    public Mono<ResponseEntity<Void>> delete(@PathVariable UUID id) {
+        return getCurrentUserId()
+                .flatMap(usuarioId -> monitoramentoSaudeReativoService.delete(id, usuarioId))
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+
+    @GetMapping("/tipo/{tipo}")
+    @Operation(summary = "Listar registros por tipo", description = "Retorna todos os registros de saúde de um tipo específico do usuário autenticado")
+    public Mono<ResponseEntity<Page<MonitoramentoSaudeDTO>>> getByTipo(
+            @PathVariable TipoMonitoramento tipo,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return getCurrentUserId()
+                .flatMap(usuarioId -> monitoramentoSaudeReativoService.getPage(usuarioId, tipo, null, null, pageable))
+                .map(ResponseEntity::ok);
+    }
+
+
+    @GetMapping("/ultimos-registros")
+    @Operation(summary = "Obter últimos registros", description = "Retorna os últimos registros de saúde do usuário autenticado")
+    public Mono<ResponseEntity<List<MonitoramentoSaudeDTO>>> getUltimosRegistros(@RequestParam(defaultValue = "10") int limit) {
+        return getCurrentUserId()
+                .flatMap(usuarioId -> monitoramentoSaudeReativoService.getUltimosRegistros(usuarioId, limit))
+                .map(ResponseEntity::ok);
+    }
+
+
+    @GetMapping("/periodo")
+    @Operation(summary = "Listar registros por período", description = "Retorna todos os registros de saúde dentro de um período específico do usuário autenticado")
+    public Mono<ResponseEntity<Page<MonitoramentoSaudeDTO>>> getByPeriodo(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return getCurrentUserId()
+                .flatMap(usuarioId -> monitoramentoSaudeReativoService.getPage(usuarioId, null, inicio, fim, pageable))
+                .map(ResponseEntity::ok);
+    }
+
+
+    private Mono<UUID> getCurrentUserId() {
+        // Read on the request thread, where the security context is bound
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return monitoramentoSaudeReativoService.getUsuarioId(email);
+    }
+}
@@ -1,5 +1,9 @@
 package com.suscompanion.controller;
 
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.annotations.OrcamentoConsultas;
+import com.suscompanion.dto.receita.MedicoDTO;
+import com.suscompanion.dto.receita.ReceitaBuscaDTO;
 import com.suscompanion.dto.receita.ReceitaDTO;
 import com.suscompanion.dto.receita.ReceitaRequest;
 import com.suscompanion.dto.usuario.UsuarioDTO;
@@ -25,6 +29,8 @@ import java.util.UUID;
 
 
 @RestController
+@GetCondicional
+@OrcamentoConsultas(8)
 @RequestMapping("/receitas")
 @RequiredArgsConstructor
 @Tag(name = "Receitas", description = "Endpoints para gerenciamento de receitas médicas")
@@ -67,6 +73,7 @@ public class ReceitaController {
 
 
     @PutMapping("/{id}")
+    @OrcamentoConsultas(10) // Changing the doctor updates the per-user doctor list in three statements
     @Operation(summary = "Atualizar receita", description = "Atualiza uma receita específica do usuário autenticado")
     public ResponseEntity<ReceitaDTO> update(@PathVariable UUID id, @Valid @RequestBody ReceitaRequest request) {
         UUID usuarioId = getCurrentUserId();
@@ -100,6 +107,35 @@ public class ReceitaController {
         return ResponseEntity.ok(receitaService.searchByMedicoNome(medicoNome, usuarioId, pageable));
     }
 
+
+    @GetMapping("/search/crm")
+    @Operation(summary = "Buscar receitas por CRM", description = "Busca receitas pelo CRM exato do médico para o usuário autenticado")
+    public ResponseEntity<Page<ReceitaDTO>> searchByMedicoCrm(
+            @RequestParam String medicoCrm,
+            @PageableDefault(size = 20) Pageable pageable) {
+        UUID usuarioId = getCurrentUserId();
+        return ResponseEntity.ok(receitaService.searchByMedicoCrm(medicoCrm, usuarioId, pageable));
+    }
+
+
+    @GetMapping("/busca")
+    @Operation(summary = "Busca textual em receitas", description = "Busca nas observações, descrições e posologias das receitas do usuário autenticado, das mais relevantes para as menos relevantes")
+    public ResponseEntity<ReceitaBuscaDTO> buscarTexto(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limite) {
+        UUID usuarioId = getCurrentUserId();
+        return ResponseEntity.ok(receitaService.buscarTexto(q, usuarioId, cursor, limite));
+    }
+
+
+    @GetMapping("/medicos")
+    @Operation(summary = "Listar médicos", description = "Retorna os médicos distintos das receitas do usuário autenticado")
+    public ResponseEntity<List<MedicoDTO>> getMedicos() {
+        UUID usuarioId = getCurrentUserId();
+        return ResponseEntity.ok(receitaService.getMedicos(usuarioId));
+    }
+
     private UUID getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
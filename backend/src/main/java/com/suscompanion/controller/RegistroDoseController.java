@@ -0,0 +1,92 @@
+package com.suscompanion.controller;
+
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.annotations.OrcamentoConsultas;
+import com.suscompanion.dto.dose.AdesaoMedicacaoDTO;
+import com.suscompanion.dto.dose.RegistroDoseDTO;
+import com.suscompanion.dto.dose.RegistroDoseLoteDTO;
+import com.suscompanion.dto.dose.RegistroDoseLoteRequest;
+import com.suscompanion.dto.dose.RegistroDoseRequest;
+import com.suscompanion.dto.usuario.UsuarioDTO;
+import com.suscompanion.service.RegistroDoseService;
+import com.suscompanion.service.UsuarioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+
+@RestController
+@GetCondicional
+@OrcamentoConsultas(8)
+@RequestMapping("/doses")
+@RequiredArgsConstructor
+@Tag(name = "Registro de Doses", description = "Endpoints para registro de doses tomadas e acompanhamento de adesão")
+@SecurityRequirement(name = "JWT")
+public class RegistroDoseController {
+
+    private final RegistroDoseService registroDoseService;
+    private final UsuarioService usuarioService;
+
+
+    @GetMapping
+    @Operation(summary = "Listar doses registradas", description = "Retorna as doses registradas pelo usuário autenticado, das mais recentes para as mais antigas")
+    public ResponseEntity<Page<RegistroDoseDTO>> getAll(@PageableDefault(size = 20) Pageable pageable) {
+        UUID usuarioId = getCurrentUserId();
+        return ResponseEntity.ok(registroDoseService.getAllByUsuario(usuarioId, pageable));
+    }
+
+
+    @PostMapping
+    @Operation(summary = "Registrar dose", description = "Registra uma dose tomada, atrasada ou pulada. Reenvios do mesmo horário são ignorados")
+    public ResponseEntity<Void> registrar(@Valid @RequestBody RegistroDoseRequest request) {
+        UUID usuarioId = getCurrentUserId();
+        boolean registrado = registroDoseService.registrar(usuarioId, request);
+        return ResponseEntity.status(registrado ? HttpStatus.CREATED : HttpStatus.OK).build();
+    }
+
+
+    @PostMapping("/lote")
+    @OrcamentoConsultas(20) // Seven statements for any batch size, plus one stock update per medication taken
+    @Operation(summary = "Registrar doses em lote", description = "Registra várias doses de uma vez, por exemplo ao sincronizar um dispositivo offline")
+    public ResponseEntity<RegistroDoseLoteDTO> registrarLote(@Valid @RequestBody RegistroDoseLoteRequest request) {
+        UUID usuarioId = getCurrentUserId();
+        return ResponseEntity.ok(registroDoseService.registrarLote(usuarioId, request));
+    }
+
+
+    @GetMapping("/adesao")
+    @Operation(summary = "Obter adesão", description = "Retorna o percentual de adesão em 7, 30 e 90 dias para cada medicamento do usuário autenticado")
+    public ResponseEntity<List<AdesaoMedicacaoDTO>> getAdesao() {
+        UUID usuarioId = getCurrentUserId();
+        return ResponseEntity.ok(registroDoseService.getAdesao(usuarioId));
+    }
+
+
+    @GetMapping("/adesao/{medicamentoId}")
+    @Operation(summary = "Obter adesão por medicamento", description = "Retorna o percentual de adesão em 7, 30 e 90 dias para um medicamento do usuário autenticado")
+    public ResponseEntity<AdesaoMedicacaoDTO> getAdesaoByMedicamento(@PathVariable UUID medicamentoId) {
+        UUID usuarioId = getCurrentUserId();
+        return ResponseEntity.ok(registroDoseService.getAdesaoByMedicamento(usuarioId, medicamentoId));
+    }
+
+
+    private UUID getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+        UsuarioDTO usuario = usuarioService.getByEmail(email);
+        return usuario.getId();
+    }
+}
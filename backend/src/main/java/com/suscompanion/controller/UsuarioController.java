@@ -1,5 +1,7 @@
 package com.suscompanion.controller;
 
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.annotations.OrcamentoConsultas;
 import com.suscompanion.dto.usuario.UsuarioDTO;
 import com.suscompanion.dto.usuario.UsuarioRequest;
 import com.suscompanion.service.UsuarioService;
@@ -17,6 +19,7 @@ import java.util.UUID;
 
 
 @RestController
+@OrcamentoConsultas(8)
 @RequestMapping("/usuarios")
 @RequiredArgsConstructor
 @Tag(name = "Usuários", description = "Endpoints para gerenciamento de usuários")
@@ -26,6 +29,7 @@ public class UsuarioController {
     private final UsuarioService usuarioService;
 
     @GetMapping("/me")
+    @GetCondicional
     @Operation(summary = "Obter usuário atual", description = "Retorna os dados do usuário autenticado")
     public ResponseEntity<UsuarioDTO> getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -0,0 +1,29 @@
+package com.suscompanion.dto.catalogo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * DTO for returning an entry of the shared drug catalog.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoMedicamentoDTO {
+
+    private UUID id;
+    private String codigoGgrem;
+    private String registroAnvisa;
+    private String ean;
+    private String principioAtivo;
+    private String produto;
+    private String apresentacao;
+    private String laboratorio;
+    private String classeTerapeutica;
+    private String tipoProduto;
+    private BigDecimal precoFabrica;
+}
@@ -0,0 +1,28 @@
+package com.suscompanion.dto.dashboard;
+
+import com.suscompanion.dto.estoque.EstoquePessoalDTO;
+import com.suscompanion.dto.lembrete.LembreteMedicacaoDTO;
+import com.suscompanion.dto.receita.ReceitaDTO;
+import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for returning the home screen data in a single response.
+ * A part that failed or timed out is null and its name is listed in partesIndisponiveis.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+
+    private List<LembreteMedicacaoDTO> lembretesHoje;
+    private List<EstoquePessoalDTO> estoqueBaixo;
+    private List<ReceitaDTO> receitasAtivas;
+    private List<MonitoramentoSaudeDTO> ultimosRegistros;
+    private List<String> partesIndisponiveis = new ArrayList<>();
+}
@@ -0,0 +1,27 @@
+package com.suscompanion.dto.dose;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * DTO for returning rolling adherence percentages for a medication.
+ * Percentages are null when no dose was recorded in the window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdesaoMedicacaoDTO {
+
+    private UUID medicamentoId;
+    private LocalDate diaReferencia;
+    private Integer doses7d;
+    private Double percentual7d;
+    private Integer doses30d;
+    private Double percentual30d;
+    private Integer doses90d;
+    private Double percentual90d;
+}
@@ -0,0 +1,28 @@
+package com.suscompanion.dto.dose;
+
+import com.suscompanion.model.RegistroDose.StatusDose;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for returning dose intake information.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroDoseDTO {
+
+    private UUID id;
+    private UUID usuarioId;
+    private UUID lembreteId;
+    private UUID medicamentoId;
+    private StatusDose status;
+    private LocalDateTime horarioPrevisto;
+    private LocalDateTime registradoEm;
+    private String observacoes;
+    private LocalDateTime criadoEm;
+}
@@ -0,0 +1,18 @@
+package com.suscompanion.dto.dose;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO summarizing the outcome of a batch dose recording.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroDoseLoteDTO {
+
+    private int recebidos;
+    private int registrados;
+    private int duplicados;
+}
@@ -0,0 +1,24 @@
+package com.suscompanion.dto.dose;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for recording several dose intakes at once, e.g. when an offline device syncs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroDoseLoteRequest {
+
+    @NotEmpty(message = "Registros são obrigatórios")
+    @Size(max = 500, message = "Lote deve ter no máximo 500 registros")
+    @Valid
+    private List<RegistroDoseRequest> registros;
+}
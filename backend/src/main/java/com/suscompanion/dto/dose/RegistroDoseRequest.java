@@ -0,0 +1,38 @@
+package com.suscompanion.dto.dose;
+
+import com.suscompanion.annotations.AteHoje;
+import com.suscompanion.model.RegistroDose.StatusDose;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for dose intake recording requests.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroDoseRequest {
+
+    @NotNull(message = "ID do lembrete é obrigatório")
+    private UUID lembreteId;
+
+    @NotNull(message = "Status da dose é obrigatório")
+    private StatusDose status;
+
+    @NotNull(message = "Horário previsto é obrigatório")
+    @AteHoje(message = "Horário previsto não pode ser em um dia futuro")
+    private LocalDateTime horarioPrevisto;
+
+    @PastOrPresent(message = "Data de registro deve ser no passado ou presente")
+    private LocalDateTime registradoEm;
+
+    @Size(max = 1000, message = "Observações devem ter no máximo 1000 caracteres")
+    private String observacoes;
+}
@@ -24,4 +24,5 @@ public class EstoquePessoalDTO {
     private LocalDateTime criadoEm;
     private LocalDateTime atualizadoEm;
     private boolean estoqueBaixo;
+    private Long versao;
 }
\ No newline at end of file
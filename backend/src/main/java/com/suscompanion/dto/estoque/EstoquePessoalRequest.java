@@ -17,6 +17,12 @@ import java.util.UUID;
 @AllArgsConstructor
 public class EstoquePessoalRequest {
 
+    /**
+     * Validation group for constraints that apply only to updates.
+     */
+    public interface Atualizacao {
+    }
+
     @NotNull(message = "ID do medicamento é obrigatório")
     private UUID medicamentoId;
 
@@ -26,4 +32,11 @@ public class EstoquePessoalRequest {
 
     @Positive(message = "Quantidade de alerta deve ser um número positivo")
     private Integer quantidadeAlerta = 5;
+
+    /**
+     * Version the client last read. Required on updates, which are rejected if the item
+     * was changed in the meantime; ignored on creation.
+     */
+    @NotNull(groups = Atualizacao.class, message = "Versão é obrigatória para atualizar o estoque")
+    private Long versao;
 }
\ No newline at end of file
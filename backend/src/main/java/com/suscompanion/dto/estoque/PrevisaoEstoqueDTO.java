@@ -0,0 +1,28 @@
+package com.suscompanion.dto.estoque;
+
+import com.suscompanion.dto.medicamento.MedicamentoDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for returning the projected run-out date of an inventory item.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrevisaoEstoqueDTO {
+
+    private UUID estoqueId;
+    private MedicamentoDTO medicamento;
+    private Integer quantidadeAtual;
+    private BigDecimal consumoDiario;
+    private LocalDate dataFim;
+    private Long diasRestantes;
+    private LocalDateTime calculadoEm;
+}
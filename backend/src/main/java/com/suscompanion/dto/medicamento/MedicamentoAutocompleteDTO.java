@@ -0,0 +1,21 @@
+package com.suscompanion.dto.medicamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO for returning a medication autocomplete suggestion.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicamentoAutocompleteDTO {
+
+    private UUID id;
+    private String nomeCompleto;
+    private String nomeSimplificado;
+    private String dosagem;
+}
@@ -21,6 +21,7 @@ public class MedicamentoDTO {
     private String dosagem;
     private String tipo;
     private String fotoUrl;
+    private UUID catalogoId;
     private LocalDateTime criadoEm;
     private LocalDateTime atualizadoEm;
 }
\ No newline at end of file
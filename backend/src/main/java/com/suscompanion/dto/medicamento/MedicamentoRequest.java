@@ -6,6 +6,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 /**
  * DTO for medication creation and update requests.
  */
@@ -28,4 +30,6 @@ public class MedicamentoRequest {
     private String tipo;
 
     private String fotoUrl;
+
+    private UUID catalogoId;
 }
\ No newline at end of file
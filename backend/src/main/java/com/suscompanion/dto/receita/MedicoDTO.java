@@ -0,0 +1,18 @@
+package com.suscompanion.dto.receita;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for returning a distinct doctor from the user's prescriptions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicoDTO {
+
+    private String medicoNome;
+    private String medicoCrm;
+    private Integer totalReceitas;
+}
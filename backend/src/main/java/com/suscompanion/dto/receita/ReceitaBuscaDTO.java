@@ -0,0 +1,20 @@
+package com.suscompanion.dto.receita;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for returning one page of a full-text prescription search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReceitaBuscaDTO {
+
+    private List<ReceitaDTO> receitas = new ArrayList<>();
+    private String proximoCursor; // null when there are no more results
+}
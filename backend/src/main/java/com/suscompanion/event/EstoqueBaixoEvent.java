@@ -0,0 +1,33 @@
+package com.suscompanion.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Event published when a personal inventory item crosses its alert threshold,
+ * i.e. it was above quantidadeAlerta before a change and is at or below it afterwards.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EstoqueBaixoEvent {
+
+    private final UUID usuarioId;
+    private final UUID medicamentoId;
+    private final Integer quantidadeAtual;
+    private final Integer quantidadeAlerta;
+
+    /**
+     * Check if a quantity change crossed the alert threshold downwards.
+     * @param anterior the quantity before the change
+     * @param atual the quantity after the change
+     * @param alerta the alert threshold
+     * @return true if the threshold was crossed
+     */
+    public static boolean cruzouLimite(int anterior, int atual, int alerta) {
+        return anterior > alerta && atual <= alerta;
+    }
+}
@@ -1,16 +1,23 @@
 package com.suscompanion.exception;
 
+import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Global exception handler for the application.
@@ -94,6 +101,61 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handle optimistic locking conflicts.
+     * @param ex the optimistic locking exception
+     * @return a response entity with conflict error
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "O recurso foi alterado por outra requisição. Recarregue e tente novamente",
+                null,
+                LocalDateTime.now()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle requests that waited longer than the connection pool allows for a connection,
+     * or found the health reading write-behind buffer full.
+     * Both are limits on concurrent database work, so this is overload, not a bug.
+     * @param ex the connection acquisition or rejection exception
+     * @return a response entity with service unavailable error
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class,
+            RejectedExecutionException.class})
+    public ResponseEntity<ErrorResponse> handleConnectionUnavailableException(Exception ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Servidor sobrecarregado. Tente novamente em instantes",
+                null,
+                LocalDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handle health readings that were queued but not confirmed in time. The reading keeps its
+     * ID and is usually saved shortly after, so this is 202 rather than a retryable 503.
+     * @param ex the unconfirmed reading exception
+     * @return a response entity with the queued reading and its location
+     */
+    @ExceptionHandler(LeituraNaoConfirmadaException.class)
+    public ResponseEntity<MonitoramentoSaudeDTO> handleLeituraNaoConfirmadaException(LeituraNaoConfirmadaException ex) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{id}")
+                        .buildAndExpand(ex.getLeitura().getId())
+                        .toUri())
+                .body(ex.getLeitura());
+    }
+
     /**
      * Handle all other exceptions.
      * @param ex the exception
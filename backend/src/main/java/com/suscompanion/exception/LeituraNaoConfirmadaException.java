@@ -0,0 +1,31 @@
+package com.suscompanion.exception;
+
+import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
+
+/**
+ * Exception thrown when a queued health reading was accepted but its batch did not
+ * commit in time. The reading keeps its ID and will usually still be saved, so the
+ * client must not resend it.
+ */
+public class LeituraNaoConfirmadaException extends RuntimeException {
+
+    private final MonitoramentoSaudeDTO leitura;
+
+    /**
+     * Create a new LeituraNaoConfirmadaException for the specified reading.
+     * @param leitura the queued reading, with its ID already assigned
+     * @param cause the timeout that ended the wait
+     */
+    public LeituraNaoConfirmadaException(MonitoramentoSaudeDTO leitura, Throwable cause) {
+        super("Leitura " + leitura.getId() + " não confirmada a tempo", cause);
+        this.leitura = leitura;
+    }
+
+    /**
+     * Get the queued reading.
+     * @return the reading DTO
+     */
+    public MonitoramentoSaudeDTO getLeitura() {
+        return leitura;
+    }
+}
@@ -0,0 +1,60 @@
+package com.suscompanion.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity holding rolling 7/30/90-day adherence counters for a user's medication.
+ * The counters are maintained incrementally as doses are recorded and shifted
+ * once per day, so reading them never aggregates over the dose log.
+ */
+@Entity
+@Immutable
+@Table(name = "adesao_medicacao")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdesaoMedicacao {
+
+    @Id
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "medicamento_id", nullable = false)
+    private Medicamento medicamento;
+
+    @Column(name = "dia_referencia", nullable = false)
+    private LocalDate diaReferencia;
+
+    @Column(name = "total_7d", nullable = false)
+    private Integer total7d;
+
+    @Column(name = "tomadas_7d", nullable = false)
+    private Integer tomadas7d;
+
+    @Column(name = "total_30d", nullable = false)
+    private Integer total30d;
+
+    @Column(name = "tomadas_30d", nullable = false)
+    private Integer tomadas30d;
+
+    @Column(name = "total_90d", nullable = false)
+    private Integer total90d;
+
+    @Column(name = "tomadas_90d", nullable = false)
+    private Integer tomadas90d;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+}
@@ -43,6 +43,10 @@ public class EstoquePessoal {
     @Column(name = "quantidade_alerta")
     private Integer quantidadeAlerta = 5; // Default alert threshold
 
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     @CreationTimestamp
     @Column(name = "criado_em", updatable = false)
     private LocalDateTime criadoEm;
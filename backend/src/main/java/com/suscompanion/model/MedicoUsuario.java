@@ -0,0 +1,46 @@
+package com.suscompanion.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing a distinct doctor found in a user's prescriptions.
+ * Doctors are identified by CRM when present, otherwise by normalized name, and the rows
+ * are maintained incrementally as prescriptions are written, so listing them never
+ * aggregates over the prescription history.
+ */
+@Entity
+@Immutable
+@Table(name = "medicos_usuario")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicoUsuario {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "usuario_id", nullable = false)
+    private UUID usuarioId;
+
+    @Column(nullable = false, length = 120)
+    private String chave;
+
+    @Column(name = "medico_nome", length = 100)
+    private String medicoNome;
+
+    @Column(name = "medico_crm", length = 20)
+    private String medicoCrm;
+
+    @Column(name = "total_receitas", nullable = false)
+    private Integer totalReceitas;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,49 @@
+package com.suscompanion.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing the projected run-out date of a personal inventory item.
+ * Rows are written by the forecasting job and only read through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "previsoes_estoque")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrevisaoEstoque {
+
+    @Id
+    @Column(name = "estoque_id")
+    private UUID estoqueId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "estoque_id")
+    private EstoquePessoal estoque;
+
+    @Column(name = "usuario_id", nullable = false)
+    private UUID usuarioId;
+
+    @Column(name = "quantidade_atual", nullable = false)
+    private Integer quantidadeAtual;
+
+    @Column(name = "consumo_diario", nullable = false, precision = 10, scale = 3)
+    private BigDecimal consumoDiario;
+
+    @Column(name = "data_fim")
+    private LocalDate dataFim;
+
+    @Column(name = "calculado_em", nullable = false)
+    private LocalDateTime calculadoEm;
+}
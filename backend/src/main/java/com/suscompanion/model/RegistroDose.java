@@ -0,0 +1,76 @@
+package com.suscompanion.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing a recorded dose intake for a medication reminder.
+ */
+@Entity
+@Table(name = "registros_dose")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistroDose {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "usuario_id", nullable = false)
+    private Usuario usuario;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lembrete_id")
+    private LembreteMedicacao lembrete;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "medicamento_id", nullable = false)
+    private Medicamento medicamento;
+
+    @NotNull(message = "Status da dose é obrigatório")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusDose status;
+
+    @NotNull(message = "Horário previsto é obrigatório")
+    @Column(name = "horario_previsto", nullable = false)
+    private LocalDateTime horarioPrevisto;
+
+    @NotNull(message = "Data de registro é obrigatória")
+    @Column(name = "registrado_em", nullable = false)
+    private LocalDateTime registradoEm;
+
+    @Size(max = 1000, message = "Observações devem ter no máximo 1000 caracteres")
+    @Column(name = "observacoes", columnDefinition = "TEXT")
+    private String observacoes;
+
+    @CreationTimestamp
+    @Column(name = "criado_em", updatable = false)
+    private LocalDateTime criadoEm;
+
+    /**
+     * Enum representing the outcome of a scheduled dose.
+     */
+    public enum StatusDose {
+        TOMADA,
+        ATRASADA,
+        PULADA;
+
+        /**
+         * Check if the dose was actually taken (on time or late).
+         * @return true if the dose counts towards adherence
+         */
+        public boolean isTomada() {
+            return this != PULADA;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.suscompanion.repository;
+
+import com.suscompanion.model.AdesaoMedicacao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for accessing and maintaining AdesaoMedicacao counters.
+ */
+@Repository
+public interface AdesaoMedicacaoRepository extends JpaRepository<AdesaoMedicacao, UUID> {
+
+    /**
+     * Find adherence counters by user ID.
+     * @param usuarioId the user ID
+     * @return a list of adherence counters, one per medication
+     */
+    List<AdesaoMedicacao> findByUsuarioId(UUID usuarioId);
+
+    /**
+     * Find adherence counters by user ID and medication ID.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @return an Optional containing the adherence counters if any dose was recorded
+     */
+    Optional<AdesaoMedicacao> findByUsuarioIdAndMedicamentoId(UUID usuarioId, UUID medicamentoId);
+
+    /**
+     * Add a dose to the daily bucket for its scheduled day.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @param dia the scheduled day of the dose
+     * @param tomada 1 if the dose was taken, 0 otherwise
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "adesao_diaria"))
+    @Query(value = """
+    INSERT INTO adesao_diaria (usuario_id, medicamento_id, dia, total, tomadas)
+    VALUES (:usuarioId, :medicamentoId, :dia, 1, :tomada)
+    ON CONFLICT (usuario_id, medicamento_id, dia) DO UPDATE
+    SET total = adesao_diaria.total + 1,
+        tomadas = adesao_diaria.tomadas + EXCLUDED.tomadas
+    """, nativeQuery = true)
+    void incrementDiaria(@Param("usuarioId") UUID usuarioId,
+                         @Param("medicamentoId") UUID medicamentoId,
+                         @Param("dia") LocalDate dia,
+                         @Param("tomada") int tomada);
+
+    /**
+     * Add a dose to every rolling window that contains its scheduled day.
+     * Windows are relative to the row's dia_referencia, so the result stays
+     * consistent even if the daily shift has not run yet.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @param dia the scheduled day of the dose
+     * @param tomada 1 if the dose was taken, 0 otherwise
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "adesao_medicacao"))
+    @Query(value = """
+    INSERT INTO adesao_medicacao (usuario_id, medicamento_id, dia_referencia,
+                                  total_7d, tomadas_7d, total_30d, tomadas_30d, total_90d, tomadas_90d)
+    SELECT :usuarioId, :medicamentoId, CURRENT_DATE,
+           w.em7, w.em7 * :tomada, w.em30, w.em30 * :tomada, w.em90, w.em90 * :tomada
+    FROM (SELECT CASE WHEN CAST(:dia AS date) > CURRENT_DATE - 7 THEN 1 ELSE 0 END AS em7,
+                 CASE WHEN CAST(:dia AS date) > CURRENT_DATE - 30 THEN 1 ELSE 0 END AS em30,
+                 CASE WHEN CAST(:dia AS date) > CURRENT_DATE - 90 THEN 1 ELSE 0 END AS em90) w
+    ON CONFLICT (usuario_id, medicamento_id) DO UPDATE
+    SET total_7d = adesao_medicacao.total_7d
+            + CASE WHEN CAST(:dia AS date) > adesao_medicacao.dia_referencia - 7 THEN 1 ELSE 0 END,
+        tomadas_7d = adesao_medicacao.tomadas_7d
+            + CASE WHEN CAST(:dia AS date) > adesao_medicacao.dia_referencia - 7 THEN :tomada ELSE 0 END,
+        total_30d = adesao_medicacao.total_30d
+            + CASE WHEN CAST(:dia AS date) > adesao_medicacao.dia_referencia - 30 THEN 1 ELSE 0 END,
+        tomadas_30d = adesao_medicacao.tomadas_30d
+            + CASE WHEN CAST(:dia AS date) > adesao_medicacao.dia_referencia - 30 THEN :tomada ELSE 0 END,
+        total_90d = adesao_medicacao.total_90d
+            + CASE WHEN CAST(:dia AS date) > adesao_medicacao.dia_referencia - 90 THEN 1 ELSE 0 END,
+        tomadas_90d = adesao_medicacao.tomadas_90d
+            + CASE WHEN CAST(:dia AS date) > adesao_medicacao.dia_referencia - 90 THEN :tomada ELSE 0 END,
+        atualizado_em = CURRENT_TIMESTAMP
+    """, nativeQuery = true)
+    void incrementJanelas(@Param("usuarioId") UUID usuarioId,
+                          @Param("medicamentoId") UUID medicamentoId,
+                          @Param("dia") LocalDate dia,
+                          @Param("tomada") int tomada);
+
+    /**
+     * Add several doses to their daily buckets in one statement.
+     * @param usuarioId the user ID
+     * @param contagens JSON array of counts with medicamento_id, dia, total and tomadas,
+     *                  at most one per medication and day
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "adesao_diaria"))
+    @Query(value = """
+    INSERT INTO adesao_diaria (usuario_id, medicamento_id, dia, total, tomadas)
+    SELECT :usuarioId, c.medicamento_id, c.dia, c.total, c.tomadas
+    FROM jsonb_to_recordset(CAST(:contagens AS jsonb)) AS c(medicamento_id uuid, dia date, total int, tomadas int)
+    ON CONFLICT (usuario_id, medicamento_id, dia) DO UPDATE
+    SET total = adesao_diaria.total + EXCLUDED.total,
+        tomadas = adesao_diaria.tomadas + EXCLUDED.tomadas
+    """, nativeQuery = true)
+    void incrementDiarias(@Param("usuarioId") UUID usuarioId,
+                          @Param("contagens") String contagens);
+
+    /**
+     * Create empty counters for the medications that have none yet, so
+     * {@link #incrementJanelasContagens} only has to update.
+     * @param usuarioId the user ID
+     * @param contagens JSON array of counts with medicamento_id (other fields are ignored)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "adesao_medicacao"))
+    @Query(value = """
+    INSERT INTO adesao_medicacao (usuario_id, medicamento_id, dia_referencia)
+    SELECT DISTINCT :usuarioId, c.medicamento_id, CURRENT_DATE
+    FROM jsonb_to_recordset(CAST(:contagens AS jsonb)) AS c(medicamento_id uuid)
+    ON CONFLICT (usuario_id, medicamento_id) DO NOTHING
+    """, nativeQuery = true)
+    void insertAusentes(@Param("usuarioId") UUID usuarioId,
+                        @Param("contagens") String contagens);
+
+    /**
+     * Add several doses to every rolling window that contains their scheduled day, in one
+     * statement. As in {@link #incrementJanelas}, windows are relative to each row's dia_referencia.
+     * @param usuarioId the user ID
+     * @param contagens JSON array of counts with medicamento_id, dia, total and tomadas
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "adesao_medicacao"))
+    @Query(value = """
+    UPDATE adesao_medicacao a
+    SET (total_7d, tomadas_7d, total_30d, tomadas_30d, total_90d, tomadas_90d) = (
+            SELECT a.total_7d + COALESCE(SUM(c.total) FILTER (WHERE c.dia > a.dia_referencia - 7), 0),
+                   a.tomadas_7d + COALESCE(SUM(c.tomadas) FILTER (WHERE c.dia > a.dia_referencia - 7), 0),
+                   a.total_30d + COALESCE(SUM(c.total) FILTER (WHERE c.dia > a.dia_referencia - 30), 0),
+                   a.tomadas_30d + COALESCE(SUM(c.tomadas) FILTER (WHERE c.dia > a.dia_referencia - 30), 0),
+                   a.total_90d + COALESCE(SUM(c.total) FILTER (WHERE c.dia > a.dia_referencia - 90), 0),
+                   a.tomadas_90d + COALESCE(SUM(c.tomadas) FILTER (WHERE c.dia > a.dia_referencia - 90), 0)
+            FROM jsonb_to_recordset(CAST(:contagens AS jsonb))
+                 AS c(medicamento_id uuid, dia date, total int, tomadas int)
+            WHERE c.medicamento_id = a.medicamento_id),
+        atualizado_em = CURRENT_TIMESTAMP
+    WHERE a.usuario_id = :usuarioId
+    AND a.medicamento_id IN (SELECT c.medicamento_id
+                             FROM jsonb_to_recordset(CAST(:contagens AS jsonb)) AS c(medicamento_id uuid))
+    """, nativeQuery = true)
+    void incrementJanelasContagens(@Param("usuarioId") UUID usuarioId,
+                                   @Param("contagens") String contagens);
+
+    /**
+     * Find the next chunk of rows whose windows are behind today, in ID order.
+     * @param aposId the last ID of the previous chunk
+     * @param limite the chunk size
+     * @return the IDs of the stale rows
+     */
+    @Query(value = """
+    SELECT id FROM adesao_medicacao
+    WHERE id > :aposId AND dia_referencia < CURRENT_DATE
+    ORDER BY id
+    LIMIT :limite
+    """, nativeQuery = true)
+    List<UUID> findAtrasadasApos(@Param("aposId") UUID aposId, @Param("limite") int limite);
+
+    /**
+     * Shift the windows of some rows forward by one day, subtracting the daily
+     * bucket that leaves each window. Only rows behind today are touched, so the
+     * statement is safe to repeat until it updates nothing.
+     * @param ids the row IDs
+     * @return the user ID of each row shifted
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "adesao_medicacao"))
+    @Query(value = """
+    UPDATE adesao_medicacao a
+    SET total_7d = a.total_7d - COALESCE(d7.total, 0),
+        tomadas_7d = a.tomadas_7d - COALESCE(d7.tomadas, 0),
+        total_30d = a.total_30d - COALESCE(d30.total, 0),
+        tomadas_30d = a.tomadas_30d - COALESCE(d30.tomadas, 0),
+        total_90d = a.total_90d - COALESCE(d90.total, 0),
+        tomadas_90d = a.tomadas_90d - COALESCE(d90.tomadas, 0),
+        dia_referencia = a.dia_referencia + 1,
+        atualizado_em = CURRENT_TIMESTAMP
+    FROM adesao_medicacao r
+    LEFT JOIN adesao_diaria d7 ON d7.usuario_id = r.usuario_id
+         AND d7.medicamento_id = r.medicamento_id AND d7.dia = r.dia_referencia - 6
+    LEFT JOIN adesao_diaria d30 ON d30.usuario_id = r.usuario_id
+         AND d30.medicamento_id = r.medicamento_id AND d30.dia = r.dia_referencia - 29
+    LEFT JOIN adesao_diaria d90 ON d90.usuario_id = r.usuario_id
+         AND d90.medicamento_id = r.medicamento_id AND d90.dia = r.dia_referencia - 89
+    WHERE a.id = r.id
+    AND r.id IN (:ids)
+    AND a.dia_referencia < CURRENT_DATE
+    RETURNING a.usuario_id
+    """, nativeQuery = true)
+    List<UUID> avancarJanelas(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Delete daily buckets that no longer fall in any window.
+     * @param limite the first day still inside the largest window
+     * @return the number of buckets deleted
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "adesao_diaria"))
+    @Query(value = "DELETE FROM adesao_diaria WHERE dia < :limite", nativeQuery = true)
+    int deleteDiariasAntesDe(@Param("limite") LocalDate limite);
+}
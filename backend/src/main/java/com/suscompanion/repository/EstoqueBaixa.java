@@ -0,0 +1,20 @@
+package com.suscompanion.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of the row returned by an atomic stock decrement.
+ */
+public interface EstoqueBaixa {
+
+    UUID getId();
+
+    Integer getQuantidadeAtual();
+
+    Integer getQuantidadeAlerta();
+
+    /**
+     * @return the quantity before the update; only returned by {@link EstoquePessoalRepository#decrementDoses}
+     */
+    Integer getQuantidadeAnterior();
+}
@@ -59,6 +59,23 @@ public interface EstoquePessoalRepository extends JpaRepository<EstoquePessoal,
      */
     Optional<EstoquePessoal> findByUsuarioIdAndMedicamentoId(UUID usuarioId, UUID medicamentoId);
 
+    /**
+     * Check if a user already has an inventory item for a medication.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @return true if an inventory item exists
+     */
+    boolean existsByUsuarioIdAndMedicamentoId(UUID usuarioId, UUID medicamentoId);
+
+    /**
+     * Find the next chunk of inventory items after a given ID, for keyset-paginated batch jobs.
+     * @param ultimoId the last ID of the previous chunk
+     * @param pageable the chunk size (page number is ignored by the caller and should be 0)
+     * @return the next inventory items ordered by ID
+     */
+    @Query("SELECT e FROM EstoquePessoal e WHERE e.id > :ultimoId ORDER BY e.id")
+    List<EstoquePessoal> findLoteApos(@Param("ultimoId") UUID ultimoId, Pageable pageable);
+
     /**
      * Find inventory items with low stock for a user.
      * @param usuarioId the user ID
@@ -67,4 +84,81 @@ public interface EstoquePessoalRepository extends JpaRepository<EstoquePessoal,
     @Query("SELECT e FROM EstoquePessoal e WHERE e.usuario.id = :usuarioId AND " +
            "e.quantidadeAtual <= e.quantidadeAlerta")
     List<EstoquePessoal> findEstoqueBaixo(@Param("usuarioId") UUID usuarioId);
-}
\ No newline at end of file
+
+    /**
+     * Insert an inventory item or, if the user already has one for the medication,
+     * add the quantity to it. A single statement, so concurrent creates never duplicate rows.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @param quantidade the quantity to add
+     * @param quantidadeAlerta the alert threshold, or null to keep the current one
+     * @return the inserted or updated inventory item
+     */
+    @Query(value = """
+    INSERT INTO estoque_pessoal (id, usuario_id, medicamento_id, quantidade_atual, quantidade_alerta,
+                                 versao, criado_em, atualizado_em)
+    VALUES (uuid_generate_v4(), :usuarioId, :medicamentoId, :quantidade, COALESCE(:quantidadeAlerta, 5),
+            0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+    ON CONFLICT (usuario_id, medicamento_id) DO UPDATE
+    SET quantidade_atual = estoque_pessoal.quantidade_atual + EXCLUDED.quantidade_atual,
+        quantidade_alerta = COALESCE(:quantidadeAlerta, estoque_pessoal.quantidade_alerta),
+        versao = estoque_pessoal.versao + 1,
+        atualizado_em = CURRENT_TIMESTAMP
+    RETURNING *
+    """, nativeQuery = true)
+    EstoquePessoal upsertAdicionando(@Param("usuarioId") UUID usuarioId,
+                                     @Param("medicamentoId") UUID medicamentoId,
+                                     @Param("quantidade") int quantidade,
+                                     @Param("quantidadeAlerta") Integer quantidadeAlerta);
+
+    /**
+     * Atomically subtract a quantity from an inventory item, only if enough stock is left.
+     * The read-modify-write happens in a single statement, so concurrent decrements never lose updates.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @param quantidade the quantity to subtract
+     * @return the updated quantities, or empty if there is no item or not enough stock
+     */
+    @Query(value = """
+    UPDATE estoque_pessoal
+    SET quantidade_atual = quantidade_atual - :quantidade,
+        versao = versao + 1,
+        atualizado_em = CURRENT_TIMESTAMP
+    WHERE usuario_id = :usuarioId
+    AND medicamento_id = :medicamentoId
+    AND quantidade_atual >= :quantidade
+    RETURNING id AS "id", quantidade_atual AS "quantidadeAtual", quantidade_alerta AS "quantidadeAlerta"
+    """, nativeQuery = true)
+    Optional<EstoqueBaixa> decrementQuantidade(@Param("usuarioId") UUID usuarioId,
+                                               @Param("medicamentoId") UUID medicamentoId,
+                                               @Param("quantidade") int quantidade);
+
+    /**
+     * Atomically subtract several doses of the same quantity from an inventory item: as many of
+     * them as the stock covers, as if they were subtracted one by one with {@link #decrementQuantidade}.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @param quantidade the quantity of each dose
+     * @param doses the number of doses
+     * @return the quantities before and after the update, or empty if there is no item or not enough stock for one dose
+     */
+    @Query(value = """
+    UPDATE estoque_pessoal e
+    SET quantidade_atual = a.quantidade_atual - LEAST(a.quantidade_atual / :quantidade, :doses) * :quantidade,
+        versao = e.versao + 1,
+        atualizado_em = CURRENT_TIMESTAMP
+    FROM (SELECT id, quantidade_atual
+          FROM estoque_pessoal
+          WHERE usuario_id = :usuarioId
+          AND medicamento_id = :medicamentoId
+          AND quantidade_atual >= :quantidade
+          FOR UPDATE) a
+    WHERE e.id = a.id
+    RETURNING e.id AS "id", e.quantidade_atual AS "quantidadeAtual", e.quantidade_alerta AS "quantidadeAlerta",
+              a.quantidade_atual AS "quantidadeAnterior"
+    """, nativeQuery = true)
+    Optional<EstoqueBaixa> decrementDoses(@Param("usuarioId") UUID usuarioId,
+                                          @Param("medicamentoId") UUID medicamentoId,
+                                          @Param("quantidade") int quantidade,
+                                          @Param("doses") int doses);
+}
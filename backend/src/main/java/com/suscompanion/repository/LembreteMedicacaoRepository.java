@@ -3,13 +3,18 @@ package com.suscompanion.repository;
 import com.suscompanion.model.LembreteMedicacao;
 import com.suscompanion.model.Medicamento;
 import com.suscompanion.model.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +33,17 @@ public interface LembreteMedicacaoRepository extends JpaRepository<LembreteMedic
      */
     Page<LembreteMedicacao> findByUsuario(Usuario usuario, Pageable pageable);
 
+    /**
+     * Find medication reminders by user ID with their medication fetched in the same query.
+     * Entities are loaded read-only, as the result is only mapped to DTOs.
+     * @param usuarioId the user ID
+     * @param pageable pagination information
+     * @return a page of medication reminders for the user
+     */
+    @EntityGraph(attributePaths = "medicamento")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Page<LembreteMedicacao> findWithMedicamentoByUsuarioId(UUID usuarioId, Pageable pageable);
+
     /**
      * Find medication reminders by user ID.
      * @param usuarioId the user ID
@@ -65,33 +81,56 @@ public interface LembreteMedicacaoRepository extends JpaRepository<LembreteMedic
      */
     Optional<LembreteMedicacao> findByIdAndUsuarioId(UUID id, UUID usuarioId);
 
+    /**
+     * Find medication reminders by IDs and user ID.
+     * @param ids the medication reminder IDs
+     * @param usuarioId the user ID
+     * @return a list of the medication reminders that belong to the user
+     */
+    List<LembreteMedicacao> findByIdInAndUsuarioId(Collection<UUID> ids, UUID usuarioId);
+
     /**
      * Find active medication reminders for today for a user.
+     * Uses the Postgres array operators so the partial index on active reminders
+     * and the GIN index on dias_semana can be used instead of per-row subqueries.
      * @param usuarioId the user ID
      * @param diaAtual the day of the week (0-6, Sunday-Saturday)
      * @return a list of active medication reminders for today
      */
-    @Query("""
-    SELECT l FROM LembreteMedicacao l
-    WHERE l.usuario.id = :usuarioId
+    @Query(value = """
+    SELECT l.* FROM lembretes_medicacao l
+    WHERE l.usuario_id = :usuarioId
     AND l.ativo = true
-    AND (SIZE(l.diasSemana) = 0 OR :diaAtual IN (SELECT d FROM LembreteMedicacao lm JOIN lm.diasSemana d WHERE lm = l))
-    """)
+    AND (l.dias_semana IS NULL
+         OR cardinality(l.dias_semana) = 0
+         OR l.dias_semana @> ARRAY[CAST(:diaAtual AS integer)])
+    """, nativeQuery = true)
     List<LembreteMedicacao> findLembretesHoje(
             @Param("usuarioId") UUID usuarioId,
             @Param("diaAtual") Integer diaAtual
     );
 
-
-
-
-
-
-
     /**
      * Find active medication reminders by user ID.
      * @param usuarioId the user ID
      * @return a list of active medication reminders
      */
     List<LembreteMedicacao> findByUsuarioIdAndAtivoTrue(UUID usuarioId);
+
+    /**
+     * Find active medication reminders by user ID with their medication fetched in the same query.
+     * Entities are loaded read-only, as the result is only mapped to DTOs.
+     * @param usuarioId the user ID
+     * @return a list of active medication reminders
+     */
+    @EntityGraph(attributePaths = "medicamento")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<LembreteMedicacao> findWithMedicamentoByUsuarioIdAndAtivoTrue(UUID usuarioId);
+
+    /**
+     * Find active medication reminders for a set of medications.
+     * @param medicamentoIds the medication IDs
+     * @return a list of active medication reminders for the medications
+     */
+    List<LembreteMedicacao> findByMedicamentoIdInAndAtivoTrue(Collection<UUID> medicamentoIds);
 }
\ No newline at end of file
@@ -44,22 +44,44 @@ public interface MedicamentoRepository extends JpaRepository<Medicamento, UUID>
 
     /**
      * Find medication by ID and user ID.
+     * Loaded by primary key so the second-level cache is used, then checked against the user;
+     * the lazy user reference is not initialized by the check.
      * @param id the medication ID
      * @param usuarioId the user ID
      * @return an Optional containing the medication if found
      */
-    Optional<Medicamento> findByIdAndUsuarioId(UUID id, UUID usuarioId);
+    default Optional<Medicamento> findByIdAndUsuarioId(UUID id, UUID usuarioId) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return findById(id)
+                .filter(medicamento -> medicamento.getUsuario().getId().equals(usuarioId));
+    }
 
     /**
-     * Search medications by name for a user.
+     * Search medications by name for a user, ignoring case and accents.
+     * Matches any part of the full or simplified name using the trigram index from V8,
+     * best matches first. The pageable must not carry a sort, the order is the ranking.
      * @param nome the name to search for
      * @param usuarioId the user ID
      * @param pageable pagination information
      * @return a page of medications matching the search criteria
      */
-    @Query("SELECT m FROM Medicamento m WHERE m.usuario.id = :usuarioId AND " +
-           "(LOWER(m.nomeCompleto) LIKE LOWER(CONCAT('%', :nome, '%')) OR " +
-           "LOWER(m.nomeSimplificado) LIKE LOWER(CONCAT('%', :nome, '%')))")
+    @Query(value = """
+    SELECT m.* FROM medicamentos m
+    WHERE m.usuario_id = :usuarioId
+    AND normalizar_busca(m.nome_completo || ' ' || COALESCE(m.nome_simplificado, ''))
+        LIKE '%' || normalizar_busca(:nome) || '%'
+    ORDER BY word_similarity(normalizar_busca(:nome),
+                             normalizar_busca(m.nome_completo || ' ' || COALESCE(m.nome_simplificado, ''))) DESC,
+             m.nome_completo
+    """,
+    countQuery = """
+    SELECT count(*) FROM medicamentos m
+    WHERE m.usuario_id = :usuarioId
+    AND normalizar_busca(m.nome_completo || ' ' || COALESCE(m.nome_simplificado, ''))
+        LIKE '%' || normalizar_busca(:nome) || '%'
+    """, nativeQuery = true)
     Page<Medicamento> searchByNome(@Param("nome") String nome, 
                                   @Param("usuarioId") UUID usuarioId,
                                   Pageable pageable);
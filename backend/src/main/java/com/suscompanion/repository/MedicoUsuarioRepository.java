@@ -0,0 +1,82 @@
+package com.suscompanion.repository;
+
+import com.suscompanion.model.MedicoUsuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the incrementally maintained distinct doctors of each user.
+ */
+@Repository
+public interface MedicoUsuarioRepository extends JpaRepository<MedicoUsuario, UUID> {
+
+    /**
+     * Find the distinct doctors of a user, most frequent first.
+     * @param usuarioId the user ID
+     * @return a list of the user's doctors
+     */
+    List<MedicoUsuario> findByUsuarioIdOrderByTotalReceitasDescMedicoNomeAsc(UUID usuarioId);
+
+    /**
+     * Count a prescription for a doctor, creating the doctor row if needed.
+     * The latest name and CRM written for the doctor are kept for display.
+     * Does nothing if both name and CRM are blank.
+     * @param usuarioId the user ID
+     * @param medicoNome the doctor name
+     * @param medicoCrm the doctor CRM
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "medicos_usuario"))
+    @Query(value = """
+    INSERT INTO medicos_usuario (usuario_id, chave, medico_nome, medico_crm, total_receitas, atualizado_em)
+    SELECT :usuarioId, chave_medico(CAST(:medicoNome AS text), CAST(:medicoCrm AS text)),
+           :medicoNome, :medicoCrm, 1, CURRENT_TIMESTAMP
+    WHERE chave_medico(CAST(:medicoNome AS text), CAST(:medicoCrm AS text)) IS NOT NULL
+    ON CONFLICT (usuario_id, chave) DO UPDATE
+    SET total_receitas = medicos_usuario.total_receitas + 1,
+        medico_nome = COALESCE(EXCLUDED.medico_nome, medicos_usuario.medico_nome),
+        medico_crm = COALESCE(EXCLUDED.medico_crm, medicos_usuario.medico_crm),
+        atualizado_em = CURRENT_TIMESTAMP
+    """, nativeQuery = true)
+    void incrementar(@Param("usuarioId") UUID usuarioId,
+                     @Param("medicoNome") String medicoNome,
+                     @Param("medicoCrm") String medicoCrm);
+
+    /**
+     * Uncount a prescription for a doctor.
+     * @param usuarioId the user ID
+     * @param medicoNome the doctor name the prescription had
+     * @param medicoCrm the doctor CRM the prescription had
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "medicos_usuario"))
+    @Query(value = """
+    UPDATE medicos_usuario
+    SET total_receitas = total_receitas - 1,
+        atualizado_em = CURRENT_TIMESTAMP
+    WHERE usuario_id = :usuarioId
+    AND chave = chave_medico(CAST(:medicoNome AS text), CAST(:medicoCrm AS text))
+    """, nativeQuery = true)
+    void decrementar(@Param("usuarioId") UUID usuarioId,
+                     @Param("medicoNome") String medicoNome,
+                     @Param("medicoCrm") String medicoCrm);
+
+    /**
+     * Remove the doctors of a user that no longer have prescriptions.
+     * @param usuarioId the user ID
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "medicos_usuario"))
+    @Query(value = "DELETE FROM medicos_usuario WHERE usuario_id = :usuarioId AND total_receitas <= 0",
+           nativeQuery = true)
+    void removerSemReceitas(@Param("usuarioId") UUID usuarioId);
+}
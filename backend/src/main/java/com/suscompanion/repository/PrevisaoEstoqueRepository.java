@@ -0,0 +1,31 @@
+package com.suscompanion.repository;
+
+import com.suscompanion.model.PrevisaoEstoque;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for accessing PrevisaoEstoque entities.
+ */
+@Repository
+public interface PrevisaoEstoqueRepository extends JpaRepository<PrevisaoEstoque, UUID> {
+
+    /**
+     * Find forecasts of items that run out on or before a date for a user.
+     * @param usuarioId the user ID
+     * @param limite the last run-out date to include
+     * @return a list of forecasts ordered by run-out date, with inventory item and medication loaded
+     */
+    @Query("SELECT p FROM PrevisaoEstoque p " +
+           "JOIN FETCH p.estoque e JOIN FETCH e.medicamento " +
+           "WHERE p.usuarioId = :usuarioId AND p.dataFim <= :limite " +
+           "ORDER BY p.dataFim")
+    List<PrevisaoEstoque> findTerminandoAte(@Param("usuarioId") UUID usuarioId,
+                                            @Param("limite") LocalDate limite);
+}
@@ -0,0 +1,13 @@
+package com.suscompanion.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of a prescription matched by full-text search and its relevance.
+ */
+public interface ReceitaRelevancia {
+
+    UUID getId();
+
+    Float getRelevancia();
+}
@@ -4,12 +4,14 @@ import com.suscompanion.model.Receita;
 import com.suscompanion.model.Usuario;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -63,15 +65,78 @@ public interface ReceitaRepository extends JpaRepository<Receita, UUID> {
                                     @Param("hoje") LocalDate hoje);
 
     /**
-     * Find prescriptions by doctor name for a user.
+     * Find prescriptions by doctor name for a user, ignoring case and accents.
+     * Matches any part of the name using the trigram index from V10, most recent first.
+     * The pageable must not carry a sort.
      * @param medicoNome the doctor name to search for
      * @param usuarioId the user ID
      * @param pageable pagination information
      * @return a page of prescriptions matching the search criteria
      */
-    @Query("SELECT r FROM Receita r WHERE r.usuario.id = :usuarioId AND " +
-           "LOWER(r.medicoNome) LIKE LOWER(CONCAT('%', :medicoNome, '%'))")
+    @Query(value = """
+    SELECT r.* FROM receitas r
+    WHERE r.usuario_id = :usuarioId
+    AND normalizar_busca(r.medico_nome) LIKE '%' || normalizar_busca(:medicoNome) || '%'
+    ORDER BY r.data_emissao DESC, r.id
+    """,
+    countQuery = """
+    SELECT count(*) FROM receitas r
+    WHERE r.usuario_id = :usuarioId
+    AND normalizar_busca(r.medico_nome) LIKE '%' || normalizar_busca(:medicoNome) || '%'
+    """, nativeQuery = true)
     Page<Receita> searchByMedicoNome(@Param("medicoNome") String medicoNome, 
                                     @Param("usuarioId") UUID usuarioId,
                                     Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Find prescriptions by doctor CRM for a user, most recent first.
+     * The comparison ignores case and uses the (usuario_id, upper(medico_crm)) index.
+     * @param medicoCrm the doctor CRM
+     * @param usuarioId the user ID
+     * @param pageable pagination information
+     * @return a page of prescriptions from the doctor
+     */
+    @Query("SELECT r FROM Receita r WHERE r.usuario.id = :usuarioId AND " +
+           "UPPER(r.medicoCrm) = UPPER(:medicoCrm) ORDER BY r.dataEmissao DESC")
+    Page<Receita> findByMedicoCrm(@Param("medicoCrm") String medicoCrm,
+                                  @Param("usuarioId") UUID usuarioId,
+                                  Pageable pageable);
+
+    /**
+     * Full-text search of a user's prescriptions, best matches first, with keyset pagination.
+     * Uses the Portuguese, accent-insensitive document maintained by the V11 triggers.
+     * Pass the relevance and ID of the last row of the previous page to get the next one.
+     * @param termos the search terms, in web search syntax
+     * @param usuarioId the user ID
+     * @param relevancia the relevance of the last row already returned
+     * @param ultimoId the ID of the last row already returned
+     * @param limite the maximum number of rows
+     * @return the matching prescription IDs with their relevance
+     */
+    @Query(value = """
+    SELECT t.id AS "id", t.relevancia AS "relevancia"
+    FROM (
+        SELECT r.id, ts_rank_cd(r.busca, q) AS relevancia
+        FROM receitas r, websearch_to_tsquery('portugues_sem_acento', :termos) q
+        WHERE r.usuario_id = :usuarioId
+        AND r.busca @@ q
+    ) t
+    WHERE t.relevancia < CAST(:relevancia AS real)
+    OR (t.relevancia = CAST(:relevancia AS real) AND t.id > :ultimoId)
+    ORDER BY t.relevancia DESC, t.id
+    LIMIT :limite
+    """, nativeQuery = true)
+    List<ReceitaRelevancia> buscarTexto(@Param("termos") String termos,
+                                        @Param("usuarioId") UUID usuarioId,
+                                        @Param("relevancia") Float relevancia,
+                                        @Param("ultimoId") UUID ultimoId,
+                                        @Param("limite") int limite);
+
+    /**
+     * Find prescriptions by IDs with their items fetched in the same query.
+     * @param ids the prescription IDs
+     * @return the prescriptions, in no particular order
+     */
+    @EntityGraph(attributePaths = {"itens", "itens.medicamento"})
+    List<Receita> findWithItensByIdIn(Collection<UUID> ids);
+}
@@ -0,0 +1,87 @@
+package com.suscompanion.repository;
+
+import com.suscompanion.model.RegistroDose;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for accessing RegistroDose entities.
+ */
+@Repository
+public interface RegistroDoseRepository extends JpaRepository<RegistroDose, UUID> {
+
+    /**
+     * Find dose records by user ID, most recent scheduled time first.
+     * @param usuarioId the user ID
+     * @param pageable pagination information
+     * @return a page of dose records for the user
+     */
+    Page<RegistroDose> findByUsuarioIdOrderByHorarioPrevistoDesc(UUID usuarioId, Pageable pageable);
+
+    /**
+     * Find dose records by user ID and medication ID, most recent scheduled time first.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @param pageable pagination information
+     * @return a page of dose records for the medication
+     */
+    Page<RegistroDose> findByUsuarioIdAndMedicamentoIdOrderByHorarioPrevistoDesc(UUID usuarioId, UUID medicamentoId, Pageable pageable);
+
+    /**
+     * Insert a dose record unless one already exists for the same reminder and scheduled time.
+     * Offline devices may resend the same dose, so duplicates are silently ignored.
+     * @return 1 if the record was inserted, 0 if it was a duplicate
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "registros_dose"))
+    @Query(value = """
+    INSERT INTO registros_dose (id, usuario_id, lembrete_id, medicamento_id, status,
+                                horario_previsto, registrado_em, observacoes)
+    VALUES (:id, :usuarioId, :lembreteId, :medicamentoId, :status,
+            :horarioPrevisto, :registradoEm, :observacoes)
+    ON CONFLICT (lembrete_id, horario_previsto) DO NOTHING
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id,
+                       @Param("usuarioId") UUID usuarioId,
+                       @Param("lembreteId") UUID lembreteId,
+                       @Param("medicamentoId") UUID medicamentoId,
+                       @Param("status") String status,
+                       @Param("horarioPrevisto") LocalDateTime horarioPrevisto,
+                       @Param("registradoEm") LocalDateTime registradoEm,
+                       @Param("observacoes") String observacoes);
+
+    /**
+     * Insert several dose records in one statement, skipping those that already exist for the
+     * same reminder and scheduled time (including repeats within the batch).
+     * @param usuarioId the user ID
+     * @param registros JSON array of records with id, lembrete_id, medicamento_id, status,
+     *                  horario_previsto, registrado_em and observacoes
+     * @return the IDs of the records inserted
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "registros_dose"))
+    @Query(value = """
+    INSERT INTO registros_dose (id, usuario_id, lembrete_id, medicamento_id, status,
+                                horario_previsto, registrado_em, observacoes)
+    SELECT r.id, :usuarioId, r.lembrete_id, r.medicamento_id, r.status,
+           r.horario_previsto, r.registrado_em, r.observacoes
+    FROM jsonb_to_recordset(CAST(:registros AS jsonb))
+         AS r(id uuid, lembrete_id uuid, medicamento_id uuid, status varchar,
+              horario_previsto timestamp, registrado_em timestamp, observacoes text)
+    ON CONFLICT (lembrete_id, horario_previsto) DO NOTHING
+    RETURNING id
+    """, nativeQuery = true)
+    List<UUID> insertAllIfAbsent(@Param("usuarioId") UUID usuarioId,
+                                 @Param("registros") String registros);
+}
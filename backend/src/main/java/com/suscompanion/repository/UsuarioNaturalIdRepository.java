@@ -0,0 +1,20 @@
+package com.suscompanion.repository;
+
+import com.suscompanion.model.Usuario;
+
+import java.util.Optional;
+
+/**
+ * Lookups of Usuario by its natural ID (email), served from the second-level cache when possible.
+ */
+public interface UsuarioNaturalIdRepository {
+
+    /**
+     * Find a user by email.
+     * Resolved through Hibernate's natural ID API, so repeated lookups of the same email hit the
+     * "usuarios-email" and "usuarios" cache regions instead of the database.
+     * @param email the email to search for
+     * @return an Optional containing the user if found
+     */
+    Optional<Usuario> findByEmail(String email);
+}
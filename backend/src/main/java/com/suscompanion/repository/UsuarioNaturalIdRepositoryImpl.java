@@ -0,0 +1,31 @@
+package com.suscompanion.repository;
+
+import com.suscompanion.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Natural ID lookups of Usuario, picked up by Spring Data as a fragment of {@link UsuarioRepository}.
+ * Transactional itself: the repository's transactional advice does not cover fragment methods, and
+ * callers such as the JWT filter run before any EntityManager is bound to the request.
+ */
+@Transactional(readOnly = true)
+class UsuarioNaturalIdRepositoryImpl implements UsuarioNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Usuario> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Usuario.class)
+                .loadOptional(email);
+    }
+}
@@ -1,9 +1,17 @@
 package com.suscompanion.repository;
 
 import com.suscompanion.model.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,14 +19,7 @@ import java.util.UUID;
  * Repository for accessing Usuario entities.
  */
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
-
-    /**
-     * Find a user by email.
-     * @param email the email to search for
-     * @return an Optional containing the user if found
-     */
-    Optional<Usuario> findByEmail(String email);
+public interface UsuarioRepository extends JpaRepository<Usuario, UUID>, UsuarioNaturalIdRepository {
 
     /**
      * Find a user by CPF.
@@ -27,6 +28,17 @@ public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
      */
     Optional<Usuario> findByCpf(String cpf);
 
+    /**
+     * Find the sign-in credentials of a user by email. Unlike {@link #findByEmail}, this never goes
+     * through the second-level cache and always reads the primary (a read-write transaction), so a
+     * password or email changed through another instance takes effect here immediately.
+     * @param email the email to search for
+     * @return an Optional containing the credentials if found
+     */
+    @Transactional
+    @Query("SELECT u.email AS email, u.senha AS senha FROM Usuario u WHERE u.email = :email")
+    Optional<Credenciais> findCredenciaisByEmail(@Param("email") String email);
+
     /**
      * Check if a user exists with the given email.
      * @param email the email to check
@@ -40,4 +52,66 @@ public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
      * @return true if a user exists with the CPF
      */
     boolean existsByCpf(String cpf);
-}
\ No newline at end of file
+
+    /**
+     * Get the version of a user's data, incremented by the V13 triggers on every write to
+     * the user's tables.
+     * @param usuarioId the user ID
+     * @return the version, or empty if the user's data was never written
+     */
+    @Query(value = "SELECT versao FROM versoes_dados_usuario WHERE usuario_id = :usuarioId", nativeQuery = true)
+    Optional<Long> findVersaoDados(@Param("usuarioId") UUID usuarioId);
+
+    /**
+     * Increment the data version of several users at once, for writes to tables without a
+     * version trigger (derived data such as forecasts and adherence windows). Users are locked
+     * in ID order, as the V13 triggers do, so concurrent calls cannot deadlock.
+     * @param usuarioIds the user IDs
+     * @return the number of versions incremented
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "versoes_dados_usuario"))
+    @Query(value = """
+    INSERT INTO versoes_dados_usuario (usuario_id, versao, escrito_em)
+    SELECT u.id, 1, clock_timestamp() FROM usuarios u WHERE u.id IN (:usuarioIds) ORDER BY u.id
+    ON CONFLICT (usuario_id) DO UPDATE
+    SET versao = versoes_dados_usuario.versao + 1,
+        escrito_em = EXCLUDED.escrito_em
+    """, nativeQuery = true)
+    int incrementVersoesDados(@Param("usuarioIds") Collection<UUID> usuarioIds);
+
+    /**
+     * Get a user's data version and whether it was last written within a window, by the
+     * database clock (see V15). Always reads the primary (a read-write transaction), as a
+     * replica may not have the latest write yet.
+     * @param email the user's email
+     * @param janelaMs the window, in milliseconds
+     * @return the version, 0 if the user's data was never written, or empty if the user is not found
+     */
+    @Transactional
+    @Query(value = """
+    SELECT u.id AS "usuarioId", COALESCE(v.versao, 0) AS "versao",
+           COALESCE(v.escrito_em > clock_timestamp() - :janelaMs * INTERVAL '1 millisecond', false) AS "recente"
+    FROM usuarios u
+    LEFT JOIN versoes_dados_usuario v ON v.usuario_id = u.id
+    WHERE u.email = :email
+    """, nativeQuery = true)
+    Optional<UltimaEscrita> findUltimaEscritaByEmail(@Param("email") String email, @Param("janelaMs") long janelaMs);
+
+    /**
+     * Email and password hash of a user, as needed to authenticate.
+     */
+    interface Credenciais {
+        String getEmail();
+
+        String getSenha();
+    }
+
+    interface UltimaEscrita {
+        UUID getUsuarioId();
+
+        Long getVersao();
+
+        Boolean getRecente();
+    }
+}
@@ -1,5 +1,7 @@
 package com.suscompanion.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +21,7 @@ import java.io.IOException;
 /**
  * Filter for JWT authentication.
  * This filter intercepts all requests and validates JWT tokens.
+ * The time spent authenticating each Bearer token is recorded as {@code seguranca.jwt}.
  */
 @Component
 @RequiredArgsConstructor
@@ -26,6 +29,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(
@@ -34,8 +38,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         // If no Authorization header or not a Bearer token, continue with the filter chain
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -43,9 +45,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Extract JWT token from Authorization header
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        String resultado = "error";
+        try {
+            resultado = autenticar(request, authHeader.substring(7)) ? "authenticated" : "rejected";
+        } finally {
+            amostra.stop(Timer.builder("seguranca.jwt")
+                    .description("Time to validate the Bearer token and load its user")
+                    .tag("outcome", resultado)
+                    .register(meterRegistry));
+        }
+
+        // Continue with the filter chain
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Validate the token and, if valid, set the authentication in the security context.
+     * @param request the current request
+     * @param jwt the token from the Authorization header
+     * @return true if the request is authenticated after this call
+     */
+    private boolean autenticar(HttpServletRequest request, String jwt) {
+        final String userEmail = jwtService.extractUsername(jwt);
 
         // If user email is not null and no authentication is set in the security context
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -65,8 +87,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
-
-        // Continue with the filter chain
-        filterChain.doFilter(request, response);
+        return SecurityContextHolder.getContext().getAuthentication() != null;
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,7 @@
 package com.suscompanion.security;
 
-import com.suscompanion.model.Usuario;
 import com.suscompanion.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.annotation.Bean;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,19 +21,20 @@ public class UsuarioDetailsService implements UserDetailsService {
     private final UsuarioRepository usuarioRepository;
 
     /**
-     * Load user details by username (email).
+     * Load user details by username (email). Reads the current credentials from the database, not
+     * the cached Usuario, so changes made through other instances are honoured.
      * @param email the email of the user
      * @return the user details
      * @throws UsernameNotFoundException if the user is not found
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Usuario usuario = usuarioRepository.findByEmail(email)
+        UsuarioRepository.Credenciais credenciais = usuarioRepository.findCredenciaisByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
 
         return new User(
-                usuario.getEmail(),
-                usuario.getSenha(),
+                credenciais.getEmail(),
+                credenciais.getSenha(),
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
         );
     }
@@ -0,0 +1,156 @@
+package com.suscompanion.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader for the drug price list CSV (CMED/ANVISA layout, ';' separated).
+ * Preamble lines before the header are skipped, columns are located by header name
+ * and only one record is held in memory at a time.
+ */
+class CatalogoCsvReader {
+
+    /**
+     * Catalog columns in staging table order, with the normalized header names accepted for each.
+     */
+    static final List<String[]> COLUNAS = List.of(
+            new String[]{"codigo ggrem"},
+            new String[]{"registro"},
+            new String[]{"ean 1", "ean"},
+            new String[]{"substancia", "principio ativo"},
+            new String[]{"produto"},
+            new String[]{"apresentacao"},
+            new String[]{"laboratorio"},
+            new String[]{"classe terapeutica"},
+            new String[]{"tipo de produto (status do produto)", "tipo de produto"},
+            new String[]{"pf sem impostos", "pf 0%", "preco fabrica"}
+    );
+
+    static final int CODIGO_GGREM = 0;
+    static final int PRODUTO = 4;
+    static final int PRECO_FABRICA = 9;
+
+    private static final char SEPARADOR = ';';
+
+    private final BufferedReader reader;
+    private int[] posicoes;
+
+    CatalogoCsvReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next catalog record, skipping records without GGREM code or product name.
+     * @return the record values in {@link #COLUNAS} order (missing columns are null), or null at the end
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file has no header with the required columns
+     */
+    String[] proximo() throws IOException {
+        if (posicoes == null) {
+            lerCabecalho();
+        }
+
+        List<String> campos;
+        while ((campos = lerRegistro()) != null) {
+            String[] valores = new String[COLUNAS.size()];
+            for (int i = 0; i < posicoes.length; i++) {
+                if (posicoes[i] >= 0 && posicoes[i] < campos.size()) {
+                    String valor = campos.get(posicoes[i]).trim();
+                    valores[i] = valor.isEmpty() || valor.equals("-") ? null : valor;
+                }
+            }
+            if (valores[CODIGO_GGREM] != null && valores[PRODUTO] != null) {
+                valores[PRECO_FABRICA] = normalizarPreco(valores[PRECO_FABRICA]);
+                return valores;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Convert a Brazilian formatted price ("1.234,56") to a decimal literal ("1234.56").
+     * @param preco the price as written in the file
+     * @return the decimal literal, or null if the value is not a price
+     */
+    static String normalizarPreco(String preco) {
+        if (preco == null) {
+            return null;
+        }
+        String valor = preco.replace("R$", "").replace(".", "").replace(',', '.').trim();
+        return valor.matches("\\d+(\\.\\d+)?") ? valor : null;
+    }
+
+    private void lerCabecalho() throws IOException {
+        List<String> campos;
+        while ((campos = lerRegistro()) != null) {
+            Map<String, Integer> indices = new HashMap<>();
+            for (int i = 0; i < campos.size(); i++) {
+                indices.putIfAbsent(MedicamentoAutocompleteIndex.normalizar(campos.get(i).replace("\uFEFF", "")), i);
+            }
+            if (indices.containsKey(COLUNAS.get(CODIGO_GGREM)[0]) && indices.containsKey(COLUNAS.get(PRODUTO)[0])) {
+                posicoes = new int[COLUNAS.size()];
+                for (int i = 0; i < COLUNAS.size(); i++) {
+                    posicoes[i] = -1;
+                    for (String nome : COLUNAS.get(i)) {
+                        if (indices.containsKey(nome)) {
+                            posicoes[i] = indices.get(nome);
+                            break;
+                        }
+                    }
+                }
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Cabeçalho com as colunas CÓDIGO GGREM e PRODUTO não encontrado no arquivo");
+    }
+
+    /**
+     * Read one CSV record, which may span several lines when a quoted field contains line breaks.
+     */
+    private List<String> lerRegistro() throws IOException {
+        String linha = reader.readLine();
+        if (linha == null) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        while (true) {
+            for (int i = 0; i < linha.length(); i++) {
+                char c = linha.charAt(i);
+                if (entreAspas) {
+                    if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                        campo.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        entreAspas = false;
+                    } else {
+                        campo.append(c);
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == SEPARADOR) {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else {
+                    campo.append(c);
+                }
+            }
+            if (!entreAspas) {
+                break;
+            }
+            linha = reader.readLine();
+            if (linha == null) {
+                break;
+            }
+            campo.append('\n');
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,355 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.catalogo.CatalogoMedicamentoDTO;
+import com.suscompanion.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Service for the shared drug catalog.
+ * The catalog is imported from a CMED/ANVISA-style price list with COPY and served from an
+ * immutable in-memory index, which is rebuilt and swapped in one step after each import.
+ * Every instance polls the catalog table, so an import run on one instance reaches the
+ * indexes of the others within catalogo.indice.verificacao-ms.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogoMedicamentoService {
+
+    private static final String CRIAR_TABELA_IMPORTACAO = """
+            CREATE TEMP TABLE catalogo_importacao (
+                codigo_ggrem TEXT, registro_anvisa TEXT, ean TEXT, principio_ativo TEXT, produto TEXT,
+                apresentacao TEXT, laboratorio TEXT, classe_terapeutica TEXT, tipo_produto TEXT, preco_fabrica TEXT
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_IMPORTACAO = "COPY catalogo_importacao FROM STDIN WITH (FORMAT csv)";
+
+    private static final String UPSERT_CATALOGO = """
+            INSERT INTO catalogo_medicamentos (codigo_ggrem, registro_anvisa, ean, principio_ativo, produto, apresentacao,
+                                               laboratorio, classe_terapeutica, tipo_produto, preco_fabrica, ativo, atualizado_em)
+            SELECT DISTINCT ON (left(codigo_ggrem, 20))
+                   left(codigo_ggrem, 20), left(registro_anvisa, 20), left(ean, 20), principio_ativo, produto, apresentacao,
+                   laboratorio, classe_terapeutica, left(tipo_produto, 50), CAST(preco_fabrica AS DECIMAL(12, 2)),
+                   TRUE, CURRENT_TIMESTAMP
+            FROM catalogo_importacao
+            ORDER BY left(codigo_ggrem, 20)
+            ON CONFLICT (codigo_ggrem) DO UPDATE
+            SET registro_anvisa = EXCLUDED.registro_anvisa,
+                ean = EXCLUDED.ean,
+                principio_ativo = EXCLUDED.principio_ativo,
+                produto = EXCLUDED.produto,
+                apresentacao = EXCLUDED.apresentacao,
+                laboratorio = EXCLUDED.laboratorio,
+                classe_terapeutica = EXCLUDED.classe_terapeutica,
+                tipo_produto = EXCLUDED.tipo_produto,
+                preco_fabrica = EXCLUDED.preco_fabrica,
+                ativo = TRUE,
+                atualizado_em = CURRENT_TIMESTAMP
+            """;
+
+    // Entries missing from the new list are kept for the medications that reference them
+    private static final String DESATIVAR_AUSENTES = """
+            UPDATE catalogo_medicamentos c
+            SET ativo = FALSE, atualizado_em = CURRENT_TIMESTAMP
+            WHERE c.ativo
+            AND NOT EXISTS (SELECT 1 FROM catalogo_importacao i WHERE left(i.codigo_ggrem, 20) = c.codigo_ggrem)
+            """;
+
+    private static final String SELECT_ATIVOS = """
+            SELECT id, codigo_ggrem, registro_anvisa, ean, principio_ativo, produto, apresentacao,
+                   laboratorio, classe_terapeutica, tipo_produto, preco_fabrica
+            FROM catalogo_medicamentos
+            WHERE ativo
+            """;
+
+    // Imports and deactivations set atualizado_em, and deletes change the count
+    private static final String ASSINATURA_CATALOGO = """
+            SELECT count(*) || ':' || coalesce(CAST(max(atualizado_em) AS TEXT), '')
+            FROM catalogo_medicamentos
+            """;
+
+    private static final String EXISTE_ATIVO =
+            "SELECT EXISTS (SELECT 1 FROM catalogo_medicamentos WHERE id = ? AND ativo)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${catalogo.importacao.arquivo:}")
+    private String arquivo = "";
+
+    @Value("${catalogo.importacao.charset:UTF-8}")
+    private String charset = "UTF-8";
+
+    @Value("${catalogo.importacao.tamanho-lote:5000}")
+    private int tamanhoLote = 5000;
+
+    private volatile CatalogoIndice indice = CatalogoIndice.de(List.of());
+
+    private volatile String assinatura;
+
+    /**
+     * Search active catalog entries whose product or active ingredient starts with the prefix.
+     * Case and accents are ignored.
+     * @param prefixo the typed prefix
+     * @param limite the maximum number of entries
+     * @return the matching catalog entries, empty if the prefix is blank
+     * @throws IllegalArgumentException if the limit is outside 1-50
+     */
+    public List<CatalogoMedicamentoDTO> buscar(String prefixo, int limite) {
+        if (limite < 1 || limite > 50) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e 50");
+        }
+        String chave = MedicamentoAutocompleteIndex.normalizar(prefixo);
+        if (chave.isEmpty()) {
+            return List.of();
+        }
+        return indice.buscar(chave, limite);
+    }
+
+    /**
+     * Get an active catalog entry by ID.
+     * @param id the catalog entry ID
+     * @return the catalog entry DTO
+     * @throws ResourceNotFoundException if the entry is not in the catalog
+     */
+    public CatalogoMedicamentoDTO getById(UUID id) {
+        CatalogoMedicamentoDTO entrada = indice.porId().get(id);
+        if (entrada == null) {
+            throw ResourceNotFoundException.forResource("Catálogo de Medicamentos", id);
+        }
+        return entrada;
+    }
+
+    /**
+     * Check if an ID refers to an active catalog entry.
+     * Checked against the table rather than the in-memory index, which other instances reload
+     * only on their next poll, so a reference is valid everywhere as soon as the import commits.
+     * @param id the catalog entry ID
+     * @return true if the entry is in the catalog
+     */
+    public boolean existe(UUID id) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTE_ATIVO, Boolean.class, id));
+    }
+
+    /**
+     * Import the catalog from a CSV price list in a single transaction.
+     * Rows are streamed from the file to a staging table with COPY in batches, then merged into
+     * the catalog by GGREM code. The in-memory index is rebuilt once the import commits.
+     * @param caminho the CSV file path
+     * @return the number of catalog entries inserted or updated
+     * @throws IllegalArgumentException if the file has no recognizable header
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public int importar(Path caminho) {
+        long inicio = System.currentTimeMillis();
+        Integer atualizados = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(CRIAR_TABELA_IMPORTACAO);
+            Long lidos = jdbcTemplate.execute((ConnectionCallback<Long>) conexao -> copiar(conexao, caminho));
+            jdbcTemplate.execute("ANALYZE catalogo_importacao");
+            int gravados = jdbcTemplate.update(UPSERT_CATALOGO);
+            int desativados = jdbcTemplate.update(DESATIVAR_AUSENTES);
+            log.info("Importação do catálogo leu {} linhas de {}: {} entradas inseridas ou atualizadas, {} desativadas",
+                    lidos, caminho, gravados, desativados);
+            return gravados;
+        });
+        recarregarIndice();
+        log.info("Importação do catálogo concluída em {} ms", System.currentTimeMillis() - inicio);
+        return atualizados != null ? atualizados : 0;
+    }
+
+    /**
+     * Import the catalog from the configured file, if any.
+     * Disabled unless catalogo.importacao.cron is set.
+     */
+    @Scheduled(cron = "${catalogo.importacao.cron:-}")
+    public void importarAgendado() {
+        if (arquivo.isBlank()) {
+            log.warn("Importação do catálogo agendada, mas catalogo.importacao.arquivo não está definido");
+            return;
+        }
+        importar(Path.of(arquivo));
+    }
+
+    /**
+     * Reload the index if the catalog changed since it was loaded, e.g. by an import on
+     * another instance.
+     */
+    @Scheduled(fixedDelayString = "${catalogo.indice.verificacao-ms:60000}",
+            initialDelayString = "${catalogo.indice.verificacao-ms:60000}")
+    public void verificarCatalogo() {
+        if (!Objects.equals(jdbcTemplate.queryForObject(ASSINATURA_CATALOGO, String.class), assinatura)) {
+            log.info("Catálogo alterado desde a última carga, recarregando o índice");
+            recarregarIndice();
+        }
+    }
+
+    /**
+     * Rebuild the in-memory index from the active catalog entries and swap it in.
+     * Readers keep using the previous index until the new one is complete.
+     * The catalog signature is read first, so a change made during the load is picked up by
+     * the next poll.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void recarregarIndice() {
+        String atual = jdbcTemplate.queryForObject(ASSINATURA_CATALOGO, String.class);
+        List<CatalogoMedicamentoDTO> entradas = jdbcTemplate.query(SELECT_ATIVOS, (rs, rowNum) ->
+                new CatalogoMedicamentoDTO(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("codigo_ggrem"),
+                        rs.getString("registro_anvisa"),
+                        rs.getString("ean"),
+                        rs.getString("principio_ativo"),
+                        rs.getString("produto"),
+                        rs.getString("apresentacao"),
+                        rs.getString("laboratorio"),
+                        rs.getString("classe_terapeutica"),
+                        rs.getString("tipo_produto"),
+                        rs.getBigDecimal("preco_fabrica")));
+        indice = CatalogoIndice.de(entradas);
+        assinatura = atual;
+        log.info("Índice do catálogo carregado com {} entradas", entradas.size());
+    }
+
+    private long copiar(Connection conexao, Path caminho) throws SQLException {
+        CopyIn copyIn = conexao.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_IMPORTACAO);
+        try (BufferedReader reader = Files.newBufferedReader(caminho, Charset.forName(charset))) {
+            CatalogoCsvReader csv = new CatalogoCsvReader(reader);
+            StringBuilder lote = new StringBuilder();
+            long total = 0;
+            String[] valores;
+            while ((valores = csv.proximo()) != null) {
+                escreverLinha(lote, valores);
+                if (++total % tamanhoLote == 0) {
+                    enviar(copyIn, lote);
+                }
+            }
+            enviar(copyIn, lote);
+            copyIn.endCopy();
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o arquivo do catálogo " + caminho, e);
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void enviar(CopyIn copyIn, StringBuilder lote) throws SQLException {
+        if (lote.isEmpty()) {
+            return;
+        }
+        byte[] bytes = lote.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        lote.setLength(0);
+    }
+
+    /**
+     * Append a record in COPY CSV format; null values are written unquoted so COPY reads them as NULL.
+     */
+    static void escreverLinha(StringBuilder lote, String[] valores) {
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                lote.append(',');
+            }
+            if (valores[i] != null) {
+                lote.append('"').append(valores[i].replace("\"", "\"\"")).append('"');
+            }
+        }
+        lote.append('\n');
+    }
+
+    /**
+     * Immutable prefix index of the catalog, keyed by the normalized product name,
+     * active ingredient and each of their later words.
+     */
+    private record CatalogoIndice(String[] chaves, CatalogoMedicamentoDTO[] entradas,
+                                  Map<UUID, CatalogoMedicamentoDTO> porId) {
+
+        static CatalogoIndice de(List<CatalogoMedicamentoDTO> catalogo) {
+            List<Map.Entry<String, CatalogoMedicamentoDTO>> pares = new ArrayList<>();
+            Map<UUID, CatalogoMedicamentoDTO> porId = new HashMap<>(catalogo.size() * 2);
+            for (CatalogoMedicamentoDTO entrada : catalogo) {
+                porId.put(entrada.getId(), entrada);
+                Set<String> chaves = new HashSet<>();
+                adicionarChaves(chaves, entrada.getProduto());
+                adicionarChaves(chaves, entrada.getPrincipioAtivo());
+                for (String chave : chaves) {
+                    pares.add(Map.entry(chave, entrada));
+                }
+            }
+            pares.sort(Map.Entry.comparingByKey());
+
+            String[] chaves = new String[pares.size()];
+            CatalogoMedicamentoDTO[] entradas = new CatalogoMedicamentoDTO[pares.size()];
+            for (int i = 0; i < pares.size(); i++) {
+                chaves[i] = pares.get(i).getKey();
+                entradas[i] = pares.get(i).getValue();
+            }
+            return new CatalogoIndice(chaves, entradas, Map.copyOf(porId));
+        }
+
+        List<CatalogoMedicamentoDTO> buscar(String prefixo, int limite) {
+            int posicao = 0;
+            int fim = chaves.length;
+            while (posicao < fim) {
+                int meio = (posicao + fim) >>> 1;
+                if (chaves[meio].compareTo(prefixo) < 0) {
+                    posicao = meio + 1;
+                } else {
+                    fim = meio;
+                }
+            }
+
+            List<CatalogoMedicamentoDTO> resultado = new ArrayList<>();
+            Set<UUID> vistos = new HashSet<>();
+            for (int i = posicao; i < chaves.length && resultado.size() < limite && chaves[i].startsWith(prefixo); i++) {
+                if (vistos.add(entradas[i].getId())) {
+                    resultado.add(entradas[i]);
+                }
+            }
+            return resultado;
+        }
+
+        private static void adicionarChaves(Set<String> chaves, String texto) {
+            String normalizado = MedicamentoAutocompleteIndex.normalizar(texto);
+            if (normalizado.isEmpty()) {
+                return;
+            }
+            chaves.add(normalizado);
+            for (int i = normalizado.indexOf(' '); i >= 0; i = normalizado.indexOf(' ', i + 1)) {
+                chaves.add(normalizado.substring(i + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.suscompanion.service;
+
+import com.suscompanion.config.LeituraRequisicao;
+import com.suscompanion.dto.dashboard.DashboardDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service for the home screen dashboard.
+ * The parts are read concurrently, each in its own read-only transaction whose timeout matches
+ * the part's time budget, so a slow part is cancelled in the database and left out of the
+ * response instead of delaying the others. A part that times out is also cancelled with an
+ * interrupt: one still queued or waiting for a pooled connection gives up at once, but a query
+ * already running keeps its connection until the transaction timeout ends it, i.e. up to
+ * {@code dashboard.timeout-parte} rounded up to whole seconds.
+ */
+@Slf4j
+@Service
+public class DashboardService {
+
+    private final LembreteMedicacaoService lembreteMedicacaoService;
+    private final EstoquePessoalService estoquePessoalService;
+    private final ReceitaService receitaService;
+    private final MonitoramentoSaudeService monitoramentoSaudeService;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor executor;
+    private final DelegatingSecurityContextAsyncTaskExecutor executorComUsuario;
+    private final Duration timeoutParte;
+
+    public DashboardService(LembreteMedicacaoService lembreteMedicacaoService,
+                            EstoquePessoalService estoquePessoalService,
+                            ReceitaService receitaService,
+                            MonitoramentoSaudeService monitoramentoSaudeService,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${dashboard.timeout-parte:2s}") Duration timeoutParte,
+                            @Value("${dashboard.threads:16}") int threads,
+                            Environment environment) {
+        this.lembreteMedicacaoService = lembreteMedicacaoService;
+        this.estoquePessoalService = estoquePessoalService;
+        this.receitaService = receitaService;
+        this.monitoramentoSaudeService = monitoramentoSaudeService;
+        this.timeoutParte = timeoutParte;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout((int) Math.max(1, (timeoutParte.toMillis() + 999) / 1000));
+
+        // Virtual threads only when the "virtual" profile is on and the runtime is Java 21+
+        this.executor = Threading.VIRTUAL.isActive(environment) ? executorVirtual(threads) : executorPlataforma(threads);
+        // Parts see the caller's authentication
+        this.executorComUsuario = new DelegatingSecurityContextAsyncTaskExecutor(executor);
+    }
+
+    /**
+     * Get the dashboard of a user: today's reminders, low-stock items, active prescriptions
+     * and latest health records.
+     * @param usuarioId the user ID
+     * @param registros the maximum number of health records
+     * @return the dashboard DTO, with the parts that failed or timed out listed as unavailable
+     */
+    public DashboardDTO getDashboard(UUID usuarioId, int registros) {
+        if (registros < 1 || registros > 50) {
+            throw new IllegalArgumentException("Número de registros deve estar entre 1 e 50");
+        }
+
+        List<String> indisponiveis = Collections.synchronizedList(new ArrayList<>());
+        DashboardDTO dashboard = new DashboardDTO();
+
+        CompletableFuture.allOf(
+                parte("lembretesHoje", () -> lembreteMedicacaoService.getLembretesHoje(usuarioId), indisponiveis)
+                        .thenAccept(dashboard::setLembretesHoje),
+                parte("estoqueBaixo", () -> estoquePessoalService.getEstoqueBaixo(usuarioId), indisponiveis)
+                        .thenAccept(dashboard::setEstoqueBaixo),
+                parte("receitasAtivas", () -> receitaService.getReceitasAtivas(usuarioId), indisponiveis)
+                        .thenAccept(dashboard::setReceitasAtivas),
+                parte("ultimosRegistros", () -> monitoramentoSaudeService.getUltimosRegistros(usuarioId, registros), indisponiveis)
+                        .thenAccept(dashboard::setUltimosRegistros)
+        ).join();
+
+        synchronized (indisponiveis) {
+            dashboard.setPartesIndisponiveis(indisponiveis.stream().sorted().toList());
+        }
+        return dashboard;
+    }
+
+    /**
+     * Start reading one part of the dashboard.
+     * @param nome the part name reported when it is unavailable
+     * @param consulta reads the part
+     * @param indisponiveis collects the names of failed parts
+     * @return the part, or null if it failed or did not finish within the time budget
+     */
+    private <T> CompletableFuture<T> parte(String nome, Supplier<T> consulta, List<String> indisponiveis) {
+        // Parts read like the request itself, so replica routing keeps read-your-writes
+        LeituraRequisicao leitura = LeituraRequisicao.atual();
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        Future<?> tarefa;
+        try {
+            tarefa = executorComUsuario.submit(() -> {
+                try {
+                    futuro.complete(LeituraRequisicao.executar(leitura,
+                            () -> transactionTemplate.execute(status -> consulta.get())));
+                } catch (Throwable e) {
+                    futuro.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            tarefa = null;
+            futuro.completeExceptionally(e); // Executor saturated
+        }
+        Future<?> execucao = tarefa;
+        return futuro
+                .orTimeout(timeoutParte.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(erro -> {
+                    if (execucao != null) {
+                        execucao.cancel(true);
+                    }
+                    log.warn("Parte {} do dashboard indisponível: {}", nome, erro.toString());
+                    indisponiveis.add(nome);
+                    return null;
+                });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor simples) {
+            simples.close();
+        }
+    }
+
+    private static AsyncTaskExecutor executorVirtual(int threads) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(threads * 4); // Queries are still bounded by the connection pool
+        return executor;
+    }
+
+    private static AsyncTaskExecutor executorPlataforma(int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 16);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,38 @@
+package com.suscompanion.service;
+
+import com.suscompanion.event.EstoqueBaixoEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Handles {@link EstoqueBaixoEvent} once the change that crossed the alert threshold has
+ * committed, so a rolled-back decrement never raises an alert. The alert is logged and counted
+ * as {@code estoque.baixo.alertas}; this is where a notification to the user would be sent.
+ */
+@Slf4j
+@Component
+public class EstoqueBaixoListener {
+
+    private final Counter alertas;
+
+    public EstoqueBaixoListener(MeterRegistry meterRegistry) {
+        this.alertas = Counter.builder("estoque.baixo.alertas")
+                .description("Inventory items that crossed their alert threshold")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a low stock alert.
+     * @param event the committed threshold crossing
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEstoqueBaixo(EstoqueBaixoEvent event) {
+        alertas.increment();
+        log.info("Estoque baixo: usuário {}, medicamento {}, {} unidades (alerta em {})",
+                event.getUsuarioId(), event.getMedicamentoId(), event.getQuantidadeAtual(), event.getQuantidadeAlerta());
+    }
+}
@@ -2,20 +2,26 @@ package com.suscompanion.service;
 
 import com.suscompanion.dto.estoque.EstoquePessoalDTO;
 import com.suscompanion.dto.estoque.EstoquePessoalRequest;
+import com.suscompanion.event.EstoqueBaixoEvent;
 import com.suscompanion.exception.ResourceNotFoundException;
 import com.suscompanion.model.EstoquePessoal;
 import com.suscompanion.model.Medicamento;
 import com.suscompanion.model.Usuario;
+import com.suscompanion.repository.EstoqueBaixa;
 import com.suscompanion.repository.EstoquePessoalRepository;
 import com.suscompanion.repository.MedicamentoRepository;
 import com.suscompanion.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,6 +38,7 @@ public class EstoquePessoalService {
     private final UsuarioRepository usuarioRepository;
     private final MedicamentoRepository medicamentoRepository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all inventory items for a user.
@@ -68,37 +75,20 @@ public class EstoquePessoalService {
 
     /**
      * Create a new inventory item for a user.
+     * If the user already has an item for the medication, the quantity is added to it.
      * @param usuarioId the user ID
      * @param request the inventory item creation request
-     * @return the created inventory item DTO
-     * @throws ResourceNotFoundException if the user or medication is not found
+     * @return the created or updated inventory item DTO
+     * @throws ResourceNotFoundException if the medication is not found for the user
      */
     @Transactional
     public EstoquePessoalDTO create(UUID usuarioId, EstoquePessoalRequest request) {
-        Usuario usuario = usuarioRepository.findById(usuarioId)
-                .orElseThrow(() -> ResourceNotFoundException.forResource("Usuário", usuarioId));
-        
+        // The medication lookup is scoped to the user, so it also proves the user exists
         Medicamento medicamento = medicamentoRepository.findByIdAndUsuarioId(request.getMedicamentoId(), usuarioId)
                 .orElseThrow(() -> ResourceNotFoundException.forResource("Medicamento", request.getMedicamentoId()));
 
-        // Check if an inventory item already exists for this medication
-        Optional<EstoquePessoal> existingEstoque = estoquePessoalRepository.findByUsuarioAndMedicamento(usuario, medicamento);
-        if (existingEstoque.isPresent()) {
-            // Update existing inventory item
-            EstoquePessoal estoque = existingEstoque.get();
-            estoque.setQuantidadeAtual(estoque.getQuantidadeAtual() + request.getQuantidadeAtual());
-            estoque.setQuantidadeAlerta(request.getQuantidadeAlerta());
-            return toDTO(estoquePessoalRepository.save(estoque));
-        }
-
-        // Create new inventory item
-        EstoquePessoal estoque = new EstoquePessoal();
-        estoque.setUsuario(usuario);
-        estoque.setMedicamento(medicamento);
-        estoque.setQuantidadeAtual(request.getQuantidadeAtual());
-        estoque.setQuantidadeAlerta(request.getQuantidadeAlerta());
-
-        estoque = estoquePessoalRepository.save(estoque);
+        EstoquePessoal estoque = estoquePessoalRepository.upsertAdicionando(
+                usuarioId, medicamento.getId(), request.getQuantidadeAtual(), request.getQuantidadeAlerta());
         return toDTO(estoque);
     }
 
@@ -109,6 +99,9 @@ public class EstoquePessoalService {
      * @param request the inventory item update request
      * @return the updated inventory item DTO
      * @throws ResourceNotFoundException if the inventory item is not found
+     * @throws ObjectOptimisticLockingFailureException if the request version is stale
+     * @throws IllegalArgumentException if the request has no version, or the user already has an
+     *                                  inventory item for the new medication
      */
     @Transactional
     public EstoquePessoalDTO update(UUID id, UUID usuarioId, EstoquePessoalRequest request) {
@@ -118,11 +111,24 @@ public class EstoquePessoalService {
         if (!estoque.getUsuario().getId().equals(usuarioId)) {
             throw ResourceNotFoundException.forResource("Estoque Pessoal", id);
         }
+
+        // Reject the write if the client edited an outdated copy
+        if (request.getVersao() == null) {
+            throw new IllegalArgumentException("Versão é obrigatória para atualizar o estoque");
+        }
+        if (!request.getVersao().equals(estoque.getVersao())) {
+            throw new ObjectOptimisticLockingFailureException(EstoquePessoal.class, id);
+        }
+
+        int quantidadeAnterior = estoque.getQuantidadeAtual();
         
         // If medication ID is changing, verify the new medication exists
         if (!estoque.getMedicamento().getId().equals(request.getMedicamentoId())) {
             Medicamento medicamento = medicamentoRepository.findByIdAndUsuarioId(request.getMedicamentoId(), usuarioId)
                     .orElseThrow(() -> ResourceNotFoundException.forResource("Medicamento", request.getMedicamentoId()));
+            if (estoquePessoalRepository.existsByUsuarioIdAndMedicamentoId(usuarioId, medicamento.getId())) {
+                throw new IllegalArgumentException("Já existe um item de estoque para este medicamento");
+            }
             estoque.setMedicamento(medicamento);
         }
         
@@ -130,9 +136,65 @@ public class EstoquePessoalService {
         estoque.setQuantidadeAlerta(request.getQuantidadeAlerta());
 
         estoque = estoquePessoalRepository.save(estoque);
+        publicarSeCruzouLimite(usuarioId, estoque.getMedicamento().getId(),
+                quantidadeAnterior, estoque.getQuantidadeAtual(), estoque.getQuantidadeAlerta());
         return toDTO(estoque);
     }
 
+    /**
+     * Subtract a dose from the inventory item of a medication in a single conditional update.
+     * Fractional doses are rounded up to whole units. Nothing changes if the user has no
+     * inventory item for the medication or not enough stock left.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @param quantidadeDose the dose quantity taken
+     * @return the remaining quantity, or empty if nothing was decremented
+     */
+    @Transactional
+    public Optional<Integer> baixarDose(UUID usuarioId, UUID medicamentoId, BigDecimal quantidadeDose) {
+        int quantidade = unidades(quantidadeDose);
+        if (quantidade <= 0) {
+            return Optional.empty();
+        }
+
+        Optional<EstoqueBaixa> baixa = estoquePessoalRepository.decrementQuantidade(usuarioId, medicamentoId, quantidade);
+        baixa.ifPresent(b -> publicarSeCruzouLimite(usuarioId, medicamentoId,
+                b.getQuantidadeAtual() + quantidade, b.getQuantidadeAtual(), b.getQuantidadeAlerta()));
+        return baixa.map(EstoqueBaixa::getQuantidadeAtual);
+    }
+
+    /**
+     * Subtract several doses of the same quantity from the inventory item of a medication in a
+     * single conditional update, with the same result as {@link #baixarDose} once per dose:
+     * doses the stock no longer covers are left out.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @param quantidadeDose the quantity of each dose
+     * @param doses the number of doses taken
+     * @return the remaining quantity, or empty if nothing was decremented
+     */
+    @Transactional
+    public Optional<Integer> baixarDoses(UUID usuarioId, UUID medicamentoId, BigDecimal quantidadeDose, int doses) {
+        int quantidade = unidades(quantidadeDose);
+        if (quantidade <= 0 || doses <= 0) {
+            return Optional.empty();
+        }
+
+        Optional<EstoqueBaixa> baixa = estoquePessoalRepository.decrementDoses(usuarioId, medicamentoId, quantidade, doses);
+        baixa.ifPresent(b -> publicarSeCruzouLimite(usuarioId, medicamentoId,
+                b.getQuantidadeAnterior(), b.getQuantidadeAtual(), b.getQuantidadeAlerta()));
+        return baixa.map(EstoqueBaixa::getQuantidadeAtual);
+    }
+
+    /**
+     * Whole units taken out of the inventory by a dose: fractional doses are rounded up.
+     */
+    private int unidades(BigDecimal quantidadeDose) {
+        return quantidadeDose != null
+                ? quantidadeDose.setScale(0, RoundingMode.CEILING).intValueExact()
+                : 1;
+    }
+
     /**
      * Delete an inventory item for a user.
      * @param id the inventory item ID
@@ -164,12 +226,26 @@ public class EstoquePessoalService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Publish a low-stock event if a quantity change crossed the alert threshold.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @param anterior the quantity before the change
+     * @param atual the quantity after the change
+     * @param alerta the alert threshold
+     */
+    private void publicarSeCruzouLimite(UUID usuarioId, UUID medicamentoId, int anterior, int atual, Integer alerta) {
+        if (alerta != null && EstoqueBaixoEvent.cruzouLimite(anterior, atual, alerta)) {
+            eventPublisher.publishEvent(new EstoqueBaixoEvent(usuarioId, medicamentoId, atual, alerta));
+        }
+    }
+
     /**
      * Convert an EstoquePessoal entity to an EstoquePessoalDTO.
      * @param estoque the EstoquePessoal entity
      * @return the EstoquePessoalDTO
      */
-    private EstoquePessoalDTO toDTO(EstoquePessoal estoque) {
+    EstoquePessoalDTO toDTO(EstoquePessoal estoque) {
         EstoquePessoalDTO dto = modelMapper.map(estoque, EstoquePessoalDTO.class);
         dto.setUsuarioId(estoque.getUsuario().getId());
         dto.setEstoqueBaixo(estoque.isEstoqueBaixo());
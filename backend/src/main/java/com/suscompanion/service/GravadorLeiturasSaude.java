@@ -0,0 +1,218 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind group commit of health readings, enabled with {@code saude.ingestao.em-lote}.
+ * Readings are queued in a bounded lock-free buffer and a single writer thread inserts them
+ * in multi-row statements, one transaction per batch, every few milliseconds or as soon as
+ * a full batch is waiting. Each caller is acknowledged when the transaction holding its
+ * reading commits. On shutdown new readings are refused and the buffer is written out.
+ */
+@Slf4j
+@Component
+public class GravadorLeiturasSaude implements SmartLifecycle {
+
+    private static final String INSERT = "INSERT INTO monitoramento_saude (id, usuario_id, tipo, valor_sistolica, "
+            + "valor_diastolica, pulsacao, valor_glicemia, jejum, observacoes, data_registro, criado_em) VALUES ";
+    private static final String VALORES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] TIPOS = {Types.OTHER, Types.OTHER, Types.VARCHAR, Types.INTEGER, Types.INTEGER,
+            Types.INTEGER, Types.NUMERIC, Types.BOOLEAN, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+
+    /**
+     * Rows per statement are capped so the bind parameters stay well below the protocol limit.
+     */
+    private static final int MAXIMO_LOTE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final long intervaloNanos;
+    private final int capacidade;
+
+    private final ConcurrentLinkedQueue<Pendente> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamanho = new AtomicInteger();
+    private final AtomicInteger produtores = new AtomicInteger();
+    private volatile boolean aceitando;
+    private volatile Thread gravador;
+
+    public GravadorLeiturasSaude(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${saude.ingestao.em-lote:false}") boolean habilitado,
+                                 @Value("${saude.ingestao.tamanho-lote:500}") int tamanhoLote,
+                                 @Value("${saude.ingestao.intervalo-ms:5}") long intervaloMs,
+                                 @Value("${saude.ingestao.capacidade:50000}") int capacidade) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.tamanhoLote = Math.max(1, Math.min(tamanhoLote, MAXIMO_LOTE));
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.capacidade = capacidade;
+    }
+
+    /**
+     * Check whether readings should be queued instead of inserted one by one.
+     * @return true if write-behind ingestion is enabled
+     */
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Queue a validated reading for the next batch.
+     * @param leitura the reading, with its ID and creation time already assigned
+     * @return completes with the reading when its batch commits, or exceptionally if it could not be written
+     * @throws RejectedExecutionException if the buffer is full or the application is shutting down
+     */
+    public CompletableFuture<MonitoramentoSaudeDTO> gravar(MonitoramentoSaudeDTO leitura) {
+        // Counted before checking "aceitando", so the writer doesn't exit while a reading is being queued
+        produtores.incrementAndGet();
+        try {
+            if (!aceitando) {
+                throw new RejectedExecutionException("Gravação de leituras encerrada");
+            }
+            if (tamanho.incrementAndGet() > capacidade) {
+                tamanho.decrementAndGet();
+                throw new RejectedExecutionException("Fila de leituras cheia");
+            }
+            Pendente pendente = new Pendente(leitura, new CompletableFuture<>());
+            fila.add(pendente);
+            if (tamanho.get() >= tamanhoLote) {
+                LockSupport.unpark(gravador);
+            }
+            return pendente.confirmacao();
+        } finally {
+            produtores.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!habilitado) {
+            return;
+        }
+        aceitando = true;
+        Thread thread = new Thread(this::executar, "gravador-leituras-saude");
+        thread.setDaemon(true);
+        gravador = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        aceitando = false;
+        Thread thread = gravador;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        gravador = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return gravador != null;
+    }
+
+    /**
+     * Stop after the web server's graceful shutdown, whose in-flight requests wait for their batch.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void executar() {
+        List<Pendente> lote = new ArrayList<>(tamanhoLote);
+        while (aceitando || produtores.get() > 0 || !fila.isEmpty()) {
+            if (tamanho.get() < tamanhoLote && aceitando) {
+                LockSupport.parkNanos(this, intervaloNanos);
+            }
+            Pendente pendente;
+            while ((pendente = fila.poll()) != null) {
+                tamanho.decrementAndGet();
+                lote.add(pendente);
+                if (lote.size() == tamanhoLote) {
+                    gravarLote(lote);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                gravarLote(lote);
+                lote.clear();
+            }
+        }
+    }
+
+    /**
+     * Insert a batch in one transaction. If it fails, each reading is retried in its own
+     * transaction so one bad reading doesn't fail the others.
+     */
+    private void gravarLote(List<Pendente> lote) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> inserir(lote));
+            lote.forEach(pendente -> pendente.confirmacao().complete(pendente.leitura()));
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                lote.get(0).confirmacao().completeExceptionally(e);
+                return;
+            }
+            log.warn("Lote de {} leituras de saúde falhou, gravando uma a uma: {}", lote.size(), e.getMessage());
+            for (Pendente pendente : lote) {
+                gravarLote(List.of(pendente));
+            }
+        }
+    }
+
+    private void inserir(List<Pendente> lote) {
+        Object[] valores = new Object[lote.size() * TIPOS.length];
+        int[] tipos = new int[valores.length];
+        int i = 0;
+        for (Pendente pendente : lote) {
+            MonitoramentoSaudeDTO leitura = pendente.leitura();
+            valores[i++] = leitura.getId();
+            valores[i++] = leitura.getUsuarioId();
+            valores[i++] = leitura.getTipo().name();
+            valores[i++] = leitura.getValorSistolica();
+            valores[i++] = leitura.getValorDiastolica();
+            valores[i++] = leitura.getPulsacao();
+            valores[i++] = leitura.getValorGlicemia();
+            valores[i++] = leitura.getJejum();
+            valores[i++] = leitura.getObservacoes();
+            valores[i++] = Timestamp.valueOf(leitura.getDataRegistro());
+            valores[i++] = Timestamp.valueOf(leitura.getCriadoEm());
+        }
+        for (int j = 0; j < tipos.length; j++) {
+            tipos[j] = TIPOS[j % TIPOS.length];
+        }
+        jdbcTemplate.update(INSERT + String.join(", ", Collections.nCopies(lote.size(), VALORES)), valores, tipos);
+    }
+
+    private record Pendente(MonitoramentoSaudeDTO leitura, CompletableFuture<MonitoramentoSaudeDTO> confirmacao) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.suscompanion.service;
 
+import com.suscompanion.config.LeituraRequisicao;
 import com.suscompanion.dto.lembrete.LembreteMedicacaoDTO;
 import com.suscompanion.dto.lembrete.LembreteMedicacaoRequest;
 import com.suscompanion.exception.ResourceNotFoundException;
@@ -9,16 +10,19 @@ import com.suscompanion.model.Usuario;
 import com.suscompanion.repository.LembreteMedicacaoRepository;
 import com.suscompanion.repository.MedicamentoRepository;
 import com.suscompanion.repository.UsuarioRepository;
-import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -26,16 +30,34 @@ import java.util.stream.Collectors;
  * Service for medication reminder operations.
  */
 @Service
-@RequiredArgsConstructor
 public class LembreteMedicacaoService {
 
     private final LembreteMedicacaoRepository lembreteMedicacaoRepository;
     private final UsuarioRepository usuarioRepository;
     private final MedicamentoRepository medicamentoRepository;
     private final ModelMapper modelMapper;
+    private final LembretesHojeCache lembretesHojeCache;
+    private final TransactionTemplate transacaoLeitura;
+
+    public LembreteMedicacaoService(LembreteMedicacaoRepository lembreteMedicacaoRepository,
+                                    UsuarioRepository usuarioRepository,
+                                    MedicamentoRepository medicamentoRepository,
+                                    ModelMapper modelMapper,
+                                    LembretesHojeCache lembretesHojeCache,
+                                    PlatformTransactionManager transactionManager) {
+        this.lembreteMedicacaoRepository = lembreteMedicacaoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.medicamentoRepository = medicamentoRepository;
+        this.modelMapper = modelMapper;
+        this.lembretesHojeCache = lembretesHojeCache;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
 
     /**
      * Get all medication reminders for a user.
+     * Listings fetch the medication together with the reminders, so mapping the embedded
+     * MedicamentoDTO does not issue one query per reminder.
      * @param usuarioId the user ID
      * @param pageable pagination information
      * @return a page of medication reminder DTOs
@@ -44,7 +66,7 @@ public class LembreteMedicacaoService {
     public Page<LembreteMedicacaoDTO> getAllByUsuario(UUID usuarioId, Pageable pageable) {
         Usuario usuario = usuarioRepository.findById(usuarioId)
                 .orElseThrow(() -> ResourceNotFoundException.forResource("Usuário", usuarioId));
-        return lembreteMedicacaoRepository.findByUsuario(usuario, pageable)
+        return lembreteMedicacaoRepository.findWithMedicamentoByUsuarioId(usuario.getId(), pageable)
                 .map(this::toDTO);
     }
 
@@ -87,6 +109,7 @@ public class LembreteMedicacaoService {
         lembrete.setAtivo(request.getAtivo() != null ? request.getAtivo() : true);
 
         lembrete = lembreteMedicacaoRepository.save(lembrete);
+        lembretesHojeCache.invalidar(usuarioId);
         return toDTO(lembrete);
     }
 
@@ -114,6 +137,7 @@ public class LembreteMedicacaoService {
         lembrete.setAtivo(request.getAtivo() != null ? request.getAtivo() : lembrete.getAtivo());
 
         lembrete = lembreteMedicacaoRepository.save(lembrete);
+        lembretesHojeCache.invalidar(usuarioId);
         return toDTO(lembrete);
     }
 
@@ -128,20 +152,34 @@ public class LembreteMedicacaoService {
         LembreteMedicacao lembrete = lembreteMedicacaoRepository.findByIdAndUsuarioId(id, usuarioId)
                 .orElseThrow(() -> ResourceNotFoundException.forResource("Lembrete de Medicação", id));
         lembreteMedicacaoRepository.delete(lembrete);
+        lembretesHojeCache.invalidar(usuarioId);
     }
 
     /**
      * Get medication reminders for today for a user.
+     * The list only changes at midnight or on the user's writes, so it is served from
+     * {@link LembretesHojeCache} while the user's data version is unchanged. Not transactional:
+     * on conditional GETs the version was already read by the request, so a hit needs no
+     * connection, and only a load opens a read-only transaction.
      * @param usuarioId the user ID
-     * @return a list of medication reminder DTOs for today
+     * @return an unmodifiable list of medication reminder DTOs for today
      */
-    @Transactional(readOnly = true)
     public List<LembreteMedicacaoDTO> getLembretesHoje(UUID usuarioId) {
-        int diaSemana = LocalDateTime.now().getDayOfWeek().getValue() % 7; // 0-6 (Sunday-Saturday)
-        List<LembreteMedicacao> lembretes = lembreteMedicacaoRepository.findLembretesHoje(usuarioId, diaSemana);
-        return lembretes.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        LocalDate hoje = LocalDate.now();
+        return lembretesHojeCache.obter(usuarioId, hoje, versaoDados(usuarioId), () -> carregarLista(usuarioId, hoje));
+    }
+
+    /**
+     * Load tomorrow's reminder lists of the users who asked for today's list shortly before
+     * midnight, so their first request of the day does not hit the database.
+     */
+    @Scheduled(cron = "${lembrete.hoje.aquecimento.cron:0 50 23 * * *}")
+    public void aquecerLembretesDeAmanha() {
+        LocalDate hoje = LocalDate.now();
+        LocalDate amanha = hoje.plusDays(1);
+        for (UUID usuarioId : lembretesHojeCache.usuariosComLista(hoje)) {
+            lembretesHojeCache.aquecer(usuarioId, amanha, () -> carregarLista(usuarioId, amanha));
+        }
     }
 
     /**
@@ -151,18 +189,78 @@ public class LembreteMedicacaoService {
      */
     @Transactional(readOnly = true)
     public List<LembreteMedicacaoDTO> getLembretesAtivos(UUID usuarioId) {
-        List<LembreteMedicacao> lembretes = lembreteMedicacaoRepository.findByUsuarioIdAndAtivoTrue(usuarioId);
+        List<LembreteMedicacao> lembretes = lembreteMedicacaoRepository.findWithMedicamentoByUsuarioIdAndAtivoTrue(usuarioId);
         return lembretes.stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get the user's current data version: the one read by the request's conditional GET
+     * check, or else from the database.
+     * @param usuarioId the user ID
+     * @return the data version
+     */
+    private long versaoDados(UUID usuarioId) {
+        LeituraRequisicao leitura = LeituraRequisicao.atual();
+        Long versao = leitura != null ? leitura.getVersaoDados(usuarioId) : null;
+        return versao != null ? versao : usuarioRepository.findVersaoDados(usuarioId).orElse(0L);
+    }
+
+    /**
+     * Read a user's reminders for a day and the data version they reflect, in one read-only transaction.
+     * @param usuarioId the user ID
+     * @param dia the day
+     * @return the reminders and the data version, read before them
+     */
+    private LembretesHojeCache.Lista carregarLista(UUID usuarioId, LocalDate dia) {
+        return transacaoLeitura.execute(status -> {
+            long versao = usuarioRepository.findVersaoDados(usuarioId).orElse(0L);
+            return new LembretesHojeCache.Lista(versao, carregarLembretesDoDia(usuarioId, dia));
+        });
+    }
+
+    /**
+     * Read a user's reminders for a day from the database.
+     * @param usuarioId the user ID
+     * @param dia the day
+     * @return the medication reminder DTOs scheduled for the day
+     */
+    private List<LembreteMedicacaoDTO> carregarLembretesDoDia(UUID usuarioId, LocalDate dia) {
+        int diaSemana = dia.getDayOfWeek().getValue() % 7; // 0-6 (Sunday-Saturday)
+        List<LembreteMedicacao> lembretes = lembreteMedicacaoRepository.findLembretesHoje(usuarioId, diaSemana);
+        carregarMedicamentos(lembretes);
+        return lembretes.stream()
+                .map(lembrete -> {
+                    LembreteMedicacaoDTO dto = toDTO(lembrete);
+                    dto.setParaHoje(true); // Selected for the day, which may not be today when warming
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Load the medications of a list of reminders with a single query.
+     * The native today's-reminders query cannot take a fetch plan, so the medications are
+     * loaded into the persistence context up front and the lazy references resolve from there.
+     * @param lembretes the medication reminders
+     */
+    private void carregarMedicamentos(List<LembreteMedicacao> lembretes) {
+        if (lembretes.size() < 2) {
+            return;
+        }
+        Set<UUID> medicamentoIds = lembretes.stream()
+                .map(lembrete -> lembrete.getMedicamento().getId())
+                .collect(Collectors.toSet());
+        medicamentoRepository.findAllById(medicamentoIds);
+    }
+
     /**
      * Convert a LembreteMedicacao entity to a LembreteMedicacaoDTO.
      * @param lembrete the LembreteMedicacao entity
      * @return the LembreteMedicacaoDTO
      */
-    private LembreteMedicacaoDTO toDTO(LembreteMedicacao lembrete) {
+    LembreteMedicacaoDTO toDTO(LembreteMedicacao lembrete) {
         LembreteMedicacaoDTO dto = modelMapper.map(lembrete, LembreteMedicacaoDTO.class);
         dto.setUsuarioId(lembrete.getUsuario().getId());
         dto.setParaHoje(lembrete.isParaHoje());
@@ -0,0 +1,134 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.lembrete.LembreteMedicacaoDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory cache of each user's reminder list for a day, keyed by (user, date).
+ * Each list is stored with the user's data version (see V13) read in the same transaction,
+ * and is only served to readers whose current version is not newer, so writes made through
+ * other instances, or a list loaded from a lagging replica, are never served as current.
+ * Entries are also dropped after this instance's reminder or medication writes commit, and
+ * entries of past days are discarded at midnight. The number of entries is bounded by an LRU.
+ */
+@Component
+public class LembretesHojeCache {
+
+    private final Map<Chave, Lista> listas;
+
+    public LembretesHojeCache(@Value("${lembrete.hoje.max-entradas:20000}") int maxEntradas) {
+        this.listas = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Chave, Lista> eldest) {
+                return size() > maxEntradas;
+            }
+        });
+    }
+
+    /**
+     * Get a user's reminder list for a day, loading and caching it on a miss or when the cached
+     * list is older than the user's data.
+     * @param usuarioId the user ID
+     * @param dia the day
+     * @param versaoAtual the user's current data version
+     * @param carregar loads the list and its version from the database
+     * @return the reminder list, unmodifiable
+     */
+    public List<LembreteMedicacaoDTO> obter(UUID usuarioId, LocalDate dia, long versaoAtual, Supplier<Lista> carregar) {
+        Chave chave = new Chave(usuarioId, dia);
+        Lista lista = listas.get(chave);
+        if (lista != null && lista.versao() >= versaoAtual) {
+            return lista.lembretes();
+        }
+        return carregarEGuardar(chave, carregar).lembretes();
+    }
+
+    /**
+     * Load and cache a user's reminder list for a day ahead of the first request.
+     * Does nothing if the list is already cached.
+     * @param usuarioId the user ID
+     * @param dia the day
+     * @param carregar loads the list and its version from the database
+     */
+    public void aquecer(UUID usuarioId, LocalDate dia, Supplier<Lista> carregar) {
+        Chave chave = new Chave(usuarioId, dia);
+        if (!listas.containsKey(chave)) {
+            carregarEGuardar(chave, carregar);
+        }
+    }
+
+    /**
+     * Drop every cached list of a user once the current transaction commits. Reads would
+     * reload them anyway, as the write changes the data version; this frees them early.
+     * @param usuarioId the user ID
+     */
+    public void invalidar(UUID usuarioId) {
+        Runnable aplicar = () -> listas.keySet().removeIf(chave -> chave.usuarioId().equals(usuarioId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar.run();
+                }
+            });
+        } else {
+            aplicar.run();
+        }
+    }
+
+    /**
+     * Get the users with a cached list for a day, i.e. the users who asked for it.
+     * @param dia the day
+     * @return the user IDs
+     */
+    public Set<UUID> usuariosComLista(LocalDate dia) {
+        synchronized (listas) {
+            return listas.keySet().stream()
+                    .filter(chave -> chave.dia().equals(dia))
+                    .map(Chave::usuarioId)
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Discard the lists of past days at midnight.
+     */
+    @Scheduled(cron = "${lembrete.hoje.virada.cron:0 0 0 * * *}")
+    public void virarDia() {
+        LocalDate hoje = LocalDate.now();
+        listas.keySet().removeIf(chave -> chave.dia().isBefore(hoje));
+    }
+
+    private Lista carregarEGuardar(Chave chave, Supplier<Lista> carregar) {
+        Lista carregada = carregar.get();
+        Lista lista = new Lista(carregada.versao(), List.copyOf(carregada.lembretes()));
+        // A load that raced with a newer one must not replace it
+        listas.merge(chave, lista, (atual, nova) -> nova.versao() >= atual.versao() ? nova : atual);
+        return lista;
+    }
+
+    /**
+     * A reminder list and the user's data version it was read at.
+     * @param versao the data version, read in the same transaction before the list
+     * @param lembretes the reminders
+     */
+    public record Lista(long versao, List<LembreteMedicacaoDTO> lembretes) {
+    }
+
+    private record Chave(UUID usuarioId, LocalDate dia) {
+    }
+}
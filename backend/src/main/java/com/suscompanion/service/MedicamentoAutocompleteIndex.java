@@ -0,0 +1,242 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.medicamento.MedicamentoAutocompleteDTO;
+import com.suscompanion.model.Medicamento;
+import com.suscompanion.repository.MedicamentoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index of each user's medication names, used by the autocomplete endpoint.
+ * Each user's index is an immutable array of normalized keys sorted for binary search, built
+ * lazily from the database and replaced copy-on-write after medication writes commit.
+ * The number of users kept in memory is bounded by an LRU.
+ */
+@Component
+public class MedicamentoAutocompleteIndex {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final int FAIXAS_VERSAO = 1024;
+
+    private final MedicamentoRepository medicamentoRepository;
+    private final Map<UUID, Indice> indices;
+
+    /**
+     * Write counters striped by user, so a lazy build that raced with a committed write
+     * is not cached. Bounded regardless of the number of users.
+     */
+    private final AtomicLongArray versoes = new AtomicLongArray(FAIXAS_VERSAO);
+
+    public MedicamentoAutocompleteIndex(MedicamentoRepository medicamentoRepository,
+                                        @Value("${medicamento.autocomplete.max-usuarios:10000}") int maxUsuarios) {
+        this.medicamentoRepository = medicamentoRepository;
+        this.indices = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Indice> eldest) {
+                return size() > maxUsuarios;
+            }
+        });
+    }
+
+    /**
+     * Find the user's medications with a name or name word starting with the prefix.
+     * Case and accents are ignored, results are ordered by the matched key.
+     * @param usuarioId the user ID
+     * @param prefixo the typed prefix
+     * @param limite the maximum number of suggestions
+     * @return the matching suggestions
+     */
+    public List<MedicamentoAutocompleteDTO> buscar(UUID usuarioId, String prefixo, int limite) {
+        String chave = normalizar(prefixo);
+        if (chave.isEmpty()) {
+            return List.of();
+        }
+        return obterIndice(usuarioId).buscar(chave, limite);
+    }
+
+    /**
+     * Add or replace a medication in its user's index once the current transaction commits.
+     * @param usuarioId the user ID
+     * @param medicamento the created or updated medication
+     */
+    public void salvar(UUID usuarioId, Medicamento medicamento) {
+        MedicamentoAutocompleteDTO sugestao = toSugestao(medicamento);
+        aposCommit(usuarioId, () -> indices.computeIfPresent(usuarioId,
+                (id, indice) -> indice.semMedicamento(sugestao.getId()).comMedicamento(sugestao)));
+    }
+
+    /**
+     * Remove a medication from its user's index once the current transaction commits.
+     * @param usuarioId the user ID
+     * @param medicamentoId the deleted medication ID
+     */
+    public void remover(UUID usuarioId, UUID medicamentoId) {
+        aposCommit(usuarioId, () -> indices.computeIfPresent(usuarioId,
+                (id, indice) -> indice.semMedicamento(medicamentoId)));
+    }
+
+    /**
+     * Normalize a name for prefix matching: lower case, no accents, single spaces.
+     * @param texto the text to normalize
+     * @return the normalized text, empty if the text is null or blank
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    private Indice obterIndice(UUID usuarioId) {
+        Indice indice = indices.get(usuarioId);
+        if (indice != null) {
+            return indice;
+        }
+
+        int faixa = faixa(usuarioId);
+        long versao = versoes.get(faixa);
+        List<MedicamentoAutocompleteDTO> sugestoes = medicamentoRepository.findByUsuarioId(usuarioId).stream()
+                .map(this::toSugestao)
+                .toList();
+        indice = Indice.de(sugestoes);
+
+        // Only cache the snapshot if no write for these users committed while it was read
+        if (versoes.get(faixa) == versao) {
+            indices.putIfAbsent(usuarioId, indice);
+        }
+        return indice;
+    }
+
+    private void aposCommit(UUID usuarioId, Runnable alteracao) {
+        Runnable aplicar = () -> {
+            versoes.incrementAndGet(faixa(usuarioId));
+            alteracao.run();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicar.run();
+                }
+            });
+        } else {
+            aplicar.run();
+        }
+    }
+
+    private static int faixa(UUID usuarioId) {
+        return usuarioId.hashCode() & (FAIXAS_VERSAO - 1);
+    }
+
+    private MedicamentoAutocompleteDTO toSugestao(Medicamento medicamento) {
+        return new MedicamentoAutocompleteDTO(medicamento.getId(), medicamento.getNomeCompleto(),
+                medicamento.getNomeSimplificado(), medicamento.getDosagem());
+    }
+
+    /**
+     * Immutable sorted index of one user's medications.
+     * Every medication is indexed by its full name, its simplified name and each later word
+     * of its full name, so "sod" finds "Dipirona Sódica".
+     */
+    private record Indice(String[] chaves, MedicamentoAutocompleteDTO[] sugestoes) {
+
+        static Indice de(List<MedicamentoAutocompleteDTO> medicamentos) {
+            List<Entrada> entradas = new ArrayList<>();
+            for (MedicamentoAutocompleteDTO medicamento : medicamentos) {
+                adicionarEntradas(entradas, medicamento);
+            }
+            return ordenar(entradas);
+        }
+
+        List<MedicamentoAutocompleteDTO> buscar(String prefixo, int limite) {
+            // First key >= prefix; Arrays.binarySearch may land on any of several equal keys
+            int posicao = 0;
+            int fim = chaves.length;
+            while (posicao < fim) {
+                int meio = (posicao + fim) >>> 1;
+                if (chaves[meio].compareTo(prefixo) < 0) {
+                    posicao = meio + 1;
+                } else {
+                    fim = meio;
+                }
+            }
+
+            List<MedicamentoAutocompleteDTO> resultado = new ArrayList<>(Math.min(limite, 16));
+            Set<UUID> vistos = new HashSet<>();
+            for (int i = posicao; i < chaves.length && resultado.size() < limite; i++) {
+                if (!chaves[i].startsWith(prefixo)) {
+                    break;
+                }
+                if (vistos.add(sugestoes[i].getId())) {
+                    resultado.add(sugestoes[i]);
+                }
+            }
+            return resultado;
+        }
+
+        Indice comMedicamento(MedicamentoAutocompleteDTO medicamento) {
+            List<Entrada> entradas = entradas();
+            adicionarEntradas(entradas, medicamento);
+            return ordenar(entradas);
+        }
+
+        Indice semMedicamento(UUID medicamentoId) {
+            List<Entrada> entradas = entradas();
+            entradas.removeIf(entrada -> entrada.sugestao().getId().equals(medicamentoId));
+            return entradas.size() == chaves.length ? this : ordenar(entradas);
+        }
+
+        private List<Entrada> entradas() {
+            List<Entrada> entradas = new ArrayList<>(chaves.length + 4);
+            for (int i = 0; i < chaves.length; i++) {
+                entradas.add(new Entrada(chaves[i], sugestoes[i]));
+            }
+            return entradas;
+        }
+
+        private static void adicionarEntradas(List<Entrada> entradas, MedicamentoAutocompleteDTO medicamento) {
+            Set<String> chaves = new HashSet<>();
+            String nomeCompleto = normalizar(medicamento.getNomeCompleto());
+            chaves.add(nomeCompleto);
+            for (int i = nomeCompleto.indexOf(' '); i >= 0; i = nomeCompleto.indexOf(' ', i + 1)) {
+                chaves.add(nomeCompleto.substring(i + 1));
+            }
+            chaves.add(normalizar(medicamento.getNomeSimplificado()));
+            chaves.remove("");
+            for (String chave : chaves) {
+                entradas.add(new Entrada(chave, medicamento));
+            }
+        }
+
+        private static Indice ordenar(List<Entrada> entradas) {
+            entradas.sort((a, b) -> a.chave().compareTo(b.chave()));
+            String[] chaves = new String[entradas.size()];
+            MedicamentoAutocompleteDTO[] sugestoes = new MedicamentoAutocompleteDTO[entradas.size()];
+            for (int i = 0; i < entradas.size(); i++) {
+                chaves[i] = entradas.get(i).chave();
+                sugestoes[i] = entradas.get(i).sugestao();
+            }
+            return new Indice(chaves, sugestoes);
+        }
+    }
+
+    private record Entrada(String chave, MedicamentoAutocompleteDTO sugestao) {
+    }
+}
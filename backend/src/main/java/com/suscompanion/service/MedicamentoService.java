@@ -1,5 +1,6 @@
 package com.suscompanion.service;
 
+import com.suscompanion.dto.medicamento.MedicamentoAutocompleteDTO;
 import com.suscompanion.dto.medicamento.MedicamentoDTO;
 import com.suscompanion.dto.medicamento.MedicamentoRequest;
 import com.suscompanion.exception.ResourceNotFoundException;
@@ -10,6 +11,7 @@ import com.suscompanion.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +30,9 @@ public class MedicamentoService {
     private final MedicamentoRepository medicamentoRepository;
     private final UsuarioRepository usuarioRepository;
     private final ModelMapper modelMapper;
+    private final MedicamentoAutocompleteIndex autocompleteIndex;
+    private final LembretesHojeCache lembretesHojeCache;
+    private final CatalogoMedicamentoService catalogoMedicamentoService;
 
     /**
      * Get all medications for a user.
@@ -62,12 +67,13 @@ public class MedicamentoService {
      * @param usuarioId the user ID
      * @param request the medication creation request
      * @return the created medication DTO
-     * @throws ResourceNotFoundException if the user is not found
+     * @throws ResourceNotFoundException if the user or the catalog entry is not found
      */
     @Transactional
     public MedicamentoDTO create(UUID usuarioId, MedicamentoRequest request) {
         Usuario usuario = usuarioRepository.findById(usuarioId)
                 .orElseThrow(() -> ResourceNotFoundException.forResource("Usuário", usuarioId));
+        validarCatalogo(request.getCatalogoId());
 
         Medicamento medicamento = new Medicamento();
         medicamento.setNomeCompleto(request.getNomeCompleto());
@@ -75,9 +81,11 @@ public class MedicamentoService {
         medicamento.setDosagem(request.getDosagem());
         medicamento.setTipo(request.getTipo());
         medicamento.setFotoUrl(request.getFotoUrl());
+        medicamento.setCatalogoId(request.getCatalogoId());
         medicamento.setUsuario(usuario);
 
         medicamento = medicamentoRepository.save(medicamento);
+        autocompleteIndex.salvar(usuarioId, medicamento);
         return modelMapper.map(medicamento, MedicamentoDTO.class);
     }
 
@@ -87,20 +95,24 @@ public class MedicamentoService {
      * @param usuarioId the user ID
      * @param request the medication update request
      * @return the updated medication DTO
-     * @throws ResourceNotFoundException if the medication is not found
+     * @throws ResourceNotFoundException if the medication or the catalog entry is not found
      */
     @Transactional
     public MedicamentoDTO update(UUID id, UUID usuarioId, MedicamentoRequest request) {
         Medicamento medicamento = medicamentoRepository.findByIdAndUsuarioId(id, usuarioId)
                 .orElseThrow(() -> ResourceNotFoundException.forResource("Medicamento", id));
+        validarCatalogo(request.getCatalogoId());
 
         medicamento.setNomeCompleto(request.getNomeCompleto());
         medicamento.setNomeSimplificado(request.getNomeSimplificado());
         medicamento.setDosagem(request.getDosagem());
         medicamento.setTipo(request.getTipo());
         medicamento.setFotoUrl(request.getFotoUrl());
+        medicamento.setCatalogoId(request.getCatalogoId());
 
         medicamento = medicamentoRepository.save(medicamento);
+        autocompleteIndex.salvar(usuarioId, medicamento);
+        lembretesHojeCache.invalidar(usuarioId); // Reminders embed the medication
         return modelMapper.map(medicamento, MedicamentoDTO.class);
     }
 
@@ -115,10 +127,13 @@ public class MedicamentoService {
         Medicamento medicamento = medicamentoRepository.findByIdAndUsuarioId(id, usuarioId)
                 .orElseThrow(() -> ResourceNotFoundException.forResource("Medicamento", id));
         medicamentoRepository.delete(medicamento);
+        autocompleteIndex.remover(usuarioId, id);
+        lembretesHojeCache.invalidar(usuarioId);
     }
 
     /**
      * Search medications by name for a user.
+     * Results are ranked by similarity, so any sort in the request is ignored.
      * @param nome the name to search for
      * @param usuarioId the user ID
      * @param pageable pagination information
@@ -126,10 +141,37 @@ public class MedicamentoService {
      */
     @Transactional(readOnly = true)
     public Page<MedicamentoDTO> searchByNome(String nome, UUID usuarioId, Pageable pageable) {
-        return medicamentoRepository.searchByNome(nome, usuarioId, pageable)
+        Pageable semOrdenacao = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return medicamentoRepository.searchByNome(nome.trim(), usuarioId, semOrdenacao)
                 .map(medicamento -> modelMapper.map(medicamento, MedicamentoDTO.class));
     }
 
+    /**
+     * Suggest medications whose name starts with the typed prefix, served from memory.
+     * @param usuarioId the user ID
+     * @param prefixo the typed prefix
+     * @param limite the maximum number of suggestions
+     * @return the matching suggestions, empty if the prefix is blank
+     * @throws IllegalArgumentException if the limit is outside 1-50
+     */
+    public List<MedicamentoAutocompleteDTO> autocompletar(UUID usuarioId, String prefixo, int limite) {
+        if (limite < 1 || limite > 50) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e 50");
+        }
+        return autocompleteIndex.buscar(usuarioId, prefixo, limite);
+    }
+
+    /**
+     * Check that an optional catalog reference points to an active catalog entry.
+     * @param catalogoId the catalog entry ID, or null
+     * @throws ResourceNotFoundException if the entry is not in the catalog
+     */
+    private void validarCatalogo(UUID catalogoId) {
+        if (catalogoId != null && !catalogoMedicamentoService.existe(catalogoId)) {
+            throw ResourceNotFoundException.forResource("Catálogo de Medicamentos", catalogoId);
+        }
+    }
+
     /**
      * Convert a Medicamento entity to a MedicamentoDTO.
      * @param medicamento the Medicamento entity
@@ -0,0 +1,294 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
+import com.suscompanion.dto.saude.MonitoramentoSaudeRequest;
+import com.suscompanion.exception.ResourceNotFoundException;
+import com.suscompanion.model.MonitoramentoSaude.TipoMonitoramento;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking variant of {@link MonitoramentoSaudeService} over R2DBC, used by the
+ * "reativo" profile. Callers are never parked on a database round trip: results are
+ * delivered on the driver's event loop.
+ * The connection pool is owned here rather than exposed as a bean, because a
+ * ConnectionFactory bean would switch off the JDBC DataSource used by everything else.
+ */
+@Service
+@Profile("reativo")
+public class MonitoramentoSaudeReativoService {
+
+    private static final String COLUNAS = "id, usuario_id, tipo, valor_sistolica, valor_diastolica, pulsacao, "
+            + "valor_glicemia, jejum, observacoes, data_registro, criado_em";
+
+    /**
+     * Sortable properties of the DTO and their columns.
+     */
+    private static final Map<String, String> ORDENACAO = Map.of(
+            "dataRegistro", "data_registro",
+            "criadoEm", "criado_em",
+            "tipo", "tipo");
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public MonitoramentoSaudeReativoService(DataSourceProperties dataSourceProperties,
+                                            @Value("${saude.reativo.url:}") String url,
+                                            @Value("${saude.reativo.pool-max:20}") int poolMax,
+                                            @Value("${saude.reativo.espera-conexao-ms:3000}") long esperaConexaoMs) {
+        // Same database as the JDBC pool unless a separate R2DBC URL is given
+        String r2dbcUrl = url.isBlank() ? dataSourceProperties.determineUrl().replaceFirst("^jdbc:", "r2dbc:") : url;
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, dataSourceProperties.determineUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.determinePassword())
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("saude-reativo")
+                .maxSize(poolMax)
+                .maxAcquireTime(Duration.ofMillis(esperaConexaoMs))
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    MonitoramentoSaudeReativoService(DatabaseClient databaseClient) {
+        this.pool = null;
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Find the ID of a user by email.
+     * @param email the user email
+     * @return the user ID
+     * @throws ResourceNotFoundException (signalled) if the user is not found
+     */
+    public Mono<UUID> getUsuarioId(String email) {
+        return databaseClient.sql("SELECT id FROM usuarios WHERE email = :email")
+                .bind("email", email)
+                .map(row -> row.get("id", UUID.class))
+                .one()
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.forResourceWithField("Usuário", "email", email)));
+    }
+
+    /**
+     * Get health monitoring records of a user, optionally filtered by type or date range.
+     * @param usuarioId the user ID
+     * @param tipo the type of health monitoring, or null for all
+     * @param inicio the start date, or null for no range
+     * @param fim the end date, or null for no range
+     * @param pageable pagination information
+     * @return a page of health monitoring record DTOs
+     * @throws IllegalArgumentException (signalled) if the sort property is not supported
+     */
+    public Mono<Page<MonitoramentoSaudeDTO>> getPage(UUID usuarioId, TipoMonitoramento tipo,
+                                                     LocalDateTime inicio, LocalDateTime fim, Pageable pageable) {
+        String filtro = "usuario_id = :usuarioId"
+                + (tipo != null ? " AND tipo = :tipo" : "")
+                + (inicio != null ? " AND data_registro BETWEEN :inicio AND :fim" : "");
+
+        return Mono.fromCallable(() -> ordenacao(pageable.getSort())).flatMap(ordem -> {
+            DatabaseClient.GenericExecuteSpec consulta = filtros(databaseClient.sql(
+                    "SELECT " + COLUNAS + " FROM monitoramento_saude WHERE " + filtro + ordem
+                            + " LIMIT :limite OFFSET :deslocamento"), usuarioId, tipo, inicio, fim)
+                    .bind("limite", pageable.getPageSize())
+                    .bind("deslocamento", pageable.getOffset());
+            DatabaseClient.GenericExecuteSpec contagem = filtros(databaseClient.sql(
+                    "SELECT count(*) AS total FROM monitoramento_saude WHERE " + filtro), usuarioId, tipo, inicio, fim);
+
+            return Mono.zip(
+                    consulta.map(MonitoramentoSaudeReativoService::toDTO).all().collectList(),
+                    contagem.map(row -> row.get("total", Long.class)).one()
+            ).map(resultado -> new PageImpl<>(resultado.getT1(), pageable, resultado.getT2()));
+        });
+    }
+
+    /**
+     * Get a health monitoring record by ID for a user.
+     * @param id the health monitoring record ID
+     * @param usuarioId the user ID
+     * @return the health monitoring record DTO
+     * @throws ResourceNotFoundException (signalled) if the health monitoring record is not found
+     */
+    public Mono<MonitoramentoSaudeDTO> getByIdAndUsuario(UUID id, UUID usuarioId) {
+        return databaseClient.sql("SELECT " + COLUNAS + " FROM monitoramento_saude WHERE id = :id AND usuario_id = :usuarioId")
+                .bind("id", id)
+                .bind("usuarioId", usuarioId)
+                .map(MonitoramentoSaudeReativoService::toDTO)
+                .one()
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.forResource("Monitoramento de Saúde", id)));
+    }
+
+    /**
+     * Get the latest health monitoring records for a user.
+     * @param usuarioId the user ID
+     * @param limit the maximum number of records to return
+     * @return a list of the latest health monitoring record DTOs
+     */
+    public Mono<List<MonitoramentoSaudeDTO>> getUltimosRegistros(UUID usuarioId, int limit) {
+        return databaseClient.sql("SELECT " + COLUNAS + " FROM monitoramento_saude WHERE usuario_id = :usuarioId "
+                        + "ORDER BY data_registro DESC LIMIT :limite")
+                .bind("usuarioId", usuarioId)
+                .bind("limite", limit)
+                .map(MonitoramentoSaudeReativoService::toDTO)
+                .all()
+                .collectList();
+    }
+
+    /**
+     * Create a new health monitoring record for a user.
+     * @param usuarioId the user ID
+     * @param request the health monitoring record creation request
+     * @return the created health monitoring record DTO
+     * @throws IllegalArgumentException (signalled) if the request is invalid
+     */
+    public Mono<MonitoramentoSaudeDTO> create(UUID usuarioId, MonitoramentoSaudeRequest request) {
+        return Mono.fromRunnable(() -> MonitoramentoSaudeService.validateRequest(request))
+                .then(Mono.defer(() -> valores(databaseClient.sql(
+                                "INSERT INTO monitoramento_saude (" + COLUNAS + ") VALUES (:id, :usuarioId, :tipo, "
+                                        + ":valorSistolica, :valorDiastolica, :pulsacao, :valorGlicemia, :jejum, "
+                                        + ":observacoes, COALESCE(:dataRegistro, now()), now()) RETURNING " + COLUNAS)
+                                .bind("id", UUID.randomUUID())
+                                .bind("usuarioId", usuarioId), request)
+                        .map(MonitoramentoSaudeReativoService::toDTO)
+                        .one()));
+    }
+
+    /**
+     * Update a health monitoring record for a user.
+     * @param id the health monitoring record ID
+     * @param usuarioId the user ID
+     * @param request the health monitoring record update request
+     * @return the updated health monitoring record DTO
+     * @throws ResourceNotFoundException (signalled) if the health monitoring record is not found
+     * @throws IllegalArgumentException (signalled) if the request is invalid
+     */
+    public Mono<MonitoramentoSaudeDTO> update(UUID id, UUID usuarioId, MonitoramentoSaudeRequest request) {
+        return Mono.fromRunnable(() -> MonitoramentoSaudeService.validateRequest(request))
+                .then(Mono.defer(() -> valores(databaseClient.sql(
+                                "UPDATE monitoramento_saude SET tipo = :tipo, valor_sistolica = :valorSistolica, "
+                                        + "valor_diastolica = :valorDiastolica, pulsacao = :pulsacao, "
+                                        + "valor_glicemia = :valorGlicemia, jejum = :jejum, observacoes = :observacoes, "
+                                        + "data_registro = COALESCE(:dataRegistro, data_registro) "
+                                        + "WHERE id = :id AND usuario_id = :usuarioId RETURNING " + COLUNAS)
+                                .bind("id", id)
+                                .bind("usuarioId", usuarioId), request)
+                        .map(MonitoramentoSaudeReativoService::toDTO)
+                        .one()))
+                .switchIfEmpty(Mono.error(() -> ResourceNotFoundException.forResource("Monitoramento de Saúde", id)));
+    }
+
+    /**
+     * Delete a health monitoring record for a user.
+     * @param id the health monitoring record ID
+     * @param usuarioId the user ID
+     * @return completes when the record is deleted
+     * @throws ResourceNotFoundException (signalled) if the health monitoring record is not found
+     */
+    public Mono<Void> delete(UUID id, UUID usuarioId) {
+        return databaseClient.sql("DELETE FROM monitoramento_saude WHERE id = :id AND usuario_id = :usuarioId")
+                .bind("id", id)
+                .bind("usuarioId", usuarioId)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(removidos -> removidos == 0
+                        ? Mono.error(ResourceNotFoundException.forResource("Monitoramento de Saúde", id))
+                        : Mono.empty());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    /**
+     * Build the ORDER BY clause of a page request; unsorted pages are newest first.
+     */
+    static String ordenacao(Sort sort) {
+        if (sort.isUnsorted()) {
+            return " ORDER BY data_registro DESC, id";
+        }
+        return sort.stream()
+                .map(ordem -> {
+                    String coluna = ORDENACAO.get(ordem.getProperty());
+                    if (coluna == null) {
+                        throw new IllegalArgumentException("Ordenação não suportada: " + ordem.getProperty());
+                    }
+                    return coluna + (ordem.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", ", " ORDER BY ", ", id"));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec filtros(DatabaseClient.GenericExecuteSpec spec, UUID usuarioId,
+                                                             TipoMonitoramento tipo, LocalDateTime inicio, LocalDateTime fim) {
+        spec = spec.bind("usuarioId", usuarioId);
+        if (tipo != null) {
+            spec = spec.bind("tipo", tipo.name());
+        }
+        if (inicio != null) {
+            spec = spec.bind("inicio", inicio).bind("fim", fim);
+        }
+        return spec;
+    }
+
+    /**
+     * Bind the request values, keeping only the fields of the request's type like the blocking service.
+     */
+    private static DatabaseClient.GenericExecuteSpec valores(DatabaseClient.GenericExecuteSpec spec,
+                                                             MonitoramentoSaudeRequest request) {
+        boolean pressao = request.getTipo() == TipoMonitoramento.PRESSAO;
+        boolean glicemia = request.getTipo() == TipoMonitoramento.GLICEMIA;
+        spec = spec.bind("tipo", request.getTipo().name());
+        spec = vincular(spec, "valorSistolica", pressao ? request.getValorSistolica() : null, Integer.class);
+        spec = vincular(spec, "valorDiastolica", pressao ? request.getValorDiastolica() : null, Integer.class);
+        spec = vincular(spec, "pulsacao", pressao ? request.getPulsacao() : null, Integer.class);
+        spec = vincular(spec, "valorGlicemia", glicemia ? request.getValorGlicemia() : null, BigDecimal.class);
+        spec = vincular(spec, "jejum", glicemia ? request.getJejum() : null, Boolean.class);
+        spec = vincular(spec, "observacoes", request.getObservacoes(), String.class);
+        return vincular(spec, "dataRegistro", request.getDataRegistro(), LocalDateTime.class);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec vincular(DatabaseClient.GenericExecuteSpec spec, String nome,
+                                                              Object valor, Class<?> tipo) {
+        return valor != null ? spec.bind(nome, valor) : spec.bindNull(nome, tipo);
+    }
+
+    static MonitoramentoSaudeDTO toDTO(Readable row) {
+        return new MonitoramentoSaudeDTO(
+                row.get("id", UUID.class),
+                row.get("usuario_id", UUID.class),
+                TipoMonitoramento.valueOf(row.get("tipo", String.class)),
+                row.get("valor_sistolica", Integer.class),
+                row.get("valor_diastolica", Integer.class),
+                row.get("pulsacao", Integer.class),
+                row.get("valor_glicemia", BigDecimal.class),
+                row.get("jejum", Boolean.class),
+                row.get("observacoes", String.class),
+                row.get("data_registro", LocalDateTime.class),
+                row.get("criado_em", LocalDateTime.class));
+    }
+}
@@ -2,36 +2,61 @@ package com.suscompanion.service;
 
 import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
 import com.suscompanion.dto.saude.MonitoramentoSaudeRequest;
+import com.suscompanion.exception.LeituraNaoConfirmadaException;
 import com.suscompanion.exception.ResourceNotFoundException;
 import com.suscompanion.model.MonitoramentoSaude;
 import com.suscompanion.model.MonitoramentoSaude.TipoMonitoramento;
 import com.suscompanion.model.Usuario;
 import com.suscompanion.repository.MonitoramentoSaudeRepository;
 import com.suscompanion.repository.UsuarioRepository;
-import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
  * Service for health monitoring operations.
  */
 @Service
-@RequiredArgsConstructor
 public class MonitoramentoSaudeService {
 
     private final MonitoramentoSaudeRepository monitoramentoSaudeRepository;
     private final UsuarioRepository usuarioRepository;
     private final ModelMapper modelMapper;
+    private final GravadorLeiturasSaude gravadorLeiturasSaude;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${saude.ingestao.espera-maxima:5s}")
+    private Duration esperaMaxima = Duration.ofSeconds(5);
+
+    public MonitoramentoSaudeService(MonitoramentoSaudeRepository monitoramentoSaudeRepository,
+                                     UsuarioRepository usuarioRepository,
+                                     ModelMapper modelMapper,
+                                     GravadorLeiturasSaude gravadorLeiturasSaude,
+                                     PlatformTransactionManager transactionManager) {
+        this.monitoramentoSaudeRepository = monitoramentoSaudeRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.modelMapper = modelMapper;
+        this.gravadorLeiturasSaude = gravadorLeiturasSaude;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * Get all health monitoring records for a user.
@@ -63,14 +88,39 @@ public class MonitoramentoSaudeService {
 
     /**
      * Create a new health monitoring record for a user.
+     * With write-behind ingestion enabled the record is queued and this call returns once
+     * the batch holding it commits; otherwise the user lookup and the insert run in one transaction.
+     * The queued path holds no transaction, so no connection is held while waiting for the batch.
      * @param usuarioId the user ID
      * @param request the health monitoring record creation request
      * @return the created health monitoring record DTO
      * @throws ResourceNotFoundException if the user is not found
      * @throws IllegalArgumentException if the request is invalid
+     * @throws RejectedExecutionException if the write-behind buffer is full or shutting down
+     * @throws LeituraNaoConfirmadaException if the batch did not commit within
+     *         {@code saude.ingestao.espera-maxima}; the reading keeps its ID and may still be saved
      */
-    @Transactional
     public MonitoramentoSaudeDTO create(UUID usuarioId, MonitoramentoSaudeRequest request) {
+        if (!gravadorLeiturasSaude.isHabilitado()) {
+            return transactionTemplate.execute(status -> inserir(usuarioId, request));
+        }
+
+        usuarioRepository.findById(usuarioId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Usuário", usuarioId));
+
+        validateRequest(request);
+
+        MonitoramentoSaudeDTO leitura = novaLeitura(usuarioId, request);
+        return aguardar(leitura, gravadorLeiturasSaude.gravar(leitura));
+    }
+
+    /**
+     * Insert a health monitoring record directly, in the caller's transaction.
+     * @param usuarioId the user ID
+     * @param request the health monitoring record creation request
+     * @return the created health monitoring record DTO
+     */
+    private MonitoramentoSaudeDTO inserir(UUID usuarioId, MonitoramentoSaudeRequest request) {
         Usuario usuario = usuarioRepository.findById(usuarioId)
                 .orElseThrow(() -> ResourceNotFoundException.forResource("Usuário", usuarioId));
 
@@ -193,10 +243,11 @@ public class MonitoramentoSaudeService {
 
     /**
      * Validate a health monitoring record request.
+     * Also used by {@link MonitoramentoSaudeReativoService}.
      * @param request the health monitoring record request
      * @throws IllegalArgumentException if the request is invalid
      */
-    private void validateRequest(MonitoramentoSaudeRequest request) {
+    static void validateRequest(MonitoramentoSaudeRequest request) {
         if (request.getTipo() == TipoMonitoramento.PRESSAO) {
             if (request.getValorSistolica() == null || request.getValorDiastolica() == null) {
                 throw new IllegalArgumentException("Valores de pressão sistólica e diastólica são obrigatórios para monitoramento de pressão");
@@ -208,12 +259,60 @@ public class MonitoramentoSaudeService {
         }
     }
 
+    /**
+     * Build a reading for the write-behind buffer, with the same type-specific fields as an inserted entity.
+     * @param usuarioId the user ID
+     * @param request the validated request
+     * @return the reading with its ID and creation time assigned
+     */
+    private MonitoramentoSaudeDTO novaLeitura(UUID usuarioId, MonitoramentoSaudeRequest request) {
+        LocalDateTime agora = LocalDateTime.now();
+        MonitoramentoSaudeDTO leitura = new MonitoramentoSaudeDTO();
+        leitura.setId(UUID.randomUUID());
+        leitura.setUsuarioId(usuarioId);
+        leitura.setTipo(request.getTipo());
+        leitura.setObservacoes(request.getObservacoes());
+        leitura.setDataRegistro(request.getDataRegistro() != null ? request.getDataRegistro() : agora);
+        leitura.setCriadoEm(agora);
+        if (request.getTipo() == TipoMonitoramento.PRESSAO) {
+            leitura.setValorSistolica(request.getValorSistolica());
+            leitura.setValorDiastolica(request.getValorDiastolica());
+            leitura.setPulsacao(request.getPulsacao());
+        } else if (request.getTipo() == TipoMonitoramento.GLICEMIA) {
+            leitura.setValorGlicemia(request.getValorGlicemia());
+            leitura.setJejum(request.getJejum());
+        }
+        return leitura;
+    }
+
+    /**
+     * Wait for a queued reading to commit, rethrowing the failure of its batch as is.
+     * The wait is bounded by {@code saude.ingestao.espera-maxima}, so a stalled batch frees the
+     * request thread; the reading may still be written once the batch goes through.
+     * @param leitura the queued reading
+     * @param confirmacao completes when the reading's batch commits
+     * @throws LeituraNaoConfirmadaException if the batch did not commit in time
+     */
+    private MonitoramentoSaudeDTO aguardar(MonitoramentoSaudeDTO leitura, CompletableFuture<MonitoramentoSaudeDTO> confirmacao) {
+        try {
+            return confirmacao.orTimeout(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new LeituraNaoConfirmadaException(leitura, e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
     /**
      * Convert a MonitoramentoSaude entity to a MonitoramentoSaudeDTO.
      * @param monitoramento the MonitoramentoSaude entity
      * @return the MonitoramentoSaudeDTO
      */
-    private MonitoramentoSaudeDTO toDTO(MonitoramentoSaude monitoramento) {
+    MonitoramentoSaudeDTO toDTO(MonitoramentoSaude monitoramento) {
         MonitoramentoSaudeDTO dto = modelMapper.map(monitoramento, MonitoramentoSaudeDTO.class);
         dto.setUsuarioId(monitoramento.getUsuario().getId());
         return dto;
@@ -0,0 +1,246 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.estoque.PrevisaoEstoqueDTO;
+import com.suscompanion.dto.medicamento.MedicamentoDTO;
+import com.suscompanion.model.EstoquePessoal;
+import com.suscompanion.model.LembreteMedicacao;
+import com.suscompanion.model.PrevisaoEstoque;
+import com.suscompanion.repository.EstoquePessoalRepository;
+import com.suscompanion.repository.LembreteMedicacaoRepository;
+import com.suscompanion.repository.PrevisaoEstoqueRepository;
+import com.suscompanion.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Service for projecting when personal inventory items will run out,
+ * based on the active reminder schedules of each medication.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrevisaoEstoqueService {
+
+    private static final UUID MENOR_UUID = new UUID(0L, 0L);
+
+    private static final String UPSERT_PREVISAO = """
+            INSERT INTO previsoes_estoque (estoque_id, usuario_id, quantidade_atual, consumo_diario, data_fim, calculado_em)
+            VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (estoque_id) DO UPDATE
+            SET quantidade_atual = EXCLUDED.quantidade_atual,
+                consumo_diario = EXCLUDED.consumo_diario,
+                data_fim = EXCLUDED.data_fim,
+                calculado_em = EXCLUDED.calculado_em
+            WHERE (previsoes_estoque.quantidade_atual, previsoes_estoque.consumo_diario, previsoes_estoque.data_fim)
+                IS DISTINCT FROM (EXCLUDED.quantidade_atual, EXCLUDED.consumo_diario, EXCLUDED.data_fim)
+            """;
+
+    private final PrevisaoEstoqueRepository previsaoEstoqueRepository;
+    private final EstoquePessoalRepository estoquePessoalRepository;
+    private final LembreteMedicacaoRepository lembreteMedicacaoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ModelMapper modelMapper;
+
+    @Value("${estoque.previsao.tamanho-lote:500}")
+    private int tamanhoLote = 500;
+
+    /**
+     * Get inventory items projected to run out within a number of days for a user.
+     * @param usuarioId the user ID
+     * @param dias the number of days from today
+     * @return a list of forecast DTOs ordered by run-out date
+     */
+    @Transactional(readOnly = true)
+    public List<PrevisaoEstoqueDTO> getTerminandoEm(UUID usuarioId, int dias) {
+        if (dias < 0) {
+            throw new IllegalArgumentException("Número de dias não pode ser negativo");
+        }
+        LocalDate hoje = LocalDate.now();
+        return previsaoEstoqueRepository.findTerminandoAte(usuarioId, hoje.plusDays(dias)).stream()
+                .map(previsao -> toDTO(previsao, hoje))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recompute forecasts for every inventory item of every user.
+     * Items are processed in keyset-paginated chunks, each in its own transaction,
+     * so memory use is bounded by the chunk size regardless of the table size.
+     * Unchanged forecasts are not rewritten, so {@code calculado_em} is when a forecast last
+     * changed, and only users with a changed forecast get a new data version (see V13).
+     * @return the number of forecasts processed
+     */
+    @Scheduled(cron = "${estoque.previsao.cron:0 30 1 * * *}")
+    public int recalcularTodas() {
+        LocalDate hoje = LocalDate.now();
+        UUID ultimoId = MENOR_UUID;
+        int total = 0;
+
+        while (true) {
+            final UUID aposId = ultimoId;
+            List<EstoquePessoal> lote = transactionTemplate.execute(status -> recalcularLote(aposId, hoje));
+            if (lote == null || lote.isEmpty()) {
+                break;
+            }
+            total += lote.size();
+            ultimoId = lote.get(lote.size() - 1).getId();
+            if (lote.size() < tamanhoLote) {
+                break;
+            }
+        }
+
+        log.info("Previsões de estoque recalculadas: {}", total);
+        return total;
+    }
+
+    /**
+     * Recompute and store forecasts for the chunk of inventory items after an ID.
+     * @param ultimoId the last ID of the previous chunk
+     * @param hoje the reference date
+     * @return the inventory items processed
+     */
+    private List<EstoquePessoal> recalcularLote(UUID ultimoId, LocalDate hoje) {
+        List<EstoquePessoal> estoques = estoquePessoalRepository.findLoteApos(ultimoId, PageRequest.of(0, tamanhoLote));
+        if (estoques.isEmpty()) {
+            return estoques;
+        }
+
+        List<UUID> medicamentoIds = estoques.stream()
+                .map(estoque -> estoque.getMedicamento().getId())
+                .collect(Collectors.toList());
+        Map<UUID, List<LembreteMedicacao>> lembretesPorMedicamento = lembreteMedicacaoRepository
+                .findByMedicamentoIdInAndAtivoTrue(medicamentoIds).stream()
+                .collect(Collectors.groupingBy(lembrete -> lembrete.getMedicamento().getId()));
+
+        List<Object[]> linhas = new ArrayList<>(estoques.size());
+        for (EstoquePessoal estoque : estoques) {
+            List<LembreteMedicacao> lembretes = lembretesPorMedicamento.getOrDefault(estoque.getMedicamento().getId(), List.of());
+            LocalDate dataFim = calcularDataFim(estoque.getQuantidadeAtual(), lembretes, hoje);
+            linhas.add(new Object[]{
+                    estoque.getId(),
+                    estoque.getUsuario().getId(),
+                    estoque.getQuantidadeAtual(),
+                    calcularConsumoDiario(lembretes),
+                    dataFim != null ? Date.valueOf(dataFim) : null
+            });
+        }
+        int[] atualizadas = jdbcTemplate.batchUpdate(UPSERT_PREVISAO, linhas);
+        Set<UUID> usuariosAlterados = new HashSet<>();
+        for (int i = 0; i < atualizadas.length; i++) {
+            if (atualizadas[i] != 0) {
+                usuariosAlterados.add((UUID) linhas.get(i)[1]);
+            }
+        }
+        if (!usuariosAlterados.isEmpty()) {
+            usuarioRepository.incrementVersoesDados(usuariosAlterados);
+        }
+        return estoques;
+    }
+
+    /**
+     * Average units consumed per day by a set of reminders.
+     * @param lembretes the active reminders of a medication
+     * @return the average daily consumption
+     */
+    static BigDecimal calcularConsumoDiario(List<LembreteMedicacao> lembretes) {
+        int consumoSemanal = 0;
+        for (int dia = 0; dia < 7; dia++) {
+            consumoSemanal += consumoNoDia(lembretes, dia);
+        }
+        return BigDecimal.valueOf(consumoSemanal).divide(BigDecimal.valueOf(7), 3, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Project the first day on which the stock cannot cover all scheduled doses.
+     * Whole weeks are skipped arithmetically, so at most two weeks are simulated day by day.
+     * @param quantidadeAtual the current stock
+     * @param lembretes the active reminders of the medication
+     * @param hoje the reference date
+     * @return the run-out date, or null if the reminders consume nothing
+     */
+    static LocalDate calcularDataFim(int quantidadeAtual, List<LembreteMedicacao> lembretes, LocalDate hoje) {
+        int[] consumoPorDia = new int[7];
+        int consumoSemanal = 0;
+        for (int dia = 0; dia < 7; dia++) {
+            consumoPorDia[dia] = consumoNoDia(lembretes, dia);
+            consumoSemanal += consumoPorDia[dia];
+        }
+        if (consumoSemanal == 0) {
+            return null;
+        }
+
+        long restante = quantidadeAtual;
+        long semanasCompletas = Math.max(0, restante / consumoSemanal - 1);
+        restante -= semanasCompletas * consumoSemanal;
+        LocalDate dia = hoje.plusWeeks(semanasCompletas);
+
+        while (true) {
+            int consumo = consumoPorDia[dia.getDayOfWeek().getValue() % 7];
+            if (consumo > restante) {
+                return dia;
+            }
+            restante -= consumo;
+            dia = dia.plusDays(1);
+        }
+    }
+
+    /**
+     * Units consumed on a day of the week, using the same whole-unit rounding as the stock decrement.
+     * @param lembretes the active reminders of a medication
+     * @param diaSemana the day of the week (0-6, Sunday-Saturday)
+     * @return the units consumed on that day
+     */
+    private static int consumoNoDia(List<LembreteMedicacao> lembretes, int diaSemana) {
+        int consumo = 0;
+        for (LembreteMedicacao lembrete : lembretes) {
+            List<Integer> dias = lembrete.getDiasSemana();
+            if (dias != null && !dias.isEmpty() && !dias.contains(diaSemana)) {
+                continue;
+            }
+            int unidadesPorDose = lembrete.getQuantidadeDose() != null
+                    ? lembrete.getQuantidadeDose().setScale(0, RoundingMode.CEILING).intValue()
+                    : 1;
+            consumo += unidadesPorDose * lembrete.getHorarios().size();
+        }
+        return consumo;
+    }
+
+    /**
+     * Convert a PrevisaoEstoque entity to a PrevisaoEstoqueDTO.
+     * @param previsao the PrevisaoEstoque entity
+     * @param hoje the reference date
+     * @return the PrevisaoEstoqueDTO
+     */
+    PrevisaoEstoqueDTO toDTO(PrevisaoEstoque previsao, LocalDate hoje) {
+        return new PrevisaoEstoqueDTO(
+                previsao.getEstoqueId(),
+                modelMapper.map(previsao.getEstoque().getMedicamento(), MedicamentoDTO.class),
+                previsao.getQuantidadeAtual(),
+                previsao.getConsumoDiario(),
+                previsao.getDataFim(),
+                previsao.getDataFim() != null ? ChronoUnit.DAYS.between(hoje, previsao.getDataFim()) : null,
+                previsao.getCalculadoEm());
+    }
+}
@@ -1,5 +1,7 @@
 package com.suscompanion.service;
 
+import com.suscompanion.dto.receita.MedicoDTO;
+import com.suscompanion.dto.receita.ReceitaBuscaDTO;
 import com.suscompanion.dto.receita.ReceitaDTO;
 import com.suscompanion.dto.receita.ReceitaItemDTO;
 import com.suscompanion.dto.receita.ReceitaRequest;
@@ -9,19 +11,27 @@ import com.suscompanion.model.Receita;
 import com.suscompanion.model.ReceitaItem;
 import com.suscompanion.model.Usuario;
 import com.suscompanion.repository.MedicamentoRepository;
+import com.suscompanion.repository.MedicoUsuarioRepository;
+import com.suscompanion.repository.ReceitaRelevancia;
 import com.suscompanion.repository.ReceitaRepository;
 import com.suscompanion.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,9 +41,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ReceitaService {
 
+    private static final UUID MENOR_UUID = new UUID(0L, 0L);
+
     private final ReceitaRepository receitaRepository;
     private final UsuarioRepository usuarioRepository;
     private final MedicamentoRepository medicamentoRepository;
+    private final MedicoUsuarioRepository medicoUsuarioRepository;
     private final ModelMapper modelMapper;
 
     /**
@@ -88,6 +101,7 @@ public class ReceitaService {
 
         // Save the prescription first to get an ID
         receita = receitaRepository.save(receita);
+        medicoUsuarioRepository.incrementar(usuarioId, request.getMedicoNome(), request.getMedicoCrm());
 
         // Add items to the prescription
         if (request.getItens() != null && !request.getItens().isEmpty()) {
@@ -127,6 +141,12 @@ public class ReceitaService {
         Receita receita = receitaRepository.findByIdAndUsuarioId(id, usuarioId)
                 .orElseThrow(() -> ResourceNotFoundException.forResource("Receita", id));
 
+        if (!Objects.equals(receita.getMedicoNome(), request.getMedicoNome())
+                || !Objects.equals(receita.getMedicoCrm(), request.getMedicoCrm())) {
+            trocarMedico(usuarioId, receita.getMedicoNome(), receita.getMedicoCrm(),
+                    request.getMedicoNome(), request.getMedicoCrm());
+        }
+
         receita.setMedicoNome(request.getMedicoNome());
         receita.setMedicoCrm(request.getMedicoCrm());
         receita.setDataEmissao(request.getDataEmissao());
@@ -170,6 +190,8 @@ public class ReceitaService {
         Receita receita = receitaRepository.findByIdAndUsuarioId(id, usuarioId)
                 .orElseThrow(() -> ResourceNotFoundException.forResource("Receita", id));
         receitaRepository.delete(receita);
+        medicoUsuarioRepository.decrementar(usuarioId, receita.getMedicoNome(), receita.getMedicoCrm());
+        medicoUsuarioRepository.removerSemReceitas(usuarioId);
     }
 
     /**
@@ -187,6 +209,7 @@ public class ReceitaService {
 
     /**
      * Search prescriptions by doctor name for a user.
+     * Results are ordered by issue date, so any sort in the request is ignored.
      * @param medicoNome the doctor name to search for
      * @param usuarioId the user ID
      * @param pageable pagination information
@@ -194,16 +217,106 @@ public class ReceitaService {
      */
     @Transactional(readOnly = true)
     public Page<ReceitaDTO> searchByMedicoNome(String medicoNome, UUID usuarioId, Pageable pageable) {
-        return receitaRepository.searchByMedicoNome(medicoNome, usuarioId, pageable)
+        Pageable semOrdenacao = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return receitaRepository.searchByMedicoNome(medicoNome.trim(), usuarioId, semOrdenacao)
+                .map(this::toDTO);
+    }
+
+    /**
+     * Find prescriptions by doctor CRM for a user, most recent first.
+     * @param medicoCrm the doctor CRM
+     * @param usuarioId the user ID
+     * @param pageable pagination information
+     * @return a page of prescription DTOs
+     */
+    @Transactional(readOnly = true)
+    public Page<ReceitaDTO> searchByMedicoCrm(String medicoCrm, UUID usuarioId, Pageable pageable) {
+        Pageable semOrdenacao = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return receitaRepository.findByMedicoCrm(medicoCrm.trim(), usuarioId, semOrdenacao)
                 .map(this::toDTO);
     }
 
+    /**
+     * Full-text search of a user's prescriptions by observations, item descriptions and dosage,
+     * best matches first. Pages are chained with an opaque cursor instead of an offset.
+     * @param termos the search terms
+     * @param usuarioId the user ID
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limite the page size
+     * @return a page of prescription DTOs and the cursor of the next page
+     * @throws IllegalArgumentException if the terms are blank, the cursor is invalid or the limit is outside 1-50
+     */
+    @Transactional(readOnly = true)
+    public ReceitaBuscaDTO buscarTexto(String termos, UUID usuarioId, String cursor, int limite) {
+        if (termos == null || termos.isBlank()) {
+            throw new IllegalArgumentException("Informe os termos da busca");
+        }
+        if (limite < 1 || limite > 50) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e 50");
+        }
+
+        float relevancia = Float.MAX_VALUE;
+        UUID ultimoId = MENOR_UUID;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_", 2);
+                relevancia = Float.parseFloat(partes[0]);
+                ultimoId = UUID.fromString(partes[1]);
+            } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Cursor de busca inválido");
+            }
+        }
+
+        // Fetch one extra row to know whether there is a next page
+        List<ReceitaRelevancia> encontradas = receitaRepository.buscarTexto(termos.trim(), usuarioId, relevancia, ultimoId, limite + 1);
+        boolean temProxima = encontradas.size() > limite;
+        List<ReceitaRelevancia> pagina = temProxima ? encontradas.subList(0, limite) : encontradas;
+
+        Map<UUID, Receita> porId = receitaRepository.findWithItensByIdIn(pagina.stream().map(ReceitaRelevancia::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Receita::getId, Function.identity()));
+        List<ReceitaDTO> receitas = pagina.stream()
+                .map(encontrada -> porId.get(encontrada.getId()))
+                .filter(Objects::nonNull)
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+
+        String proximoCursor = null;
+        if (temProxima) {
+            ReceitaRelevancia ultima = pagina.get(pagina.size() - 1);
+            String valor = ultima.getRelevancia() + "_" + ultima.getId();
+            proximoCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ReceitaBuscaDTO(receitas, proximoCursor);
+    }
+
+    /**
+     * Get the distinct doctors of a user's prescriptions, most frequent first.
+     * @param usuarioId the user ID
+     * @return a list of doctor DTOs
+     */
+    @Transactional(readOnly = true)
+    public List<MedicoDTO> getMedicos(UUID usuarioId) {
+        return medicoUsuarioRepository.findByUsuarioIdOrderByTotalReceitasDescMedicoNomeAsc(usuarioId).stream()
+                .map(medico -> new MedicoDTO(medico.getMedicoNome(), medico.getMedicoCrm(), medico.getTotalReceitas()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Move a prescription's count from one doctor to another in the distinct doctors table.
+     */
+    private void trocarMedico(UUID usuarioId, String nomeAnterior, String crmAnterior, String nome, String crm) {
+        medicoUsuarioRepository.decrementar(usuarioId, nomeAnterior, crmAnterior);
+        medicoUsuarioRepository.incrementar(usuarioId, nome, crm);
+        medicoUsuarioRepository.removerSemReceitas(usuarioId);
+    }
+
     /**
      * Convert a Receita entity to a ReceitaDTO.
      * @param receita the Receita entity
      * @return the ReceitaDTO
      */
-    private ReceitaDTO toDTO(Receita receita) {
+    ReceitaDTO toDTO(Receita receita) {
         ReceitaDTO dto = modelMapper.map(receita, ReceitaDTO.class);
         dto.setUsuarioId(receita.getUsuario().getId());
         dto.setValida(receita.isValida());
@@ -0,0 +1,362 @@
+package com.suscompanion.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suscompanion.dto.dose.AdesaoMedicacaoDTO;
+import com.suscompanion.dto.dose.RegistroDoseDTO;
+import com.suscompanion.dto.dose.RegistroDoseLoteDTO;
+import com.suscompanion.dto.dose.RegistroDoseLoteRequest;
+import com.suscompanion.dto.dose.RegistroDoseRequest;
+import com.suscompanion.exception.ResourceNotFoundException;
+import com.suscompanion.model.AdesaoMedicacao;
+import com.suscompanion.model.LembreteMedicacao;
+import com.suscompanion.model.RegistroDose;
+import com.suscompanion.repository.AdesaoMedicacaoRepository;
+import com.suscompanion.repository.LembreteMedicacaoRepository;
+import com.suscompanion.repository.RegistroDoseRepository;
+import com.suscompanion.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for dose intake recording and adherence operations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegistroDoseService {
+
+    /**
+     * Largest rolling window kept in the adherence counters, in days.
+     */
+    static final int MAIOR_JANELA_DIAS = 90;
+
+    private static final UUID MENOR_UUID = new UUID(0L, 0L);
+
+    private final RegistroDoseRepository registroDoseRepository;
+    private final AdesaoMedicacaoRepository adesaoMedicacaoRepository;
+    private final LembreteMedicacaoRepository lembreteMedicacaoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final EstoquePessoalService estoquePessoalService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${adesao.janelas.tamanho-lote:500}")
+    private int tamanhoLote = 500;
+
+    /**
+     * Get dose records for a user.
+     * @param usuarioId the user ID
+     * @param pageable pagination information
+     * @return a page of dose record DTOs, most recent first
+     */
+    @Transactional(readOnly = true)
+    public Page<RegistroDoseDTO> getAllByUsuario(UUID usuarioId, Pageable pageable) {
+        return registroDoseRepository.findByUsuarioIdOrderByHorarioPrevistoDesc(usuarioId, pageable)
+                .map(this::toDTO);
+    }
+
+    /**
+     * Record a single dose intake for a user.
+     * Resending the same reminder and scheduled time is accepted and ignored.
+     * @param usuarioId the user ID
+     * @param request the dose record request
+     * @return true if the dose was recorded, false if it was already recorded
+     * @throws ResourceNotFoundException if the reminder is not found
+     */
+    @Transactional
+    public boolean registrar(UUID usuarioId, RegistroDoseRequest request) {
+        LembreteMedicacao lembrete = lembreteMedicacaoRepository.findByIdAndUsuarioId(request.getLembreteId(), usuarioId)
+                .orElseThrow(() -> ResourceNotFoundException.forResource("Lembrete de Medicação", request.getLembreteId()));
+        return registrar(usuarioId, lembrete, request);
+    }
+
+    /**
+     * Record several dose intakes for a user in one transaction.
+     * The number of statements does not grow with the batch: the records and the adherence
+     * counters are written set-based, and the inventory is updated once per medication taken.
+     * @param usuarioId the user ID
+     * @param request the batch request
+     * @return a summary of recorded and duplicate doses
+     * @throws ResourceNotFoundException if any reminder is not found
+     */
+    @Transactional
+    public RegistroDoseLoteDTO registrarLote(UUID usuarioId, RegistroDoseLoteRequest request) {
+        Set<UUID> lembreteIds = request.getRegistros().stream()
+                .map(RegistroDoseRequest::getLembreteId)
+                .collect(Collectors.toSet());
+        Map<UUID, LembreteMedicacao> lembretes = lembreteMedicacaoRepository.findByIdInAndUsuarioId(lembreteIds, usuarioId)
+                .stream()
+                .collect(Collectors.toMap(LembreteMedicacao::getId, Function.identity()));
+
+        LocalDateTime agora = LocalDateTime.now();
+        Map<UUID, RegistroDoseRequest> porId = new HashMap<>();
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        for (RegistroDoseRequest registro : request.getRegistros()) {
+            LembreteMedicacao lembrete = lembretes.get(registro.getLembreteId());
+            if (lembrete == null) {
+                throw ResourceNotFoundException.forResource("Lembrete de Medicação", registro.getLembreteId());
+            }
+            UUID id = UUID.randomUUID();
+            porId.put(id, registro);
+
+            Map<String, Object> linha = new HashMap<>();
+            linha.put("id", id);
+            linha.put("lembrete_id", lembrete.getId());
+            linha.put("medicamento_id", lembrete.getMedicamento().getId());
+            linha.put("status", registro.getStatus().name());
+            linha.put("horario_previsto", registro.getHorarioPrevisto().toString());
+            linha.put("registrado_em", (registro.getRegistradoEm() != null ? registro.getRegistradoEm() : agora).toString());
+            linha.put("observacoes", registro.getObservacoes());
+            linhas.add(linha);
+        }
+
+        List<UUID> inseridos = registroDoseRepository.insertAllIfAbsent(usuarioId, json(linhas));
+        if (!inseridos.isEmpty()) {
+            contabilizar(usuarioId, inseridos.stream().map(porId::get).toList(), lembretes);
+        }
+
+        int recebidos = request.getRegistros().size();
+        return new RegistroDoseLoteDTO(recebidos, inseridos.size(), recebidos - inseridos.size());
+    }
+
+    /**
+     * Get rolling adherence for every medication of a user.
+     * @param usuarioId the user ID
+     * @return a list of adherence DTOs, one per medication with recorded doses
+     */
+    @Transactional(readOnly = true)
+    public List<AdesaoMedicacaoDTO> getAdesao(UUID usuarioId) {
+        return adesaoMedicacaoRepository.findByUsuarioId(usuarioId).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get rolling adherence for one medication of a user.
+     * @param usuarioId the user ID
+     * @param medicamentoId the medication ID
+     * @return the adherence DTO
+     * @throws ResourceNotFoundException if no dose was recorded for the medication
+     */
+    @Transactional(readOnly = true)
+    public AdesaoMedicacaoDTO getAdesaoByMedicamento(UUID usuarioId, UUID medicamentoId) {
+        AdesaoMedicacao adesao = adesaoMedicacaoRepository.findByUsuarioIdAndMedicamentoId(usuarioId, medicamentoId)
+                .orElseThrow(() -> ResourceNotFoundException.forResourceWithField("Adesão", "medicamento", medicamentoId));
+        return toDTO(adesao);
+    }
+
+    /**
+     * Shift the rolling adherence windows to the current day.
+     * Runs shortly after midnight. Stale rows are processed in keyset-paginated chunks, each in
+     * its own transaction, so no lock is held on the whole table; rows that missed earlier runs
+     * are caught up within their chunk.
+     */
+    @Scheduled(cron = "${adesao.janelas.cron:0 5 0 * * *}")
+    public void avancarJanelas() {
+        UUID ultimoId = MENOR_UUID;
+        int total = 0;
+
+        while (true) {
+            final UUID aposId = ultimoId;
+            List<UUID> lote = transactionTemplate.execute(status -> avancarLote(aposId));
+            if (lote == null || lote.isEmpty()) {
+                break;
+            }
+            total += lote.size();
+            ultimoId = lote.get(lote.size() - 1);
+            if (lote.size() < tamanhoLote) {
+                break;
+            }
+        }
+
+        Integer removidos = transactionTemplate.execute(status -> adesaoMedicacaoRepository.deleteDiariasAntesDe(
+                LocalDate.now().minusDays(MAIOR_JANELA_DIAS - 1)));
+        log.info("Janelas de adesão avançadas: {} contadores, {} contadores diários removidos", total, removidos);
+    }
+
+    /**
+     * Shift the chunk of stale rows after an ID to the current day.
+     * adesao_medicacao has no version trigger (see V13), so the data version of each user
+     * whose windows moved is incremented here, once per user.
+     * @param ultimoId the last ID of the previous chunk
+     * @return the IDs of the rows processed
+     */
+    private List<UUID> avancarLote(UUID ultimoId) {
+        List<UUID> ids = adesaoMedicacaoRepository.findAtrasadasApos(ultimoId, tamanhoLote);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        Set<UUID> usuarios = new HashSet<>();
+        List<UUID> avancados;
+        do {
+            avancados = adesaoMedicacaoRepository.avancarJanelas(ids);
+            usuarios.addAll(avancados);
+        } while (!avancados.isEmpty());
+
+        if (!usuarios.isEmpty()) {
+            usuarioRepository.incrementVersoesDados(usuarios);
+        }
+        return ids;
+    }
+
+    /**
+     * Insert a dose record and, if it is new, bump the adherence counters
+     * and take a taken dose out of the personal inventory.
+     * @param usuarioId the user ID
+     * @param lembrete the reminder the dose belongs to
+     * @param request the dose record request
+     * @return true if the dose was recorded, false if it was a duplicate
+     */
+    private boolean registrar(UUID usuarioId, LembreteMedicacao lembrete, RegistroDoseRequest request) {
+        UUID medicamentoId = lembrete.getMedicamento().getId();
+        LocalDateTime registradoEm = request.getRegistradoEm() != null ? request.getRegistradoEm() : LocalDateTime.now();
+
+        int inseridos = registroDoseRepository.insertIfAbsent(
+                UUID.randomUUID(),
+                usuarioId,
+                lembrete.getId(),
+                medicamentoId,
+                request.getStatus().name(),
+                request.getHorarioPrevisto(),
+                registradoEm,
+                request.getObservacoes());
+        if (inseridos == 0) {
+            return false;
+        }
+
+        LocalDate dia = request.getHorarioPrevisto().toLocalDate();
+        int tomada = request.getStatus().isTomada() ? 1 : 0;
+        adesaoMedicacaoRepository.incrementDiaria(usuarioId, medicamentoId, dia, tomada);
+        adesaoMedicacaoRepository.incrementJanelas(usuarioId, medicamentoId, dia, tomada);
+
+        if (request.getStatus().isTomada()) {
+            estoquePessoalService.baixarDose(usuarioId, medicamentoId, lembrete.getQuantidadeDose());
+        }
+        return true;
+    }
+
+    /**
+     * Bump the adherence counters for newly recorded doses and take the taken ones out of the
+     * personal inventory, with a fixed number of statements plus one per medication taken.
+     * @param usuarioId the user ID
+     * @param registros the doses that were recorded
+     * @param lembretes the reminders the doses belong to, by ID
+     */
+    private void contabilizar(UUID usuarioId, List<RegistroDoseRequest> registros, Map<UUID, LembreteMedicacao> lembretes) {
+        Map<ContagemDia, int[]> porDia = new HashMap<>();
+        Map<BaixaEstoque, Integer> tomadas = new HashMap<>();
+        for (RegistroDoseRequest registro : registros) {
+            LembreteMedicacao lembrete = lembretes.get(registro.getLembreteId());
+            UUID medicamentoId = lembrete.getMedicamento().getId();
+            int[] contagem = porDia.computeIfAbsent(
+                    new ContagemDia(medicamentoId, registro.getHorarioPrevisto().toLocalDate()), c -> new int[2]);
+            contagem[0]++;
+            if (registro.getStatus().isTomada()) {
+                contagem[1]++;
+                tomadas.merge(new BaixaEstoque(medicamentoId, lembrete.getQuantidadeDose()), 1, Integer::sum);
+            }
+        }
+
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        porDia.forEach((chave, contagem) -> linhas.add(Map.of(
+                "medicamento_id", chave.medicamentoId(),
+                "dia", chave.dia().toString(),
+                "total", contagem[0],
+                "tomadas", contagem[1])));
+        String contagens = json(linhas);
+        adesaoMedicacaoRepository.incrementDiarias(usuarioId, contagens);
+        adesaoMedicacaoRepository.insertAusentes(usuarioId, contagens);
+        adesaoMedicacaoRepository.incrementJanelasContagens(usuarioId, contagens);
+
+        tomadas.forEach((baixa, doses) ->
+                estoquePessoalService.baixarDoses(usuarioId, baixa.medicamentoId(), baixa.quantidadeDose(), doses));
+    }
+
+    private String json(List<Map<String, Object>> linhas) {
+        try {
+            return objectMapper.writeValueAsString(linhas);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar registros de dose", e);
+        }
+    }
+
+    /**
+     * Doses of a medication scheduled on one day.
+     */
+    private record ContagemDia(UUID medicamentoId, LocalDate dia) {
+    }
+
+    /**
+     * Taken doses of a medication with the same quantity.
+     */
+    private record BaixaEstoque(UUID medicamentoId, BigDecimal quantidadeDose) {
+
+        private BaixaEstoque {
+            quantidadeDose = quantidadeDose != null ? quantidadeDose.stripTrailingZeros() : null;
+        }
+    }
+
+    /**
+     * Convert a RegistroDose entity to a RegistroDoseDTO.
+     * @param registro the RegistroDose entity
+     * @return the RegistroDoseDTO
+     */
+    RegistroDoseDTO toDTO(RegistroDose registro) {
+        return new RegistroDoseDTO(
+                registro.getId(),
+                registro.getUsuario().getId(),
+                registro.getLembrete() != null ? registro.getLembrete().getId() : null,
+                registro.getMedicamento().getId(),
+                registro.getStatus(),
+                registro.getHorarioPrevisto(),
+                registro.getRegistradoEm(),
+                registro.getObservacoes(),
+                registro.getCriadoEm());
+    }
+
+    /**
+     * Convert an AdesaoMedicacao entity to an AdesaoMedicacaoDTO.
+     * @param adesao the AdesaoMedicacao entity
+     * @return the AdesaoMedicacaoDTO
+     */
+    AdesaoMedicacaoDTO toDTO(AdesaoMedicacao adesao) {
+        return new AdesaoMedicacaoDTO(
+                adesao.getMedicamento().getId(),
+                adesao.getDiaReferencia(),
+                adesao.getTotal7d(),
+                percentual(adesao.getTomadas7d(), adesao.getTotal7d()),
+                adesao.getTotal30d(),
+                percentual(adesao.getTomadas30d(), adesao.getTotal30d()),
+                adesao.getTotal90d(),
+                percentual(adesao.getTomadas90d(), adesao.getTotal90d()));
+    }
+
+    private Double percentual(int tomadas, int total) {
+        if (total <= 0) {
+            return null;
+        }
+        return Math.round(tomadas * 1000.0 / total) / 10.0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.suscompanion.validation;
+
+import com.suscompanion.annotations.AteHoje;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class AteHojeValidator implements ConstraintValidator<AteHoje, LocalDateTime> {
+
+    @Override
+    public boolean isValid(LocalDateTime valor, ConstraintValidatorContext context) {
+        if (valor == null) {
+            return true;
+        }
+        return !valor.toLocalDate().isAfter(LocalDate.now());
+    }
+}
@@ -0,0 +1,38 @@
+-- Busca de receitas por trecho do nome do médico, sem diferenciar acentos (usa normalizar_busca da V8)
+CREATE INDEX IF NOT EXISTS
+ idx_receitas_medico_nome_trgm ON receitas
+ USING GIN (usuario_id, normalizar_busca(medico_nome) gin_trgm_ops);
+
+-- Busca exata pelo CRM do médico
+CREATE INDEX IF NOT EXISTS
+ idx_receitas_usuario_medico_crm ON receitas(usuario_id, upper(medico_crm), data_emissao DESC);
+
+-- Identifica o médico de uma receita: pelo CRM quando informado, senão pelo nome normalizado
+CREATE OR REPLACE FUNCTION chave_medico(nome TEXT, crm TEXT)
+RETURNS TEXT
+LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$ SELECT COALESCE(upper(NULLIF(btrim(crm), '')), normalizar_busca(NULLIF(btrim(nome), ''))) $$;
+
+-- Médicos distintos de cada usuário, mantidos incrementalmente a cada receita gravada
+CREATE TABLE medicos_usuario (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    usuario_id UUID NOT NULL REFERENCES usuarios(id) ON DELETE CASCADE,
+    chave VARCHAR(120) NOT NULL,
+    medico_nome VARCHAR(100),
+    medico_crm VARCHAR(20),
+    total_receitas INTEGER NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (usuario_id, chave)
+);
+
+-- Carga inicial a partir das receitas existentes (nome e CRM da receita mais recente)
+INSERT INTO medicos_usuario (usuario_id, chave, medico_nome, medico_crm, total_receitas)
+SELECT DISTINCT ON (r.usuario_id, chave_medico(r.medico_nome, r.medico_crm))
+       r.usuario_id,
+       chave_medico(r.medico_nome, r.medico_crm),
+       r.medico_nome,
+       r.medico_crm,
+       count(*) OVER (PARTITION BY r.usuario_id, chave_medico(r.medico_nome, r.medico_crm))
+FROM receitas r
+WHERE chave_medico(r.medico_nome, r.medico_crm) IS NOT NULL
+ORDER BY r.usuario_id, chave_medico(r.medico_nome, r.medico_crm), r.data_emissao DESC, r.criado_em DESC;
@@ -0,0 +1,61 @@
+-- Configuração de busca textual em português que ignora acentos (unaccent vem da V8)
+CREATE TEXT SEARCH CONFIGURATION portugues_sem_acento (COPY = portuguese);
+ALTER TEXT SEARCH CONFIGURATION portugues_sem_acento
+    ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+
+-- Documento de busca da receita: descrição dos itens (peso A), observações (peso B)
+-- e posologia dos itens (peso C)
+ALTER TABLE receitas ADD COLUMN busca TSVECTOR;
+
+CREATE OR REPLACE FUNCTION documento_busca_receita(p_receita_id UUID, p_observacoes TEXT)
+RETURNS TSVECTOR
+LANGUAGE sql STABLE
+AS $$
+    SELECT setweight(to_tsvector('portugues_sem_acento', COALESCE(string_agg(i.descricao, ' '), '')), 'A')
+        || setweight(to_tsvector('portugues_sem_acento', COALESCE(p_observacoes, '')), 'B')
+        || setweight(to_tsvector('portugues_sem_acento', COALESCE(string_agg(i.posologia, ' '), '')), 'C')
+    FROM receita_itens i
+    WHERE i.receita_id = p_receita_id
+$$;
+
+-- Mantém o documento ao gravar a receita
+CREATE OR REPLACE FUNCTION receitas_atualizar_busca()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    NEW.busca := documento_busca_receita(NEW.id, NEW.observacoes);
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_receitas_busca
+    BEFORE INSERT OR UPDATE OF observacoes ON receitas
+    FOR EACH ROW EXECUTE FUNCTION receitas_atualizar_busca();
+
+-- Mantém o documento da receita ao gravar ou excluir seus itens
+CREATE OR REPLACE FUNCTION receita_itens_atualizar_busca()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE receitas SET busca = documento_busca_receita(id, observacoes) WHERE id = OLD.receita_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND (TG_OP = 'INSERT' OR NEW.receita_id IS DISTINCT FROM OLD.receita_id) THEN
+        UPDATE receitas SET busca = documento_busca_receita(id, observacoes) WHERE id = NEW.receita_id;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_receita_itens_busca
+    AFTER INSERT OR UPDATE OF descricao, posologia, receita_id OR DELETE ON receita_itens
+    FOR EACH ROW EXECUTE FUNCTION receita_itens_atualizar_busca();
+
+-- Carga inicial
+UPDATE receitas SET busca = documento_busca_receita(id, observacoes);
+
+-- Índice GIN por usuário sobre o documento (btree_gin vem da V8)
+CREATE INDEX IF NOT EXISTS
+ idx_receitas_busca ON receitas USING GIN (usuario_id, busca);
@@ -0,0 +1,99 @@
+-- Versão dos dados de cada usuário, incrementada por gatilho a cada escrita nas tabelas
+-- do usuário. Serve de ETag para GETs condicionais (If-None-Match)
+CREATE TABLE IF NOT EXISTS versoes_dados_usuario (
+    usuario_id UUID PRIMARY KEY REFERENCES usuarios(id) ON DELETE CASCADE,
+    versao BIGINT NOT NULL
+);
+
+CREATE OR REPLACE FUNCTION incrementar_versao_dados(p_usuario_id UUID)
+RETURNS VOID
+LANGUAGE sql
+AS $$
+    INSERT INTO versoes_dados_usuario (usuario_id, versao)
+    VALUES (p_usuario_id, 1)
+    ON CONFLICT (usuario_id) DO UPDATE
+    SET versao = versoes_dados_usuario.versao + 1
+$$;
+
+-- Tabelas com coluna usuario_id
+CREATE OR REPLACE FUNCTION versao_dados_por_usuario()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM incrementar_versao_dados(OLD.usuario_id);
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.usuario_id IS DISTINCT FROM OLD.usuario_id) THEN
+        PERFORM incrementar_versao_dados(NEW.usuario_id);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_medicamentos_versao_dados
+    AFTER INSERT OR UPDATE OR DELETE ON medicamentos
+    FOR EACH ROW EXECUTE FUNCTION versao_dados_por_usuario();
+
+CREATE TRIGGER trg_estoque_pessoal_versao_dados
+    AFTER INSERT OR UPDATE OR DELETE ON estoque_pessoal
+    FOR EACH ROW EXECUTE FUNCTION versao_dados_por_usuario();
+
+CREATE TRIGGER trg_previsoes_estoque_versao_dados
+    AFTER INSERT OR UPDATE OR DELETE ON previsoes_estoque
+    FOR EACH ROW EXECUTE FUNCTION versao_dados_por_usuario();
+
+CREATE TRIGGER trg_lembretes_medicacao_versao_dados
+    AFTER INSERT OR UPDATE OR DELETE ON lembretes_medicacao
+    FOR EACH ROW EXECUTE FUNCTION versao_dados_por_usuario();
+
+CREATE TRIGGER trg_receitas_versao_dados
+    AFTER INSERT OR UPDATE OR DELETE ON receitas
+    FOR EACH ROW EXECUTE FUNCTION versao_dados_por_usuario();
+
+CREATE TRIGGER trg_monitoramento_saude_versao_dados
+    AFTER INSERT OR UPDATE OR DELETE ON monitoramento_saude
+    FOR EACH ROW EXECUTE FUNCTION versao_dados_por_usuario();
+
+CREATE TRIGGER trg_registros_dose_versao_dados
+    AFTER INSERT OR UPDATE OR DELETE ON registros_dose
+    FOR EACH ROW EXECUTE FUNCTION versao_dados_por_usuario();
+
+CREATE TRIGGER trg_adesao_medicacao_versao_dados
+    AFTER INSERT OR UPDATE OR DELETE ON adesao_medicacao
+    FOR EACH ROW EXECUTE FUNCTION versao_dados_por_usuario();
+
+-- Itens de receita: o usuário vem da receita
+CREATE OR REPLACE FUNCTION versao_dados_por_receita()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM incrementar_versao_dados(r.usuario_id) FROM receitas r WHERE r.id = OLD.receita_id;
+    END IF;
+    IF TG_OP = 'INSERT' OR (TG_OP = 'UPDATE' AND NEW.receita_id IS DISTINCT FROM OLD.receita_id) THEN
+        PERFORM incrementar_versao_dados(r.usuario_id) FROM receitas r WHERE r.id = NEW.receita_id;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_receita_itens_versao_dados
+    AFTER INSERT OR UPDATE OR DELETE ON receita_itens
+    FOR EACH ROW EXECUTE FUNCTION versao_dados_por_receita();
+
+-- Perfil do próprio usuário
+CREATE OR REPLACE FUNCTION versao_dados_do_usuario()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM incrementar_versao_dados(NEW.id);
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_usuarios_versao_dados
+    AFTER UPDATE ON usuarios
+    FOR EACH ROW EXECUTE FUNCTION versao_dados_do_usuario();
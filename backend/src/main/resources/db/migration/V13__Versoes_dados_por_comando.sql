@@ -0,0 +1,198 @@
+-- Os gatilhos da V12 rodavam por linha: um upsert em versoes_dados_usuario para cada linha
+-- escrita. Um comando que escreve linhas de vários usuários (lote de leituras de saúde,
+-- recálculo de previsões, avanço das janelas de adesão) travava as versões em ordem
+-- arbitrária e podia entrar em deadlock com outro comando igual.
+-- Agora os gatilhos rodam por comando, com tabelas de transição: cada usuário afetado tem a
+-- versão incrementada uma só vez, sempre em ordem de usuario_id.
+-- previsoes_estoque e adesao_medicacao são derivadas de outras tabelas e deixam de ter
+-- gatilho; os jobs que as recalculam incrementam a versão só de quem teve dados alterados.
+
+DROP TRIGGER IF EXISTS trg_medicamentos_versao_dados ON medicamentos;
+DROP TRIGGER IF EXISTS trg_estoque_pessoal_versao_dados ON estoque_pessoal;
+DROP TRIGGER IF EXISTS trg_previsoes_estoque_versao_dados ON previsoes_estoque;
+DROP TRIGGER IF EXISTS trg_lembretes_medicacao_versao_dados ON lembretes_medicacao;
+DROP TRIGGER IF EXISTS trg_receitas_versao_dados ON receitas;
+DROP TRIGGER IF EXISTS trg_monitoramento_saude_versao_dados ON monitoramento_saude;
+DROP TRIGGER IF EXISTS trg_registros_dose_versao_dados ON registros_dose;
+DROP TRIGGER IF EXISTS trg_adesao_medicacao_versao_dados ON adesao_medicacao;
+DROP TRIGGER IF EXISTS trg_receita_itens_versao_dados ON receita_itens;
+DROP TRIGGER IF EXISTS trg_usuarios_versao_dados ON usuarios;
+
+DROP FUNCTION IF EXISTS versao_dados_por_usuario();
+DROP FUNCTION IF EXISTS versao_dados_por_receita();
+DROP FUNCTION IF EXISTS versao_dados_do_usuario();
+DROP FUNCTION IF EXISTS incrementar_versao_dados(UUID);
+
+CREATE OR REPLACE FUNCTION incrementar_versoes_dados(p_usuario_ids UUID[])
+RETURNS VOID
+LANGUAGE sql
+AS $$
+    INSERT INTO versoes_dados_usuario (usuario_id, versao)
+    SELECT DISTINCT u.usuario_id, 1
+    FROM unnest(p_usuario_ids) AS u(usuario_id)
+    WHERE u.usuario_id IS NOT NULL
+    ORDER BY u.usuario_id
+    ON CONFLICT (usuario_id) DO UPDATE
+    SET versao = versoes_dados_usuario.versao + 1
+$$;
+
+-- Tabelas com coluna usuario_id. Cada gatilho declara só as tabelas de transição do seu
+-- evento, então o corpo escolhe quais ler pelo TG_OP
+CREATE OR REPLACE FUNCTION versoes_dados_por_usuario()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM incrementar_versoes_dados(ARRAY(SELECT usuario_id FROM novas));
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM incrementar_versoes_dados(ARRAY(
+            SELECT usuario_id FROM antigas UNION SELECT usuario_id FROM novas));
+    ELSE
+        PERFORM incrementar_versoes_dados(ARRAY(SELECT usuario_id FROM antigas));
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_medicamentos_versao_dados_insert
+    AFTER INSERT ON medicamentos
+    REFERENCING NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_medicamentos_versao_dados_update
+    AFTER UPDATE ON medicamentos
+    REFERENCING OLD TABLE AS antigas NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_medicamentos_versao_dados_delete
+    AFTER DELETE ON medicamentos
+    REFERENCING OLD TABLE AS antigas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_estoque_pessoal_versao_dados_insert
+    AFTER INSERT ON estoque_pessoal
+    REFERENCING NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_estoque_pessoal_versao_dados_update
+    AFTER UPDATE ON estoque_pessoal
+    REFERENCING OLD TABLE AS antigas NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_estoque_pessoal_versao_dados_delete
+    AFTER DELETE ON estoque_pessoal
+    REFERENCING OLD TABLE AS antigas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_lembretes_medicacao_versao_dados_insert
+    AFTER INSERT ON lembretes_medicacao
+    REFERENCING NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_lembretes_medicacao_versao_dados_update
+    AFTER UPDATE ON lembretes_medicacao
+    REFERENCING OLD TABLE AS antigas NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_lembretes_medicacao_versao_dados_delete
+    AFTER DELETE ON lembretes_medicacao
+    REFERENCING OLD TABLE AS antigas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_receitas_versao_dados_insert
+    AFTER INSERT ON receitas
+    REFERENCING NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_receitas_versao_dados_update
+    AFTER UPDATE ON receitas
+    REFERENCING OLD TABLE AS antigas NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_receitas_versao_dados_delete
+    AFTER DELETE ON receitas
+    REFERENCING OLD TABLE AS antigas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_monitoramento_saude_versao_dados_insert
+    AFTER INSERT ON monitoramento_saude
+    REFERENCING NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_monitoramento_saude_versao_dados_update
+    AFTER UPDATE ON monitoramento_saude
+    REFERENCING OLD TABLE AS antigas NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_monitoramento_saude_versao_dados_delete
+    AFTER DELETE ON monitoramento_saude
+    REFERENCING OLD TABLE AS antigas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_registros_dose_versao_dados_insert
+    AFTER INSERT ON registros_dose
+    REFERENCING NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_registros_dose_versao_dados_update
+    AFTER UPDATE ON registros_dose
+    REFERENCING OLD TABLE AS antigas NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+CREATE TRIGGER trg_registros_dose_versao_dados_delete
+    AFTER DELETE ON registros_dose
+    REFERENCING OLD TABLE AS antigas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_usuario();
+
+-- Itens de receita: o usuário vem da receita
+CREATE OR REPLACE FUNCTION versoes_dados_por_receita()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM incrementar_versoes_dados(ARRAY(
+            SELECT r.usuario_id FROM receitas r WHERE r.id IN (SELECT receita_id FROM novas)));
+    ELSIF TG_OP = 'UPDATE' THEN
+        PERFORM incrementar_versoes_dados(ARRAY(
+            SELECT r.usuario_id FROM receitas r
+            WHERE r.id IN (SELECT receita_id FROM antigas UNION SELECT receita_id FROM novas)));
+    ELSE
+        PERFORM incrementar_versoes_dados(ARRAY(
+            SELECT r.usuario_id FROM receitas r WHERE r.id IN (SELECT receita_id FROM antigas)));
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_receita_itens_versao_dados_insert
+    AFTER INSERT ON receita_itens
+    REFERENCING NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_receita();
+
+CREATE TRIGGER trg_receita_itens_versao_dados_update
+    AFTER UPDATE ON receita_itens
+    REFERENCING OLD TABLE AS antigas NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_receita();
+
+CREATE TRIGGER trg_receita_itens_versao_dados_delete
+    AFTER DELETE ON receita_itens
+    REFERENCING OLD TABLE AS antigas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_por_receita();
+
+-- Perfil do próprio usuário
+CREATE OR REPLACE FUNCTION versoes_dados_do_usuario()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM incrementar_versoes_dados(ARRAY(SELECT id FROM novas));
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER trg_usuarios_versao_dados_update
+    AFTER UPDATE ON usuarios
+    REFERENCING NEW TABLE AS novas
+    FOR EACH STATEMENT EXECUTE FUNCTION versoes_dados_do_usuario();
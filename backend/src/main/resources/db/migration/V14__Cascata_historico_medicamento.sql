@@ -0,0 +1,23 @@
+-- Excluir um medicamento apaga também o seu histórico de doses e os contadores de adesão.
+-- Antes, a exclusão falhava por chave estrangeira assim que havia uma dose registrada
+ALTER TABLE registros_dose
+    DROP CONSTRAINT registros_dose_medicamento_id_fkey,
+    ADD CONSTRAINT registros_dose_medicamento_id_fkey
+        FOREIGN KEY (medicamento_id) REFERENCES medicamentos(id) ON DELETE CASCADE;
+
+ALTER TABLE adesao_diaria
+    DROP CONSTRAINT adesao_diaria_medicamento_id_fkey,
+    ADD CONSTRAINT adesao_diaria_medicamento_id_fkey
+        FOREIGN KEY (medicamento_id) REFERENCES medicamentos(id) ON DELETE CASCADE;
+
+ALTER TABLE adesao_medicacao
+    DROP CONSTRAINT adesao_medicacao_medicamento_id_fkey,
+    ADD CONSTRAINT adesao_medicacao_medicamento_id_fkey
+        FOREIGN KEY (medicamento_id) REFERENCES medicamentos(id) ON DELETE CASCADE;
+
+-- A exclusão em cascata procura as linhas só por medicamento_id; as chaves dessas duas
+-- tabelas começam por usuario_id e não servem
+CREATE INDEX IF NOT EXISTS
+ idx_adesao_diaria_medicamento ON adesao_diaria(medicamento_id);
+CREATE INDEX IF NOT EXISTS
+ idx_adesao_medicacao_medicamento ON adesao_medicacao(medicamento_id);
@@ -0,0 +1,20 @@
+-- Horário da última escrita nos dados de cada usuário, pelo relógio do banco. Define a janela
+-- de leitura própria (leituras no primário logo após uma escrita) por usuário, e não por
+-- cliente, então vale em qualquer dispositivo e instância
+ALTER TABLE versoes_dados_usuario
+    ADD COLUMN escrito_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT '-infinity';
+
+CREATE OR REPLACE FUNCTION incrementar_versoes_dados(p_usuario_ids UUID[])
+RETURNS VOID
+LANGUAGE sql
+AS $$
+    INSERT INTO versoes_dados_usuario (usuario_id, versao, escrito_em)
+    SELECT d.usuario_id, 1, clock_timestamp()
+    FROM (SELECT DISTINCT u.usuario_id
+          FROM unnest(p_usuario_ids) AS u(usuario_id)
+          WHERE u.usuario_id IS NOT NULL) d
+    ORDER BY d.usuario_id
+    ON CONFLICT (usuario_id) DO UPDATE
+    SET versao = versoes_dados_usuario.versao + 1,
+        escrito_em = EXCLUDED.escrito_em
+$$;
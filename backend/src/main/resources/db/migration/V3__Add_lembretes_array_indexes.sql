@@ -0,0 +1,7 @@
+-- Índice GIN para consultas com operadores de array (@>) em dias_semana
+CREATE INDEX IF NOT EXISTS
+ idx_lembretes_dias_semana ON lembretes_medicacao USING GIN (dias_semana);
+
+-- Índice parcial para os lembretes ativos de cada usuário
+CREATE INDEX IF NOT EXISTS
+ idx_lembretes_usuario_ativos ON lembretes_medicacao(usuario_id) WHERE ativo = TRUE;
@@ -0,0 +1,48 @@
+-- Tabela de registros de doses (tomada, atrasada ou pulada)
+CREATE TABLE IF NOT EXISTS registros_dose (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    usuario_id UUID NOT NULL REFERENCES usuarios(id),
+    lembrete_id UUID REFERENCES lembretes_medicacao(id) ON DELETE SET NULL,
+    medicamento_id UUID NOT NULL REFERENCES medicamentos(id),
+    status VARCHAR(20) NOT NULL, -- 'TOMADA', 'ATRASADA', 'PULADA'
+    horario_previsto TIMESTAMP NOT NULL,
+    registrado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    observacoes TEXT,
+    criado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Reenvios de dispositivos offline não duplicam o registro
+    CONSTRAINT uk_registros_dose_lembrete_horario UNIQUE (lembrete_id, horario_previsto)
+);
+
+-- Contadores diários por usuário e medicamento
+CREATE TABLE IF NOT EXISTS adesao_diaria (
+    usuario_id UUID NOT NULL REFERENCES usuarios(id),
+    medicamento_id UUID NOT NULL REFERENCES medicamentos(id),
+    dia DATE NOT NULL,
+    total INTEGER NOT NULL DEFAULT 0,
+    tomadas INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (usuario_id, medicamento_id, dia)
+);
+
+-- Janelas móveis de 7/30/90 dias, relativas a dia_referencia
+CREATE TABLE IF NOT EXISTS adesao_medicacao (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    usuario_id UUID NOT NULL REFERENCES usuarios(id),
+    medicamento_id UUID NOT NULL REFERENCES medicamentos(id),
+    dia_referencia DATE NOT NULL,
+    total_7d INTEGER NOT NULL DEFAULT 0,
+    tomadas_7d INTEGER NOT NULL DEFAULT 0,
+    total_30d INTEGER NOT NULL DEFAULT 0,
+    tomadas_30d INTEGER NOT NULL DEFAULT 0,
+    total_90d INTEGER NOT NULL DEFAULT 0,
+    tomadas_90d INTEGER NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_adesao_medicacao_usuario_medicamento UNIQUE (usuario_id, medicamento_id)
+);
+
+-- Índices para melhorar performance
+CREATE INDEX IF NOT EXISTS
+ idx_registros_dose_usuario_horario ON registros_dose(usuario_id, horario_previsto DESC);
+CREATE INDEX IF NOT EXISTS
+ idx_registros_dose_medicamento ON registros_dose(medicamento_id);
+CREATE INDEX IF NOT EXISTS
+ idx_adesao_medicacao_referencia ON adesao_medicacao(dia_referencia);
@@ -0,0 +1,2 @@
+-- Versão para controle de concorrência otimista no estoque pessoal
+ALTER TABLE estoque_pessoal ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- Previsão de término do estoque pessoal, recalculada por job em lote
+CREATE TABLE IF NOT EXISTS previsoes_estoque (
+    estoque_id UUID PRIMARY KEY REFERENCES estoque_pessoal(id) ON DELETE CASCADE,
+    usuario_id UUID NOT NULL REFERENCES usuarios(id),
+    quantidade_atual INTEGER NOT NULL,
+    consumo_diario DECIMAL(10,3) NOT NULL,
+    data_fim DATE, -- NULL quando não há lembretes ativos para o medicamento
+    calculado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Índices para melhorar performance
+CREATE INDEX IF NOT EXISTS
+ idx_previsoes_estoque_usuario_data_fim ON previsoes_estoque(usuario_id, data_fim);
@@ -0,0 +1,32 @@
+-- Consolida itens duplicados de estoque (mesmo usuário e medicamento) no registro
+-- mais antigo, somando as quantidades, antes de criar a restrição de unicidade
+WITH grupos AS (
+    SELECT id,
+           row_number() OVER (PARTITION BY usuario_id, medicamento_id ORDER BY criado_em, id) AS posicao,
+           sum(quantidade_atual) OVER (PARTITION BY usuario_id, medicamento_id) AS quantidade_total,
+           count(*) OVER (PARTITION BY usuario_id, medicamento_id) AS quantidade_itens
+    FROM estoque_pessoal
+)
+UPDATE estoque_pessoal e
+SET quantidade_atual = g.quantidade_total,
+    versao = e.versao + 1,
+    atualizado_em = CURRENT_TIMESTAMP
+FROM grupos g
+WHERE e.id = g.id
+AND g.posicao = 1
+AND g.quantidade_itens > 1;
+
+DELETE FROM estoque_pessoal e
+USING (
+    SELECT id,
+           row_number() OVER (PARTITION BY usuario_id, medicamento_id ORDER BY criado_em, id) AS posicao
+    FROM estoque_pessoal
+) g
+WHERE e.id = g.id
+AND g.posicao > 1;
+
+ALTER TABLE estoque_pessoal
+    ADD CONSTRAINT uk_estoque_pessoal_usuario_medicamento UNIQUE (usuario_id, medicamento_id);
+
+-- O índice da restrição (usuario_id, medicamento_id) já atende às buscas por usuário
+DROP INDEX IF EXISTS idx_estoque_usuario;
@@ -0,0 +1,16 @@
+-- Extensões para busca por trecho do nome, sem diferenciar acentos
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- unaccent() é STABLE e não pode ser usada em índices; esta versão fixa o dicionário
+-- e é IMMUTABLE, então o mesmo texto normalizado vale no índice e nas consultas
+CREATE OR REPLACE FUNCTION normalizar_busca(texto TEXT)
+RETURNS TEXT
+LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, texto)) $$;
+
+-- Índice GIN de trigramas por usuário sobre os dois nomes do medicamento
+CREATE INDEX IF NOT EXISTS
+ idx_medicamentos_nome_trgm ON medicamentos
+ USING GIN (usuario_id, normalizar_busca(nome_completo || ' ' || COALESCE(nome_simplificado, '')) gin_trgm_ops);
@@ -0,0 +1,24 @@
+-- Catálogo nacional de medicamentos, compartilhado entre os usuários
+-- e importado de uma lista de preços no formato da CMED/ANVISA
+CREATE TABLE catalogo_medicamentos (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    codigo_ggrem VARCHAR(20) NOT NULL UNIQUE,
+    registro_anvisa VARCHAR(20),
+    ean VARCHAR(20),
+    principio_ativo TEXT,
+    produto TEXT NOT NULL,
+    apresentacao TEXT,
+    laboratorio TEXT,
+    classe_terapeutica TEXT,
+    tipo_produto VARCHAR(50),
+    preco_fabrica DECIMAL(12, 2),
+    ativo BOOLEAN NOT NULL DEFAULT TRUE,
+    atualizado_em TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Referência opcional do medicamento do usuário a uma entrada do catálogo
+ALTER TABLE medicamentos
+    ADD COLUMN catalogo_id UUID REFERENCES catalogo_medicamentos(id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS
+ idx_medicamentos_catalogo ON medicamentos(catalogo_id);
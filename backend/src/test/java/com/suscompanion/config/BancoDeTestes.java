@@ -0,0 +1,62 @@
+package com.suscompanion.config;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * PostgreSQL for tests that need a real database. Uses the database at {@code TESTE_DB_URL} (with
+ * {@code TESTE_DB_USERNAME} and {@code TESTE_DB_PASSWORD}) when set, for machines without Docker,
+ * otherwise one Testcontainers container shared by every test class. Classes using it are skipped
+ * when neither is available. The database is not emptied between classes or runs, so tests must
+ * not depend on fixed emails or on being the only data.
+ * <p>
+ * Usage: {@code @ExtendWith(BancoDeTestes.class)} on the class and
+ * {@code BancoDeTestes.registrar(registry)} in its {@code @DynamicPropertySource}.
+ */
+public class BancoDeTestes implements ExecutionCondition {
+
+    private static final String URL_EXTERNA = System.getenv("TESTE_DB_URL");
+
+    private static PostgreSQLContainer<?> container;
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (URL_EXTERNA != null && !URL_EXTERNA.isBlank()) {
+            return ConditionEvaluationResult.enabled("Banco em TESTE_DB_URL");
+        }
+        if (DockerClientFactory.instance().isDockerAvailable()) {
+            return ConditionEvaluationResult.enabled("Docker disponível");
+        }
+        return ConditionEvaluationResult.disabled("Sem TESTE_DB_URL e sem Docker");
+    }
+
+    /**
+     * Point the application's datasource at the test database, starting the container if needed.
+     * @param registry the registry of the test class's {@code @DynamicPropertySource}
+     */
+    public static void registrar(DynamicPropertyRegistry registry) {
+        if (URL_EXTERNA != null && !URL_EXTERNA.isBlank()) {
+            registry.add("spring.datasource.url", () -> URL_EXTERNA);
+            registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TESTE_DB_USERNAME", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TESTE_DB_PASSWORD", ""));
+            return;
+        }
+        PostgreSQLContainer<?> postgres = iniciarContainer();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static synchronized PostgreSQLContainer<?> iniciarContainer() {
+        if (container == null) {
+            // Stopped by Testcontainers' Ryuk when the JVM exits
+            container = new PostgreSQLContainer<>("postgres:17-alpine");
+            container.start();
+        }
+        return container;
+    }
+}
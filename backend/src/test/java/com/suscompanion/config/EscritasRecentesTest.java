@@ -0,0 +1,104 @@
+package com.suscompanion.config;
+
+import com.suscompanion.repository.UsuarioRepository;
+import com.suscompanion.repository.UsuarioRepository.UltimaEscrita;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EscritasRecentesTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    private EscritasRecentes escritasRecentes;
+    private final UUID usuarioId = UUID.randomUUID();
+    private final Authentication autenticacao =
+            new UsernamePasswordAuthenticationToken("test@example.com", null, List.of());
+
+    @BeforeEach
+    void setUp() {
+        escritasRecentes = new EscritasRecentes(usuarioRepository, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        LeituraRequisicao.encerrar();
+    }
+
+    @Test
+    void shouldReadFromThePrimaryRightAfterTheUsersWrite() {
+        // Given: a write from any device, seen through the database
+        when(usuarioRepository.findUltimaEscritaByEmail("test@example.com", 10_000))
+                .thenReturn(Optional.of(ultimaEscrita(7L, true)));
+
+        // When
+        LeituraRequisicao leitura = escritasRecentes.iniciarLeitura(autenticacao);
+
+        // Then
+        assertTrue(leitura.isEscritaRecente());
+        assertSame(leitura, LeituraRequisicao.atual());
+        assertEquals(7L, leitura.getVersaoDados(usuarioId));
+    }
+
+    @Test
+    void shouldReadFromReplicasOutsideTheWindow() {
+        // Given
+        when(usuarioRepository.findUltimaEscritaByEmail("test@example.com", 10_000))
+                .thenReturn(Optional.of(ultimaEscrita(7L, false)));
+
+        // When
+        LeituraRequisicao leitura = escritasRecentes.iniciarLeitura(autenticacao);
+
+        // Then
+        assertFalse(leitura.isEscritaRecente());
+        assertEquals(7L, leitura.getVersaoDados(usuarioId));
+    }
+
+    @Test
+    void shouldNotLookUpAnonymousRequests() {
+        // When
+        LeituraRequisicao semAutenticacao = escritasRecentes.iniciarLeitura(null);
+        LeituraRequisicao anonima = escritasRecentes.iniciarLeitura(new AnonymousAuthenticationToken(
+                "chave", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        // Then
+        assertFalse(semAutenticacao.isEscritaRecente());
+        assertFalse(anonima.isEscritaRecente());
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    private UltimaEscrita ultimaEscrita(long versao, boolean recente) {
+        return new UltimaEscrita() {
+            @Override
+            public UUID getUsuarioId() {
+                return usuarioId;
+            }
+
+            @Override
+            public Long getVersao() {
+                return versao;
+            }
+
+            @Override
+            public Boolean getRecente() {
+                return recente;
+            }
+        };
+    }
+}
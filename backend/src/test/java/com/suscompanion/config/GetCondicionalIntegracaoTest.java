@@ -0,0 +1,132 @@
+package com.suscompanion.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suscompanion.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GETs through the real filter chain and interceptors against a real database, so
+ * the interceptor's lookups run as in production: before the controller and outside the
+ * request's open-session-in-view.
+ */
+@ExtendWith(BancoDeTestes.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class GetCondicionalIntegracaoTest {
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registry) {
+        BancoDeTestes.registrar(registry);
+        registry.add("jwt.secret", () -> "c3VzLWNvbXBhbmlvbi1nZXQtY29uZGljaW9uYWwtdGVzdGUtMDEyMzQ1Njc4OQ==");
+        registry.add("jwt.expiration", () -> "3600000");
+        registry.add("jwt.refresh-expiration", () -> "86400000");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Test
+    void shouldAnswerNotModifiedUntilTheUserWrites() throws Exception {
+        // Given
+        String autorizacao = "Bearer " + registrar("condicional-" + UUID.randomUUID() + "@example.com");
+        String etag = mockMvc.perform(get("/medicamentos").header(HttpHeaders.AUTHORIZATION, autorizacao))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        // When / Then
+        mockMvc.perform(get("/medicamentos").header(HttpHeaders.AUTHORIZATION, autorizacao)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/medicamentos").header(HttpHeaders.AUTHORIZATION, autorizacao)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "nomeCompleto", "Dipirona", "dosagem", "500 mg", "tipo", "Comprimido"))))
+                .andExpect(status().is2xxSuccessful());
+
+        String novaEtag = mockMvc.perform(get("/medicamentos").header(HttpHeaders.AUTHORIZATION, autorizacao)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].nomeCompleto").value("Dipirona"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, novaEtag);
+    }
+
+    @Test
+    void shouldIncrementEachUsersVersionOncePerStatement() throws Exception {
+        // Given
+        String primeiroEmail = "versao-" + UUID.randomUUID() + "@example.com";
+        String segundoEmail = "versao-" + UUID.randomUUID() + "@example.com";
+        registrar(primeiroEmail);
+        registrar(segundoEmail);
+        UUID primeiro = jdbcTemplate.queryForObject("SELECT id FROM usuarios WHERE email = ?", UUID.class, primeiroEmail);
+        UUID segundo = jdbcTemplate.queryForObject("SELECT id FROM usuarios WHERE email = ?", UUID.class, segundoEmail);
+        long primeiraVersao = versao(primeiro);
+        long segundaVersao = versao(segundo);
+
+        // When: one statement writing three rows of two users
+        jdbcTemplate.update("INSERT INTO medicamentos (nome_completo, usuario_id) VALUES ('A', ?), ('B', ?), ('C', ?)",
+                primeiro, primeiro, segundo);
+
+        // Then
+        assertEquals(primeiraVersao + 1, versao(primeiro));
+        assertEquals(segundaVersao + 1, versao(segundo));
+
+        // When: derived data is bumped from the service layer
+        transactionTemplate.executeWithoutResult(status -> usuarioRepository.incrementVersoesDados(List.of(segundo, primeiro)));
+
+        // Then
+        assertEquals(primeiraVersao + 2, versao(primeiro));
+        assertEquals(segundaVersao + 2, versao(segundo));
+    }
+
+    private String registrar(String email) throws Exception {
+        String resposta = mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "nome", "Maria Condicional", "email", email, "senha", "senha-segura-123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta).get("accessToken").asText();
+    }
+
+    private long versao(UUID usuarioId) {
+        return jdbcTemplate.queryForList("SELECT versao FROM versoes_dados_usuario WHERE usuario_id = ?", Long.class, usuarioId)
+                .stream().findFirst().orElse(0L);
+    }
+}
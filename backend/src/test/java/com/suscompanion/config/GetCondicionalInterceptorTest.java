@@ -0,0 +1,180 @@
+package com.suscompanion.config;
+
+import com.suscompanion.annotations.GetCondicional;
+import com.suscompanion.model.Usuario;
+import com.suscompanion.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GetCondicionalInterceptorTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private GetCondicionalInterceptor interceptor;
+
+    private Usuario usuario;
+    private String etagAtual;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario();
+        usuario.setId(UUID.randomUUID());
+        usuario.setEmail("test@example.com");
+        etagAtual = "W/\"7-" + LocalDate.now().toEpochDay() + "\"";
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(usuario.getEmail(), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        LeituraRequisicao.encerrar();
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenETagMatches() throws Exception {
+        // Given
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.findVersaoDados(usuario.getId())).thenReturn(Optional.of(7L));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/medicamentos");
+        request.addHeader("If-None-Match", etagAtual);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean continuar = interceptor.preHandle(request, response, handler("listar"));
+
+        // Then
+        assertFalse(continuar);
+        assertEquals(304, response.getStatus());
+        assertEquals(etagAtual, response.getHeader("ETag"));
+        ArgumentCaptor<TransactionDefinition> transacao = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(transacao.capture());
+        assertTrue(transacao.getValue().isReadOnly());
+    }
+
+    @Test
+    void shouldSetETagAndContinueWhenDataChanged() throws Exception {
+        // Given
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.findVersaoDados(usuario.getId())).thenReturn(Optional.of(8L));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/medicamentos");
+        request.addHeader("If-None-Match", etagAtual);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean continuar = interceptor.preHandle(request, response, handler("listar"));
+
+        // Then
+        assertTrue(continuar);
+        assertEquals(200, response.getStatus());
+        assertEquals("W/\"8-" + LocalDate.now().toEpochDay() + "\"", response.getHeader("ETag"));
+        assertEquals("private, no-cache", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void shouldKeepTheVersionForTheRestOfTheRequest() throws Exception {
+        // Given
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.findVersaoDados(usuario.getId())).thenReturn(Optional.of(7L));
+        LeituraRequisicao leitura = LeituraRequisicao.iniciar(false);
+
+        // When
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/lembretes/hoje"), new MockHttpServletResponse(), handler("listar"));
+
+        // Then
+        assertEquals(7L, leitura.getVersaoDados(usuario.getId()));
+        assertNull(leitura.getVersaoDados(UUID.randomUUID()));
+    }
+
+    @Test
+    void shouldReuseTheVersionAlreadyReadForTheRequest() throws Exception {
+        // Given
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        LeituraRequisicao.iniciar(false).registrarVersaoDados(usuario.getId(), 7L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/medicamentos");
+        request.addHeader("If-None-Match", etagAtual);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean continuar = interceptor.preHandle(request, response, handler("listar"));
+
+        // Then
+        assertFalse(continuar);
+        assertEquals(304, response.getStatus());
+        verify(usuarioRepository, never()).findVersaoDados(any());
+    }
+
+    @Test
+    void shouldUseVersionZeroForUserWithoutWrites() throws Exception {
+        // Given
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(usuarioRepository.findVersaoDados(usuario.getId())).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        boolean continuar = interceptor.preHandle(new MockHttpServletRequest("GET", "/medicamentos"),
+                response, handler("listar"));
+
+        // Then
+        assertTrue(continuar);
+        assertEquals("W/\"0-" + LocalDate.now().toEpochDay() + "\"", response.getHeader("ETag"));
+    }
+
+    @Test
+    void shouldIgnoreWritesAndUnmarkedEndpoints() throws Exception {
+        // When
+        boolean post = interceptor.preHandle(new MockHttpServletRequest("POST", "/medicamentos"),
+                new MockHttpServletResponse(), handler("listar"));
+        boolean naoMarcado = interceptor.preHandle(new MockHttpServletRequest("GET", "/catalogo"),
+                new MockHttpServletResponse(), new HandlerMethod(new NaoCondicional(), "listar"));
+
+        // Then
+        assertTrue(post);
+        assertTrue(naoMarcado);
+        verifyNoInteractions(usuarioRepository, transactionManager);
+    }
+
+    private HandlerMethod handler(String metodo) throws NoSuchMethodException {
+        return new HandlerMethod(new Condicional(), metodo);
+    }
+
+    @GetCondicional
+    static class Condicional {
+        public String listar() {
+            return "ok";
+        }
+    }
+
+    static class NaoCondicional {
+        public String listar() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.suscompanion.config;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.springdoc.core.utils.SpringDocUtils;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InicializacaoPreguicosaConfigTest {
+
+    @Test
+    void ativa_adiaBeansDoOpenApi() {
+        try (AnnotationConfigApplicationContext contexto = contexto(true)) {
+            assertTrue(contexto.getBeanFactory().getBeanDefinition("openAPI").isLazyInit());
+            assertFalse(contexto.getBeanFactory().containsSingleton("openAPI"));
+            assertTrue(contexto.getBeanFactory().getBeanDefinition("springDoc").isLazyInit());
+
+            assertFalse(contexto.getBeanFactory().getBeanDefinition("openApiConfig").isLazyInit());
+            assertTrue(contexto.getBeanFactory().containsSingleton("openApiConfig"));
+
+            assertEquals("SUS Companion API", contexto.getBean(OpenAPI.class).getInfo().getTitle());
+        }
+    }
+
+    @Test
+    void desativada_criaTudoNaInicializacao() {
+        try (AnnotationConfigApplicationContext contexto = contexto(false)) {
+            assertFalse(contexto.getBeanFactory().getBeanDefinition("openAPI").isLazyInit());
+            assertTrue(contexto.getBeanFactory().containsSingleton("openAPI"));
+        }
+    }
+
+    @Test
+    void naoCritico_reconheceDefinicoesGeradasPeloAot() {
+        assertTrue(InicializacaoPreguicosaConfig.naoCritico(new RootBeanDefinition(OpenAPI.class)));
+        assertFalse(InicializacaoPreguicosaConfig.naoCritico(new RootBeanDefinition(EscritasRecentes.class)));
+    }
+
+    private AnnotationConfigApplicationContext contexto(boolean preguicosa) {
+        AnnotationConfigApplicationContext contexto = new AnnotationConfigApplicationContext();
+        contexto.setEnvironment(new MockEnvironment().withProperty("inicializacao.preguicosa", String.valueOf(preguicosa)));
+        contexto.register(InicializacaoPreguicosaConfig.class, OpenApiConfig.class);
+        // Stands in for a springdoc auto-configuration bean, registered by class name only
+        GenericBeanDefinition springDoc = new GenericBeanDefinition();
+        springDoc.setBeanClassName("org.springdoc.core.utils.SpringDocUtils");
+        springDoc.setInstanceSupplier(SpringDocUtils::getConfig);
+        contexto.registerBeanDefinition("springDoc", springDoc);
+        contexto.refresh();
+        return contexto;
+    }
+}
@@ -0,0 +1,83 @@
+package com.suscompanion.config;
+
+import com.suscompanion.dto.usuario.UsuarioDTO;
+import com.suscompanion.exception.ResourceNotFoundException;
+import com.suscompanion.model.Usuario;
+import com.suscompanion.repository.UsuarioRepository;
+import com.suscompanion.service.UsuarioService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MetricasServicoAspectTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private ModelMapper modelMapper;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UsuarioService usuarioService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+                new UsuarioService(usuarioRepository, modelMapper, passwordEncoder));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new MetricasServicoAspect(meterRegistry));
+        usuarioService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void shouldTimeServiceMethodByClassAndMethod() {
+        // Given
+        UUID id = UUID.randomUUID();
+        Usuario usuario = new Usuario();
+        when(usuarioRepository.findById(id)).thenReturn(Optional.of(usuario));
+        when(modelMapper.map(usuario, UsuarioDTO.class)).thenReturn(new UsuarioDTO());
+
+        // When
+        usuarioService.getById(id);
+        usuarioService.getById(id);
+
+        // Then
+        Timer timer = meterRegistry.get(MetricasServicoAspect.METRICA)
+                .tags("class", "UsuarioService", "method", "getById", "exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void shouldTagExceptionOfFailedCall() {
+        // Given
+        when(usuarioRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        // When
+        assertThrows(ResourceNotFoundException.class, () -> usuarioService.getByEmail("nobody@example.com"));
+
+        // Then
+        Timer timer = meterRegistry.get(MetricasServicoAspect.METRICA)
+                .tags("method", "getByEmail", "exception", "ResourceNotFoundException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
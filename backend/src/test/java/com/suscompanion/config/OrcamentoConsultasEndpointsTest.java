@@ -0,0 +1,212 @@
+package com.suscompanion.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Calls every endpoint against a real database with {@code consultas.orcamento.modo=falha}, so an
+ * endpoint over its {@link com.suscompanion.annotations.OrcamentoConsultas} budget, or running the
+ * same SELECT once per row (e.g. a lazy load in {@code toDTO}), fails the request. Runs on the
+ * database given by {@link BancoDeTestes}.
+ */
+@ExtendWith(BancoDeTestes.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OrcamentoConsultasEndpointsTest {
+
+    private static final int MEDICAMENTOS = 5;
+    /** Days of doses a device sends when it syncs, two a day for four reminders: close to a full batch */
+    private static final int DIAS_SINCRONIZADOS = 60;
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registry) {
+        BancoDeTestes.registrar(registry);
+        registry.add("jwt.secret", () -> "c3VzLWNvbXBhbmlvbi1vcmNhbWVudG8tY29uc3VsdGFzLXRlc3RlLTAxMjM0NTY3ODk=");
+        registry.add("jwt.expiration", () -> "3600000");
+        registry.add("jwt.refresh-expiration", () -> "86400000");
+        registry.add("consultas.orcamento.modo", () -> "falha");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @Test
+    void shouldKeepEveryEndpointWithinItsBudget() throws Exception {
+        // Auth
+        String email = "orcamento-" + UUID.randomUUID() + "@example.com";
+        JsonNode auth = chamar(post("/auth/register"), Map.of(
+                "nome", "Maria Orçamento", "email", email, "senha", "senha-segura-123"));
+        token = auth.get("accessToken").asText();
+        String usuarioId = auth.get("userId").asText();
+        JsonNode login = chamar(post("/auth/login"), Map.of("email", email, "senha", "senha-segura-123"));
+        chamar(post("/auth/refresh-token"), Map.of("refreshToken", login.get("refreshToken").asText()));
+
+        // Several rows per listing, so per-row queries show up as repeated statements
+        List<String> medicamentos = new ArrayList<>();
+        List<String> lembretes = new ArrayList<>();
+        List<String> estoques = new ArrayList<>();
+        for (int i = 1; i <= MEDICAMENTOS; i++) {
+            String medicamentoId = chamar(post("/medicamentos"), Map.of(
+                    "nomeCompleto", "Medicamento Teste " + i, "dosagem", i + "0 mg", "tipo", "Comprimido"))
+                    .get("id").asText();
+            medicamentos.add(medicamentoId);
+            estoques.add(chamar(post("/estoque"), Map.of(
+                    "medicamentoId", medicamentoId, "quantidadeAtual", 3, "quantidadeAlerta", 5)).get("id").asText());
+            lembretes.add(chamar(post("/lembretes"), Map.of(
+                    "medicamentoId", medicamentoId, "horarios", List.of("08:00", "20:00"), "quantidadeDose", 1))
+                    .get("id").asText());
+        }
+        String receitaId = chamar(post("/receitas"), Map.of(
+                "medicoNome", "Dr. João Silva", "medicoCrm", "CRM-SP 123456",
+                "dataEmissao", LocalDate.now().toString(), "dataValidade", LocalDate.now().plusMonths(6).toString(),
+                "itens", List.of(
+                        Map.of("descricao", "Medicamento Teste 1", "posologia", "1 comprimido de 12 em 12 horas"),
+                        Map.of("descricao", "Medicamento Teste 2", "posologia", "1 comprimido ao dia"),
+                        Map.of("descricao", "Medicamento Teste 3", "posologia", "Se necessário"))))
+                .get("id").asText();
+        String leituraId = null;
+        for (int i = 0; i < 3; i++) {
+            leituraId = chamar(post("/saude"), Map.of(
+                    "tipo", "PRESSAO", "valorSistolica", 120 + i, "valorDiastolica", 80, "pulsacao", 70,
+                    "dataRegistro", LocalDateTime.now().minusHours(i + 1).withNano(0).toString()))
+                    .get("id").asText();
+        }
+        // An offline device syncing weeks of doses, then resending them all; the last
+        // medication only gets a single dose, deleted with it at the end
+        List<Map<String, Object>> doses = new ArrayList<>();
+        for (int dia = 1; dia <= DIAS_SINCRONIZADOS; dia++) {
+            for (String lembreteId : lembretes.subList(0, MEDICAMENTOS - 1)) {
+                for (int hora : new int[] {8, 20}) {
+                    doses.add(Map.of("lembreteId", lembreteId, "status", dia % 7 == 0 ? "PULADA" : "TOMADA",
+                            "horarioPrevisto", LocalDate.now().minusDays(dia).atTime(hora, 0).toString()));
+                }
+            }
+        }
+        JsonNode lote = chamar(post("/doses/lote"), Map.of("registros", doses));
+        assertEquals(doses.size(), lote.get("registrados").asInt());
+        lote = chamar(post("/doses/lote"), Map.of("registros", doses));
+        assertEquals(doses.size(), lote.get("duplicados").asInt());
+        // Every seventh day skipped: 6, 29 and 60 days in the windows, two doses a day
+        JsonNode adesao = chamar(get("/doses/adesao/" + medicamentos.get(1)), null);
+        assertEquals(12, adesao.get("doses7d").asInt());
+        assertEquals(100.0, adesao.get("percentual7d").asDouble());
+        assertEquals(58, adesao.get("doses30d").asInt());
+        assertEquals(86.2, adesao.get("percentual30d").asDouble());
+        assertEquals(120, adesao.get("doses90d").asInt());
+        assertEquals(86.7, adesao.get("percentual90d").asDouble());
+        assertEquals(0, chamar(get("/estoque/" + estoques.get(1)), null).get("quantidadeAtual").asInt());
+        chamar(post("/doses"), Map.of("lembreteId", lembretes.get(3), "status", "PULADA",
+                "horarioPrevisto", LocalDateTime.now().minusHours(2).withNano(0).toString()));
+        chamar(post("/doses"), Map.of("lembreteId", lembretes.get(4), "status", "TOMADA",
+                "horarioPrevisto", LocalDateTime.now().minusHours(2).withNano(0).toString()));
+
+        // Reads
+        chamar(get("/catalogo").param("prefixo", "dip"), null);
+        chamar(get("/dashboard"), null);
+        chamar(get("/estoque"), null);
+        long versaoEstoque = chamar(get("/estoque/" + estoques.get(0)), null).get("versao").asLong();
+        chamar(get("/estoque/baixo"), null);
+        chamar(get("/estoque/previsao"), null);
+        chamar(get("/lembretes"), null);
+        chamar(get("/lembretes/" + lembretes.get(0)), null);
+        chamar(get("/lembretes/hoje"), null);
+        chamar(get("/lembretes/ativos"), null);
+        chamar(get("/medicamentos"), null);
+        chamar(get("/medicamentos/" + medicamentos.get(0)), null);
+        chamar(get("/medicamentos/search").param("nome", "teste"), null);
+        chamar(get("/medicamentos/autocomplete").param("prefixo", "med"), null);
+        chamar(get("/saude"), null);
+        chamar(get("/saude/" + leituraId), null);
+        chamar(get("/saude/tipo/PRESSAO"), null);
+        chamar(get("/saude/ultimos-registros"), null);
+        chamar(get("/saude/periodo")
+                .param("inicio", LocalDateTime.now().minusDays(1).withNano(0).toString())
+                .param("fim", LocalDateTime.now().withNano(0).toString()), null);
+        chamar(get("/receitas"), null);
+        chamar(get("/receitas/" + receitaId), null);
+        chamar(get("/receitas/ativas"), null);
+        chamar(get("/receitas/search").param("medicoNome", "joão"), null);
+        chamar(get("/receitas/search/crm").param("medicoCrm", "CRM-SP 123456"), null);
+        chamar(get("/receitas/busca").param("q", "silva"), null);
+        chamar(get("/receitas/medicos"), null);
+        chamar(get("/doses"), null);
+        chamar(get("/doses/adesao"), null);
+        chamar(get("/doses/adesao/" + medicamentos.get(0)), null);
+        chamar(get("/usuarios/me"), null);
+        chamar(get("/usuarios/" + usuarioId), null);
+
+        // Updates and deletes
+        chamar(put("/medicamentos/" + medicamentos.get(0)), Map.of(
+                "nomeCompleto", "Medicamento Teste 1 Atualizado", "dosagem", "10 mg", "tipo", "Comprimido"));
+        chamar(put("/estoque/" + estoques.get(0)), Map.of(
+                "medicamentoId", medicamentos.get(0), "quantidadeAtual", 30, "quantidadeAlerta", 5,
+                "versao", versaoEstoque));
+        chamar(put("/lembretes/" + lembretes.get(0)), Map.of(
+                "medicamentoId", medicamentos.get(0), "horarios", List.of("09:00"), "quantidadeDose", 1));
+        chamar(put("/saude/" + leituraId), Map.of(
+                "tipo", "GLICEMIA", "valorGlicemia", 98, "jejum", true,
+                "dataRegistro", LocalDateTime.now().minusHours(3).withNano(0).toString()));
+        chamar(put("/receitas/" + receitaId), Map.of(
+                "medicoNome", "Dr. João Silva", "dataEmissao", LocalDate.now().toString(),
+                "itens", List.of(Map.of("descricao", "Medicamento Teste 1", "posologia", "1 comprimido ao dia"))));
+        chamar(put("/usuarios/" + usuarioId), Map.of(
+                "nome", "Maria Orçamento Silva", "email", email, "senha", "senha-segura-123"));
+        chamar(delete("/saude/" + leituraId), null);
+        chamar(delete("/receitas/" + receitaId), null);
+        chamar(delete("/lembretes/" + lembretes.get(4)), null);
+        chamar(delete("/estoque/" + estoques.get(4)), null);
+        chamar(delete("/medicamentos/" + medicamentos.get(4)), null);
+        chamar(post("/auth/logout/" + usuarioId), null);
+    }
+
+    /**
+     * Perform an authenticated request, failing if it is not successful or exceeds its statement budget.
+     * @return the response body as JSON, or null if empty
+     */
+    private JsonNode chamar(MockHttpServletRequestBuilder requisicao, Object corpo) throws Exception {
+        if (token != null) {
+            requisicao.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        if (corpo != null) {
+            requisicao.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(corpo));
+        }
+
+        MvcResult resultado = mockMvc.perform(requisicao).andReturn();
+        String descricao = resultado.getRequest().getMethod() + " " + resultado.getRequest().getRequestURI();
+        int status = resultado.getResponse().getStatus();
+        assertTrue(status >= 200 && status < 300,
+                descricao + " respondeu " + status + ": " + resultado.getResponse().getContentAsString());
+        assertNotNull(resultado.getResponse().getHeader(OrcamentoConsultasFilter.CABECALHO),
+                descricao + " sem " + OrcamentoConsultasFilter.CABECALHO);
+
+        String conteudo = resultado.getResponse().getContentAsString();
+        return conteudo.isEmpty() ? null : objectMapper.readTree(conteudo);
+    }
+}
@@ -0,0 +1,143 @@
+package com.suscompanion.config;
+
+import com.suscompanion.annotations.OrcamentoConsultas;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class OrcamentoConsultasFilterTest {
+
+    private final OrcamentoConsultasConfig.ContadorConsultasListener listener =
+            new OrcamentoConsultasConfig.ContadorConsultasListener();
+
+    @Test
+    void shouldCountStatementsRowsAndSendHeader() throws Exception {
+        // Given
+        OrcamentoConsultasFilter filter = new OrcamentoConsultasFilter(true, 10, 3);
+        MockHttpServletRequest request = requisicao("listar");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> {
+            executar("SELECT * FROM medicamentos WHERE usuario_id = 'a'");
+            lerLinha(true);
+            lerLinha(true);
+            lerLinha(false);
+            assertEquals(2, ConsultasRequisicao.atual().getLinhas());
+            executar("SELECT versao FROM versoes_dados WHERE usuario_id = 'a'");
+            res.getWriter().write("[]");
+            executar("SELECT 1");
+        });
+
+        // Then
+        assertEquals("2", response.getHeader(OrcamentoConsultasFilter.CABECALHO));
+        assertNull(ConsultasRequisicao.atual());
+    }
+
+    @Test
+    void shouldFailWhenEndpointExceedsItsBudget() {
+        // Given
+        OrcamentoConsultasFilter filter = new OrcamentoConsultasFilter(true, 10, 3);
+        MockHttpServletRequest request = requisicao("buscar");
+
+        // When / Then
+        IllegalStateException erro = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                    executar("SELECT * FROM medicamentos");
+                    executar("SELECT * FROM lembretes_medicacao");
+                    executar("SELECT * FROM receitas");
+                }));
+        assertTrue(erro.getMessage().contains("3 comandos SQL, orçamento de 2"));
+    }
+
+    @Test
+    void shouldFailWhenSameSelectRepeatsPerRow() {
+        // Given
+        OrcamentoConsultasFilter filter = new OrcamentoConsultasFilter(true, 10, 3);
+        MockHttpServletRequest request = requisicao("listar");
+
+        // When / Then
+        IllegalStateException erro = assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                    for (int i = 1; i <= 4; i++) {
+                        executar("select m.nome from medicamentos m where m.id = " + i);
+                    }
+                }));
+        assertTrue(erro.getMessage().contains("mesma consulta executada 4 vezes: select m.nome from medicamentos m where m.id = ?"));
+    }
+
+    @Test
+    void shouldOnlyWarnOutsideTestsAndCountBatchAsOneStatement() throws Exception {
+        // Given
+        OrcamentoConsultasFilter filter = new OrcamentoConsultasFilter(false, 1, 3);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("POST", "/doses/lote"), response, (req, res) -> {
+            ExecutionInfo lote = new ExecutionInfo();
+            lote.setBatch(true);
+            listener.afterQuery(lote, List.of(new QueryInfo("INSERT INTO registros_dose VALUES (?, ?)")));
+            executar("SELECT 1");
+        });
+
+        // Then
+        assertEquals("2", response.getHeader(OrcamentoConsultasFilter.CABECALHO));
+    }
+
+    @Test
+    void shouldPreferMethodBudgetOverControllerBudgetOverDefault() throws Exception {
+        OrcamentoConsultasFilter filter = new OrcamentoConsultasFilter(true, 10, 3);
+
+        assertEquals(5, filter.orcamento(new HandlerMethod(new Controlador(), "listar")));
+        assertEquals(2, filter.orcamento(new HandlerMethod(new Controlador(), "buscar")));
+        assertEquals(10, filter.orcamento(null));
+    }
+
+    @Test
+    void shouldNormalizeLiteralsAndInLists() {
+        assertEquals("select * from receitas where crm = ? and id in (?) limit ?",
+                ConsultasRequisicao.formato("select *  from receitas\n where crm = 'CRM''1' and id in (1, 2,3) limit 20"));
+    }
+
+    private MockHttpServletRequest requisicao(String metodo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/medicamentos");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new Controlador(), ReflectionUtils.findMethod(Controlador.class, metodo)));
+        return request;
+    }
+
+    private void executar(String sql) {
+        listener.afterQuery(new ExecutionInfo(), List.of(new QueryInfo(sql)));
+    }
+
+    private void lerLinha(boolean existe) {
+        MethodExecutionContext contexto = new MethodExecutionContext();
+        contexto.setTarget(mock(ResultSet.class));
+        contexto.setMethod(ReflectionUtils.findMethod(ResultSet.class, "next"));
+        contexto.setResult(existe);
+        listener.afterMethod(contexto);
+    }
+
+    @OrcamentoConsultas(5)
+    static class Controlador {
+
+        public void listar() {
+        }
+
+        @OrcamentoConsultas(2)
+        public void buscar() {
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.suscompanion.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoteadorDataSourceTest {
+
+    @Mock
+    private DataSource primario;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private Connection conexaoPrimario;
+
+    @Mock
+    private Connection conexaoReplica1;
+
+    @Mock
+    private Connection conexaoReplica2;
+
+    private final Map<DataSource, Object> atrasos = new HashMap<>();
+    private ReplicaRoteadorDataSource roteador;
+
+    @BeforeEach
+    void setUp() {
+        atrasos.put(replica1, 0.0);
+        atrasos.put(replica2, 0.0);
+        roteador = new ReplicaRoteadorDataSource(primario,
+                List.of(new ReplicaRoteadorDataSource.Replica("replica1", replica1),
+                        new ReplicaRoteadorDataSource.Replica("replica2", replica2)),
+                Duration.ofSeconds(5)) {
+            @Override
+            double medirAtraso(DataSource dataSource) {
+                Object atraso = atrasos.get(dataSource);
+                if (atraso instanceof RuntimeException erro) {
+                    throw erro;
+                }
+                return (Double) atraso;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        LeituraRequisicao.encerrar();
+    }
+
+    @Test
+    void shouldAlternateBetweenHealthyReplicas() throws SQLException {
+        // Given
+        when(replica1.getConnection()).thenReturn(conexaoReplica1);
+        when(replica2.getConnection()).thenReturn(conexaoReplica2);
+        roteador.afterPropertiesSet();
+
+        // When
+        List<Connection> conexoes = List.of(roteador.getConnection(), roteador.getConnection(), roteador.getConnection());
+
+        // Then
+        assertEquals(List.of(conexaoReplica1, conexaoReplica2, conexaoReplica1), conexoes);
+        verifyNoInteractions(primario);
+    }
+
+    @Test
+    void shouldSkipLaggingAndUnreachableReplicas() throws SQLException {
+        // Given
+        atrasos.put(replica1, 30.0);
+        atrasos.put(replica2, new DataAccessResourceFailureException("connection refused"));
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        roteador.afterPropertiesSet();
+
+        // When
+        Connection conexao = roteador.getConnection();
+
+        // Then
+        assertSame(conexaoPrimario, conexao);
+        verify(replica1, never()).getConnection();
+        verify(replica2, never()).getConnection();
+    }
+
+    @Test
+    void shouldFallBackToNextReplicaWhenConnectionFails() throws SQLException {
+        // Given
+        when(replica1.getConnection()).thenThrow(new SQLException("timeout"));
+        when(replica2.getConnection()).thenReturn(conexaoReplica2);
+        roteador.afterPropertiesSet();
+
+        // When
+        Connection primeira = roteador.getConnection();
+        Connection segunda = roteador.getConnection();
+
+        // Then
+        assertSame(conexaoReplica2, primeira);
+        assertSame(conexaoReplica2, segunda);
+        verify(replica1, times(1)).getConnection(); // Marked unhealthy until the next check
+    }
+
+    @Test
+    void shouldReadFromPrimaryAfterClientWrite() throws SQLException {
+        // Given
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        roteador.afterPropertiesSet();
+        LeituraRequisicao.iniciar(true);
+
+        // When
+        Connection conexao = roteador.getConnection();
+
+        // Then
+        assertSame(conexaoPrimario, conexao);
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    void shouldKeepEveryReadOfARequestOnItsFirstReplica() throws SQLException {
+        // Given
+        when(replica1.getConnection()).thenReturn(conexaoReplica1);
+        roteador.afterPropertiesSet();
+        LeituraRequisicao.iniciar(false);
+
+        // When
+        List<Connection> conexoes = List.of(roteador.getConnection(), roteador.getConnection(), roteador.getConnection());
+
+        // Then
+        assertEquals(List.of(conexaoReplica1, conexaoReplica1, conexaoReplica1), conexoes);
+        verifyNoInteractions(replica2, primario);
+    }
+
+    @Test
+    void shouldMoveRequestToPrimaryWhenItsReplicaFallsBehind() throws SQLException {
+        // Given
+        when(replica1.getConnection()).thenReturn(conexaoReplica1);
+        when(primario.getConnection()).thenReturn(conexaoPrimario);
+        roteador.afterPropertiesSet();
+        LeituraRequisicao.iniciar(false);
+        Connection primeira = roteador.getConnection();
+
+        // When
+        atrasos.put(replica1, 30.0);
+        roteador.verificarReplicas();
+        Connection segunda = roteador.getConnection();
+        atrasos.put(replica1, 0.0);
+        roteador.verificarReplicas();
+        Connection terceira = roteador.getConnection();
+
+        // Then
+        assertSame(conexaoReplica1, primeira);
+        assertSame(conexaoPrimario, segunda);
+        assertSame(conexaoPrimario, terceira); // Never back to a replica that may be behind the primary
+        verifyNoInteractions(replica2);
+    }
+}
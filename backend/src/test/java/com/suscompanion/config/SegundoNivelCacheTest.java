@@ -0,0 +1,58 @@
+package com.suscompanion.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.suscompanion.model.Medicamento;
+import com.suscompanion.model.Usuario;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.NaturalIdCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that every second-level cache region used by the entities is declared and bounded
+ * in application.conf, since Hibernate is configured to fail on missing regions.
+ */
+public class SegundoNivelCacheTest {
+
+    private CachingProvider provider;
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        cacheManager = provider.getCacheManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    void shouldDeclareBoundedRegionsWithStatistics() {
+        List<String> regioes = List.of(
+                Usuario.class.getAnnotation(Cache.class).region(),
+                Usuario.class.getAnnotation(NaturalIdCache.class).region(),
+                Medicamento.class.getAnnotation(Cache.class).region());
+
+        for (String regiao : regioes) {
+            javax.cache.Cache<Object, Object> cache = cacheManager.getCache(regiao);
+            assertNotNull(cache, "Região não declarada: " + regiao);
+
+            @SuppressWarnings("unchecked")
+            CaffeineConfiguration<Object, Object> configuracao = cache.getConfiguration(CaffeineConfiguration.class);
+            assertTrue(configuracao.getMaximumSize().isPresent(), "Região sem limite: " + regiao);
+            assertTrue(configuracao.getExpireAfterWrite().isPresent(), "Região sem expiração: " + regiao);
+            assertTrue(configuracao.isStatisticsEnabled(), "Região sem estatísticas: " + regiao);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.suscompanion.repository;
+
+import com.suscompanion.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import org.hibernate.Session;
+import org.hibernate.SimpleNaturalIdLoadAccess;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * The fragment is called with no transaction or EntityManager bound to the thread (as from the
+ * JWT filter), through Spring's shared EntityManager over a mocked factory: without its own
+ * transaction, unwrapping the Session throws "No transactional EntityManager available".
+ */
+@SpringJUnitConfig(UsuarioNaturalIdRepositoryImplTest.Configuracao.class)
+class UsuarioNaturalIdRepositoryImplTest {
+
+    @Autowired
+    private UsuarioNaturalIdRepository repositorio;
+
+    @Autowired
+    private EntityTransaction transacao;
+
+    @Autowired
+    private Usuario usuario;
+
+    @Test
+    void shouldFindByEmailOutsideAnyTransaction() {
+        Optional<Usuario> encontrado = repositorio.findByEmail("maria@example.com");
+
+        assertTrue(encontrado.isPresent());
+        assertEquals(usuario, encontrado.get());
+        verify(transacao).begin();
+        verify(transacao).commit();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Configuracao {
+
+        @Bean
+        Usuario usuario() {
+            Usuario usuario = new Usuario();
+            usuario.setEmail("maria@example.com");
+            return usuario;
+        }
+
+        @Bean
+        EntityTransaction transacao() {
+            return mock(EntityTransaction.class);
+        }
+
+        @Bean
+        @SuppressWarnings("unchecked")
+        EntityManagerFactory entityManagerFactory(Usuario usuario, EntityTransaction transacao) {
+            SimpleNaturalIdLoadAccess<Usuario> porEmail = mock(SimpleNaturalIdLoadAccess.class);
+            when(porEmail.loadOptional("maria@example.com")).thenReturn(Optional.of(usuario));
+            Session session = mock(Session.class);
+            when(session.bySimpleNaturalId(Usuario.class)).thenReturn(porEmail);
+            EntityManager entityManager = mock(EntityManager.class);
+            when(entityManager.unwrap(Session.class)).thenReturn(session);
+            when(entityManager.getTransaction()).thenReturn(transacao);
+            when(entityManager.isOpen()).thenReturn(true);
+            EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+            when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+            return entityManagerFactory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        UsuarioNaturalIdRepositoryImpl usuarioNaturalIdRepository() {
+            return new UsuarioNaturalIdRepositoryImpl();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.suscompanion.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suscompanion.config.BancoDeTestes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Authentication through the real filter chain and repositories, against a real database:
+ * nothing here is mocked, so lookups that only work inside a request's transaction fail.
+ */
+@ExtendWith(BancoDeTestes.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AutenticacaoBearerTest {
+
+    private static final String SENHA = "senha-segura-123";
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registry) {
+        BancoDeTestes.registrar(registry);
+        registry.add("jwt.secret", () -> "c3VzLWNvbXBhbmlvbi1hdXRlbnRpY2FjYW8tYmVhcmVyLXRlc3RlLTAxMjM0NTY3ODk=");
+        registry.add("jwt.expiration", () -> "3600000");
+        registry.add("jwt.refresh-expiration", () -> "86400000");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void shouldAuthenticateBearerRequests() throws Exception {
+        String email = novoEmail();
+        String token = registrar(email);
+
+        mockMvc.perform(get("/usuarios/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(email));
+    }
+
+    @Test
+    void shouldRejectPasswordChangedThroughAnotherInstance() throws Exception {
+        String email = novoEmail();
+        String token = registrar(email);
+        // Loads the user into this instance's second-level cache
+        mockMvc.perform(get("/usuarios/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Written straight to the database, as another instance would, so this instance's cache is not evicted
+        jdbcTemplate.update("UPDATE usuarios SET senha = ? WHERE email = ?", passwordEncoder.encode("nova-senha-456"), email);
+
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "senha", SENHA))))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("email", email, "senha", "nova-senha-456"))))
+                .andExpect(status().isOk());
+    }
+
+    private String registrar(String email) throws Exception {
+        String resposta = mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("nome", "Maria Autenticação", "email", email, "senha", SENHA))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode auth = objectMapper.readTree(resposta);
+        return auth.get("accessToken").asText();
+    }
+
+    private static String novoEmail() {
+        return "autenticacao-" + UUID.randomUUID() + "@example.com";
+    }
+}
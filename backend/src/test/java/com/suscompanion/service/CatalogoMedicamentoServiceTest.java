@@ -0,0 +1,190 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.catalogo.CatalogoMedicamentoDTO;
+import com.suscompanion.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogoMedicamentoServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CatalogoMedicamentoService catalogoMedicamentoService;
+
+    private CatalogoMedicamentoDTO dipirona;
+    private CatalogoMedicamentoDTO losartana;
+
+    @BeforeEach
+    void setUp() {
+        dipirona = entrada("DIPIRONA SÓDICA", "Novalgina");
+        losartana = entrada("LOSARTANA POTÁSSICA", "Losartana Potássica");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSearchReloadedIndexByProductAndIngredient() {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(dipirona, losartana));
+        
+        // When
+        catalogoMedicamentoService.recarregarIndice();
+        
+        // Then
+        assertEquals(List.of(dipirona), catalogoMedicamentoService.buscar("nova", 10));
+        assertEquals(List.of(dipirona), catalogoMedicamentoService.buscar("sodica", 10));
+        assertEquals(List.of(losartana), catalogoMedicamentoService.buscar("Losar", 10));
+        assertEquals(dipirona, catalogoMedicamentoService.getById(dipirona.getId()));
+    }
+
+    @Test
+    void shouldCheckEntriesAgainstTheTableNotTheIndex() {
+        // Given: imported on another instance, so not in this instance's index
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(losartana.getId()))).thenReturn(true);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(dipirona.getId()))).thenReturn(false);
+
+        // When & Then
+        assertTrue(catalogoMedicamentoService.existe(losartana.getId()));
+        assertFalse(catalogoMedicamentoService.existe(dipirona.getId()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSwapIndexOnReload() {
+        // Given
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
+                .thenReturn(List.of(dipirona))
+                .thenReturn(List.of(losartana));
+        catalogoMedicamentoService.recarregarIndice();
+        
+        // When
+        catalogoMedicamentoService.recarregarIndice();
+        
+        // Then
+        assertTrue(catalogoMedicamentoService.buscar("dip", 10).isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> catalogoMedicamentoService.getById(dipirona.getId()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReloadIndexWhenCatalogChangedElsewhere() {
+        // Given: loaded at startup, then imported on another instance
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class)))
+                .thenReturn("1:2026-01-05 03:00:00")
+                .thenReturn("2:2026-01-12 03:00:00");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
+                .thenReturn(List.of(dipirona))
+                .thenReturn(List.of(dipirona, losartana));
+        catalogoMedicamentoService.recarregarIndice();
+
+        // When
+        catalogoMedicamentoService.verificarCatalogo();
+
+        // Then
+        assertEquals(losartana, catalogoMedicamentoService.getById(losartana.getId()));
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepIndexWhenCatalogIsUnchanged() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class))).thenReturn("1:2026-01-05 03:00:00");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(dipirona));
+        catalogoMedicamentoService.recarregarIndice();
+
+        // When
+        catalogoMedicamentoService.verificarCatalogo();
+
+        // Then
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class));
+    }
+
+    @Test
+    void shouldRejectSearchLimitOutOfRange() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> catalogoMedicamentoService.buscar("dip", 51));
+    }
+
+    @Test
+    void shouldReadPriceListSkippingPreambleAndIncompleteRows() throws IOException {
+        // Given
+        String csv = """
+                LISTA DE PREÇOS DE MEDICAMENTOS;;;
+                ﻿SUBSTÂNCIA;LABORATÓRIO;CÓDIGO GGREM;PRODUTO;APRESENTAÇÃO;PF Sem Impostos
+                DIPIRONA SÓDICA;SANOFI;"5000";NOVALGINA;"500 MG COM; CT ""BL"" X 10";1.234,56
+                DIPIRONA SÓDICA;SANOFI;;SEM CODIGO;X;-
+                LOSARTANA;EMS;5001;LOSARTANA;50 MG;-
+                """;
+        CatalogoCsvReader reader = new CatalogoCsvReader(new BufferedReader(new StringReader(csv)));
+        
+        // When
+        String[] primeiro = reader.proximo();
+        String[] segundo = reader.proximo();
+        String[] fim = reader.proximo();
+        
+        // Then
+        assertEquals("5000", primeiro[CatalogoCsvReader.CODIGO_GGREM]);
+        assertEquals("NOVALGINA", primeiro[CatalogoCsvReader.PRODUTO]);
+        assertEquals("500 MG COM; CT \"BL\" X 10", primeiro[5]);
+        assertEquals("1234.56", primeiro[CatalogoCsvReader.PRECO_FABRICA]);
+        assertNull(primeiro[1]);
+        assertEquals("5001", segundo[CatalogoCsvReader.CODIGO_GGREM]);
+        assertNull(segundo[CatalogoCsvReader.PRECO_FABRICA]);
+        assertNull(fim);
+    }
+
+    @Test
+    void shouldRejectFileWithoutHeader() {
+        // Given
+        CatalogoCsvReader reader = new CatalogoCsvReader(new BufferedReader(new StringReader("a;b;c\n1;2;3\n")));
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, reader::proximo);
+    }
+
+    @Test
+    void shouldWriteCopyCsvWithNullsUnquoted() {
+        // Given
+        StringBuilder lote = new StringBuilder();
+        
+        // When
+        CatalogoMedicamentoService.escreverLinha(lote, new String[]{"5000", null, "A \"B\""});
+        
+        // Then
+        assertEquals("\"5000\",,\"A \"\"B\"\"\"\n", lote.toString());
+    }
+
+    private CatalogoMedicamentoDTO entrada(String principioAtivo, String produto) {
+        CatalogoMedicamentoDTO entrada = new CatalogoMedicamentoDTO();
+        entrada.setId(UUID.randomUUID());
+        entrada.setPrincipioAtivo(principioAtivo);
+        entrada.setProduto(produto);
+        entrada.setPrecoFabrica(BigDecimal.TEN);
+        return entrada;
+    }
+}
@@ -0,0 +1,150 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.dashboard.DashboardDTO;
+import com.suscompanion.dto.estoque.EstoquePessoalDTO;
+import com.suscompanion.dto.lembrete.LembreteMedicacaoDTO;
+import com.suscompanion.dto.receita.ReceitaDTO;
+import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DashboardServiceTest {
+
+    @Mock
+    private LembreteMedicacaoService lembreteMedicacaoService;
+
+    @Mock
+    private EstoquePessoalService estoquePessoalService;
+
+    @Mock
+    private ReceitaService receitaService;
+
+    @Mock
+    private MonitoramentoSaudeService monitoramentoSaudeService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DashboardService dashboardService;
+    private UUID usuarioId;
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = new DashboardService(lembreteMedicacaoService, estoquePessoalService, receitaService,
+                monitoramentoSaudeService, transactionManager, Duration.ofMillis(300), 4, new MockEnvironment());
+        usuarioId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dashboardService.encerrar();
+    }
+
+    @Test
+    void shouldReadEveryPartInItsOwnReadOnlyTransaction() {
+        // Given
+        stubPartes();
+
+        // When
+        DashboardDTO dashboard = dashboardService.getDashboard(usuarioId, 5);
+
+        // Then
+        assertEquals(1, dashboard.getLembretesHoje().size());
+        assertEquals(1, dashboard.getEstoqueBaixo().size());
+        assertEquals(1, dashboard.getReceitasAtivas().size());
+        assertEquals(1, dashboard.getUltimosRegistros().size());
+        assertTrue(dashboard.getPartesIndisponiveis().isEmpty());
+        verify(transactionManager, times(4)).getTransaction(argThat(definicao ->
+                definicao.isReadOnly() && definicao.getTimeout() == 1));
+    }
+
+    @Test
+    void shouldReturnPartialResultWhenAPartIsSlow() {
+        // Given
+        stubPartes();
+        when(receitaService.getReceitasAtivas(usuarioId)).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of(new ReceitaDTO());
+        });
+
+        // When
+        long inicio = System.nanoTime();
+        DashboardDTO dashboard = dashboardService.getDashboard(usuarioId, 5);
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        // Then
+        assertTrue(duracaoMs < 3000, "O dashboard não deveria esperar pela parte lenta");
+        assertNull(dashboard.getReceitasAtivas());
+        assertEquals(List.of("receitasAtivas"), dashboard.getPartesIndisponiveis());
+        assertEquals(1, dashboard.getLembretesHoje().size());
+        assertEquals(1, dashboard.getUltimosRegistros().size());
+    }
+
+    @Test
+    void shouldCancelAPartThatTimesOut() throws Exception {
+        // Given
+        stubPartes();
+        CountDownLatch interrompida = new CountDownLatch(1);
+        when(receitaService.getReceitasAtivas(usuarioId)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrompida.countDown();
+                throw e;
+            }
+            return List.of(new ReceitaDTO());
+        });
+
+        // When
+        DashboardDTO dashboard = dashboardService.getDashboard(usuarioId, 5);
+
+        // Then
+        assertEquals(List.of("receitasAtivas"), dashboard.getPartesIndisponiveis());
+        assertTrue(interrompida.await(2, TimeUnit.SECONDS), "A parte lenta deveria ser cancelada");
+    }
+
+    @Test
+    void shouldReturnPartialResultWhenAPartFails() {
+        // Given
+        stubPartes();
+        when(estoquePessoalService.getEstoqueBaixo(usuarioId)).thenThrow(new IllegalStateException("falha"));
+
+        // When
+        DashboardDTO dashboard = dashboardService.getDashboard(usuarioId, 5);
+
+        // Then
+        assertNull(dashboard.getEstoqueBaixo());
+        assertEquals(List.of("estoqueBaixo"), dashboard.getPartesIndisponiveis());
+        assertNotNull(dashboard.getReceitasAtivas());
+    }
+
+    @Test
+    void shouldRejectInvalidNumberOfRecords() {
+        assertThrows(IllegalArgumentException.class, () -> dashboardService.getDashboard(usuarioId, 0));
+        verifyNoInteractions(lembreteMedicacaoService, estoquePessoalService, receitaService, monitoramentoSaudeService);
+    }
+
+    private void stubPartes() {
+        lenient().when(lembreteMedicacaoService.getLembretesHoje(usuarioId)).thenReturn(List.of(new LembreteMedicacaoDTO()));
+        lenient().when(estoquePessoalService.getEstoqueBaixo(usuarioId)).thenReturn(List.of(new EstoquePessoalDTO()));
+        lenient().when(receitaService.getReceitasAtivas(usuarioId)).thenReturn(List.of(new ReceitaDTO()));
+        lenient().when(monitoramentoSaudeService.getUltimosRegistros(usuarioId, 5)).thenReturn(List.of(new MonitoramentoSaudeDTO()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.suscompanion.service;
+
+import com.suscompanion.event.EstoqueBaixoEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Publishes the event inside real transactions, over a mocked connection, to check the alert
+ * follows the commit.
+ */
+@SpringJUnitConfig(EstoqueBaixoListenerTest.Configuracao.class)
+class EstoqueBaixoListenerTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldAlertOnlyWhenTheChangeCommits() {
+        // Given
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        EstoqueBaixoEvent evento = new EstoqueBaixoEvent(UUID.randomUUID(), UUID.randomUUID(), 4, 5);
+
+        // When
+        transacao.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(evento);
+            assertEquals(0.0, alertas()); // Not before the commit
+        });
+        transacao.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(evento);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertEquals(1.0, alertas());
+    }
+
+    private double alertas() {
+        return meterRegistry.get("estoque.baixo.alertas").counter().count();
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @Import(EstoqueBaixoListener.class)
+    static class Configuracao {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() throws SQLException {
+            DataSource dataSource = mock(DataSource.class);
+            when(dataSource.getConnection()).thenReturn(mock(Connection.class));
+            return new DataSourceTransactionManager(dataSource);
+        }
+    }
+}
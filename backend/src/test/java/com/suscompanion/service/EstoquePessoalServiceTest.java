@@ -2,25 +2,31 @@ package com.suscompanion.service;
 
 import com.suscompanion.dto.estoque.EstoquePessoalDTO;
 import com.suscompanion.dto.estoque.EstoquePessoalRequest;
+import com.suscompanion.event.EstoqueBaixoEvent;
 import com.suscompanion.exception.ResourceNotFoundException;
 import com.suscompanion.model.EstoquePessoal;
 import com.suscompanion.model.Medicamento;
 import com.suscompanion.model.Usuario;
+import com.suscompanion.repository.EstoqueBaixa;
 import com.suscompanion.repository.EstoquePessoalRepository;
 import com.suscompanion.repository.MedicamentoRepository;
 import com.suscompanion.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -46,6 +52,9 @@ class EstoquePessoalServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private EstoquePessoalService estoquePessoalService;
 
@@ -87,6 +96,7 @@ class EstoquePessoalServiceTest {
         estoque.setMedicamento(medicamento);
         estoque.setQuantidadeAtual(20);
         estoque.setQuantidadeAlerta(5);
+        estoque.setVersao(3L);
         estoque.setCriadoEm(LocalDateTime.now());
         estoque.setAtualizadoEm(LocalDateTime.now());
         
@@ -189,10 +199,8 @@ class EstoquePessoalServiceTest {
     @Test
     void shouldCreateInventoryItem() {
         // Given
-        when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
         when(medicamentoRepository.findByIdAndUsuarioId(medicamentoId, usuarioId)).thenReturn(Optional.of(medicamento));
-        when(estoquePessoalRepository.findByUsuarioAndMedicamento(usuario, medicamento)).thenReturn(Optional.empty());
-        when(estoquePessoalRepository.save(any(EstoquePessoal.class))).thenReturn(estoque);
+        when(estoquePessoalRepository.upsertAdicionando(usuarioId, medicamentoId, 20, 5)).thenReturn(estoque);
         when(modelMapper.map(estoque, EstoquePessoalDTO.class)).thenReturn(estoqueDTO);
         
         // When
@@ -202,39 +210,29 @@ class EstoquePessoalServiceTest {
         assertNotNull(result);
         assertEquals(estoqueDTO, result);
         
-        verify(usuarioRepository).findById(usuarioId);
         verify(medicamentoRepository).findByIdAndUsuarioId(medicamentoId, usuarioId);
-        verify(estoquePessoalRepository).findByUsuarioAndMedicamento(usuario, medicamento);
-        verify(estoquePessoalRepository).save(any(EstoquePessoal.class));
+        verify(estoquePessoalRepository).upsertAdicionando(usuarioId, medicamentoId, 20, 5);
+        verify(estoquePessoalRepository, never()).save(any(EstoquePessoal.class));
         verify(modelMapper).map(estoque, EstoquePessoalDTO.class);
     }
 
     @Test
-    void shouldUpdateExistingInventoryItemWhenCreatingWithSameMedicamento() {
+    void shouldThrowExceptionWhenCreatingWithUnknownMedicamento() {
         // Given
-        when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
-        when(medicamentoRepository.findByIdAndUsuarioId(medicamentoId, usuarioId)).thenReturn(Optional.of(medicamento));
-        when(estoquePessoalRepository.findByUsuarioAndMedicamento(usuario, medicamento)).thenReturn(Optional.of(estoque));
-        when(estoquePessoalRepository.save(estoque)).thenReturn(estoque);
-        when(modelMapper.map(estoque, EstoquePessoalDTO.class)).thenReturn(estoqueDTO);
-        
-        // When
-        EstoquePessoalDTO result = estoquePessoalService.create(usuarioId, estoqueRequest);
+        when(medicamentoRepository.findByIdAndUsuarioId(medicamentoId, usuarioId)).thenReturn(Optional.empty());
         
-        // Then
-        assertNotNull(result);
-        assertEquals(estoqueDTO, result);
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> {
+            estoquePessoalService.create(usuarioId, estoqueRequest);
+        });
         
-        verify(usuarioRepository).findById(usuarioId);
-        verify(medicamentoRepository).findByIdAndUsuarioId(medicamentoId, usuarioId);
-        verify(estoquePessoalRepository).findByUsuarioAndMedicamento(usuario, medicamento);
-        verify(estoquePessoalRepository).save(estoque);
-        verify(modelMapper).map(estoque, EstoquePessoalDTO.class);
+        verify(estoquePessoalRepository, never()).upsertAdicionando(any(), any(), anyInt(), any());
     }
 
     @Test
     void shouldUpdateInventoryItem() {
         // Given
+        estoqueRequest.setVersao(3L);
         when(estoquePessoalRepository.findById(estoqueId)).thenReturn(Optional.of(estoque));
         when(estoquePessoalRepository.save(estoque)).thenReturn(estoque);
         when(modelMapper.map(estoque, EstoquePessoalDTO.class)).thenReturn(estoqueDTO);
@@ -262,6 +260,7 @@ class EstoquePessoalServiceTest {
         requestWithNewMedicamento.setMedicamentoId(newMedicamentoId);
         requestWithNewMedicamento.setQuantidadeAtual(15);
         requestWithNewMedicamento.setQuantidadeAlerta(3);
+        requestWithNewMedicamento.setVersao(3L);
         
         when(estoquePessoalRepository.findById(estoqueId)).thenReturn(Optional.of(estoque));
         when(medicamentoRepository.findByIdAndUsuarioId(newMedicamentoId, usuarioId)).thenReturn(Optional.of(newMedicamento));
@@ -281,6 +280,31 @@ class EstoquePessoalServiceTest {
         verify(modelMapper).map(estoque, EstoquePessoalDTO.class);
     }
 
+    @Test
+    void shouldRejectUpdateToMedicamentoAlreadyInStock() {
+        // Given
+        UUID newMedicamentoId = UUID.randomUUID();
+        Medicamento newMedicamento = new Medicamento();
+        newMedicamento.setId(newMedicamentoId);
+        
+        EstoquePessoalRequest requestWithNewMedicamento = new EstoquePessoalRequest();
+        requestWithNewMedicamento.setMedicamentoId(newMedicamentoId);
+        requestWithNewMedicamento.setQuantidadeAtual(15);
+        requestWithNewMedicamento.setQuantidadeAlerta(3);
+        requestWithNewMedicamento.setVersao(3L);
+        
+        when(estoquePessoalRepository.findById(estoqueId)).thenReturn(Optional.of(estoque));
+        when(medicamentoRepository.findByIdAndUsuarioId(newMedicamentoId, usuarioId)).thenReturn(Optional.of(newMedicamento));
+        when(estoquePessoalRepository.existsByUsuarioIdAndMedicamentoId(usuarioId, newMedicamentoId)).thenReturn(true);
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> {
+            estoquePessoalService.update(estoqueId, usuarioId, requestWithNewMedicamento);
+        });
+        
+        verify(estoquePessoalRepository, never()).save(any(EstoquePessoal.class));
+    }
+
     @Test
     void shouldDeleteInventoryItem() {
         // Given
@@ -313,4 +337,137 @@ class EstoquePessoalServiceTest {
         verify(estoquePessoalRepository).findEstoqueBaixo(usuarioId);
         verify(modelMapper).map(estoque, EstoquePessoalDTO.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRejectUpdateWithStaleVersion() {
+        // Given
+        estoqueRequest.setVersao(2L);
+        when(estoquePessoalRepository.findById(estoqueId)).thenReturn(Optional.of(estoque));
+
+        // When & Then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+            estoquePessoalService.update(estoqueId, usuarioId, estoqueRequest);
+        });
+
+        verify(estoquePessoalRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRejectUpdateWithoutVersion() {
+        // Given
+        when(estoquePessoalRepository.findById(estoqueId)).thenReturn(Optional.of(estoque));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> {
+            estoquePessoalService.update(estoqueId, usuarioId, estoqueRequest);
+        });
+
+        verify(estoquePessoalRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldPublishLowStockEventWhenUpdateCrossesThreshold() {
+        // Given
+        estoqueRequest.setVersao(3L);
+        estoqueRequest.setQuantidadeAtual(4);
+        when(estoquePessoalRepository.findById(estoqueId)).thenReturn(Optional.of(estoque));
+        when(estoquePessoalRepository.save(estoque)).thenReturn(estoque);
+        when(modelMapper.map(estoque, EstoquePessoalDTO.class)).thenReturn(estoqueDTO);
+
+        // When
+        estoquePessoalService.update(estoqueId, usuarioId, estoqueRequest);
+
+        // Then
+        verify(eventPublisher).publishEvent(any(EstoqueBaixoEvent.class));
+    }
+
+    @Test
+    void shouldDecrementStockByRoundedUpDose() {
+        // Given
+        when(estoquePessoalRepository.decrementQuantidade(usuarioId, medicamentoId, 2))
+                .thenReturn(Optional.of(baixa(18, 5)));
+
+        // When
+        Optional<Integer> result = estoquePessoalService.baixarDose(usuarioId, medicamentoId, new BigDecimal("1.5"));
+
+        // Then
+        assertEquals(Optional.of(18), result);
+        verify(estoquePessoalRepository).decrementQuantidade(usuarioId, medicamentoId, 2);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldPublishLowStockEventOnlyWhenDecrementCrossesThreshold() {
+        // Given
+        when(estoquePessoalRepository.decrementQuantidade(usuarioId, medicamentoId, 1))
+                .thenReturn(Optional.of(baixa(5, 5)))
+                .thenReturn(Optional.of(baixa(4, 5)));
+
+        // When
+        estoquePessoalService.baixarDose(usuarioId, medicamentoId, BigDecimal.ONE);
+        estoquePessoalService.baixarDose(usuarioId, medicamentoId, BigDecimal.ONE);
+
+        // Then
+        ArgumentCaptor<EstoqueBaixoEvent> captor = ArgumentCaptor.forClass(EstoqueBaixoEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(5, captor.getValue().getQuantidadeAtual());
+        assertEquals(medicamentoId, captor.getValue().getMedicamentoId());
+    }
+
+    @Test
+    void shouldNotDecrementWhenStockIsInsufficient() {
+        // Given
+        when(estoquePessoalRepository.decrementQuantidade(usuarioId, medicamentoId, 1)).thenReturn(Optional.empty());
+
+        // When
+        Optional<Integer> result = estoquePessoalService.baixarDose(usuarioId, medicamentoId, BigDecimal.ONE);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldDecrementSeveralDosesAndPublishWhenTheBatchCrossesThreshold() {
+        // Given
+        when(estoquePessoalRepository.decrementDoses(usuarioId, medicamentoId, 2, 4))
+                .thenReturn(Optional.of(baixa(10, 2, 5)));
+
+        // When
+        Optional<Integer> result = estoquePessoalService.baixarDoses(usuarioId, medicamentoId, new BigDecimal("1.5"), 4);
+
+        // Then
+        assertEquals(Optional.of(2), result);
+        ArgumentCaptor<EstoqueBaixoEvent> captor = ArgumentCaptor.forClass(EstoqueBaixoEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(2, captor.getValue().getQuantidadeAtual());
+    }
+
+    private EstoqueBaixa baixa(int quantidadeAtual, int quantidadeAlerta) {
+        return baixa(null, quantidadeAtual, quantidadeAlerta);
+    }
+
+    private EstoqueBaixa baixa(Integer quantidadeAnterior, int quantidadeAtual, int quantidadeAlerta) {
+        return new EstoqueBaixa() {
+            @Override
+            public UUID getId() {
+                return estoqueId;
+            }
+
+            @Override
+            public Integer getQuantidadeAtual() {
+                return quantidadeAtual;
+            }
+
+            @Override
+            public Integer getQuantidadeAlerta() {
+                return quantidadeAlerta;
+            }
+
+            @Override
+            public Integer getQuantidadeAnterior() {
+                return quantidadeAnterior;
+            }
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
+import com.suscompanion.model.MonitoramentoSaude.TipoMonitoramento;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GravadorLeiturasSaudeTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private GravadorLeiturasSaude gravador;
+
+    @AfterEach
+    void tearDown() {
+        if (gravador != null) {
+            gravador.stop();
+        }
+    }
+
+    @Test
+    void shouldWriteFullBatchInOneStatement() throws Exception {
+        // Given: a long interval, so only a full batch triggers the write
+        gravador = iniciar(3, 60_000, 100);
+
+        // When
+        List<CompletableFuture<MonitoramentoSaudeDTO>> confirmacoes = List.of(
+                gravador.gravar(leitura()), gravador.gravar(leitura()), gravador.gravar(leitura()));
+        CompletableFuture.allOf(confirmacoes.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Then
+        verify(jdbcTemplate).update(argThat((String sql) -> sql.split("\\(\\?").length - 1 == 3),
+                argThat((Object[] valores) -> valores.length == 33), any(int[].class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldWritePendingReadingsOnStop() {
+        // Given
+        gravador = iniciar(100, 60_000, 100);
+        CompletableFuture<MonitoramentoSaudeDTO> primeira = gravador.gravar(leitura());
+        CompletableFuture<MonitoramentoSaudeDTO> segunda = gravador.gravar(leitura());
+
+        // When
+        gravador.stop();
+
+        // Then
+        assertTrue(primeira.isDone() && !primeira.isCompletedExceptionally());
+        assertTrue(segunda.isDone() && !segunda.isCompletedExceptionally());
+        assertThrows(RejectedExecutionException.class, () -> gravador.gravar(leitura()));
+    }
+
+    @Test
+    void shouldRetryFailedBatchOneReadingAtATime() {
+        // Given: the batch fails because of one reading
+        MonitoramentoSaudeDTO invalida = leitura();
+        when(jdbcTemplate.update(anyString(), any(Object[].class), any(int[].class))).thenAnswer(invocation -> {
+            Object[] valores = invocation.getArgument(1);
+            if (Arrays.asList(valores).contains(invalida.getId())) {
+                throw new DataIntegrityViolationException("fk");
+            }
+            return valores.length / 11;
+        });
+        gravador = iniciar(100, 60_000, 100);
+        CompletableFuture<MonitoramentoSaudeDTO> valida = gravador.gravar(leitura());
+        CompletableFuture<MonitoramentoSaudeDTO> rejeitada = gravador.gravar(invalida);
+
+        // When
+        gravador.stop();
+
+        // Then
+        assertNotNull(valida.join());
+        CompletionException erro = assertThrows(CompletionException.class, rejeitada::join);
+        assertInstanceOf(DataIntegrityViolationException.class, erro.getCause());
+        verify(jdbcTemplate, times(3)).update(anyString(), any(Object[].class), any(int[].class));
+    }
+
+    @Test
+    void shouldRejectWhenBufferIsFull() {
+        // Given
+        gravador = iniciar(100, 60_000, 1);
+        gravador.gravar(leitura());
+
+        // When & Then
+        assertThrows(RejectedExecutionException.class, () -> gravador.gravar(leitura()));
+    }
+
+    private GravadorLeiturasSaude iniciar(int tamanhoLote, long intervaloMs, int capacidade) {
+        GravadorLeiturasSaude novo = new GravadorLeiturasSaude(jdbcTemplate, transactionManager,
+                true, tamanhoLote, intervaloMs, capacidade);
+        novo.start();
+        return novo;
+    }
+
+    private static MonitoramentoSaudeDTO leitura() {
+        MonitoramentoSaudeDTO leitura = new MonitoramentoSaudeDTO();
+        leitura.setId(UUID.randomUUID());
+        leitura.setUsuarioId(UUID.randomUUID());
+        leitura.setTipo(TipoMonitoramento.GLICEMIA);
+        leitura.setValorGlicemia(new BigDecimal("98.5"));
+        leitura.setDataRegistro(LocalDateTime.now());
+        leitura.setCriadoEm(LocalDateTime.now());
+        return leitura;
+    }
+}
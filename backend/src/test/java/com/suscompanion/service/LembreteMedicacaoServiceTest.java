@@ -14,19 +14,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,6 +53,12 @@ class LembreteMedicacaoServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private LembretesHojeCache lembretesHojeCache = new LembretesHojeCache(100);
+
     @InjectMocks
     private LembreteMedicacaoService lembreteMedicacaoService;
 
@@ -127,7 +137,7 @@ class LembreteMedicacaoServiceTest {
         Page<LembreteMedicacao> lembretePage = new PageImpl<>(lembretes, pageable, lembretes.size());
         
         when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
-        when(lembreteMedicacaoRepository.findByUsuario(usuario, pageable)).thenReturn(lembretePage);
+        when(lembreteMedicacaoRepository.findWithMedicamentoByUsuarioId(usuarioId, pageable)).thenReturn(lembretePage);
         when(modelMapper.map(lembrete, LembreteMedicacaoDTO.class)).thenReturn(lembreteDTO);
         
         // When
@@ -139,7 +149,7 @@ class LembreteMedicacaoServiceTest {
         assertEquals(lembreteDTO, result.getContent().get(0));
         
         verify(usuarioRepository).findById(usuarioId);
-        verify(lembreteMedicacaoRepository).findByUsuario(usuario, pageable);
+        verify(lembreteMedicacaoRepository).findWithMedicamentoByUsuarioId(usuarioId, pageable);
         verify(modelMapper).map(lembrete, LembreteMedicacaoDTO.class);
     }
 
@@ -250,12 +260,91 @@ class LembreteMedicacaoServiceTest {
         verify(modelMapper).map(lembrete, LembreteMedicacaoDTO.class);
     }
 
+    @Test
+    void shouldLoadMedicationsOfTodaysRemindersInOneQuery() {
+        // Given
+        LembreteMedicacao outroLembrete = new LembreteMedicacao();
+        outroLembrete.setId(UUID.randomUUID());
+        outroLembrete.setUsuario(usuario);
+        outroLembrete.setMedicamento(medicamento);
+        List<LembreteMedicacao> lembretes = Arrays.asList(lembrete, outroLembrete);
+        
+        when(lembreteMedicacaoRepository.findLembretesHoje(eq(usuarioId), anyInt())).thenReturn(lembretes);
+        when(modelMapper.map(any(LembreteMedicacao.class), eq(LembreteMedicacaoDTO.class))).thenReturn(lembreteDTO);
+        
+        // When
+        List<LembreteMedicacaoDTO> result = lembreteMedicacaoService.getLembretesHoje(usuarioId);
+        
+        // Then
+        assertEquals(2, result.size());
+        verify(medicamentoRepository, times(1)).findAllById(Set.of(medicamentoId));
+        verify(medicamentoRepository, never()).findByIdAndUsuarioId(any(), any());
+    }
+
+    @Test
+    void shouldServeTodaysRemindersFromCacheUntilAReminderChanges() {
+        // Given
+        when(lembreteMedicacaoRepository.findLembretesHoje(eq(usuarioId), anyInt())).thenReturn(List.of(lembrete));
+        when(lembreteMedicacaoRepository.findByIdAndUsuarioId(lembreteId, usuarioId)).thenReturn(Optional.of(lembrete));
+        when(modelMapper.map(lembrete, LembreteMedicacaoDTO.class)).thenReturn(lembreteDTO);
+
+        // When
+        lembreteMedicacaoService.getLembretesHoje(usuarioId);
+        List<LembreteMedicacaoDTO> emCache = lembreteMedicacaoService.getLembretesHoje(usuarioId);
+        lembreteMedicacaoService.delete(lembreteId, usuarioId);
+        lembreteMedicacaoService.getLembretesHoje(usuarioId);
+
+        // Then
+        assertEquals(List.of(lembreteDTO), emCache);
+        verify(lembreteMedicacaoRepository, times(2)).findLembretesHoje(eq(usuarioId), anyInt());
+        verify(lembretesHojeCache).invalidar(usuarioId);
+    }
+
+    @Test
+    void shouldReloadTodaysRemindersWhenDataChangedThroughAnotherInstance() {
+        // Given
+        when(lembreteMedicacaoRepository.findLembretesHoje(eq(usuarioId), anyInt())).thenReturn(List.of(lembrete));
+        when(modelMapper.map(lembrete, LembreteMedicacaoDTO.class)).thenReturn(lembreteDTO);
+        when(usuarioRepository.findVersaoDados(usuarioId)).thenReturn(Optional.of(4L));
+
+        // When
+        lembreteMedicacaoService.getLembretesHoje(usuarioId);
+        lembreteMedicacaoService.getLembretesHoje(usuarioId);
+        when(usuarioRepository.findVersaoDados(usuarioId)).thenReturn(Optional.of(5L)); // No local invalidation
+        lembreteMedicacaoService.getLembretesHoje(usuarioId);
+        lembreteMedicacaoService.getLembretesHoje(usuarioId);
+
+        // Then
+        verify(lembreteMedicacaoRepository, times(2)).findLembretesHoje(eq(usuarioId), anyInt());
+        verify(transactionManager, times(2)).getTransaction(any()); // Hits open no transaction
+    }
+
+    @Test
+    void shouldWarmTomorrowsRemindersForUsersWhoAskedToday() {
+        // Given
+        LocalDate amanha = LocalDate.now().plusDays(1);
+        int diaSemanaAmanha = amanha.getDayOfWeek().getValue() % 7;
+        when(lembreteMedicacaoRepository.findLembretesHoje(eq(usuarioId), anyInt())).thenReturn(List.of(lembrete));
+        when(modelMapper.map(lembrete, LembreteMedicacaoDTO.class)).thenReturn(lembreteDTO);
+        lembreteMedicacaoService.getLembretesHoje(usuarioId);
+
+        // When
+        lembreteMedicacaoService.aquecerLembretesDeAmanha();
+
+        // Then
+        verify(lembreteMedicacaoRepository).findLembretesHoje(usuarioId, diaSemanaAmanha);
+        List<LembreteMedicacaoDTO> aquecidos = lembretesHojeCache.obter(usuarioId, amanha, 0,
+                () -> fail("A lista de amanhã deveria estar em cache"));
+        assertEquals(1, aquecidos.size());
+        assertTrue(aquecidos.get(0).isParaHoje());
+    }
+
     @Test
     void shouldGetActiveReminders() {
         // Given
         List<LembreteMedicacao> lembretes = Arrays.asList(lembrete);
         
-        when(lembreteMedicacaoRepository.findByUsuarioIdAndAtivoTrue(usuarioId)).thenReturn(lembretes);
+        when(lembreteMedicacaoRepository.findWithMedicamentoByUsuarioIdAndAtivoTrue(usuarioId)).thenReturn(lembretes);
         when(modelMapper.map(lembrete, LembreteMedicacaoDTO.class)).thenReturn(lembreteDTO);
         
         // When
@@ -266,7 +355,7 @@ class LembreteMedicacaoServiceTest {
         assertEquals(1, result.size());
         assertEquals(lembreteDTO, result.get(0));
         
-        verify(lembreteMedicacaoRepository).findByUsuarioIdAndAtivoTrue(usuarioId);
+        verify(lembreteMedicacaoRepository).findWithMedicamentoByUsuarioIdAndAtivoTrue(usuarioId);
         verify(modelMapper).map(lembrete, LembreteMedicacaoDTO.class);
     }
 }
\ No newline at end of file
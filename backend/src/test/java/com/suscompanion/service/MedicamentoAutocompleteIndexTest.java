@@ -0,0 +1,133 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.medicamento.MedicamentoAutocompleteDTO;
+import com.suscompanion.model.Medicamento;
+import com.suscompanion.repository.MedicamentoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MedicamentoAutocompleteIndexTest {
+
+    @Mock
+    private MedicamentoRepository medicamentoRepository;
+
+    private MedicamentoAutocompleteIndex autocompleteIndex;
+    private UUID usuarioId;
+    private Medicamento dipirona;
+    private Medicamento losartana;
+
+    @BeforeEach
+    void setUp() {
+        autocompleteIndex = new MedicamentoAutocompleteIndex(medicamentoRepository, 2);
+        usuarioId = UUID.randomUUID();
+        dipirona = medicamento("Dipirona Sódica 500mg", "Dipirona");
+        losartana = medicamento("Losartana Potássica", null);
+    }
+
+    @Test
+    void shouldMatchNamePrefixIgnoringCaseAndAccents() {
+        // Given
+        when(medicamentoRepository.findByUsuarioId(usuarioId)).thenReturn(List.of(dipirona, losartana));
+        
+        // When
+        List<MedicamentoAutocompleteDTO> porNome = autocompleteIndex.buscar(usuarioId, "DIP", 10);
+        List<MedicamentoAutocompleteDTO> porPalavra = autocompleteIndex.buscar(usuarioId, "sodica", 10);
+        List<MedicamentoAutocompleteDTO> acentuado = autocompleteIndex.buscar(usuarioId, "potá", 10);
+        
+        // Then
+        assertEquals(List.of(dipirona.getId()), ids(porNome));
+        assertEquals(List.of(dipirona.getId()), ids(porPalavra));
+        assertEquals(List.of(losartana.getId()), ids(acentuado));
+        verify(medicamentoRepository, times(1)).findByUsuarioId(usuarioId);
+    }
+
+    @Test
+    void shouldReturnEachMedicationOnceAndRespectLimit() {
+        // Given
+        Medicamento dipironaGotas = medicamento("Dipirona Gotas", "Dipirona");
+        when(medicamentoRepository.findByUsuarioId(usuarioId)).thenReturn(List.of(dipirona, dipironaGotas, losartana));
+        
+        // When
+        List<MedicamentoAutocompleteDTO> todos = autocompleteIndex.buscar(usuarioId, "dipirona", 10);
+        List<MedicamentoAutocompleteDTO> limitado = autocompleteIndex.buscar(usuarioId, "dipirona", 1);
+        
+        // Then
+        assertEquals(2, todos.size());
+        assertEquals(1, limitado.size());
+    }
+
+    @Test
+    void shouldReturnNothingForBlankPrefix() {
+        // When
+        List<MedicamentoAutocompleteDTO> result = autocompleteIndex.buscar(usuarioId, "  ", 10);
+        
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(medicamentoRepository);
+    }
+
+    @Test
+    void shouldApplyWritesToCachedIndexWithoutReloading() {
+        // Given
+        when(medicamentoRepository.findByUsuarioId(usuarioId)).thenReturn(new ArrayList<>(List.of(dipirona)));
+        autocompleteIndex.buscar(usuarioId, "dip", 10);
+        
+        // When
+        autocompleteIndex.salvar(usuarioId, losartana);
+        dipirona.setNomeCompleto("Paracetamol 750mg");
+        dipirona.setNomeSimplificado(null);
+        autocompleteIndex.salvar(usuarioId, dipirona);
+        
+        // Then
+        assertEquals(List.of(losartana.getId()), ids(autocompleteIndex.buscar(usuarioId, "los", 10)));
+        assertTrue(autocompleteIndex.buscar(usuarioId, "dip", 10).isEmpty());
+        assertEquals(List.of(dipirona.getId()), ids(autocompleteIndex.buscar(usuarioId, "para", 10)));
+        
+        autocompleteIndex.remover(usuarioId, losartana.getId());
+        assertTrue(autocompleteIndex.buscar(usuarioId, "los", 10).isEmpty());
+        verify(medicamentoRepository, times(1)).findByUsuarioId(usuarioId);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedUser() {
+        // Given
+        UUID segundoUsuario = UUID.randomUUID();
+        UUID terceiroUsuario = UUID.randomUUID();
+        when(medicamentoRepository.findByUsuarioId(any())).thenReturn(List.of(dipirona));
+        
+        // When
+        autocompleteIndex.buscar(usuarioId, "dip", 10);
+        autocompleteIndex.buscar(segundoUsuario, "dip", 10);
+        autocompleteIndex.buscar(usuarioId, "dip", 10);
+        autocompleteIndex.buscar(terceiroUsuario, "dip", 10);
+        autocompleteIndex.buscar(usuarioId, "dip", 10);
+        autocompleteIndex.buscar(segundoUsuario, "dip", 10);
+        
+        // Then
+        verify(medicamentoRepository, times(1)).findByUsuarioId(usuarioId);
+        verify(medicamentoRepository, times(2)).findByUsuarioId(segundoUsuario);
+    }
+
+    private Medicamento medicamento(String nomeCompleto, String nomeSimplificado) {
+        Medicamento medicamento = new Medicamento();
+        medicamento.setId(UUID.randomUUID());
+        medicamento.setNomeCompleto(nomeCompleto);
+        medicamento.setNomeSimplificado(nomeSimplificado);
+        return medicamento;
+    }
+
+    private List<UUID> ids(List<MedicamentoAutocompleteDTO> sugestoes) {
+        return sugestoes.stream().map(MedicamentoAutocompleteDTO::getId).toList();
+    }
+}
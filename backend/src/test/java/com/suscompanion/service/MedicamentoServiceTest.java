@@ -18,6 +18,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -38,6 +39,15 @@ class MedicamentoServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private MedicamentoAutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private CatalogoMedicamentoService catalogoMedicamentoService;
+
+    @Mock
+    private LembretesHojeCache lembretesHojeCache;
+
     @Mock
     private ModelMapper modelMapper;
 
@@ -165,6 +175,7 @@ class MedicamentoServiceTest {
         
         verify(usuarioRepository).findById(usuarioId);
         verify(medicamentoRepository).save(any(Medicamento.class));
+        verify(autocompleteIndex).salvar(usuarioId, medicamento);
         verify(modelMapper).map(medicamento, MedicamentoDTO.class);
     }
 
@@ -184,6 +195,8 @@ class MedicamentoServiceTest {
         
         verify(medicamentoRepository).findByIdAndUsuarioId(medicamentoId, usuarioId);
         verify(medicamentoRepository).save(medicamento);
+        verify(autocompleteIndex).salvar(usuarioId, medicamento);
+        verify(lembretesHojeCache).invalidar(usuarioId);
         verify(modelMapper).map(medicamento, MedicamentoDTO.class);
     }
 
@@ -198,6 +211,8 @@ class MedicamentoServiceTest {
         // Then
         verify(medicamentoRepository).findByIdAndUsuarioId(medicamentoId, usuarioId);
         verify(medicamentoRepository).delete(medicamento);
+        verify(autocompleteIndex).remover(usuarioId, medicamentoId);
+        verify(lembretesHojeCache).invalidar(usuarioId);
     }
 
     @Test
@@ -221,4 +236,46 @@ class MedicamentoServiceTest {
         verify(medicamentoRepository).searchByNome(searchTerm, usuarioId, pageable);
         verify(modelMapper).map(medicamento, MedicamentoDTO.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSearchWithoutClientSortAndTrimmedTerm() {
+        // Given
+        Pageable ordenado = PageRequest.of(1, 10, Sort.by("nomeCompleto"));
+        Page<Medicamento> vazia = new PageImpl<>(List.of(), PageRequest.of(1, 10), 0);
+        
+        when(medicamentoRepository.searchByNome("dipirona", usuarioId, PageRequest.of(1, 10))).thenReturn(vazia);
+        
+        // When
+        Page<MedicamentoDTO> result = medicamentoService.searchByNome("  dipirona ", usuarioId, ordenado);
+        
+        // Then
+        assertEquals(0, result.getTotalElements());
+        verify(medicamentoRepository).searchByNome("dipirona", usuarioId, PageRequest.of(1, 10));
+    }
+
+    @Test
+    void shouldRejectAutocompleteLimitOutOfRange() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> {
+            medicamentoService.autocompletar(usuarioId, "dip", 0);
+        });
+        
+        verify(autocompleteIndex, never()).buscar(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldRejectUnknownCatalogReference() {
+        // Given
+        UUID catalogoId = UUID.randomUUID();
+        medicamentoRequest.setCatalogoId(catalogoId);
+        when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
+        when(catalogoMedicamentoService.existe(catalogoId)).thenReturn(false);
+        
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> {
+            medicamentoService.create(usuarioId, medicamentoRequest);
+        });
+        
+        verify(medicamentoRepository, never()).save(any(Medicamento.class));
+    }
+}
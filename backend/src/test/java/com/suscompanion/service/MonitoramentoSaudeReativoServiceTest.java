@@ -0,0 +1,92 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.saude.MonitoramentoSaudeRequest;
+import com.suscompanion.exception.ResourceNotFoundException;
+import com.suscompanion.model.MonitoramentoSaude.TipoMonitoramento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonitoramentoSaudeReativoServiceTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private DatabaseClient.GenericExecuteSpec spec;
+
+    @Mock
+    private FetchSpec<Map<String, Object>> fetchSpec;
+
+    private MonitoramentoSaudeReativoService service;
+    private UUID usuarioId;
+
+    @BeforeEach
+    void setUp() {
+        service = new MonitoramentoSaudeReativoService(databaseClient);
+        usuarioId = UUID.randomUUID();
+    }
+
+    @Test
+    void createShouldSignalValidationErrorWithoutQuerying() {
+        // Given
+        MonitoramentoSaudeRequest request = new MonitoramentoSaudeRequest();
+        request.setTipo(TipoMonitoramento.PRESSAO);
+        request.setValorSistolica(120);
+
+        // When
+        Mono<?> resultado = service.create(usuarioId, request);
+
+        // Then
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, resultado::block);
+        assertTrue(erro.getMessage().contains("sistólica e diastólica"));
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    void deleteShouldSignalNotFoundWhenNoRowIsDeleted() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(databaseClient.sql(anyString())).thenReturn(spec);
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.fetch()).thenReturn(fetchSpec);
+        when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(0L));
+
+        // When / Then
+        assertThrows(ResourceNotFoundException.class, () -> service.delete(id, usuarioId).block());
+        verify(spec).bind("usuarioId", usuarioId);
+    }
+
+    @Test
+    void getPageShouldRejectUnsupportedSortWithoutQuerying() {
+        // Given
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by("observacoes"));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getPage(usuarioId, null, null, null, pageable).block());
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    void ordenacaoShouldMapPropertiesToColumns() {
+        assertEquals(" ORDER BY data_registro DESC, id", MonitoramentoSaudeReativoService.ordenacao(Sort.unsorted()));
+        assertEquals(" ORDER BY tipo ASC, criado_em DESC, id", MonitoramentoSaudeReativoService.ordenacao(
+                Sort.by(Sort.Order.asc("tipo"), Sort.Order.desc("criadoEm"))));
+    }
+}
@@ -2,6 +2,7 @@ package com.suscompanion.service;
 
 import com.suscompanion.dto.saude.MonitoramentoSaudeDTO;
 import com.suscompanion.dto.saude.MonitoramentoSaudeRequest;
+import com.suscompanion.exception.LeituraNaoConfirmadaException;
 import com.suscompanion.exception.ResourceNotFoundException;
 import com.suscompanion.model.MonitoramentoSaude;
 import com.suscompanion.model.MonitoramentoSaude.TipoMonitoramento;
@@ -15,17 +16,22 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -44,6 +50,12 @@ class MonitoramentoSaudeServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private GravadorLeiturasSaude gravadorLeiturasSaude;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private MonitoramentoSaudeService monitoramentoSaudeService;
 
@@ -210,6 +222,8 @@ class MonitoramentoSaudeServiceTest {
         verify(usuarioRepository).findById(usuarioId);
         verify(monitoramentoSaudeRepository).save(any(MonitoramentoSaude.class));
         verify(modelMapper).map(monitoramentoPressao, MonitoramentoSaudeDTO.class);
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
     }
 
     @Test
@@ -231,6 +245,59 @@ class MonitoramentoSaudeServiceTest {
         verify(modelMapper).map(monitoramentoGlicemia, MonitoramentoSaudeDTO.class);
     }
 
+    @Test
+    void shouldQueueReadingWhenWriteBehindIsEnabled() {
+        // Given
+        when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
+        when(gravadorLeiturasSaude.isHabilitado()).thenReturn(true);
+        when(gravadorLeiturasSaude.gravar(any(MonitoramentoSaudeDTO.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+        requestPressao.setValorGlicemia(new BigDecimal("99.0"));
+
+        // When
+        MonitoramentoSaudeDTO result = monitoramentoSaudeService.create(usuarioId, requestPressao);
+
+        // Then
+        assertNotNull(result.getId());
+        assertNotNull(result.getCriadoEm());
+        assertEquals(usuarioId, result.getUsuarioId());
+        assertEquals(TipoMonitoramento.PRESSAO, result.getTipo());
+        assertEquals(requestPressao.getValorSistolica(), result.getValorSistolica());
+        assertNull(result.getValorGlicemia()); // Only the fields of the reading's type are kept
+        verify(monitoramentoSaudeRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldRethrowBatchFailureOfQueuedReading() {
+        // Given
+        when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
+        when(gravadorLeiturasSaude.isHabilitado()).thenReturn(true);
+        when(gravadorLeiturasSaude.gravar(any(MonitoramentoSaudeDTO.class)))
+                .thenReturn(CompletableFuture.failedFuture(new DataIntegrityViolationException("fk")));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> monitoramentoSaudeService.create(usuarioId, requestPressao));
+    }
+
+    @Test
+    void shouldGiveUpWaitingForABatchThatDoesNotCommit() {
+        // Given
+        ReflectionTestUtils.setField(monitoramentoSaudeService, "esperaMaxima", Duration.ofMillis(50));
+        when(usuarioRepository.findById(usuarioId)).thenReturn(Optional.of(usuario));
+        when(gravadorLeiturasSaude.isHabilitado()).thenReturn(true);
+        when(gravadorLeiturasSaude.gravar(any(MonitoramentoSaudeDTO.class))).thenReturn(new CompletableFuture<>());
+
+        // When
+        LeituraNaoConfirmadaException erro = assertThrows(LeituraNaoConfirmadaException.class,
+                () -> monitoramentoSaudeService.create(usuarioId, requestPressao));
+
+        // Then
+        assertNotNull(erro.getLeitura().getId());
+        assertEquals(usuarioId, erro.getLeitura().getUsuarioId());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
     @Test
     void shouldThrowExceptionWhenCreatingInvalidBloodPressureMonitoring() {
         // Given
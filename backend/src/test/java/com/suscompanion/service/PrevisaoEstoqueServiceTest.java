@@ -0,0 +1,208 @@
+package com.suscompanion.service;
+
+import com.suscompanion.dto.estoque.PrevisaoEstoqueDTO;
+import com.suscompanion.dto.medicamento.MedicamentoDTO;
+import com.suscompanion.model.EstoquePessoal;
+import com.suscompanion.model.LembreteMedicacao;
+import com.suscompanion.model.Medicamento;
+import com.suscompanion.model.PrevisaoEstoque;
+import com.suscompanion.model.Usuario;
+import com.suscompanion.repository.EstoquePessoalRepository;
+import com.suscompanion.repository.LembreteMedicacaoRepository;
+import com.suscompanion.repository.PrevisaoEstoqueRepository;
+import com.suscompanion.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrevisaoEstoqueServiceTest {
+
+    @Mock
+    private PrevisaoEstoqueRepository previsaoEstoqueRepository;
+
+    @Mock
+    private EstoquePessoalRepository estoquePessoalRepository;
+
+    @Mock
+    private LembreteMedicacaoRepository lembreteMedicacaoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ModelMapper modelMapper;
+
+    @InjectMocks
+    private PrevisaoEstoqueService previsaoEstoqueService;
+
+    private Usuario usuario;
+    private Medicamento medicamento;
+    private UUID usuarioId;
+
+    // 2024-01-01 is a Monday
+    private final LocalDate segunda = LocalDate.of(2024, 1, 1);
+
+    @BeforeEach
+    void setUp() {
+        usuarioId = UUID.randomUUID();
+
+        usuario = new Usuario();
+        usuario.setId(usuarioId);
+
+        medicamento = new Medicamento();
+        medicamento.setId(UUID.randomUUID());
+        medicamento.setUsuario(usuario);
+    }
+
+    @Test
+    void shouldProjectRunOutForDailySchedule() {
+        // Two doses a day, 10 units: lasts Monday to Friday, runs out on Saturday
+        List<LembreteMedicacao> lembretes = List.of(lembrete(BigDecimal.ONE, null, LocalTime.of(8, 0), LocalTime.of(20, 0)));
+
+        assertEquals(segunda.plusDays(5), PrevisaoEstoqueService.calcularDataFim(10, lembretes, segunda));
+        assertEquals(new BigDecimal("2.000"), PrevisaoEstoqueService.calcularConsumoDiario(lembretes));
+    }
+
+    @Test
+    void shouldRespectWeekdaysWhenProjectingRunOut() {
+        // One dose on Monday, Wednesday and Friday, 4 units: the 5th dose is next Wednesday
+        List<LembreteMedicacao> lembretes = List.of(lembrete(BigDecimal.ONE, Arrays.asList(1, 3, 5), LocalTime.of(8, 0)));
+
+        assertEquals(segunda.plusWeeks(1).plusDays(2), PrevisaoEstoqueService.calcularDataFim(4, lembretes, segunda));
+    }
+
+    @Test
+    void shouldSkipWholeWeeksForLargeStock() {
+        // One dose a day, 1000 units: runs out exactly 1000 days from today
+        List<LembreteMedicacao> lembretes = List.of(lembrete(BigDecimal.ONE, null, LocalTime.of(8, 0)));
+
+        assertEquals(segunda.plusDays(1000), PrevisaoEstoqueService.calcularDataFim(1000, lembretes, segunda));
+    }
+
+    @Test
+    void shouldRoundFractionalDosesUp() {
+        // Half a tablet still takes a whole unit out of the stock
+        List<LembreteMedicacao> lembretes = List.of(lembrete(new BigDecimal("0.5"), null, LocalTime.of(8, 0)));
+
+        assertEquals(segunda.plusDays(3), PrevisaoEstoqueService.calcularDataFim(3, lembretes, segunda));
+    }
+
+    @Test
+    void shouldNotProjectRunOutWithoutReminders() {
+        assertNull(PrevisaoEstoqueService.calcularDataFim(10, List.of(), segunda));
+        assertEquals(new BigDecimal("0.000"), PrevisaoEstoqueService.calcularConsumoDiario(List.of()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRecomputeAllForecastsInChunks() {
+        // Given
+        ReflectionTestUtils.setField(previsaoEstoqueService, "tamanhoLote", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+
+        EstoquePessoal primeiro = estoque(20);
+        EstoquePessoal segundo = estoque(5);
+        EstoquePessoal terceiro = estoque(0);
+        when(estoquePessoalRepository.findLoteApos(any(UUID.class), any(Pageable.class)))
+                .thenReturn(List.of(primeiro, segundo))
+                .thenReturn(List.of(terceiro));
+        when(lembreteMedicacaoRepository.findByMedicamentoIdInAndAtivoTrue(anyList()))
+                .thenReturn(List.of(lembrete(BigDecimal.ONE, null, LocalTime.of(8, 0))));
+        // Only the first forecast of the first chunk changes
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[]{1, 0})
+                .thenReturn(new int[]{0});
+
+        // When
+        int total = previsaoEstoqueService.recalcularTodas();
+
+        // Then
+        assertEquals(3, total);
+        verify(estoquePessoalRepository).findLoteApos(eq(new UUID(0L, 0L)), any(Pageable.class));
+        verify(estoquePessoalRepository).findLoteApos(eq(segundo.getId()), any(Pageable.class));
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        verify(usuarioRepository).incrementVersoesDados(Set.of(usuarioId));
+    }
+
+    @Test
+    void shouldListItemsRunningOutWithinDays() {
+        // Given
+        EstoquePessoal estoque = estoque(3);
+        LocalDate hoje = LocalDate.now();
+        PrevisaoEstoque previsao = new PrevisaoEstoque(estoque.getId(), estoque, usuarioId, 3,
+                BigDecimal.ONE, hoje.plusDays(3), LocalDateTime.now());
+        MedicamentoDTO medicamentoDTO = new MedicamentoDTO();
+
+        when(previsaoEstoqueRepository.findTerminandoAte(usuarioId, hoje.plusDays(7))).thenReturn(List.of(previsao));
+        when(modelMapper.map(medicamento, MedicamentoDTO.class)).thenReturn(medicamentoDTO);
+
+        // When
+        List<PrevisaoEstoqueDTO> result = previsaoEstoqueService.getTerminandoEm(usuarioId, 7);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).getDiasRestantes());
+        assertEquals(medicamentoDTO, result.get(0).getMedicamento());
+    }
+
+    @Test
+    void shouldRejectNegativeDays() {
+        assertThrows(IllegalArgumentException.class, () -> previsaoEstoqueService.getTerminandoEm(usuarioId, -1));
+        verify(previsaoEstoqueRepository, never()).findTerminandoAte(any(), any());
+    }
+
+    private LembreteMedicacao lembrete(BigDecimal dose, List<Integer> diasSemana, LocalTime... horarios) {
+        LembreteMedicacao lembrete = new LembreteMedicacao();
+        lembrete.setId(UUID.randomUUID());
+        lembrete.setUsuario(usuario);
+        lembrete.setMedicamento(medicamento);
+        lembrete.setHorarios(Arrays.asList(horarios));
+        lembrete.setDiasSemana(diasSemana);
+        lembrete.setQuantidadeDose(dose);
+        lembrete.setAtivo(true);
+        return lembrete;
+    }
+
+    private EstoquePessoal estoque(int quantidade) {
+        EstoquePessoal estoque = new EstoquePessoal();
+        estoque.setId(UUID.randomUUID());
+        estoque.setUsuario(usuario);
+        estoque.setMedicamento(medicamento);
+        estoque.setQuantidadeAtual(quantidade);
+        estoque.setQuantidadeAlerta(5);
+        return estoque;
+    }
+}
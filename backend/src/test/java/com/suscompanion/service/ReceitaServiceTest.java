@@ -1,15 +1,20 @@
 package com.suscompanion.service;
 
+import com.suscompanion.dto.receita.MedicoDTO;
+import com.suscompanion.dto.receita.ReceitaBuscaDTO;
 import com.suscompanion.dto.receita.ReceitaDTO;
 import com.suscompanion.dto.receita.ReceitaItemDTO;
 import com.suscompanion.dto.receita.ReceitaRequest;
 import com.suscompanion.dto.receita.ReceitaItemRequest;
 import com.suscompanion.exception.ResourceNotFoundException;
 import com.suscompanion.model.Medicamento;
+import com.suscompanion.model.MedicoUsuario;
 import com.suscompanion.model.Receita;
 import com.suscompanion.model.ReceitaItem;
 import com.suscompanion.model.Usuario;
 import com.suscompanion.repository.MedicamentoRepository;
+import com.suscompanion.repository.MedicoUsuarioRepository;
+import com.suscompanion.repository.ReceitaRelevancia;
 import com.suscompanion.repository.ReceitaRepository;
 import com.suscompanion.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,6 +53,9 @@ class ReceitaServiceTest {
     @Mock
     private MedicamentoRepository medicamentoRepository;
 
+    @Mock
+    private MedicoUsuarioRepository medicoUsuarioRepository;
+
     @Mock
     private ModelMapper modelMapper;
 
@@ -148,6 +156,9 @@ class ReceitaServiceTest {
         
         // Setup pageable
         pageable = PageRequest.of(0, 10);
+        
+        // Item mapping is exercised by every test that converts a prescription
+        lenient().when(modelMapper.map(any(ReceitaItem.class), eq(ReceitaItemDTO.class))).thenReturn(receitaItemDTO);
     }
 
     @Test
@@ -222,6 +233,7 @@ class ReceitaServiceTest {
         verify(usuarioRepository).findById(usuarioId);
         verify(medicamentoRepository).findByIdAndUsuarioId(medicamentoId, usuarioId);
         verify(receitaRepository, times(2)).save(any(Receita.class));
+        verify(medicoUsuarioRepository).incrementar(usuarioId, "Dr. Teste", "12345");
         verify(modelMapper).map(receita, ReceitaDTO.class);
     }
 
@@ -243,6 +255,7 @@ class ReceitaServiceTest {
         verify(receitaRepository).findByIdAndUsuarioId(receitaId, usuarioId);
         verify(medicamentoRepository).findByIdAndUsuarioId(medicamentoId, usuarioId);
         verify(receitaRepository).save(receita);
+        verifyNoInteractions(medicoUsuarioRepository);
         verify(modelMapper).map(receita, ReceitaDTO.class);
     }
 
@@ -257,6 +270,8 @@ class ReceitaServiceTest {
         // Then
         verify(receitaRepository).findByIdAndUsuarioId(receitaId, usuarioId);
         verify(receitaRepository).delete(receita);
+        verify(medicoUsuarioRepository).decrementar(usuarioId, "Dr. Teste", "12345");
+        verify(medicoUsuarioRepository).removerSemReceitas(usuarioId);
     }
 
     @Test
@@ -300,4 +315,110 @@ class ReceitaServiceTest {
         verify(receitaRepository).searchByMedicoNome(searchTerm, usuarioId, pageable);
         verify(modelMapper).map(receita, ReceitaDTO.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldMoveDoctorCountWhenPrescriptionDoctorChanges() {
+        // Given
+        receitaRequest.setMedicoNome("Dra. Nova");
+        receitaRequest.setMedicoCrm("54321");
+        when(receitaRepository.findByIdAndUsuarioId(receitaId, usuarioId)).thenReturn(Optional.of(receita));
+        when(medicamentoRepository.findByIdAndUsuarioId(medicamentoId, usuarioId)).thenReturn(Optional.of(medicamento));
+        when(receitaRepository.save(receita)).thenReturn(receita);
+        when(modelMapper.map(receita, ReceitaDTO.class)).thenReturn(receitaDTO);
+        
+        // When
+        receitaService.update(receitaId, usuarioId, receitaRequest);
+        
+        // Then
+        verify(medicoUsuarioRepository).decrementar(usuarioId, "Dr. Teste", "12345");
+        verify(medicoUsuarioRepository).incrementar(usuarioId, "Dra. Nova", "54321");
+        verify(medicoUsuarioRepository).removerSemReceitas(usuarioId);
+    }
+
+    @Test
+    void shouldGetDistinctDoctors() {
+        // Given
+        MedicoUsuario medico = new MedicoUsuario(UUID.randomUUID(), usuarioId, "12345", "Dr. Teste", "12345", 3, LocalDateTime.now());
+        when(medicoUsuarioRepository.findByUsuarioIdOrderByTotalReceitasDescMedicoNomeAsc(usuarioId)).thenReturn(List.of(medico));
+        
+        // When
+        List<MedicoDTO> result = receitaService.getMedicos(usuarioId);
+        
+        // Then
+        assertEquals(List.of(new MedicoDTO("Dr. Teste", "12345", 3)), result);
+    }
+
+    @Test
+    void shouldSearchPrescriptionsByMedicoCrm() {
+        // Given
+        Page<Receita> receitaPage = new PageImpl<>(List.of(receita), pageable, 1);
+        when(receitaRepository.findByMedicoCrm("12345", usuarioId, pageable)).thenReturn(receitaPage);
+        when(modelMapper.map(receita, ReceitaDTO.class)).thenReturn(receitaDTO);
+        
+        // When
+        Page<ReceitaDTO> result = receitaService.searchByMedicoCrm(" 12345 ", usuarioId, pageable);
+        
+        // Then
+        assertEquals(1, result.getTotalElements());
+        verify(receitaRepository).findByMedicoCrm("12345", usuarioId, pageable);
+    }
+
+    @Test
+    void shouldSearchTextAndChainPagesWithCursor() {
+        // Given
+        Receita outraReceita = new Receita();
+        outraReceita.setId(UUID.randomUUID());
+        outraReceita.setUsuario(usuario);
+        outraReceita.setItens(new ArrayList<>());
+        ReceitaRelevancia primeira = relevancia(receitaId, 0.8f);
+        ReceitaRelevancia segunda = relevancia(outraReceita.getId(), 0.5f);
+        
+        when(receitaRepository.buscarTexto("insulina", usuarioId, Float.MAX_VALUE, new UUID(0L, 0L), 2))
+                .thenReturn(List.of(primeira, segunda));
+        when(receitaRepository.findWithItensByIdIn(List.of(receitaId))).thenReturn(List.of(receita));
+        when(modelMapper.map(receita, ReceitaDTO.class)).thenReturn(receitaDTO);
+        
+        // When
+        ReceitaBuscaDTO result = receitaService.buscarTexto(" insulina ", usuarioId, null, 1);
+        
+        // Then
+        assertEquals(List.of(receitaDTO), result.getReceitas());
+        assertNotNull(result.getProximoCursor());
+        
+        // Given the next page
+        when(receitaRepository.buscarTexto("insulina", usuarioId, 0.8f, receitaId, 2)).thenReturn(List.of(segunda));
+        when(receitaRepository.findWithItensByIdIn(List.of(outraReceita.getId()))).thenReturn(List.of(outraReceita));
+        when(modelMapper.map(outraReceita, ReceitaDTO.class)).thenReturn(new ReceitaDTO());
+        
+        // When
+        ReceitaBuscaDTO proxima = receitaService.buscarTexto("insulina", usuarioId, result.getProximoCursor(), 1);
+        
+        // Then
+        assertEquals(1, proxima.getReceitas().size());
+        assertNull(proxima.getProximoCursor());
+    }
+
+    @Test
+    void shouldRejectInvalidSearchCursor() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> {
+            receitaService.buscarTexto("insulina", usuarioId, "nao-e-um-cursor", 20);
+        });
+        
+        verifyNoInteractions(receitaRepository);
+    }
+
+    private ReceitaRelevancia relevancia(UUID id, float valor) {
+        return new ReceitaRelevancia() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Float getRelevancia() {
+                return valor;
+            }
+        };
+    }
+}
@@ -0,0 +1,318 @@
+package com.suscompanion.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suscompanion.dto.dose.AdesaoMedicacaoDTO;
+import com.suscompanion.dto.dose.RegistroDoseLoteDTO;
+import com.suscompanion.dto.dose.RegistroDoseLoteRequest;
+import com.suscompanion.dto.dose.RegistroDoseRequest;
+import com.suscompanion.exception.ResourceNotFoundException;
+import com.suscompanion.model.AdesaoMedicacao;
+import com.suscompanion.model.LembreteMedicacao;
+import com.suscompanion.model.Medicamento;
+import com.suscompanion.model.RegistroDose.StatusDose;
+import com.suscompanion.model.Usuario;
+import com.suscompanion.repository.AdesaoMedicacaoRepository;
+import com.suscompanion.repository.LembreteMedicacaoRepository;
+import com.suscompanion.repository.RegistroDoseRepository;
+import com.suscompanion.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegistroDoseServiceTest {
+
+    @Mock
+    private RegistroDoseRepository registroDoseRepository;
+
+    @Mock
+    private AdesaoMedicacaoRepository adesaoMedicacaoRepository;
+
+    @Mock
+    private LembreteMedicacaoRepository lembreteMedicacaoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private EstoquePessoalService estoquePessoalService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private RegistroDoseService registroDoseService;
+
+    private Usuario usuario;
+    private Medicamento medicamento;
+    private LembreteMedicacao lembrete;
+    private RegistroDoseRequest registroRequest;
+    private UUID usuarioId;
+    private UUID medicamentoId;
+    private UUID lembreteId;
+    private LocalDateTime horarioPrevisto;
+
+    @BeforeEach
+    void setUp() {
+        usuarioId = UUID.randomUUID();
+        medicamentoId = UUID.randomUUID();
+        lembreteId = UUID.randomUUID();
+        horarioPrevisto = LocalDateTime.now().withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+        // Setup user
+        usuario = new Usuario();
+        usuario.setId(usuarioId);
+
+        // Setup medication
+        medicamento = new Medicamento();
+        medicamento.setId(medicamentoId);
+        medicamento.setUsuario(usuario);
+
+        // Setup reminder
+        lembrete = new LembreteMedicacao();
+        lembrete.setId(lembreteId);
+        lembrete.setUsuario(usuario);
+        lembrete.setMedicamento(medicamento);
+        lembrete.setQuantidadeDose(BigDecimal.ONE);
+
+        // Setup dose request
+        registroRequest = new RegistroDoseRequest();
+        registroRequest.setLembreteId(lembreteId);
+        registroRequest.setStatus(StatusDose.TOMADA);
+        registroRequest.setHorarioPrevisto(horarioPrevisto);
+    }
+
+    @Test
+    void shouldRecordDoseAndIncrementCounters() {
+        // Given
+        when(lembreteMedicacaoRepository.findByIdAndUsuarioId(lembreteId, usuarioId)).thenReturn(Optional.of(lembrete));
+        when(registroDoseRepository.insertIfAbsent(any(), eq(usuarioId), eq(lembreteId), eq(medicamentoId),
+                eq("TOMADA"), eq(horarioPrevisto), any(), any())).thenReturn(1);
+
+        // When
+        boolean result = registroDoseService.registrar(usuarioId, registroRequest);
+
+        // Then
+        assertTrue(result);
+        verify(adesaoMedicacaoRepository).incrementDiaria(usuarioId, medicamentoId, horarioPrevisto.toLocalDate(), 1);
+        verify(adesaoMedicacaoRepository).incrementJanelas(usuarioId, medicamentoId, horarioPrevisto.toLocalDate(), 1);
+        verify(estoquePessoalService).baixarDose(usuarioId, medicamentoId, BigDecimal.ONE);
+    }
+
+    @Test
+    void shouldCountSkippedDoseAsNotTaken() {
+        // Given
+        registroRequest.setStatus(StatusDose.PULADA);
+        when(lembreteMedicacaoRepository.findByIdAndUsuarioId(lembreteId, usuarioId)).thenReturn(Optional.of(lembrete));
+        when(registroDoseRepository.insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        // When
+        registroDoseService.registrar(usuarioId, registroRequest);
+
+        // Then
+        verify(adesaoMedicacaoRepository).incrementDiaria(usuarioId, medicamentoId, horarioPrevisto.toLocalDate(), 0);
+        verify(adesaoMedicacaoRepository).incrementJanelas(usuarioId, medicamentoId, horarioPrevisto.toLocalDate(), 0);
+        verify(estoquePessoalService, never()).baixarDose(any(), any(), any());
+    }
+
+    @Test
+    void shouldIgnoreDuplicateDose() {
+        // Given
+        when(lembreteMedicacaoRepository.findByIdAndUsuarioId(lembreteId, usuarioId)).thenReturn(Optional.of(lembrete));
+        when(registroDoseRepository.insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        // When
+        boolean result = registroDoseService.registrar(usuarioId, registroRequest);
+
+        // Then
+        assertFalse(result);
+        verify(adesaoMedicacaoRepository, never()).incrementDiaria(any(), any(), any(), anyInt());
+        verify(adesaoMedicacaoRepository, never()).incrementJanelas(any(), any(), any(), anyInt());
+        verify(estoquePessoalService, never()).baixarDose(any(), any(), any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenReminderNotFound() {
+        // Given
+        when(lembreteMedicacaoRepository.findByIdAndUsuarioId(lembreteId, usuarioId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> {
+            registroDoseService.registrar(usuarioId, registroRequest);
+        });
+
+        verify(registroDoseRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldRecordBatchAndReportDuplicates() throws Exception {
+        // Given
+        RegistroDoseRequest reenviado = new RegistroDoseRequest();
+        reenviado.setLembreteId(lembreteId);
+        reenviado.setStatus(StatusDose.ATRASADA);
+        reenviado.setHorarioPrevisto(horarioPrevisto.minusDays(1));
+
+        RegistroDoseLoteRequest loteRequest = new RegistroDoseLoteRequest(Arrays.asList(registroRequest, reenviado));
+
+        when(lembreteMedicacaoRepository.findByIdInAndUsuarioId(anySet(), eq(usuarioId))).thenReturn(List.of(lembrete));
+        // The resent dose already exists: only the first record of the batch is inserted
+        when(registroDoseRepository.insertAllIfAbsent(eq(usuarioId), anyString())).thenAnswer(invocation ->
+                List.of(UUID.fromString(objectMapper.readTree(invocation.<String>getArgument(1)).get(0).get("id").asText())));
+
+        // When
+        RegistroDoseLoteDTO result = registroDoseService.registrarLote(usuarioId, loteRequest);
+
+        // Then
+        assertEquals(2, result.getRecebidos());
+        assertEquals(1, result.getRegistrados());
+        assertEquals(1, result.getDuplicados());
+        verify(lembreteMedicacaoRepository, times(1)).findByIdInAndUsuarioId(anySet(), eq(usuarioId));
+        verify(registroDoseRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any());
+
+        ArgumentCaptor<String> contagens = ArgumentCaptor.forClass(String.class);
+        verify(adesaoMedicacaoRepository).incrementDiarias(eq(usuarioId), contagens.capture());
+        JsonNode contagem = objectMapper.readTree(contagens.getValue());
+        assertEquals(1, contagem.size());
+        assertEquals(horarioPrevisto.toLocalDate().toString(), contagem.get(0).get("dia").asText());
+        assertEquals(1, contagem.get(0).get("total").asInt());
+        assertEquals(1, contagem.get(0).get("tomadas").asInt());
+        verify(adesaoMedicacaoRepository).insertAusentes(usuarioId, contagens.getValue());
+        verify(adesaoMedicacaoRepository).incrementJanelasContagens(usuarioId, contagens.getValue());
+        verify(adesaoMedicacaoRepository, never()).incrementJanelas(any(), any(), any(), anyInt());
+        verify(estoquePessoalService).baixarDoses(usuarioId, medicamentoId, BigDecimal.ONE, 1);
+    }
+
+    @Test
+    void shouldRecordBatchWithAFixedNumberOfStatements() throws Exception {
+        // Given: a device syncing a month of doses, some skipped
+        List<RegistroDoseRequest> registros = new ArrayList<>();
+        for (int dia = 0; dia < 30; dia++) {
+            for (int hora : new int[] {8, 20}) {
+                RegistroDoseRequest registro = new RegistroDoseRequest();
+                registro.setLembreteId(lembreteId);
+                registro.setStatus(hora == 20 && dia % 3 == 0 ? StatusDose.PULADA : StatusDose.TOMADA);
+                registro.setHorarioPrevisto(horarioPrevisto.minusDays(dia).withHour(hora));
+                registros.add(registro);
+            }
+        }
+        RegistroDoseLoteRequest loteRequest = new RegistroDoseLoteRequest(registros);
+
+        when(lembreteMedicacaoRepository.findByIdInAndUsuarioId(anySet(), eq(usuarioId))).thenReturn(List.of(lembrete));
+        when(registroDoseRepository.insertAllIfAbsent(eq(usuarioId), anyString())).thenAnswer(invocation -> {
+            List<UUID> ids = new ArrayList<>();
+            objectMapper.readTree(invocation.<String>getArgument(1))
+                    .forEach(linha -> ids.add(UUID.fromString(linha.get("id").asText())));
+            return ids;
+        });
+
+        // When
+        RegistroDoseLoteDTO result = registroDoseService.registrarLote(usuarioId, loteRequest);
+
+        // Then
+        assertEquals(60, result.getRegistrados());
+        verify(registroDoseRepository, times(1)).insertAllIfAbsent(eq(usuarioId), anyString());
+        ArgumentCaptor<String> contagens = ArgumentCaptor.forClass(String.class);
+        verify(adesaoMedicacaoRepository, times(1)).incrementDiarias(eq(usuarioId), contagens.capture());
+        JsonNode contagem = objectMapper.readTree(contagens.getValue());
+        assertEquals(30, contagem.size());
+        int tomadas = 0;
+        for (JsonNode dia : contagem) {
+            assertEquals(2, dia.get("total").asInt());
+            tomadas += dia.get("tomadas").asInt();
+        }
+        assertEquals(50, tomadas);
+        verify(adesaoMedicacaoRepository, times(1)).incrementJanelasContagens(eq(usuarioId), anyString());
+        verify(estoquePessoalService, times(1)).baixarDoses(usuarioId, medicamentoId, BigDecimal.ONE, 50);
+    }
+
+    @Test
+    void shouldRejectBatchWithForeignReminder() {
+        // Given
+        RegistroDoseLoteRequest loteRequest = new RegistroDoseLoteRequest(List.of(registroRequest));
+        when(lembreteMedicacaoRepository.findByIdInAndUsuarioId(anySet(), eq(usuarioId))).thenReturn(List.of());
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> {
+            registroDoseService.registrarLote(usuarioId, loteRequest);
+        });
+    }
+
+    @Test
+    void shouldComputeAdherencePercentagesFromCounters() {
+        // Given
+        AdesaoMedicacao adesao = new AdesaoMedicacao(UUID.randomUUID(), usuario, medicamento, LocalDate.now(),
+                14, 7, 60, 45, 0, 0, LocalDateTime.now());
+        when(adesaoMedicacaoRepository.findByUsuarioIdAndMedicamentoId(usuarioId, medicamentoId)).thenReturn(Optional.of(adesao));
+
+        // When
+        AdesaoMedicacaoDTO result = registroDoseService.getAdesaoByMedicamento(usuarioId, medicamentoId);
+
+        // Then
+        assertEquals(medicamentoId, result.getMedicamentoId());
+        assertEquals(50.0, result.getPercentual7d());
+        assertEquals(75.0, result.getPercentual30d());
+        assertNull(result.getPercentual90d());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldShiftWindowsInChunksUntilNothingIsStale() {
+        // Given
+        ReflectionTestUtils.setField(registroDoseService, "tamanhoLote", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+        UUID primeiro = UUID.randomUUID();
+        UUID segundo = UUID.randomUUID();
+        UUID terceiro = UUID.randomUUID();
+        UUID outroUsuarioId = UUID.randomUUID();
+        when(adesaoMedicacaoRepository.findAtrasadasApos(any(UUID.class), eq(2)))
+                .thenReturn(List.of(primeiro, segundo))
+                .thenReturn(List.of(terceiro));
+        // The first row is two days behind, so its chunk takes two passes
+        when(adesaoMedicacaoRepository.avancarJanelas(List.of(primeiro, segundo)))
+                .thenReturn(List.of(usuarioId, outroUsuarioId), List.of(usuarioId), List.of());
+        when(adesaoMedicacaoRepository.avancarJanelas(List.of(terceiro)))
+                .thenReturn(List.of(usuarioId), List.of());
+
+        // When
+        registroDoseService.avancarJanelas();
+
+        // Then
+        verify(adesaoMedicacaoRepository).findAtrasadasApos(new UUID(0L, 0L), 2);
+        verify(adesaoMedicacaoRepository).findAtrasadasApos(segundo, 2);
+        verify(usuarioRepository).incrementVersoesDados(Set.of(usuarioId, outroUsuarioId));
+        verify(usuarioRepository).incrementVersoesDados(Set.of(usuarioId));
+        verify(adesaoMedicacaoRepository).deleteDiariasAntesDe(LocalDate.now().minusDays(89));
+        verify(transactionTemplate, times(3)).execute(any());
+    }
+}